@@ -0,0 +1,39 @@
+package eu.oberon.oss.chess.pgn.tags.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * <p>
+ * Accepts the regular JMH command line options, but defaults to running with the GC profiler (reporting allocation
+ * rates) and to writing the results as JSON to {@value #DEFAULT_RESULT_FILE}, so that runs of different releases can
+ * be compared. Both defaults can be overridden on the command line ({@code -prof}, {@code -rf}, {@code -rff}).
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class BenchmarkMain {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON).result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package eu.oberon.oss.chess.pgn.tags.benchmarks;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CreatorRegistry#getInstance(String)} and its allocation-free variants with mixed-case tag names,
+ * including names that are not registered.
+ * <p>
+ * Every benchmark exists in a single threaded variant and a variant using all available processors; use the JMH
+ * {@code -t} option to measure other thread counts.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CreatorRegistryBenchmark {
+    private static final String[] TAG_NAMES = {
+            "Event", "SITE", "date", "Round", "wHITE", "Black", "RESULT", "WhiteElo", "blackelo", "ECO",
+            "TimeControl", "Annotator", "PlyCount"
+    };
+
+    @State(Scope.Benchmark)
+    public static class Registry {
+        CreatorRegistry registry;
+        byte[][] nameBytes;
+
+        @Setup
+        public void setup() {
+            registry = CreatorRegistry.getDefaultInstance(new HashSet<>(CreatorRegistry.getSevenTagRosterNames()), true);
+            registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+            registry.registerTagCreator(TagCreatorIntValue.getInstance("BlackElo", true, false));
+            registry.registerTagCreator(TagCreatorIntValue.getInstance("PlyCount", true, false));
+
+            nameBytes = new byte[TAG_NAMES.length][];
+            for (int i = 0; i < TAG_NAMES.length; i++) {
+                nameBytes[i] = TAG_NAMES[i].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            index = ThreadLocalRandom.current().nextInt(TAG_NAMES.length);
+        }
+
+        int next() {
+            int current = index;
+            index = current + 1 == TAG_NAMES.length ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object lookupString(Registry state, Cursor cursor) {
+        return state.registry.getInstance(TAG_NAMES[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object lookupStringAllThreads(Registry state, Cursor cursor) {
+        return state.registry.getInstance(TAG_NAMES[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object lookupBytes(Registry state, Cursor cursor) {
+        byte[] name = state.nameBytes[cursor.next()];
+        return state.registry.getInstance(name, 0, name.length);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object lookupBytesAllThreads(Registry state, Cursor cursor) {
+        byte[] name = state.nameBytes[cursor.next()];
+        return state.registry.getInstance(name, 0, name.length);
+    }
+}
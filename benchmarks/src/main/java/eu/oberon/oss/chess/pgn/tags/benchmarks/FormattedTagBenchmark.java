@@ -0,0 +1,77 @@
+package eu.oberon.oss.chess.pgn.tags.benchmarks;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.PgnTagWriter;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PgnTag#getFormattedTag()} for string and integer tags, and writing the same tags to a reused
+ * {@link StringBuilder} and UTF-8 {@link ByteBuffer} using the {@link PgnTagWriter}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FormattedTagBenchmark {
+    private PgnTag<String> stringTag;
+    private PgnTag<Integer> intTag;
+    private final StringBuilder builder = new StringBuilder(256);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+    @Setup
+    public void setup() {
+        stringTag = TagCreatorStringValue.getInstance("White", false, true).createTag("Fischer, Robert J.");
+        intTag = TagCreatorIntValue.getInstance("WhiteElo", false, false).createTag("2785");
+    }
+
+    @Benchmark
+    public String stringTag() {
+        return stringTag.getFormattedTag();
+    }
+
+    @Benchmark
+    public String intTag() {
+        return intTag.getFormattedTag();
+    }
+
+    @Benchmark
+    public int appendStringTag() throws IOException {
+        builder.setLength(0);
+        PgnTagWriter.appendTag(builder, stringTag);
+        return builder.length();
+    }
+
+    @Benchmark
+    public int putIntTag() {
+        buffer.clear();
+        PgnTagWriter.putTag(buffer, intTag);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public int putStringTag() {
+        buffer.clear();
+        PgnTagWriter.putTag(buffer, stringTag);
+        return buffer.position();
+    }
+}
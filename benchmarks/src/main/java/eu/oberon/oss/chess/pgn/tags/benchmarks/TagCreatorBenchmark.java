@@ -0,0 +1,92 @@
+package eu.oberon.oss.chess.pgn.tags.benchmarks;
+
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntegerValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tag creation by the built-in tag creators for valid, blank and invalid input values.
+ * <p>
+ * Valid and blank values are created by creators that allow missing values; invalid values are passed to creators
+ * that do not, so the cost of rejecting a value (building the message and the exception) is included.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TagCreatorBenchmark {
+    @Param({"valid", "blank", "invalid"})
+    public String input;
+
+    private TagCreator<String, String> stringCreator;
+    private TagCreator<String, Integer> integerCreator;
+    private TagCreatorIntValue intCreator;
+    private String stringValue;
+    private String integerValue;
+
+    @Setup
+    public void setup() {
+        boolean allowMissing = !"invalid".equals(input);
+        stringCreator = TagCreatorStringValue.getInstance("White", allowMissing, true);
+        integerCreator = TagCreatorIntegerValue.getInstance("WhiteElo", allowMissing, false);
+        intCreator = TagCreatorIntValue.getInstance("WhiteElo", allowMissing, false);
+
+        switch (input) {
+            case "valid" -> {
+                stringValue = "Fischer, Robert J.";
+                integerValue = "2785";
+            }
+            case "blank" -> {
+                stringValue = "";
+                integerValue = "";
+            }
+            case "invalid" -> {
+                stringValue = "   ";
+                integerValue = "27x5";
+            }
+            default -> throw new IllegalArgumentException("input: " + input);
+        }
+    }
+
+    @Benchmark
+    public Object stringValue() {
+        return create(stringCreator, stringValue);
+    }
+
+    @Benchmark
+    public Object integerValue() {
+        return create(integerCreator, integerValue);
+    }
+
+    @Benchmark
+    public Object intValue() {
+        return create(intCreator, integerValue);
+    }
+
+    private static <I> Object create(TagCreator<I, ?> creator, I value) {
+        try {
+            return creator.createTag(value);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
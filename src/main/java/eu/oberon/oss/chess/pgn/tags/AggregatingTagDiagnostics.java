@@ -0,0 +1,171 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diagnostics sink that counts occurrences per tag name and reason, and logs a limited number of them.
+ * <p>
+ * For every combination of tag name and reason, the first occurrences up to the sample limit are logged individually.
+ * Further occurrences are only counted, using striped counters so that concurrent reports do not contend. The counts
+ * are logged as a summary at most once per summary interval, by the thread that reports the first occurrence after the
+ * interval has passed, and on request by {@link #logSummary()}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class AggregatingTagDiagnostics implements TagDiagnostics {
+    /**
+     * The sample limit of the default diagnostics sink.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_SAMPLE_LIMIT = 10;
+
+    static final AggregatingTagDiagnostics DEFAULT = new AggregatingTagDiagnostics(DEFAULT_SAMPLE_LIMIT, Duration.ofMinutes(1));
+
+    private static final TagCreationError[] REASONS = TagCreationError.values();
+
+    private final Map<String, Counters> countersByTag = new ConcurrentHashMap<>();
+    private final int sampleLimit;
+    private final long summaryIntervalNanos;
+    private final AtomicLong nextSummaryNanos;
+
+    /**
+     * Constructs a new diagnostics sink.
+     *
+     * @param sampleLimit     The number of occurrences per tag name and reason that are logged individually; 0 to log
+     *                        summaries only.
+     * @param summaryInterval The minimum time between two summaries; zero or negative to disable periodic summaries.
+     *
+     * @throws IllegalArgumentException if the sample limit is negative, or the summary interval is {@code null}.
+     * @since 1.0.0
+     */
+    public AggregatingTagDiagnostics(int sampleLimit, Duration summaryInterval) {
+        if (sampleLimit < 0) {
+            throw new IllegalArgumentException("Parameter: sampleLimit");
+        }
+        if (summaryInterval == null) {
+            throw new IllegalArgumentException("Parameter: summaryInterval");
+        }
+        this.sampleLimit = sampleLimit;
+        this.summaryIntervalNanos = summaryInterval.isNegative() ? 0 : summaryInterval.toNanos();
+        this.nextSummaryNanos = new AtomicLong(System.nanoTime() + summaryIntervalNanos);
+    }
+
+    @Override
+    public void report(@Nonnull String tagName, @Nonnull TagCreationError reason) {
+        Counters counters = countersByTag.get(tagName);
+        if (counters == null) {
+            counters = countersByTag.computeIfAbsent(tagName, name -> new Counters());
+        }
+        int index = reason.ordinal();
+        counters.counts[index].increment();
+
+        AtomicInteger samples = counters.samples[index];
+        if (samples.get() < sampleLimit) {
+            int sample = samples.incrementAndGet();
+            if (sample <= sampleLimit) {
+                LOGGER.warn("{} for tag '{}' (sample {} of {}, further occurrences are summarized)", reason, tagName, sample, sampleLimit);
+            }
+        }
+
+        if (summaryIntervalNanos > 0) {
+            long now = System.nanoTime();
+            long next = nextSummaryNanos.get();
+            if (now - next >= 0 && nextSummaryNanos.compareAndSet(next, now + summaryIntervalNanos)) {
+                logSummary();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of occurrences reported for a tag name and reason.
+     *
+     * @param tagName The name of the tag, as reported.
+     * @param reason  The reason.
+     *
+     * @return The number of occurrences.
+     *
+     * @since 1.0.0
+     */
+    public long getCount(@Nonnull String tagName, @Nonnull TagCreationError reason) {
+        Counters counters = countersByTag.get(tagName);
+        return counters == null ? 0 : counters.counts[reason.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of occurrences reported so far, per tag name and reason.
+     * <p>
+     * Occurrences that are reported while the snapshot is taken may or may not be included.
+     *
+     * @return A map from tag name to the non-zero counts per reason, ordered by tag name.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull Map<String, Map<TagCreationError, Long>> getCounts() {
+        Map<String, Map<TagCreationError, Long>> snapshot = new TreeMap<>();
+        countersByTag.forEach((tagName, counters) -> {
+            Map<TagCreationError, Long> counts = new EnumMap<>(TagCreationError.class);
+            for (TagCreationError reason : REASONS) {
+                long count = counters.counts[reason.ordinal()].sum();
+                if (count > 0) {
+                    counts.put(reason, count);
+                }
+            }
+            if (!counts.isEmpty()) {
+                snapshot.put(tagName, counts);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Logs the number of occurrences per tag name and reason that were reported since the previous summary. Nothing
+     * is logged if there were no new occurrences.
+     *
+     * @since 1.0.0
+     */
+    public synchronized void logSummary() {
+        Map<String, Long> lines = new LinkedHashMap<>();
+        getCounts().forEach((tagName, counts) -> {
+            Counters counters = countersByTag.get(tagName);
+            counts.forEach((reason, total) -> {
+                long added = total - counters.summarized[reason.ordinal()];
+                if (added > 0) {
+                    counters.summarized[reason.ordinal()] = total;
+                    lines.put(reason + " for tag '" + tagName + "'", added);
+                }
+            });
+        });
+        lines.forEach((line, added) -> LOGGER.warn("{}: {} occurrence(s) since the previous summary", line, added));
+    }
+
+    /**
+     * The counters for a single tag name, indexed by the ordinal of the reason.
+     */
+    private static final class Counters {
+        private final LongAdder[] counts = new LongAdder[REASONS.length];
+        private final AtomicInteger[] samples = new AtomicInteger[REASONS.length];
+        // guarded by the lock of the enclosing instance
+        private final long[] summarized = new long[REASONS.length];
+
+        private Counters() {
+            for (int i = 0; i < REASONS.length; i++) {
+                counts[i] = new LongAdder();
+                samples[i] = new AtomicInteger();
+            }
+        }
+    }
+}
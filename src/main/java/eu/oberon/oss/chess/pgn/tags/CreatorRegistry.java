@@ -1,22 +1,237 @@
 package eu.oberon.oss.chess.pgn.tags;
 
+import eu.oberon.oss.chess.pgn.tags.cache.CanonicalizingTagCreator;
+import eu.oberon.oss.chess.pgn.tags.cache.TagCacheStatistics;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorDateValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorResultValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorRoundValue;
 import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import eu.oberon.oss.chess.pgn.tags.metrics.TagMetrics;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import lombok.extern.log4j.Log4j2;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A registry for PGN Tag creators.
+ * <p>
+ * Each registry has a {@link TagDiagnostics} sink, which is passed to the tag creators created by the registry itself,
+ * such as those added by {@link #addDefaultCreators(Set, boolean)}.
+ * <p>
+ * Metrics for lookups and tag creation are recorded once a {@link TagMetrics} instance has been installed by
+ * {@link #setMetrics(TagMetrics)}. Without metrics, lookups only check a single field in addition to the lookup itself.
+ * <p>
+ * Repeated tags can be shared by enabling a per tag {@linkplain #setCanonicalizationCacheSize(int) canonicalization
+ * cache}, in which case the lookups return {@link CanonicalizingTagCreator} instances.
+ * <p>
+ * Registries created by the constructors are mutable. A {@link CreatorRegistryBuilder}, obtained from
+ * {@link #builder()}, creates {@linkplain #isFrozen() frozen} registries instead: immutable snapshots that are built
+ * in a single pass, and reject any change. A {@link CreatorRegistryReference} replaces such snapshots atomically.
  */
 @Log4j2
 public class CreatorRegistry {
 
-    private final Map<String, TagCreator<?, ?>> tagCreatorMap = new ConcurrentHashMap<>();
+    private final Map<String, TagCreator<?, ?>> tagCreatorMap;
+    private final TagDiagnostics diagnostics;
+    private final boolean frozen;
+    private volatile TagNameTable<TagCreator<?, ?>> lookupTable = TagNameTable.empty();
+    private volatile TagSectionLayout tagSectionLayout;
+    private volatile TagMetrics metrics;
+    private volatile int canonicalizationCacheSize;
+    private volatile Map<String, CanonicalizingTagCreator<?, ?>> canonicalizingCreators = Map.of();
+
+    /**
+     * Constructs an empty registry, using the {@linkplain TagDiagnostics#getDefault() default diagnostics sink}.
+     *
+     * @since 1.0.0
+     */
+    public CreatorRegistry() {
+        this(TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs an empty registry, using the specified diagnostics sink.
+     *
+     * @param diagnostics The sink to pass to the tag creators created by this registry; {@link TagDiagnostics#NONE}
+     *                    to ignore diagnostics.
+     *
+     * @throws IllegalArgumentException if the diagnostics sink is {@code null}.
+     * @since 1.0.0
+     */
+    public CreatorRegistry(TagDiagnostics diagnostics) {
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.diagnostics = diagnostics;
+        this.tagCreatorMap = new ConcurrentHashMap<>();
+        this.frozen = false;
+    }
+
+    /**
+     * Constructs a frozen registry. The lookup table is built once, in a single pass.
+     *
+     * @param tagCreators               The tag creators, by normalized tag name.
+     * @param diagnostics               The diagnostics sink.
+     * @param metrics                   The metrics, or {@code null}.
+     * @param canonicalizationCacheSize The maximum number of cached tags per tag name, or 0.
+     */
+    CreatorRegistry(Map<String, TagCreator<?, ?>> tagCreators, TagDiagnostics diagnostics, @Nullable TagMetrics metrics,
+                    int canonicalizationCacheSize) {
+        this.tagCreatorMap = Map.copyOf(tagCreators);
+        this.diagnostics = diagnostics;
+        this.frozen = true;
+        this.metrics = metrics;
+        this.canonicalizationCacheSize = canonicalizationCacheSize;
+        rebuildLookupTable();
+    }
+
+    /**
+     * Creates a builder for a frozen registry.
+     *
+     * @return A new, empty builder.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull CreatorRegistryBuilder builder() {
+        return new CreatorRegistryBuilder();
+    }
+
+    /**
+     * Creates a builder for a frozen registry, initialized with the tag creators and settings of this registry.
+     *
+     * @return A new builder.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder toBuilder() {
+        CreatorRegistryBuilder builder = new CreatorRegistryBuilder()
+                .diagnostics(diagnostics)
+                .metrics(metrics)
+                .canonicalizationCacheSize(canonicalizationCacheSize);
+        for (TagCreator<?, ?> tagCreator : tagCreatorMap.values()) {
+            builder.registerTagCreator(tagCreator);
+        }
+        return builder;
+    }
+
+    /**
+     * Checks if this registry is frozen. A frozen registry cannot be changed; all methods that would change it throw
+     * an {@link IllegalStateException}.
+     *
+     * @return <b>True</b> if the registry is frozen, <b>false</b> if it is mutable.
+     *
+     * @since 1.0.0
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("The registry is frozen");
+        }
+    }
+
+    /**
+     * Returns the diagnostics sink of this registry.
+     *
+     * @return The diagnostics sink.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Installs the metrics in which lookups and tag creation are recorded, or removes them.
+     * <p>
+     * While metrics are installed, the lookup methods record every lookup, and return tag creators that are
+     * {@linkplain TagMetrics#instrument(TagCreator) instrumented} for the metrics. Tag creators obtained before the
+     * metrics were installed or removed are not affected.
+     *
+     * @param metrics The metrics to install, or {@code null} to stop recording.
+     *
+     * @throws IllegalStateException if the registry is frozen.
+     * @since 1.0.0
+     */
+    public synchronized void setMetrics(@Nullable TagMetrics metrics) {
+        checkNotFrozen();
+        this.metrics = metrics;
+        rebuildLookupTable();
+    }
+
+    /**
+     * Returns the metrics installed by {@link #setMetrics(TagMetrics)}.
+     *
+     * @return The metrics, or {@code null} if no metrics are installed.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable TagMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enables or disables the canonicalization of tags.
+     * <p>
+     * While enabled, the lookup methods return tag creators that are wrapped by a {@link CanonicalizingTagCreator}
+     * with the specified maximum size, one per tag name, so that repeated values of a tag share a single tag instance.
+     * The caches are kept when other tag creators are registered or replaced, but are discarded when the size is
+     * changed.
+     *
+     * @param maximumSize The maximum number of cached tags per tag name, or 0 to disable canonicalization.
+     *
+     * @throws IllegalArgumentException if the maximum size is negative.
+     * @throws IllegalStateException    if the registry is frozen.
+     * @since 1.0.0
+     */
+    public synchronized void setCanonicalizationCacheSize(int maximumSize) {
+        checkNotFrozen();
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Parameter: maximumSize");
+        }
+        if (maximumSize != canonicalizationCacheSize) {
+            canonicalizationCacheSize = maximumSize;
+            canonicalizingCreators = Map.of();
+            rebuildLookupTable();
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached tags per tag name.
+     *
+     * @return The maximum size, or 0 if canonicalization is disabled.
+     *
+     * @since 1.0.0
+     */
+    public int getCanonicalizationCacheSize() {
+        return canonicalizationCacheSize;
+    }
+
+    /**
+     * Returns the statistics of the canonicalization caches.
+     *
+     * @return An immutable map from tag name to the statistics of its cache, ordered by tag name; empty if
+     * canonicalization is disabled.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull Map<String, TagCacheStatistics> getCanonicalizationStatistics() {
+        Map<String, TagCacheStatistics> statistics = new TreeMap<>();
+        canonicalizingCreators.values().forEach(creator -> statistics.put(creator.getTagName(), creator.getStatistics()));
+        return Collections.unmodifiableMap(statistics);
+    }
 
     /**
      * Returns a set of tag names for which currently a tag created is defined.
@@ -44,8 +259,88 @@ public class CreatorRegistry {
      * @since 1.0.0
      */
     public <I, O> @Nullable TagCreator<I, O> getInstance(String tagName) {
-        //noinspection unchecked
-        return (TagCreator<I, O>) tagCreatorMap.get(tagName.toLowerCase());
+        return getInstance((CharSequence) tagName);
+    }
+
+    /**
+     * Looks up the tag creator for the specified tag name, which may be any character sequence, such as a slice of a
+     * parse buffer.
+     * <p>
+     * The lookup is performed case-insensitive, and does not allocate any objects.
+     *
+     * @param tagName The tagname to retrieve the tag creator for.
+     * @param <I>     Represents the parameter type of the data that is the input for the PGN Tag value
+     * @param <O>     Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+     *
+     * @return The {@link TagCreator}{@code <I,O>}  that was found, or {@code <null>} if no creator was found for the
+     * specified name.
+     *
+     * @since 1.0.0
+     */
+    public <I, O> @Nullable TagCreator<I, O> getInstance(@Nonnull CharSequence tagName) {
+        TagCreator<?, ?> creator = lookupTable.get(tagName);
+        TagMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            currentMetrics.recordLookup(creator, tagName);
+        }
+        return cast(creator);
+    }
+
+    /**
+     * Looks up the tag creator for the tag name held in a range of a byte array. Every byte is interpreted as a single
+     * (ISO-8859-1) character, which covers the ASCII tag names defined by the PGN standard.
+     * <p>
+     * The lookup is performed case-insensitive, and does not allocate any objects.
+     *
+     * @param bytes  The array holding the tag name.
+     * @param offset The offset of the first byte of the tag name.
+     * @param length The number of bytes of the tag name.
+     * @param <I>    Represents the parameter type of the data that is the input for the PGN Tag value
+     * @param <O>    Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+     *
+     * @return The {@link TagCreator}{@code <I,O>}  that was found, or {@code <null>} if no creator was found for the
+     * specified name.
+     *
+     * @since 1.0.0
+     */
+    public <I, O> @Nullable TagCreator<I, O> getInstance(@Nonnull byte[] bytes, int offset, int length) {
+        TagCreator<?, ?> creator = lookupTable.get(bytes, offset, length);
+        TagMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            currentMetrics.recordLookup(creator, bytes, offset, length);
+        }
+        return cast(creator);
+    }
+
+    /**
+     * Looks up the tag creator for the tag name held in a range of a buffer. Every byte is interpreted as a single
+     * (ISO-8859-1) character. The position of the buffer is neither used nor changed.
+     * <p>
+     * The lookup is performed case-insensitive, and does not allocate any objects.
+     *
+     * @param buffer The buffer holding the tag name.
+     * @param offset The absolute index of the first byte of the tag name.
+     * @param length The number of bytes of the tag name.
+     * @param <I>    Represents the parameter type of the data that is the input for the PGN Tag value
+     * @param <O>    Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+     *
+     * @return The {@link TagCreator}{@code <I,O>}  that was found, or {@code <null>} if no creator was found for the
+     * specified name.
+     *
+     * @since 1.0.0
+     */
+    public <I, O> @Nullable TagCreator<I, O> getInstance(@Nonnull ByteBuffer buffer, int offset, int length) {
+        TagCreator<?, ?> creator = lookupTable.get(buffer, offset, length);
+        TagMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            currentMetrics.recordLookup(creator, buffer, offset, length);
+        }
+        return cast(creator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I, O> TagCreator<I, O> cast(@Nullable TagCreator<?, ?> creator) {
+        return (TagCreator<I, O>) creator;
     }
 
     /**
@@ -60,18 +355,19 @@ public class CreatorRegistry {
      * @param <O>        Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
      *
      * @throws IllegalStateException if an attempt is made to store a tag creator that has already been registered for
-     *                               the tag name
+     *                               the tag name, or if the registry is frozen.
      * @since 1.0.0
      */
     public <I, O> void registerTagCreator(@Nonnull TagCreator<I, O> tagCreator) {
+        checkNotFrozen();
         if (tagCreator.getTagName().isEmpty()) {
             throw new IllegalArgumentException("tagCreator.getTagName()");
         }
 
-        if (tagCreatorMap.containsKey(tagCreator.getTagName().toLowerCase())) {
+        if (tagCreatorMap.putIfAbsent(TagNameTable.normalize(tagCreator.getTagName()), tagCreator) != null) {
             throw new IllegalStateException("A tag creator already exists for tag name '" + tagCreator.getTagName() + "'");
         }
-        tagCreatorMap.put(tagCreator.getTagName().toLowerCase(), tagCreator);
+        rebuildLookupTable();
         LOGGER.debug("Registered tag creator for tag '{}'", tagCreator.getTagName());
     }
 
@@ -92,16 +388,91 @@ public class CreatorRegistry {
      *
      * @return <b>True</b> if an existing method was replaced, or <b>false</b> if it was added as a new method.
      *
+     * @throws IllegalStateException if the registry is frozen; use a {@link CreatorRegistryReference} to replace tag
+     *                               creators of frozen registries.
      * @since 1.0.0
      */
     public <I, O> boolean replaceTagCreator(@Nonnull TagCreator<I, O> tagCreator) {
-        boolean replaced = tagCreatorMap.replace(tagCreator.getTagName().toLowerCase(), tagCreator) != null;
+        checkNotFrozen();
+        boolean replaced = tagCreatorMap.replace(TagNameTable.normalize(tagCreator.getTagName()), tagCreator) != null;
         if (replaced) {
+            rebuildLookupTable();
             LOGGER.info("Replaced tag creator for tag '{}'", tagCreator.getTagName());
         }
         return replaced;
     }
 
+    /**
+     * Replaces the lookup table by a new one, reflecting the current content of the tag creator map. Registration is
+     * rare compared to lookups, so the table is rebuilt completely; readers always see a complete table. The table
+     * holds the registered tag creators, wrapped for canonicalization and metrics when these are enabled.
+     */
+    private synchronized void rebuildLookupTable() {
+        Map<String, TagCreator<?, ?>> creators = new HashMap<>(tagCreatorMap);
+        if (canonicalizationCacheSize > 0) {
+            Map<String, CanonicalizingTagCreator<?, ?>> canonicalizing = new HashMap<>();
+            creators.replaceAll((name, creator) -> {
+                CanonicalizingTagCreator<?, ?> existing = canonicalizingCreators.get(name);
+                CanonicalizingTagCreator<?, ?> wrapped = existing != null && existing.getDelegate() == creator
+                        ? existing
+                        : CanonicalizingTagCreator.of(creator, canonicalizationCacheSize);
+                canonicalizing.put(name, wrapped);
+                return wrapped;
+            });
+            canonicalizingCreators = Map.copyOf(canonicalizing);
+        }
+        TagMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            creators.replaceAll((name, creator) -> currentMetrics.instrument(creator));
+        }
+        lookupTable = TagNameTable.of(creators);
+        tagSectionLayout = null;
+    }
+
+    /**
+     * Returns the tag creator registered for a tag name, without recording a lookup and without instrumentation.
+     *
+     * @param tagName The tag name, matched case-insensitive.
+     *
+     * @return The registered tag creator, or {@code null} if there is none.
+     */
+    @Nullable TagCreator<?, ?> getRegisteredCreator(@Nonnull String tagName) {
+        return tagCreatorMap.get(TagNameTable.normalize(tagName));
+    }
+
+    /**
+     * Returns the currently registered tag creators.
+     *
+     * @return An immutable copy of the registered tag creators, in no particular order.
+     */
+    Collection<TagCreator<?, ?>> getTagCreators() {
+        return List.copyOf(tagCreatorMap.values());
+    }
+
+    /**
+     * Returns the assignment of ordinals to the tag names known to this registry, as used by {@link TagSection}.
+     * <p>
+     * The layout is a snapshot; registering or replacing tag creators creates a new layout, but does not change
+     * layouts returned earlier. The layout is built on first use after a change.
+     *
+     * @return The current layout.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagSectionLayout getTagSectionLayout() {
+        TagSectionLayout layout = tagSectionLayout;
+        if (layout == null) {
+            synchronized (this) {
+                layout = tagSectionLayout;
+                if (layout == null) {
+                    layout = TagSectionLayout.of(this);
+                    tagSectionLayout = layout;
+                }
+            }
+        }
+        return layout;
+    }
+
     private static final List<String> SEVEN_TAG_ROSTER_NAMES = List.of("Event", "Site", "Date", "Round", "White", "Black", "Result");
 
     /**
@@ -142,8 +513,61 @@ public class CreatorRegistry {
      * @since 1.0.0
      */
     public void addDefaultCreators(Set<String> tagNames, boolean areRequired) {
+        for (TagCreator<?, ?> tagCreator : createDefaultCreators(tagNames, areRequired, diagnostics)) {
+            registerTagCreator(tagCreator);
+        }
+    }
+
+    static List<TagCreator<?, ?>> createDefaultCreators(Set<String> tagNames, boolean areRequired, TagDiagnostics diagnostics) {
+        List<TagCreator<?, ?>> tagCreators = new ArrayList<>(tagNames.size());
         for (String name : tagNames) {
-            registerTagCreator(TagCreatorStringValue.getInstance(name, false, areRequired));
+            tagCreators.add(TagCreatorStringValue.getInstance(name, false, areRequired, TagCreationMode.EAGER, diagnostics));
+        }
+        return tagCreators;
+    }
+
+    /**
+     * Creates a registry with tag creators for the seven tag roster, using the typed creators for the {@code Date},
+     * {@code Round} and {@code Result} tags.
+     *
+     * @param areRequired Specifies if the tag creators are for required tags (<b>true</b>) or not (<b>false</b>)
+     *
+     * @return The initialized TagCreatorRegistry
+     *
+     * @see #addSevenTagRosterCreators(boolean)
+     * @since 1.0.0
+     */
+    public static CreatorRegistry getSevenTagRosterInstance(boolean areRequired) {
+        CreatorRegistry registry = new CreatorRegistry();
+        registry.addSevenTagRosterCreators(areRequired);
+        return registry;
+    }
+
+    /**
+     * Adds tag creators for the seven tag roster. The {@code Date}, {@code Round} and {@code Result} tags get a
+     * {@link TagCreatorDateValue}, {@link TagCreatorRoundValue} and {@link TagCreatorResultValue} respectively, the
+     * other tags a {@link TagCreatorStringValue}.
+     *
+     * @param areRequired Specifies if the tag creators are for required tags (<b>true</b>) or not (<b>false</b>)
+     *
+     * @since 1.0.0
+     */
+    public void addSevenTagRosterCreators(boolean areRequired) {
+        for (TagCreator<?, ?> tagCreator : createSevenTagRosterCreators(areRequired, diagnostics)) {
+            registerTagCreator(tagCreator);
+        }
+    }
+
+    static List<TagCreator<?, ?>> createSevenTagRosterCreators(boolean areRequired, TagDiagnostics diagnostics) {
+        List<TagCreator<?, ?>> tagCreators = new ArrayList<>(SEVEN_TAG_ROSTER_NAMES.size());
+        for (String name : SEVEN_TAG_ROSTER_NAMES) {
+            tagCreators.add(switch (name) {
+                case "Date" -> TagCreatorDateValue.getInstance(name, false, areRequired, diagnostics);
+                case "Round" -> TagCreatorRoundValue.getInstance(name, false, areRequired, diagnostics);
+                case "Result" -> TagCreatorResultValue.getInstance(name, false, areRequired, diagnostics);
+                default -> TagCreatorStringValue.getInstance(name, false, areRequired, TagCreationMode.EAGER, diagnostics);
+            });
         }
+        return tagCreators;
     }
 }
@@ -0,0 +1,226 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.metrics.TagMetrics;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Builds frozen {@link CreatorRegistry} instances.
+ * <p>
+ * A builder collects tag creators in a plain map, and creates the lookup table and layout of the registry once, in
+ * {@link #build()}; a mutable registry rebuilds them for every registration. The resulting registry holds immutable
+ * maps and arrays only. Tag creators can be added explicitly, or be discovered through {@link ServiceLoader} from
+ * {@link TagCreatorProvider} implementations.
+ * <p>
+ * Builders are not thread-safe. A builder can be used to build several registries; later changes to the builder do not
+ * affect registries built earlier.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class CreatorRegistryBuilder {
+    private final Map<String, TagCreator<?, ?>> tagCreators = new HashMap<>();
+    private TagDiagnostics diagnostics = TagDiagnostics.getDefault();
+    private TagMetrics metrics;
+    private int canonicalizationCacheSize;
+
+    CreatorRegistryBuilder() {
+    }
+
+    /**
+     * Sets the diagnostics sink of the registry, which is also passed to the tag creators created by the builder. Set
+     * the sink before adding such tag creators.
+     *
+     * @param diagnostics The diagnostics sink.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the diagnostics sink is {@code null}.
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder diagnostics(TagDiagnostics diagnostics) {
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.diagnostics = diagnostics;
+        return this;
+    }
+
+    /**
+     * Sets the metrics in which the registry records lookups and tag creation.
+     *
+     * @param metrics The metrics, or {@code null} to not record metrics.
+     *
+     * @return This builder.
+     *
+     * @see CreatorRegistry#setMetrics(TagMetrics)
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder metrics(@Nullable TagMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of canonicalized tags per tag name.
+     *
+     * @param maximumSize The maximum size, or 0 to disable canonicalization.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the maximum size is negative.
+     * @see CreatorRegistry#setCanonicalizationCacheSize(int)
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder canonicalizationCacheSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Parameter: maximumSize");
+        }
+        this.canonicalizationCacheSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Adds a tag creator.
+     *
+     * @param tagCreator The tag creator to add.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalStateException if a tag creator has already been added for the tag name.
+     * @see CreatorRegistry#registerTagCreator(TagCreator)
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder registerTagCreator(@Nonnull TagCreator<?, ?> tagCreator) {
+        if (tagCreator.getTagName().isEmpty()) {
+            throw new IllegalArgumentException("tagCreator.getTagName()");
+        }
+        if (tagCreators.putIfAbsent(TagNameTable.normalize(tagCreator.getTagName()), tagCreator) != null) {
+            throw new IllegalStateException("A tag creator already exists for tag name '" + tagCreator.getTagName() + "'");
+        }
+        return this;
+    }
+
+    /**
+     * Adds a tag creator, replacing the tag creator added earlier for the same tag name, if any.
+     *
+     * @param tagCreator The tag creator to add.
+     *
+     * @return This builder.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder replaceTagCreator(@Nonnull TagCreator<?, ?> tagCreator) {
+        if (tagCreator.getTagName().isEmpty()) {
+            throw new IllegalArgumentException("tagCreator.getTagName()");
+        }
+        tagCreators.put(TagNameTable.normalize(tagCreator.getTagName()), tagCreator);
+        return this;
+    }
+
+    /**
+     * Removes the tag creator for a tag name.
+     *
+     * @param tagName The tag name, matched case-insensitive.
+     *
+     * @return This builder.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder removeTagCreator(@Nonnull String tagName) {
+        tagCreators.remove(TagNameTable.normalize(tagName));
+        return this;
+    }
+
+    /**
+     * Adds a {@link eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue} for every tag name.
+     *
+     * @param tagNames    A set of 0 or more tag names for which to create a default tag creator.
+     * @param areRequired Specifies if the tag creators are for required tags (<b>true</b>) or not (<b>false</b>)
+     *
+     * @return This builder.
+     *
+     * @see CreatorRegistry#addDefaultCreators(Set, boolean)
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder addDefaultCreators(@Nonnull Set<String> tagNames, boolean areRequired) {
+        for (TagCreator<?, ?> tagCreator : CreatorRegistry.createDefaultCreators(tagNames, areRequired, diagnostics)) {
+            registerTagCreator(tagCreator);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the tag creators for the seven tag roster.
+     *
+     * @param areRequired Specifies if the tag creators are for required tags (<b>true</b>) or not (<b>false</b>)
+     *
+     * @return This builder.
+     *
+     * @see CreatorRegistry#addSevenTagRosterCreators(boolean)
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder addSevenTagRosterCreators(boolean areRequired) {
+        for (TagCreator<?, ?> tagCreator : CreatorRegistry.createSevenTagRosterCreators(areRequired, diagnostics)) {
+            registerTagCreator(tagCreator);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the tag creators of all {@link TagCreatorProvider} implementations visible to the context class loader of
+     * the current thread.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalStateException if a provided tag creator has a tag name for which a tag creator has already been
+     *                               added.
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder discoverTagCreators() {
+        return discoverTagCreators(ServiceLoader.load(TagCreatorProvider.class));
+    }
+
+    /**
+     * Adds the tag creators of all {@link TagCreatorProvider} implementations visible to a class loader.
+     *
+     * @param classLoader The class loader used to locate the providers.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalStateException if a provided tag creator has a tag name for which a tag creator has already been
+     *                               added.
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistryBuilder discoverTagCreators(@Nullable ClassLoader classLoader) {
+        return discoverTagCreators(ServiceLoader.load(TagCreatorProvider.class, classLoader));
+    }
+
+    private CreatorRegistryBuilder discoverTagCreators(ServiceLoader<TagCreatorProvider> providers) {
+        for (TagCreatorProvider provider : providers) {
+            for (TagCreator<?, ?> tagCreator : provider.getTagCreators(diagnostics)) {
+                registerTagCreator(tagCreator);
+            }
+            LOGGER.debug("Added tag creators of provider {}", provider.getClass().getName());
+        }
+        return this;
+    }
+
+    /**
+     * Builds a frozen registry with the tag creators and settings of this builder.
+     *
+     * @return The frozen registry.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistry build() {
+        return new CreatorRegistry(tagCreators, diagnostics, metrics, canonicalizationCacheSize);
+    }
+}
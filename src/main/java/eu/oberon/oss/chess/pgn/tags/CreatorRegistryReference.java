@@ -0,0 +1,125 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current snapshot of a frozen {@link CreatorRegistry}, and replaces it atomically.
+ * <p>
+ * Changes never modify a snapshot: a new snapshot is built from the current one and swapped in with a compare-and-set,
+ * retrying if another thread swapped in a snapshot in the meantime. Readers call {@link #get()} once, e.g. per game or
+ * per file, and keep using that snapshot; they never see a partially updated registry.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class CreatorRegistryReference {
+    private final AtomicReference<CreatorRegistry> current;
+
+    /**
+     * Constructs a reference to a frozen registry.
+     *
+     * @param registry The initial snapshot.
+     *
+     * @throws IllegalArgumentException if the registry is {@code null} or not frozen.
+     * @since 1.0.0
+     */
+    public CreatorRegistryReference(CreatorRegistry registry) {
+        checkFrozen(registry);
+        this.current = new AtomicReference<>(registry);
+    }
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return The current frozen registry.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistry get() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the current snapshot unconditionally.
+     *
+     * @param registry The new snapshot.
+     *
+     * @throws IllegalArgumentException if the registry is {@code null} or not frozen.
+     * @since 1.0.0
+     */
+    public void set(CreatorRegistry registry) {
+        checkFrozen(registry);
+        current.set(registry);
+    }
+
+    /**
+     * Replaces the current snapshot by a snapshot derived from it.
+     * <p>
+     * The update function may be called more than once, when other threads update the reference concurrently, so it
+     * should not have side effects.
+     *
+     * @param update The function deriving the new snapshot from the current one, typically through
+     *               {@link CreatorRegistry#toBuilder()}.
+     *
+     * @return The new snapshot.
+     *
+     * @throws IllegalArgumentException if the update function returns {@code null} or a registry that is not frozen.
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistry update(@Nonnull UnaryOperator<CreatorRegistry> update) {
+        while (true) {
+            CreatorRegistry snapshot = current.get();
+            CreatorRegistry updated = update.apply(snapshot);
+            checkFrozen(updated);
+            if (current.compareAndSet(snapshot, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Registers a new tag creator, by swapping in a snapshot that includes it.
+     *
+     * @param tagCreator The tag creator to register.
+     *
+     * @throws IllegalStateException if a tag creator has already been registered for the tag name.
+     * @see CreatorRegistry#registerTagCreator(TagCreator)
+     * @since 1.0.0
+     */
+    public void registerTagCreator(@Nonnull TagCreator<?, ?> tagCreator) {
+        update(snapshot -> snapshot.toBuilder().registerTagCreator(tagCreator).build());
+    }
+
+    /**
+     * Replaces the tag creator registered for the tag name of the specified tag creator, by swapping in a snapshot
+     * that holds the new tag creator. Nothing is changed if no tag creator is registered for the tag name, as with
+     * {@link CreatorRegistry#replaceTagCreator(TagCreator)}.
+     *
+     * @param tagCreator The replacing tag creator.
+     *
+     * @return <b>True</b> if a tag creator was replaced, <b>false</b> if there was no tag creator for the tag name.
+     *
+     * @since 1.0.0
+     */
+    public boolean replaceTagCreator(@Nonnull TagCreator<?, ?> tagCreator) {
+        CreatorRegistry updated = update(snapshot -> snapshot.getRegisteredCreator(tagCreator.getTagName()) == null
+                ? snapshot
+                : snapshot.toBuilder().replaceTagCreator(tagCreator).build());
+        boolean replaced = updated.getRegisteredCreator(tagCreator.getTagName()) == tagCreator;
+        if (replaced) {
+            LOGGER.info("Replaced tag creator for tag '{}'", tagCreator.getTagName());
+        }
+        return replaced;
+    }
+
+    private static void checkFrozen(CreatorRegistry registry) {
+        if (registry == null || !registry.isFrozen()) {
+            throw new IllegalArgumentException("Parameter: registry");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Defines a PGN tag with a primitive {@code int} value.
+ * <p>
+ * A missing value is represented by the {@link #MISSING_VALUE} sentinel instead of {@code null}, so the value can be
+ * read without unboxing.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public interface IntPgnTag extends PgnTag<Integer> {
+    /**
+     * Sentinel value returned by {@link #getIntValue()} when the tag has no value.
+     *
+     * @since 1.0.0
+     */
+    int MISSING_VALUE = Integer.MIN_VALUE;
+
+    /**
+     * Returns the value associated with the tag instance.
+     *
+     * @return The tag's value, or {@link #MISSING_VALUE} if the tag has no value.
+     *
+     * @since 1.0.0
+     */
+    int getIntValue();
+
+    /**
+     * Returns a flag indicating if the tag has a value.
+     *
+     * @return <b>True</b> if the tag has a value, false if its value is missing.
+     *
+     * @since 1.0.0
+     */
+    default boolean hasValue() {
+        return getIntValue() != MISSING_VALUE;
+    }
+
+    /**
+     * Returns the boxed value associated with the tag instance.
+     *
+     * @return The tag's value, or {@code null} if the tag has no value.
+     *
+     * @since 1.0.0
+     */
+    @Override
+    default @Nullable Integer getTagValue() {
+        return hasValue() ? getIntValue() : null;
+    }
+}
@@ -1,7 +1,17 @@
 package eu.oberon.oss.chess.pgn.tags;
 
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Objects;
+
 /**
  * Defines a PGN tag.
+ * <p>
+ * The tags created by the tag creators of this library are immutable values: two tags are equal if they have the same
+ * tag name, the same required flag and equal tag values, regardless of their implementation class. Implementations
+ * that want to take part in this equality implement {@link Object#equals(Object)} and {@link Object#hashCode()} using
+ * {@link #isEqual(PgnTag, Object)} and {@link #hashCodeOf(PgnTag)}.
  *
  * @param <I> Defines the data type of data stored with the tag.
  *
@@ -38,14 +48,67 @@ public interface PgnTag<I> {
     boolean isRequiredTag();
 
     /**
-     * Returns the tag name and value as it should appear in a PGN representation of a chess game.
+     * Returns the tag name and value as it should appear in a PGN representation of a chess game. Quotes and
+     * backslashes in the value are escaped; a {@code null} value is written as an empty string.
      *
      * @return The formatted PGN tag.
      *
+     * @see PgnTagWriter
      * @since 1.0.0
      */
     default String getFormattedTag() {
-        return String.format("[%s \"%s\"]", getTagName(), getTagValue());
+        return PgnTagWriter.toString(this);
+    }
+
+    /**
+     * Creates an immutable tag holding an already converted value, with the value equality defined for tags.
+     *
+     * @param tagName    The name of the tag.
+     * @param tagValue   The value of the tag.
+     * @param isRequired If the tag is a required tag.
+     * @param <O>        The type of the tag value.
+     *
+     * @return The tag.
+     *
+     * @since 1.0.0
+     */
+    static <O> @Nonnull PgnTag<O> of(@Nonnull String tagName, @Nullable O tagValue, boolean isRequired) {
+        return new ValueTag<>(tagName, tagValue, isRequired);
+    }
+
+    /**
+     * Compares a tag with another object, according to the value equality defined for tags.
+     *
+     * @param tag   The tag.
+     * @param other The object to compare the tag with.
+     *
+     * @return <b>True</b> if the other object is a {@link PgnTag} with the same tag name, required flag and an equal
+     * tag value, <b>false</b> otherwise.
+     *
+     * @since 1.0.0
+     */
+    static boolean isEqual(@Nonnull PgnTag<?> tag, @Nullable Object other) {
+        if (tag == other) {
+            return true;
+        }
+        return other instanceof PgnTag<?> otherTag
+                && tag.isRequiredTag() == otherTag.isRequiredTag()
+                && Objects.equals(tag.getTagName(), otherTag.getTagName())
+                && Objects.equals(tag.getTagValue(), otherTag.getTagValue());
+    }
+
+    /**
+     * Computes the hash code of a tag, consistent with {@link #isEqual(PgnTag, Object)}.
+     *
+     * @param tag The tag.
+     *
+     * @return The hash code.
+     *
+     * @since 1.0.0
+     */
+    static int hashCodeOf(@Nonnull PgnTag<?> tag) {
+        int hash = Objects.hashCode(tag.getTagName());
+        hash = 31 * hash + Objects.hashCode(tag.getTagValue());
+        return 31 * hash + Boolean.hashCode(tag.isRequiredTag());
     }
-    
 }
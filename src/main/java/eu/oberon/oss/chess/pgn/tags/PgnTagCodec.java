@@ -0,0 +1,510 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.EcoCode;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnResult;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnRound;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of tags and tag sections, for exchanging them between processes and storing them in caches.
+ * <p>
+ * Tag names are encoded as their ordinal in a {@link TagSectionLayout}; only tags without a slot in the layout carry
+ * their name. Each tag starts with a varint combining the ordinal, the required flag and the kind of value, followed
+ * by the value:
+ * <ul>
+ *     <li>{@code int} and {@link Integer} values as zigzag varints;</li>
+ *     <li>{@link PgnDate} values as the varint of their packed value, {@link PgnRound} values as the zigzag varint
+ *     of their packed value, {@link EcoCode} values as the varint of their code, and {@link PgnResult} values as
+ *     their code in a single byte;</li>
+ *     <li>strings, and the string representation of other values, as a varint length followed by UTF-8 bytes.</li>
+ * </ul>
+ * Values of other types are decoded by passing their string representation to the tag creator of the layout; without
+ * a tag creator, or for tags without a slot in the layout, they are decoded as strings.
+ * <p>
+ * An encoded tag section starts with the {@linkplain #getSchemaVersion() schema version} of the layout, so decoding a
+ * tag section encoded with another layout fails right away instead of assigning values to the wrong tags. Single tags
+ * do not carry the schema version.
+ * <p>
+ * Encoding and decoding work directly on the buffer, and fill a tag section without creating {@link PgnTag} objects, nor
+ * {@link PgnDate} objects for tags with a date slot.
+ * Both are all-or-nothing: if the buffer does not have enough space or data remaining, its position is restored and a
+ * {@link BufferOverflowException} or {@link BufferUnderflowException} is thrown. Instances are immutable and
+ * thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class PgnTagCodec {
+    private static final int KIND_NULL = 0;
+    private static final int KIND_INT = 1;
+    private static final int KIND_DATE = 2;
+    private static final int KIND_RESULT = 3;
+    private static final int KIND_ROUND = 4;
+    private static final int KIND_ECO = 5;
+    private static final int KIND_STRING = 6;
+    private static final int KIND_TEXT = 7;
+    private static final int KIND_MASK = 0x7;
+    private static final int REQUIRED_FLAG = 0x8;
+    private static final int ORDINAL_SHIFT = 4;
+
+    private final TagSectionLayout layout;
+    private final int schemaVersion;
+
+    /**
+     * Creates a codec.
+     *
+     * @param layout The layout providing the ordinals of the tag names.
+     *
+     * @throws IllegalArgumentException if the layout is {@code null}.
+     * @since 1.0.0
+     */
+    public PgnTagCodec(@Nonnull TagSectionLayout layout) {
+        if (layout == null) {
+            throw new IllegalArgumentException("Parameter: layout");
+        }
+        this.layout = layout;
+        this.schemaVersion = schemaVersion(layout);
+    }
+
+    /**
+     * Returns the layout providing the ordinals of the tag names.
+     *
+     * @return The layout.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagSectionLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the schema version of the layout: a hash of its tag names, in ordinal order, and of the presence of
+     * their tag creators. Codecs for layouts with the same tag names in the same order have the same schema version.
+     *
+     * @return The schema version.
+     *
+     * @since 1.0.0
+     */
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * Encodes a tag section.
+     *
+     * @param buffer  The destination.
+     * @param section The tag section to encode.
+     *
+     * @throws IllegalArgumentException if the section has another layout than the codec.
+     * @throws BufferOverflowException  if the buffer has insufficient space remaining; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public void encode(@Nonnull ByteBuffer buffer, @Nonnull TagSection section) {
+        if (!section.getLayout().equals(layout)) {
+            throw new IllegalArgumentException("Parameter: section");
+        }
+        int start = buffer.position();
+        try {
+            buffer.putInt(schemaVersion);
+            putVarint(buffer, section.size());
+            for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+                if (!section.contains(ordinal)) {
+                    continue;
+                }
+                int intValue = section.getIntValue(ordinal);
+                int packedDate = section.getPackedDateValue(ordinal);
+                if (intValue != IntPgnTag.MISSING_VALUE) {
+                    putKey(buffer, ordinal, section.isRequired(ordinal), KIND_INT);
+                    putVarint(buffer, zigzag(intValue));
+                } else if (packedDate != IntPgnTag.MISSING_VALUE) {
+                    putKey(buffer, ordinal, section.isRequired(ordinal), KIND_DATE);
+                    putVarint(buffer, packedDate);
+                } else {
+                    putValue(buffer, ordinal, section.isRequired(ordinal), section.getTagValue(ordinal));
+                }
+            }
+            for (int i = 0; i < section.getOverflowCount(); i++) {
+                putOverflowValue(buffer, section.getOverflowTagName(i), false, section.getOverflowTagValue(i));
+            }
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes a tag section into a new tag section.
+     *
+     * @param buffer The source.
+     *
+     * @return The tag section.
+     *
+     * @throws IllegalArgumentException if the tag section was encoded with another schema version, or the buffer
+     *                                  does not hold a valid tag section; the buffer is left unchanged.
+     * @throws BufferUnderflowException if the buffer holds an incomplete tag section; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public @Nonnull TagSection decode(@Nonnull ByteBuffer buffer) {
+        TagSection section = new TagSection(layout);
+        decode(buffer, section);
+        return section;
+    }
+
+    /**
+     * Decodes a tag section into an existing tag section, which is cleared first, so it can be reused.
+     *
+     * @param buffer  The source.
+     * @param section The tag section to fill.
+     *
+     * @throws IllegalArgumentException if the section has another layout than the codec, the tag section was encoded
+     *                                  with another schema version, or the buffer does not hold a valid tag section;
+     *                                  the buffer is left unchanged.
+     * @throws BufferUnderflowException if the buffer holds an incomplete tag section; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public void decode(@Nonnull ByteBuffer buffer, @Nonnull TagSection section) {
+        if (!section.getLayout().equals(layout)) {
+            throw new IllegalArgumentException("Parameter: section");
+        }
+        int start = buffer.position();
+        try {
+            int version = buffer.getInt();
+            if (version != schemaVersion) {
+                throw new IllegalArgumentException("Parameter: buffer, schema version " + Integer.toHexString(version)
+                        + " does not match " + Integer.toHexString(schemaVersion));
+            }
+            section.clear();
+            int count = getVarint(buffer);
+            for (int i = 0; i < count; i++) {
+                int key = getVarint(buffer);
+                int ordinal = key >>> ORDINAL_SHIFT;
+                boolean isRequired = (key & REQUIRED_FLAG) != 0;
+                int kind = key & KIND_MASK;
+                if (ordinal == layout.size()) {
+                    String tagName = getString(buffer);
+                    section.addOverflow(tagName, getValue(buffer, kind, -1));
+                } else if (kind == KIND_INT && layout.getIntSlot(checkOrdinal(ordinal)) >= 0) {
+                    section.putIntValue(ordinal, unzigzag(getVarint(buffer)), isRequired);
+                } else if (kind == KIND_DATE && layout.getDateSlot(checkOrdinal(ordinal)) >= 0) {
+                    section.putDateValue(ordinal, checkPackedDate(getVarint(buffer)), isRequired);
+                } else {
+                    section.putValue(checkOrdinal(ordinal), getValue(buffer, kind, ordinal), isRequired);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Encodes a single tag, without the schema version.
+     *
+     * @param buffer The destination.
+     * @param tag    The tag to encode.
+     *
+     * @throws BufferOverflowException if the buffer has insufficient space remaining; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public void encode(@Nonnull ByteBuffer buffer, @Nonnull PgnTag<?> tag) {
+        int start = buffer.position();
+        try {
+            int ordinal = layout.getOrdinal(tag.getTagName());
+            if (tag instanceof IntPgnTag intTag && intTag.hasValue() && ordinal >= 0) {
+                putKey(buffer, ordinal, tag.isRequiredTag(), KIND_INT);
+                putVarint(buffer, zigzag(intTag.getIntValue()));
+            } else if (ordinal >= 0) {
+                putValue(buffer, ordinal, tag.isRequiredTag(), tag.getTagValue());
+            } else {
+                putOverflowValue(buffer, tag.getTagName(), tag.isRequiredTag(), tag.getTagValue());
+            }
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes a single tag, encoded by {@link #encode(ByteBuffer, PgnTag)}.
+     *
+     * @param buffer The source.
+     *
+     * @return The tag, an {@link IntPgnTag} for tags with an int slot in the layout.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a valid tag; the buffer is left unchanged.
+     * @throws BufferUnderflowException if the buffer holds an incomplete tag; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public @Nonnull PgnTag<?> decodeTag(@Nonnull ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            int key = getVarint(buffer);
+            int ordinal = key >>> ORDINAL_SHIFT;
+            boolean isRequired = (key & REQUIRED_FLAG) != 0;
+            int kind = key & KIND_MASK;
+            if (ordinal == layout.size()) {
+                String tagName = getString(buffer);
+                return new DecodedTag(tagName, getValue(buffer, kind, -1), isRequired);
+            }
+            String tagName = layout.getTagName(checkOrdinal(ordinal));
+            if (layout.getIntSlot(ordinal) >= 0 && (kind == KIND_INT || kind == KIND_NULL)) {
+                int value = kind == KIND_INT ? unzigzag(getVarint(buffer)) : IntPgnTag.MISSING_VALUE;
+                return new DecodedIntTag(tagName, value, isRequired);
+            }
+            return new DecodedTag(tagName, getValue(buffer, kind, ordinal), isRequired);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    private void putValue(ByteBuffer buffer, int ordinal, boolean isRequired, @Nullable Object value) {
+        int kind = kindOf(value);
+        putKey(buffer, ordinal, isRequired, kind);
+        putValue(buffer, kind, value);
+    }
+
+    private void putOverflowValue(ByteBuffer buffer, String tagName, boolean isRequired, @Nullable Object value) {
+        int kind = kindOf(value);
+        putKey(buffer, layout.size(), isRequired, kind);
+        putString(buffer, tagName);
+        putValue(buffer, kind, value);
+    }
+
+    private static void putValue(ByteBuffer buffer, int kind, @Nullable Object value) {
+        switch (kind) {
+            case KIND_NULL -> {
+            }
+            case KIND_INT -> putVarint(buffer, zigzag((Integer) value));
+            case KIND_DATE -> putVarint(buffer, ((PgnDate) value).getPackedValue());
+            case KIND_RESULT -> buffer.put(((PgnResult) value).getCode());
+            case KIND_ROUND -> putVarlong(buffer, zigzag(((PgnRound) value).getPackedValue()));
+            case KIND_ECO -> putVarint(buffer, ((EcoCode) value).getCode());
+            case KIND_STRING -> putString(buffer, (String) value);
+            default -> putString(buffer, String.valueOf(value));
+        }
+    }
+
+    private static int kindOf(@Nullable Object value) {
+        return switch (value) {
+            case null -> KIND_NULL;
+            case Integer ignored -> KIND_INT;
+            case PgnDate ignored -> KIND_DATE;
+            case PgnResult ignored -> KIND_RESULT;
+            case PgnRound ignored -> KIND_ROUND;
+            case EcoCode ignored -> KIND_ECO;
+            case String ignored -> KIND_STRING;
+            default -> KIND_TEXT;
+        };
+    }
+
+    private static void putKey(ByteBuffer buffer, int ordinal, boolean isRequired, int kind) {
+        putVarint(buffer, ordinal << ORDINAL_SHIFT | (isRequired ? REQUIRED_FLAG : 0) | kind);
+    }
+
+    private @Nullable Object getValue(ByteBuffer buffer, int kind, int ordinal) {
+        return switch (kind) {
+            case KIND_NULL -> null;
+            case KIND_INT -> unzigzag(getVarint(buffer));
+            case KIND_DATE -> PgnDate.ofPacked(getVarint(buffer));
+            case KIND_RESULT -> PgnResult.ofCode(buffer.get());
+            case KIND_ROUND -> PgnRound.ofPacked(unzigzag(getVarlong(buffer)));
+            case KIND_ECO -> EcoCode.of(getVarint(buffer));
+            case KIND_STRING -> getString(buffer);
+            default -> create(ordinal, getString(buffer));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object create(int ordinal, String value) {
+        TagCreator<String, ?> creator = ordinal < 0 ? null : (TagCreator<String, ?>) layout.getTagCreator(ordinal);
+        if (creator == null) {
+            return value;
+        }
+        TagCreationResult<?> result = creator.tryCreateTag(value);
+        return result.isSuccess() ? result.getTag().getTagValue() : value;
+    }
+
+    private static int checkPackedDate(int packedValue) {
+        if (!PgnDate.isValidPackedValue(packedValue)) {
+            throw new IllegalArgumentException("Parameter: buffer, invalid date " + Integer.toHexString(packedValue));
+        }
+        return packedValue;
+    }
+
+    private int checkOrdinal(int ordinal) {
+        if (ordinal > layout.size()) {
+            throw new IllegalArgumentException("Parameter: buffer, invalid tag ordinal " + ordinal);
+        }
+        return ordinal;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        putVarint(buffer, utf8Length(value));
+        PgnTagWriter.putText(buffer, value, false);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = getVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int position = buffer.position();
+        buffer.position(position + length);
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // the number of bytes written by PgnTagWriter.putText for an unescaped text
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void putVarlong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Parameter: buffer, invalid varint");
+    }
+
+    private static long getVarlong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Parameter: buffer, invalid varint");
+    }
+
+    private static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static long zigzag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    private static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static long unzigzag(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static int schemaVersion(TagSectionLayout layout) {
+        int hash = 0x811c9dc5;
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            String tagName = layout.getTagName(ordinal);
+            for (int i = 0; i < tagName.length(); i++) {
+                hash = (hash ^ tagName.charAt(i)) * 0x01000193;
+            }
+            hash = (hash ^ (layout.getTagCreator(ordinal) == null ? 0xFFFE : 0xFFFF)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    private record DecodedTag(String tagName, Object tagValue, boolean isRequired) implements PgnTag<Object> {
+        @Override
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public Object getTagValue() {
+            return tagValue;
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return isRequired;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+
+    private record DecodedIntTag(String tagName, int intValue, boolean isRequired) implements IntPgnTag {
+        @Override
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public int getIntValue() {
+            return intValue;
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return isRequired;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+}
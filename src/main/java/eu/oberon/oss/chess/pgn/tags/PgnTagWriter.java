@@ -0,0 +1,335 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Writes tags in their PGN representation, {@code [Name "value"]}, directly to an {@link Appendable}, a
+ * {@link CharBuffer} or a UTF-8 encoded {@link ByteBuffer}.
+ * <p>
+ * Quotes and backslashes in tag values are escaped as required by the PGN standard. A {@code null} value is written
+ * as an empty string. {@link CharSequence} and {@link IntPgnTag} values, as well as {@link Integer} and {@link Long}
+ * values, are written without creating temporary objects; other values are written using their
+ * {@link Object#toString()} representation.
+ * <p>
+ * When writing a tag section, every tag is followed by a line feed. Writing to a buffer is all-or-nothing: if the
+ * buffer does not have enough space remaining, its position is restored and a {@link BufferOverflowException} is
+ * thrown, so the caller can drain the buffer and try again.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class PgnTagWriter {
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private PgnTagWriter() {
+    }
+
+    /**
+     * Appends a tag.
+     *
+     * @param out The destination.
+     * @param tag The tag to write.
+     *
+     * @throws IOException if the destination throws an exception.
+     * @since 1.0.0
+     */
+    public static void appendTag(@Nonnull Appendable out, @Nonnull PgnTag<?> tag) throws IOException {
+        out.append('[').append(tag.getTagName()).append(' ').append('"');
+        if (tag instanceof IntPgnTag intTag) {
+            if (intTag.hasValue()) {
+                appendLong(out, intTag.getIntValue());
+            }
+        } else {
+            appendValue(out, tag.getTagValue());
+        }
+        out.append('"').append(']');
+    }
+
+    /**
+     * Appends all tags, each followed by a line feed.
+     *
+     * @param out  The destination.
+     * @param tags The tags to write.
+     *
+     * @throws IOException if the destination throws an exception.
+     * @since 1.0.0
+     */
+    public static void appendTags(@Nonnull Appendable out, @Nonnull Iterable<? extends PgnTag<?>> tags) throws IOException {
+        for (PgnTag<?> tag : tags) {
+            appendTag(out, tag);
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Appends all tags of a tag section, each followed by a line feed. Tags in fixed slots are written in ordinal
+     * order, so the seven tag roster comes first, followed by the tags in the overflow area. No tag views are created.
+     *
+     * @param out     The destination.
+     * @param section The tag section to write.
+     *
+     * @throws IOException if the destination throws an exception.
+     * @since 1.0.0
+     */
+    public static void appendTagSection(@Nonnull Appendable out, @Nonnull TagSection section) throws IOException {
+        TagSectionLayout layout = section.getLayout();
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            if (section.contains(ordinal)) {
+                out.append('[').append(layout.getTagName(ordinal)).append(' ').append('"');
+                int intValue = section.getIntValue(ordinal);
+                if (intValue != IntPgnTag.MISSING_VALUE) {
+                    appendLong(out, intValue);
+                } else {
+                    appendValue(out, section.getTagValue(ordinal));
+                }
+                out.append('"').append(']').append('\n');
+            }
+        }
+        for (int i = 0; i < section.getOverflowCount(); i++) {
+            out.append('[').append(section.getOverflowTagName(i)).append(' ').append('"');
+            appendValue(out, section.getOverflowTagValue(i));
+            out.append('"').append(']').append('\n');
+        }
+    }
+
+    /**
+     * Writes a tag to a character buffer.
+     *
+     * @param buffer The destination.
+     * @param tag    The tag to write.
+     *
+     * @throws BufferOverflowException if the buffer has insufficient space remaining; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public static void putTag(@Nonnull CharBuffer buffer, @Nonnull PgnTag<?> tag) {
+        int start = buffer.position();
+        try {
+            appendTag(buffer, tag);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes all tags of a tag section to a character buffer, each followed by a line feed.
+     *
+     * @param buffer  The destination.
+     * @param section The tag section to write.
+     *
+     * @throws BufferOverflowException if the buffer has insufficient space remaining; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public static void putTagSection(@Nonnull CharBuffer buffer, @Nonnull TagSection section) {
+        int start = buffer.position();
+        try {
+            appendTagSection(buffer, section);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a tag to a byte buffer, encoded as UTF-8.
+     *
+     * @param buffer The destination.
+     * @param tag    The tag to write.
+     *
+     * @throws BufferOverflowException if the buffer has insufficient space remaining; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public static void putTag(@Nonnull ByteBuffer buffer, @Nonnull PgnTag<?> tag) {
+        int start = buffer.position();
+        try {
+            buffer.put((byte) '[');
+            putText(buffer, tag.getTagName(), false);
+            buffer.put((byte) ' ').put((byte) '"');
+            if (tag instanceof IntPgnTag intTag) {
+                if (intTag.hasValue()) {
+                    putLong(buffer, intTag.getIntValue());
+                }
+            } else {
+                putValue(buffer, tag.getTagValue());
+            }
+            buffer.put((byte) '"').put((byte) ']');
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes all tags of a tag section to a byte buffer, encoded as UTF-8, each followed by a line feed.
+     *
+     * @param buffer  The destination.
+     * @param section The tag section to write.
+     *
+     * @throws BufferOverflowException if the buffer has insufficient space remaining; the buffer is left unchanged.
+     * @since 1.0.0
+     */
+    public static void putTagSection(@Nonnull ByteBuffer buffer, @Nonnull TagSection section) {
+        int start = buffer.position();
+        try {
+            TagSectionLayout layout = section.getLayout();
+            for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+                if (section.contains(ordinal)) {
+                    buffer.put((byte) '[');
+                    putText(buffer, layout.getTagName(ordinal), false);
+                    buffer.put((byte) ' ').put((byte) '"');
+                    int intValue = section.getIntValue(ordinal);
+                    if (intValue != IntPgnTag.MISSING_VALUE) {
+                        putLong(buffer, intValue);
+                    } else {
+                        putValue(buffer, section.getTagValue(ordinal));
+                    }
+                    buffer.put((byte) '"').put((byte) ']').put((byte) '\n');
+                }
+            }
+            for (int i = 0; i < section.getOverflowCount(); i++) {
+                buffer.put((byte) '[');
+                putText(buffer, section.getOverflowTagName(i), false);
+                buffer.put((byte) ' ').put((byte) '"');
+                putValue(buffer, section.getOverflowTagValue(i));
+                buffer.put((byte) '"').put((byte) ']').put((byte) '\n');
+            }
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a tag in its PGN representation.
+     *
+     * @param tag The tag to format.
+     *
+     * @return The formatted tag.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull String toString(@Nonnull PgnTag<?> tag) {
+        StringBuilder builder = new StringBuilder(32);
+        try {
+            appendTag(builder, tag);
+        } catch (IOException e) {
+            // StringBuilder does not throw IOExceptions
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    private static void appendValue(Appendable out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            appendLong(out, ((Number) value).longValue());
+            return;
+        }
+        CharSequence text = value instanceof CharSequence charSequence ? charSequence : value.toString();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append(text, start, i).append('\\').append(c);
+                start = i + 1;
+            }
+        }
+        out.append(text, start, text.length());
+    }
+
+    private static void appendLong(Appendable out, long value) throws IOException {
+        if (value < 0) {
+            out.append('-');
+            if (value == Long.MIN_VALUE) {
+                out.append("9223372036854775808");
+                return;
+            }
+        }
+        long remaining = Math.abs(value);
+        for (int power = digitCount(remaining) - 1; power >= 0; power--) {
+            long digit = remaining / POWERS_OF_TEN[power];
+            out.append((char) ('0' + digit));
+            remaining -= digit * POWERS_OF_TEN[power];
+        }
+    }
+
+    private static void putValue(ByteBuffer buffer, @Nullable Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            putLong(buffer, ((Number) value).longValue());
+            return;
+        }
+        putText(buffer, value instanceof CharSequence charSequence ? charSequence : value.toString(), true);
+    }
+
+    private static void putLong(ByteBuffer buffer, long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                putText(buffer, "9223372036854775808", false);
+                return;
+            }
+        }
+        long remaining = Math.abs(value);
+        for (int power = digitCount(remaining) - 1; power >= 0; power--) {
+            long digit = remaining / POWERS_OF_TEN[power];
+            buffer.put((byte) ('0' + digit));
+            remaining -= digit * POWERS_OF_TEN[power];
+        }
+    }
+
+    static void putText(ByteBuffer buffer, CharSequence text, boolean escape) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (escape && (c == '"' || c == '\\')) {
+                    buffer.put((byte) '\\');
+                }
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (count < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[count]) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,54 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * The reasons why a {@link TagCreator} can reject an input value.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public enum TagCreationError {
+    /**
+     * The input value is {@code null}, blank, or otherwise missing, while the creator does not allow missing values.
+     *
+     * @since 1.0.0
+     */
+    MISSING_VALUE,
+    /**
+     * The input value does not have a valid format, or was rejected by the creator's validator.
+     *
+     * @since 1.0.0
+     */
+    INVALID_VALUE,
+    /**
+     * The input value has a valid format, but its value is outside the range supported by the creator.
+     *
+     * @since 1.0.0
+     */
+    OUT_OF_RANGE;
+
+    private static final String ARG_ERROR_FORMAT = "Invalid input value %s for tag '%s'. Input value class=%s.";
+    private static final String RANGE_ERROR_FORMAT = "Input value '%s' for tag '%s' is out of range.";
+
+    /**
+     * Builds the message describing the rejection of an input value.
+     *
+     * @param tagName    The name of the tag.
+     * @param inputValue The rejected input value.
+     *
+     * @return The message.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull String formatMessage(@Nonnull String tagName, @Nullable Object inputValue) {
+        if (this == OUT_OF_RANGE) {
+            return String.format(RANGE_ERROR_FORMAT, inputValue, tagName);
+        }
+        if (inputValue == null) {
+            return String.format(ARG_ERROR_FORMAT, "<null>", tagName, "N/A");
+        }
+        return String.format(ARG_ERROR_FORMAT, "'" + inputValue + "'", tagName, inputValue.getClass().getName());
+    }
+}
@@ -0,0 +1,34 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+/**
+ * Specifies when a {@link TagCreatorImpl} validates and converts the input value of a tag.
+ * <p>
+ * In the lazy modes only the input value is kept when a tag is created. The conversion runs on the first call to
+ * {@link PgnTag#getTagValue()}, exactly once even when the tag is shared between threads, after which the input value
+ * is released. This saves the conversion cost for tags that are never read.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public enum TagCreationMode {
+    /**
+     * The input value is validated and converted when the tag is created.
+     *
+     * @since 1.0.0
+     */
+    EAGER,
+    /**
+     * The input value is validated when the tag is created, and converted on first access of the tag value.
+     *
+     * @since 1.0.0
+     */
+    LAZY_CONVERSION,
+    /**
+     * The input value is validated and converted on first access of the tag value. An invalid input value is only
+     * reported at that point, by an {@link IllegalArgumentException} thrown from every call to
+     * {@link PgnTag#getTagValue()}.
+     *
+     * @since 1.0.0
+     */
+    LAZY
+}
@@ -0,0 +1,165 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * The outcome of {@link TagCreator#tryCreateTag(Object)}: either the created tag, or the reason why the input value
+ * was rejected.
+ * <p>
+ * A failure only records the tag name, the {@link TagCreationError} and the input value. The error message is not
+ * built until {@link #getMessage()} or {@link #toException()} is called, and no exception, with its stack trace, is
+ * created unless requested.
+ * <p>
+ * Instances are immutable.
+ *
+ * @param <O> The type of the tag value.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagCreationResult<O> {
+    private final PgnTag<O> tag;
+    private final String tagName;
+    private final TagCreationError error;
+    private final Object inputValue;
+
+    private TagCreationResult(PgnTag<O> tag, String tagName, TagCreationError error, Object inputValue) {
+        this.tag = tag;
+        this.tagName = tagName;
+        this.error = error;
+        this.inputValue = inputValue;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param tag The created tag.
+     * @param <O> The type of the tag value.
+     *
+     * @return The result.
+     *
+     * @since 1.0.0
+     */
+    public static <O> @Nonnull TagCreationResult<O> success(@Nonnull PgnTag<O> tag) {
+        return new TagCreationResult<>(tag, tag.getTagName(), null, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param tagName    The name of the tag.
+     * @param error      The reason why the input value was rejected.
+     * @param inputValue The rejected input value.
+     * @param <O>        The type of the tag value.
+     *
+     * @return The result.
+     *
+     * @since 1.0.0
+     */
+    public static <O> @Nonnull TagCreationResult<O> failure(@Nonnull String tagName, @Nonnull TagCreationError error,
+                                                            @Nullable Object inputValue) {
+        return new TagCreationResult<>(null, tagName, error, inputValue);
+    }
+
+    /**
+     * Returns a flag indicating if the tag was created.
+     *
+     * @return <b>True</b> if the tag was created, <b>false</b> if the input value was rejected.
+     *
+     * @since 1.0.0
+     */
+    public boolean isSuccess() {
+        return tag != null;
+    }
+
+    /**
+     * Returns the created tag.
+     *
+     * @return The tag, or {@code null} if the input value was rejected.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable PgnTag<O> getTag() {
+        return tag;
+    }
+
+    /**
+     * Returns the name of the tag.
+     *
+     * @return The tag name.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Returns the reason why the input value was rejected.
+     *
+     * @return The error, or {@code null} if the tag was created.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable TagCreationError getError() {
+        return error;
+    }
+
+    /**
+     * Returns the rejected input value.
+     *
+     * @return The input value, or {@code null} if the tag was created or the input value was {@code null}.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable Object getInputValue() {
+        return inputValue;
+    }
+
+    /**
+     * Builds the message describing why the input value was rejected.
+     *
+     * @return The message, or {@code null} if the tag was created.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable String getMessage() {
+        return error == null ? null : error.formatMessage(tagName, inputValue);
+    }
+
+    /**
+     * Creates the exception that {@link TagCreator#createTag(Object)} throws for this result.
+     *
+     * @return The exception.
+     *
+     * @throws IllegalStateException if the tag was created.
+     * @since 1.0.0
+     */
+    public @Nonnull IllegalArgumentException toException() {
+        if (error == null) {
+            throw new IllegalStateException("Tag '" + tagName + "' was created successfully");
+        }
+        return new IllegalArgumentException(getMessage());
+    }
+
+    /**
+     * Returns the created tag, or throws the exception describing why the input value was rejected.
+     *
+     * @return The tag.
+     *
+     * @throws IllegalArgumentException if the input value was rejected.
+     * @since 1.0.0
+     */
+    public @Nonnull PgnTag<O> orElseThrow() {
+        if (tag == null) {
+            throw toException();
+        }
+        return tag;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "TagCreationResult[" + tag.getFormattedTag() + "]" : "TagCreationResult[" + error + ": " + getMessage() + "]";
+    }
+}
@@ -2,6 +2,9 @@ package eu.oberon.oss.chess.pgn.tags;
 
 import jakarta.annotation.Nonnull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Allows the creation of specific tags.
  *
@@ -34,4 +37,64 @@ public interface TagCreator<I, O> {
      */
     @Nonnull
     PgnTag<O> createTag(I inputValue);
+
+    /**
+     * Creates a tag for the provided input value, without throwing an exception when the value is not acceptable.
+     * <p>
+     * The default implementation calls {@link #createTag(Object)} and converts an {@link IllegalArgumentException} into
+     * a failed result with error {@link TagCreationError#INVALID_VALUE}. The creators in this library override this
+     * method so no exception is created for rejected values; their {@link #createTag(Object)} is a wrapper around it.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag, or the reason why the input value was rejected.
+     *
+     * @since 1.0.0
+     */
+    default @Nonnull TagCreationResult<O> tryCreateTag(I inputValue) {
+        try {
+            return TagCreationResult.success(createTag(inputValue));
+        } catch (IllegalArgumentException e) {
+            return TagCreationResult.failure(getTagName(), TagCreationError.INVALID_VALUE, inputValue);
+        }
+    }
+
+    /**
+     * Creates tags for a batch of input values, using {@link #tryCreateTag(Object)}.
+     *
+     * @param inputValues The input values.
+     *
+     * @return The results, in the order of the input values.
+     *
+     * @since 1.0.0
+     */
+    default @Nonnull List<TagCreationResult<O>> tryCreateTags(@Nonnull List<? extends I> inputValues) {
+        List<TagCreationResult<O>> results = new ArrayList<>(inputValues.size());
+        for (I inputValue : inputValues) {
+            results.add(tryCreateTag(inputValue));
+        }
+        return results;
+    }
+
+    /**
+     * Checks if an input value is missing: {@code null}, or a character sequence that is empty or consists of whitespace
+     * only. Character sequences are checked in place, without converting them into a string.
+     *
+     * @param inputValue The input value to check.
+     *
+     * @return {@code true} if the input value is missing.
+     *
+     * @since 1.0.0
+     */
+    static boolean isMissingValue(Object inputValue) {
+        if (inputValue instanceof CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (!Character.isWhitespace(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return inputValue == null;
+    }
 }
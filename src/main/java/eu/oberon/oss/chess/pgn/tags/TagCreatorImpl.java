@@ -22,9 +22,10 @@ public class TagCreatorImpl<I, O> implements TagCreator<I, O> {
     private final boolean isRequired;
     private final Predicate<I> validator;
     private final Function<I, O> converter;
+    private final TagCreationMode creationMode;
 
     /**
-     * Creates a new, generic tag creator.
+     * Creates a new, generic tag creator, validating and converting input values when a tag is created.
      *
      * @param tagName    The name of PGN tag for which this creator is/will be applicable.
      * @param validator  The validator to use. The input value of type {@code <I>}  will be validated before calling the
@@ -36,13 +37,35 @@ public class TagCreatorImpl<I, O> implements TagCreator<I, O> {
      * @since 1.0.0
      */
     public TagCreatorImpl(@Nonnull String tagName, @Nonnull Predicate<I> validator, @Nonnull Function<I, O> converter, boolean isRequired) {
+        this(tagName, validator, converter, isRequired, TagCreationMode.EAGER);
+    }
+
+    /**
+     * Creates a new, generic tag creator.
+     *
+     * @param tagName      The name of PGN tag for which this creator is/will be applicable.
+     * @param validator    The validator to use. The input value of type {@code <I>}  will be validated before calling
+     *                     the converter.
+     * @param converter    The converter to transform objects of type {@code <I>} into objects of type {@code <O>}
+     * @param isRequired   Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag is
+     *                     expected to be part of the tag section of the PGN data.
+     * @param creationMode Specifies when input values are validated and converted.
+     *
+     * @since 1.0.0
+     */
+    public TagCreatorImpl(@Nonnull String tagName, @Nonnull Predicate<I> validator, @Nonnull Function<I, O> converter,
+                          boolean isRequired, @Nonnull TagCreationMode creationMode) {
         if (tagName.trim().isEmpty()) {
             throw new IllegalArgumentException("Parameter: tagName");
         }
+        if (creationMode == null) {
+            throw new IllegalArgumentException("Parameter: creationMode");
+        }
         this.validator = validator;
         this.converter = converter;
         this.isRequired = isRequired;
         this.tagName = tagName;
+        this.creationMode = creationMode;
     }
 
     @Override
@@ -50,37 +73,128 @@ public class TagCreatorImpl<I, O> implements TagCreator<I, O> {
         return tagName;
     }
 
-    private static final String ARG_ERROR_FORMAT = "Invalid input value %s for tag '%s'. Input value class=%s.";
+    /**
+     * Returns when this creator validates and converts input values.
+     *
+     * @return The creation mode.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagCreationMode getCreationMode() {
+        return creationMode;
+    }
 
     @Override
     public @Nonnull PgnTag<O> createTag(I inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    /**
+     * Creates a tag for the provided input value, without throwing an exception when the validator rejects the value.
+     * <p>
+     * In {@link TagCreationMode#LAZY} mode validation is deferred, so this method always succeeds. Exceptions thrown by
+     * the converter are not caught.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag, or the reason why the input value was rejected.
+     *
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull TagCreationResult<O> tryCreateTag(I inputValue) {
+        if (creationMode == TagCreationMode.LAZY) {
+            return TagCreationResult.success(new LazyTag<>(this, inputValue, true));
+        }
         if (!validator.test(inputValue)) {
-            String msg;
-            if (inputValue == null) {
-                msg = String.format(ARG_ERROR_FORMAT, "<null>", tagName, "N/A");
-            } else {
-                msg = String.format(ARG_ERROR_FORMAT, "'" + inputValue + "'", tagName, inputValue.getClass().getName());
-            }
-            throw new IllegalArgumentException(msg);
+            return TagCreationResult.failure(tagName, rejectionReason(inputValue), inputValue);
+        }
+        if (creationMode == TagCreationMode.LAZY_CONVERSION) {
+            return TagCreationResult.success(new LazyTag<>(this, inputValue, false));
         }
 
-        return new PgnTag<>() {
-            private final O tagValue = converter.apply(inputValue);
+        return TagCreationResult.success(new ValueTag<>(tagName, converter.apply(inputValue), isRequired));
+    }
 
-            @Override
-            public String getTagName() {
-                return tagName;
-            }
+    private void validate(I inputValue) {
+        if (!validator.test(inputValue)) {
+            throw TagCreationResult.failure(tagName, rejectionReason(inputValue), inputValue).toException();
+        }
+    }
 
-            @Override
-            public O getTagValue() {
-                return tagValue;
-            }
+    /**
+     * Returns the reason for which the validator rejected an input value. Subclasses whose validator rejects values for
+     * other reasons than their format may override this method to report a more specific reason.
+     *
+     * @param inputValue The rejected input value.
+     *
+     * @return {@link TagCreationError#MISSING_VALUE} if the input value is {@code null} or blank,
+     * {@link TagCreationError#INVALID_VALUE} otherwise.
+     *
+     * @since 1.0.0
+     */
+    protected @Nonnull TagCreationError rejectionReason(I inputValue) {
+        if (TagCreator.isMissingValue(inputValue)) {
+            return TagCreationError.MISSING_VALUE;
+        }
+        return TagCreationError.INVALID_VALUE;
+    }
+
+    /**
+     * Tag keeping the input value until the tag value is first requested. Comparing the tag converts its value.
+     */
+    private static final class LazyTag<I, O> implements PgnTag<O> {
+        private static final Object UNCONVERTED = new Object();
+
+        private final TagCreatorImpl<I, O> creator;
+        private final boolean validate;
+        private I inputValue;
+        private volatile Object tagValue = UNCONVERTED;
+
+        LazyTag(TagCreatorImpl<I, O> creator, I inputValue, boolean validate) {
+            this.creator = creator;
+            this.inputValue = inputValue;
+            this.validate = validate;
+        }
+
+        @Override
+        public String getTagName() {
+            return creator.tagName;
+        }
 
-            @Override
-            public boolean isRequiredTag() {
-                return isRequired;
+        @Override
+        @SuppressWarnings("unchecked")
+        public O getTagValue() {
+            Object value = tagValue;
+            if (value == UNCONVERTED) {
+                synchronized (this) {
+                    value = tagValue;
+                    if (value == UNCONVERTED) {
+                        if (validate) {
+                            creator.validate(inputValue);
+                        }
+                        value = creator.converter.apply(inputValue);
+                        tagValue = value;
+                        inputValue = null;
+                    }
+                }
             }
-        };
+            return (O) value;
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return creator.isRequired;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
     }
 }
@@ -0,0 +1,29 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Collection;
+
+/**
+ * Service provider interface for tag creators, discovered through {@link java.util.ServiceLoader} by
+ * {@link CreatorRegistryBuilder#discoverTagCreators()}.
+ * <p>
+ * Implementations are listed in a {@code META-INF/services/eu.oberon.oss.chess.pgn.tags.TagCreatorProvider} file, or
+ * in a {@code provides} clause of a module declaration, and must have a public no-argument constructor.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public interface TagCreatorProvider {
+    /**
+     * Creates the tag creators provided by this provider.
+     *
+     * @param diagnostics The diagnostics sink of the registry being built, to pass to the created tag creators.
+     *
+     * @return The tag creators; their tag names must be distinct from those of all other registered tag creators.
+     *
+     * @since 1.0.0
+     */
+    @Nonnull
+    Collection<TagCreator<?, ?>> getTagCreators(@Nonnull TagDiagnostics diagnostics);
+}
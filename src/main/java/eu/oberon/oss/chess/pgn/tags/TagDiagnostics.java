@@ -0,0 +1,50 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Receives the diagnostics reported by tag creators for input values that were accepted, but are worth noting, such as
+ * missing values that were replaced by {@literal <null>} or a sentinel.
+ * <p>
+ * Tag creators report from their conversion path, which may be executed by many threads at once for every tag of
+ * every game. Implementations must therefore be thread-safe and cheap; see {@link AggregatingTagDiagnostics} for an
+ * implementation that counts occurrences and logs samples and summaries instead of one line per occurrence.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface TagDiagnostics {
+    /**
+     * Diagnostics sink that ignores all reports.
+     *
+     * @since 1.0.0
+     */
+    TagDiagnostics NONE = (tagName, reason) -> {
+    };
+
+    /**
+     * Reports an occurrence for a tag.
+     *
+     * @param tagName The name of the tag for which the occurrence is reported.
+     * @param reason  The reason for the report.
+     *
+     * @since 1.0.0
+     */
+    void report(@Nonnull String tagName, @Nonnull TagCreationError reason);
+
+    /**
+     * Returns the diagnostics sink used by tag creators and registries that were not given one explicitly.
+     * <p>
+     * The default sink is a shared {@link AggregatingTagDiagnostics} that logs the first
+     * {@value AggregatingTagDiagnostics#DEFAULT_SAMPLE_LIMIT} occurrences per tag and reason, followed by a summary
+     * once a minute.
+     *
+     * @return The default diagnostics sink.
+     *
+     * @since 1.0.0
+     */
+    static @Nonnull TagDiagnostics getDefault() {
+        return AggregatingTagDiagnostics.DEFAULT;
+    }
+}
@@ -0,0 +1,207 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, open-addressing hash table mapping tag names to values, with case-insensitive lookups that do not
+ * allocate.
+ * <p>
+ * Keys are stored in their lower case form, together with their hash code. The hash of a lookup key is computed while
+ * folding its characters to lower case, so it equals the {@link String#hashCode()} of the lower case key without
+ * creating that string. Byte oriented lookups treat every byte as an ISO-8859-1 character, which covers the ASCII tag
+ * names defined by the PGN standard.
+ *
+ * @param <V> The type of the values stored in the table.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class TagNameTable<V> {
+    private static final TagNameTable<?> EMPTY = new TagNameTable<>(Map.of());
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final Object[] values;
+    private final int mask;
+
+    private TagNameTable(Map<String, V> entries) {
+        int capacity = Integer.highestOneBit(Math.max(4, entries.size() * 2 + 1) - 1) << 1;
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            String key = normalize(entry.getKey());
+            int hash = key.hashCode();
+            int slot = spread(hash) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Returns an empty table.
+     *
+     * @param <V> The type of the values stored in the table.
+     *
+     * @return The empty table.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> TagNameTable<V> empty() {
+        return (TagNameTable<V>) EMPTY;
+    }
+
+    /**
+     * Creates a table holding a copy of the provided entries. Keys that only differ in case must not occur.
+     *
+     * @param entries The entries to store.
+     * @param <V>     The type of the values stored in the table.
+     *
+     * @return The new table.
+     */
+    static <V> TagNameTable<V> of(@Nonnull Map<String, V> entries) {
+        return entries.isEmpty() ? empty() : new TagNameTable<>(entries);
+    }
+
+    /**
+     * Returns the normalized (lower case) form of a tag name, as used for the keys of the table. Every character is
+     * folded on its own with {@link Character#toLowerCase(char)}, as done by the lookups, so the normalized form has
+     * the same length as the tag name, unlike {@link String#toLowerCase(Locale)} for characters such as {@code U+0130}.
+     *
+     * @param tagName The tag name to normalize.
+     *
+     * @return The normalized tag name.
+     */
+    static String normalize(@Nonnull String tagName) {
+        char[] chars = tagName.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Looks up the value for a tag name, ignoring case.
+     *
+     * @param tagName The tag name.
+     *
+     * @return The value, or {@code null} if the table holds no value for the tag name.
+     */
+    @Nullable V get(@Nonnull CharSequence tagName) {
+        int length = tagName.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + Character.toLowerCase(tagName.charAt(i));
+        }
+        for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(keys[slot], tagName)) {
+                return value(slot);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the value for a tag name held in a range of a byte array, ignoring case.
+     *
+     * @param bytes  The array holding the tag name.
+     * @param offset The offset of the first byte of the tag name.
+     * @param length The number of bytes of the tag name.
+     *
+     * @return The value, or {@code null} if the table holds no value for the tag name.
+     */
+    @Nullable V get(@Nonnull byte[] bytes, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + lowerCase(bytes[i]);
+        }
+        for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(keys[slot], bytes, offset, length)) {
+                return value(slot);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the value for a tag name held in a range of a buffer, ignoring case. The position of the buffer is
+     * neither used nor changed.
+     *
+     * @param buffer The buffer holding the tag name.
+     * @param offset The absolute index of the first byte of the tag name.
+     * @param length The number of bytes of the tag name.
+     *
+     * @return The value, or {@code null} if the table holds no value for the tag name.
+     */
+    @Nullable V get(@Nonnull ByteBuffer buffer, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + lowerCase(buffer.get(i));
+        }
+        for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(keys[slot], buffer, offset, length)) {
+                return value(slot);
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+
+    private static boolean matches(String key, CharSequence tagName) {
+        if (key.length() != tagName.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(tagName.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String key, byte[] bytes, int offset, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != lowerCase(bytes[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String key, ByteBuffer buffer, int offset, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != lowerCase(buffer.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char lowerCase(byte b) {
+        return Character.toLowerCase((char) (b & 0xFF));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
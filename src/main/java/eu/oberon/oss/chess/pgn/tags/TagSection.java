@@ -0,0 +1,581 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact storage of the tags of a single game.
+ * <p>
+ * Instead of keeping one {@link PgnTag} object per tag, the section stores the tag values in flat arrays. Tags whose
+ * name is part of the {@link TagSectionLayout} are stored in a fixed slot, indexed by the ordinal of the tag name;
+ * values of tags created by an int creator are stored as primitives, and dates of tags created by a date creator as
+ * their packed {@code int} value. Tags with other names are kept as name/value pairs in an overflow area, in the order
+ * in which they were added.
+ * <p>
+ * {@link PgnTag} instances are only created on demand, as lightweight views on the stored values. Views are transient:
+ * they read the section on every access, so they reflect later changes to the section, and so do their equality and
+ * hash code. They should not be kept as map keys or set elements; use {@link PgnTag#of(String, Object, boolean)} to
+ * take an immutable copy instead. Views compare equal to any tag with the same name, required flag and value, as
+ * defined by {@link PgnTag#isEqual(PgnTag, Object)}. Tags in the overflow area are not known to the registry, and are
+ * therefore never reported as required tags.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagSection implements Iterable<PgnTag<?>> {
+    private static final long[] NO_FLAGS = new long[0];
+    private static final int[] NO_INT_VALUES = new int[0];
+    private static final Object[] NO_OVERFLOW = new Object[0];
+
+    private final TagSectionLayout layout;
+    private final Object[] values;
+    private final int[] intValues;
+    private final int[] dateValues;
+    private final long[] present;
+    private final long[] required;
+    private Object[] overflow = NO_OVERFLOW;
+    private int overflowSize;
+
+    /**
+     * Creates an empty tag section.
+     *
+     * @param layout The layout determining the fixed slots of the section.
+     *
+     * @since 1.0.0
+     */
+    public TagSection(@Nonnull TagSectionLayout layout) {
+        this.layout = layout;
+        this.values = new Object[layout.size()];
+        this.intValues = layout.getIntSlotCount() == 0 ? NO_INT_VALUES : new int[layout.getIntSlotCount()];
+        this.dateValues = layout.getDateSlotCount() == 0 ? NO_INT_VALUES : new int[layout.getDateSlotCount()];
+        int flagWords = (layout.size() + 63) >>> 6;
+        this.present = flagWords == 0 ? NO_FLAGS : new long[flagWords];
+        this.required = flagWords == 0 ? NO_FLAGS : new long[flagWords];
+    }
+
+    /**
+     * Returns the layout of the section.
+     *
+     * @return The layout.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagSectionLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Adds a tag. If the section already holds a tag with the same name in a fixed slot, it is replaced.
+     *
+     * @param tag The tag to add.
+     *
+     * @since 1.0.0
+     */
+    public void add(@Nonnull PgnTag<?> tag) {
+        int ordinal = layout.getOrdinal(tag.getTagName());
+        if (ordinal < 0) {
+            addOverflow(tag.getTagName(), tag.getTagValue());
+            return;
+        }
+        int intSlot = layout.getIntSlot(ordinal);
+        if (intSlot >= 0 && tag instanceof IntPgnTag intTag) {
+            intValues[intSlot] = intTag.getIntValue();
+            values[ordinal] = null;
+            setFlag(present, ordinal, true);
+            setFlag(required, ordinal, tag.isRequiredTag());
+        } else {
+            putValue(ordinal, tag.getTagValue(), tag.isRequiredTag());
+        }
+    }
+
+    /**
+     * Adds a tag for which no tag creator is available, with its raw value. If the tag name is part of the layout (a
+     * seven tag roster name without a registered creator), the value is stored in its fixed slot.
+     *
+     * @param tagName  The name of the tag.
+     * @param tagValue The raw value of the tag.
+     *
+     * @since 1.0.0
+     */
+    public void addUnknownTag(@Nonnull String tagName, @Nullable String tagValue) {
+        int ordinal = layout.getOrdinal(tagName);
+        if (ordinal < 0 || layout.getIntSlot(ordinal) >= 0 || layout.getDateSlot(ordinal) >= 0) {
+            addOverflow(tagName, tagValue);
+            return;
+        }
+        values[ordinal] = tagValue;
+        setFlag(present, ordinal, true);
+        setFlag(required, ordinal, false);
+    }
+
+    /**
+     * Stores a value in the fixed slot for an ordinal, replacing the tag held, if any.
+     *
+     * @param ordinal    The ordinal.
+     * @param value      The value.
+     * @param isRequired If the tag is a required tag.
+     */
+    void putValue(int ordinal, @Nullable Object value, boolean isRequired) {
+        int intSlot = layout.getIntSlot(ordinal);
+        if (intSlot >= 0) {
+            intValues[intSlot] = IntPgnTag.MISSING_VALUE;
+        }
+        int dateSlot = layout.getDateSlot(ordinal);
+        if (dateSlot >= 0) {
+            if (value instanceof PgnDate date) {
+                putDateValue(ordinal, date.getPackedValue(), isRequired);
+                return;
+            }
+            dateValues[dateSlot] = IntPgnTag.MISSING_VALUE;
+        }
+        values[ordinal] = value;
+        setFlag(present, ordinal, true);
+        setFlag(required, ordinal, isRequired);
+    }
+
+    /**
+     * Stores a primitive value in the int slot for an ordinal, replacing the tag held, if any.
+     *
+     * @param ordinal    The ordinal, which must have an int slot.
+     * @param value      The value.
+     * @param isRequired If the tag is a required tag.
+     */
+    void putIntValue(int ordinal, int value, boolean isRequired) {
+        intValues[layout.getIntSlot(ordinal)] = value;
+        values[ordinal] = null;
+        setFlag(present, ordinal, true);
+        setFlag(required, ordinal, isRequired);
+    }
+
+    /**
+     * Stores a packed date in the date slot for an ordinal, replacing the tag held, if any.
+     *
+     * @param ordinal     The ordinal, which must have a date slot.
+     * @param packedValue The packed value of the date.
+     * @param isRequired  If the tag is a required tag.
+     */
+    void putDateValue(int ordinal, int packedValue, boolean isRequired) {
+        dateValues[layout.getDateSlot(ordinal)] = packedValue;
+        values[ordinal] = null;
+        setFlag(present, ordinal, true);
+        setFlag(required, ordinal, isRequired);
+    }
+
+    /**
+     * Returns if the tag in the slot for an ordinal is a required tag.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return {@code true} if the tag is present and required.
+     */
+    boolean isRequired(int ordinal) {
+        return contains(ordinal) && getFlag(required, ordinal);
+    }
+
+    void addOverflow(String tagName, Object tagValue) {
+        if (overflowSize + 2 > overflow.length) {
+            overflow = Arrays.copyOf(overflow, Math.max(4, overflow.length * 2));
+        }
+        overflow[overflowSize++] = tagName;
+        overflow[overflowSize++] = tagValue;
+    }
+
+    /**
+     * Returns if the section holds a tag in the slot for an ordinal.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return <b>True</b> if a tag is present, false otherwise.
+     *
+     * @since 1.0.0
+     */
+    public boolean contains(int ordinal) {
+        return getFlag(present, ordinal);
+    }
+
+    /**
+     * Returns if the section holds a tag with the specified name. The lookup is performed case-insensitive.
+     *
+     * @param tagName The tag name.
+     *
+     * @return <b>True</b> if a tag is present, false otherwise.
+     *
+     * @since 1.0.0
+     */
+    public boolean contains(@Nonnull CharSequence tagName) {
+        int ordinal = layout.getOrdinal(tagName);
+        return ordinal >= 0 ? contains(ordinal) : overflowIndex(tagName) >= 0;
+    }
+
+    /**
+     * Returns the value stored in the slot for an ordinal. Values of int slots are boxed, and values of date slots are
+     * returned as a {@link PgnDate}.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The value, or {@code null} if the tag is not present or has no value.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable Object getTagValue(int ordinal) {
+        if (!contains(ordinal)) {
+            return null;
+        }
+        int intSlot = layout.getIntSlot(ordinal);
+        if (intSlot >= 0 && values[ordinal] == null && intValues[intSlot] != IntPgnTag.MISSING_VALUE) {
+            return intValues[intSlot];
+        }
+        int dateSlot = layout.getDateSlot(ordinal);
+        if (dateSlot >= 0 && values[ordinal] == null && dateValues[dateSlot] != IntPgnTag.MISSING_VALUE) {
+            return PgnDate.ofPacked(dateValues[dateSlot]);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Returns the primitive value stored in the int slot for an ordinal, without boxing.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The value, or {@link IntPgnTag#MISSING_VALUE} if the tag is not present, has no value, or the ordinal has
+     * no int slot.
+     *
+     * @since 1.0.0
+     */
+    public int getIntValue(int ordinal) {
+        int intSlot = layout.getIntSlot(ordinal);
+        if (intSlot < 0 || !contains(ordinal) || values[ordinal] != null) {
+            return IntPgnTag.MISSING_VALUE;
+        }
+        return intValues[intSlot];
+    }
+
+    /**
+     * Returns the packed value of the date stored in the date slot for an ordinal, without creating a {@link PgnDate}.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The {@linkplain PgnDate#getPackedValue() packed value}, or {@link IntPgnTag#MISSING_VALUE} if the tag is
+     * not present, has no value, or the ordinal has no date slot.
+     *
+     * @since 1.0.0
+     */
+    public int getPackedDateValue(int ordinal) {
+        int dateSlot = layout.getDateSlot(ordinal);
+        if (dateSlot < 0 || !contains(ordinal) || values[ordinal] != null) {
+            return IntPgnTag.MISSING_VALUE;
+        }
+        return dateValues[dateSlot];
+    }
+
+    /**
+     * Returns a view of the tag stored in the slot for an ordinal.
+     * The view reflects later changes to the section.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The tag, or {@code null} if the tag is not present.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable PgnTag<?> getTag(int ordinal) {
+        if (!contains(ordinal)) {
+            return null;
+        }
+        return layout.getIntSlot(ordinal) >= 0 && values[ordinal] == null ? new IntSlotTag(ordinal) : new SlotTag(ordinal);
+    }
+
+    /**
+     * Returns a view of the tag with the specified name. The lookup is performed case-insensitive.
+     * The view reflects later changes to the section.
+     *
+     * @param tagName The tag name.
+     *
+     * @return The tag, or {@code null} if the tag is not present.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable PgnTag<?> getTag(@Nonnull CharSequence tagName) {
+        int ordinal = layout.getOrdinal(tagName);
+        if (ordinal >= 0) {
+            return getTag(ordinal);
+        }
+        int index = overflowIndex(tagName);
+        return index < 0 ? null : new OverflowTag(index);
+    }
+
+    /**
+     * Returns the number of tags in the overflow area, i.e. tags whose name is not part of the layout.
+     *
+     * @return The number of overflow tags.
+     *
+     * @since 1.0.0
+     */
+    public int getOverflowCount() {
+        return overflowSize / 2;
+    }
+
+    /**
+     * Returns the name of a tag in the overflow area.
+     *
+     * @param index The index of the tag in the overflow area, in the order in which the tags were added.
+     *
+     * @return The tag name.
+     *
+     * @throws IndexOutOfBoundsException if the index is not in the range {@code [0, getOverflowCount())}.
+     * @since 1.0.0
+     */
+    public @Nonnull String getOverflowTagName(int index) {
+        return (String) overflow[overflowSlot(index)];
+    }
+
+    /**
+     * Returns the value of a tag in the overflow area.
+     *
+     * @param index The index of the tag in the overflow area, in the order in which the tags were added.
+     *
+     * @return The tag value.
+     *
+     * @throws IndexOutOfBoundsException if the index is not in the range {@code [0, getOverflowCount())}.
+     * @since 1.0.0
+     */
+    public @Nullable Object getOverflowTagValue(int index) {
+        return overflow[overflowSlot(index) + 1];
+    }
+
+    private int overflowSlot(int index) {
+        if (index < 0 || index >= overflowSize / 2) {
+            throw new IndexOutOfBoundsException("Overflow index " + index + " out of range");
+        }
+        return index * 2;
+    }
+
+    private int overflowIndex(CharSequence tagName) {
+        for (int i = 0; i < overflowSize; i += 2) {
+            if (equalsIgnoreCase((String) overflow[i], tagName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean equalsIgnoreCase(String name, CharSequence tagName) {
+        if (name.length() != tagName.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(name.charAt(i)) != Character.toLowerCase(tagName.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of tags in the section.
+     *
+     * @return The number of tags, including the tags in the overflow area.
+     *
+     * @since 1.0.0
+     */
+    public int size() {
+        int count = overflowSize / 2;
+        for (long word : present) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns if the section holds no tags.
+     *
+     * @return <b>True</b> if the section is empty, false otherwise.
+     *
+     * @since 1.0.0
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all tags, so the section can be reused for another game.
+     *
+     * @since 1.0.0
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(present, 0L);
+        Arrays.fill(required, 0L);
+        Arrays.fill(overflow, 0, overflowSize, null);
+        overflowSize = 0;
+    }
+
+    /**
+     * Returns views of all tags in the section.
+     *
+     * @return A list of tags, first the tags in fixed slots in ordinal order, followed by the tags in the overflow area.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull List<PgnTag<?>> getTags() {
+        List<PgnTag<?>> tags = new ArrayList<>(size());
+        forEach(tags::add);
+        return tags;
+    }
+
+    @Override
+    public @Nonnull Iterator<PgnTag<?>> iterator() {
+        return new Iterator<>() {
+            private int ordinal = nextOrdinal(0);
+            private int overflowIndex;
+
+            @Override
+            public boolean hasNext() {
+                return ordinal < values.length || overflowIndex < overflowSize;
+            }
+
+            @Override
+            public PgnTag<?> next() {
+                if (ordinal < values.length) {
+                    PgnTag<?> tag = getTag(ordinal);
+                    ordinal = nextOrdinal(ordinal + 1);
+                    return tag;
+                }
+                if (overflowIndex < overflowSize) {
+                    PgnTag<?> tag = new OverflowTag(overflowIndex);
+                    overflowIndex += 2;
+                    return tag;
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    private int nextOrdinal(int from) {
+        int ordinal = from;
+        while (ordinal < values.length && !contains(ordinal)) {
+            ordinal++;
+        }
+        return ordinal;
+    }
+
+    private static boolean getFlag(long[] flags, int index) {
+        return (flags[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void setFlag(long[] flags, int index, boolean value) {
+        if (value) {
+            flags[index >>> 6] |= 1L << index;
+        } else {
+            flags[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private final class SlotTag implements PgnTag<Object> {
+        private final int ordinal;
+
+        SlotTag(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getTagName() {
+            return layout.getTagName(ordinal);
+        }
+
+        @Override
+        public Object getTagValue() {
+            return TagSection.this.getTagValue(ordinal);
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return getFlag(required, ordinal);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+
+    private final class IntSlotTag implements IntPgnTag {
+        private final int ordinal;
+
+        IntSlotTag(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getTagName() {
+            return layout.getTagName(ordinal);
+        }
+
+        @Override
+        public int getIntValue() {
+            return intValues[layout.getIntSlot(ordinal)];
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return getFlag(required, ordinal);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+
+    private final class OverflowTag implements PgnTag<Object> {
+        private final int index;
+
+        OverflowTag(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getTagName() {
+            return (String) overflow[index];
+        }
+
+        @Override
+        public Object getTagValue() {
+            return overflow[index + 1];
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+}
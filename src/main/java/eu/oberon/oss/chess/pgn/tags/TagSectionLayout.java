@@ -0,0 +1,266 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorDateValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable assignment of ordinals to the tag names known to a {@link CreatorRegistry}.
+ * <p>
+ * The names of the seven tag roster ({@link CreatorRegistry#getSevenTagRosterNames()}) always occupy ordinals 0 to 6,
+ * in roster order, whether or not a tag creator is registered for them. The remaining registered tag names follow,
+ * ordered case-insensitively by name, so two registries with the same tag names produce the same layout.
+ * <p>
+ * Tags created by a {@link TagCreatorIntValue} are assigned an additional <em>int slot</em>, which allows their value
+ * to be stored as a primitive. Likewise, tags created by a {@link TagCreatorDateValue} are assigned a <em>date
+ * slot</em>, holding the {@linkplain PgnDate#getPackedValue() packed value} of their date.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagSectionLayout {
+    private final String[] tagNames;
+    private final TagCreator<?, ?>[] tagCreators;
+    private final int[] intSlots;
+    private final int intSlotCount;
+    private final int[] dateSlots;
+    private final int dateSlotCount;
+    private final TagNameTable<Integer> ordinals;
+
+    private TagSectionLayout(List<String> tagNames, List<TagCreator<?, ?>> tagCreators) {
+        this.tagNames = tagNames.toArray(new String[0]);
+        this.tagCreators = tagCreators.toArray(new TagCreator<?, ?>[0]);
+        this.intSlots = new int[this.tagNames.length];
+        this.dateSlots = new int[this.tagNames.length];
+
+        int intSlot = 0;
+        int dateSlot = 0;
+        Map<String, Integer> ordinalMap = new HashMap<>();
+        for (int ordinal = 0; ordinal < this.tagNames.length; ordinal++) {
+            ordinalMap.put(this.tagNames[ordinal], ordinal);
+            intSlots[ordinal] = this.tagCreators[ordinal] instanceof TagCreatorIntValue ? intSlot++ : -1;
+            dateSlots[ordinal] = this.tagCreators[ordinal] instanceof TagCreatorDateValue ? dateSlot++ : -1;
+        }
+        this.intSlotCount = intSlot;
+        this.dateSlotCount = dateSlot;
+        this.ordinals = TagNameTable.of(ordinalMap);
+    }
+
+    /**
+     * Creates the layout for the tag creators currently registered in a registry.
+     *
+     * @param registry The registry.
+     *
+     * @return The layout.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull TagSectionLayout of(@Nonnull CreatorRegistry registry) {
+        List<String> names = new ArrayList<>();
+        List<TagCreator<?, ?>> creators = new ArrayList<>();
+        for (String name : CreatorRegistry.getSevenTagRosterNames()) {
+            TagCreator<?, ?> creator = registry.getRegisteredCreator(name);
+            names.add(creator == null ? name : creator.getTagName());
+            creators.add(creator);
+        }
+
+        List<TagCreator<?, ?>> others = new ArrayList<>();
+        for (TagCreator<?, ?> creator : registry.getTagCreators()) {
+            if (!isSevenTagRosterName(creator.getTagName())) {
+                others.add(creator);
+            }
+        }
+        others.sort(Comparator.comparing(creator -> TagNameTable.normalize(creator.getTagName())));
+        for (TagCreator<?, ?> creator : others) {
+            names.add(creator.getTagName());
+            creators.add(creator);
+        }
+        return new TagSectionLayout(names, creators);
+    }
+
+    private static boolean isSevenTagRosterName(String tagName) {
+        for (String name : CreatorRegistry.getSevenTagRosterNames()) {
+            if (name.equalsIgnoreCase(tagName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of ordinals in the layout.
+     *
+     * @return The number of tag names in the layout.
+     *
+     * @since 1.0.0
+     */
+    public int size() {
+        return tagNames.length;
+    }
+
+    /**
+     * Returns the tag names in ordinal order.
+     *
+     * @return An immutable list of the tag names.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull List<String> getTagNames() {
+        return List.of(tagNames);
+    }
+
+    /**
+     * Returns the tag name for an ordinal.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The tag name.
+     *
+     * @throws IndexOutOfBoundsException if the ordinal is not part of the layout.
+     * @since 1.0.0
+     */
+    public @Nonnull String getTagName(int ordinal) {
+        return tagNames[ordinal];
+    }
+
+    /**
+     * Returns the tag creator registered for an ordinal at the time the layout was created.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The tag creator, or {@code null} for a seven tag roster name without a registered creator.
+     *
+     * @throws IndexOutOfBoundsException if the ordinal is not part of the layout.
+     * @since 1.0.0
+     */
+    public @Nullable TagCreator<?, ?> getTagCreator(int ordinal) {
+        return tagCreators[ordinal];
+    }
+
+    /**
+     * Returns the ordinal of a tag name. The lookup is performed case-insensitive.
+     *
+     * @param tagName The tag name.
+     *
+     * @return The ordinal, or -1 if the tag name is not part of the layout.
+     *
+     * @since 1.0.0
+     */
+    public int getOrdinal(@Nonnull CharSequence tagName) {
+        return ordinal(ordinals.get(tagName));
+    }
+
+    /**
+     * Returns the ordinal of a tag name held in a range of a byte array. The lookup is performed case-insensitive.
+     *
+     * @param bytes  The array holding the tag name.
+     * @param offset The offset of the first byte of the tag name.
+     * @param length The number of bytes of the tag name.
+     *
+     * @return The ordinal, or -1 if the tag name is not part of the layout.
+     *
+     * @since 1.0.0
+     */
+    public int getOrdinal(@Nonnull byte[] bytes, int offset, int length) {
+        return ordinal(ordinals.get(bytes, offset, length));
+    }
+
+    /**
+     * Returns the ordinal of a tag name held in a range of a buffer. The lookup is performed case-insensitive.
+     *
+     * @param buffer The buffer holding the tag name.
+     * @param offset The absolute index of the first byte of the tag name.
+     * @param length The number of bytes of the tag name.
+     *
+     * @return The ordinal, or -1 if the tag name is not part of the layout.
+     *
+     * @since 1.0.0
+     */
+    public int getOrdinal(@Nonnull ByteBuffer buffer, int offset, int length) {
+        return ordinal(ordinals.get(buffer, offset, length));
+    }
+
+    /**
+     * Returns the int slot of an ordinal.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The int slot, or -1 if the value for the ordinal is not stored as a primitive int.
+     *
+     * @since 1.0.0
+     */
+    public int getIntSlot(int ordinal) {
+        return intSlots[ordinal];
+    }
+
+    /**
+     * Returns the number of int slots in the layout.
+     *
+     * @return The number of tag names whose values are stored as primitive ints.
+     *
+     * @since 1.0.0
+     */
+    public int getIntSlotCount() {
+        return intSlotCount;
+    }
+
+    /**
+     * Returns the date slot of an ordinal.
+     *
+     * @param ordinal The ordinal.
+     *
+     * @return The date slot, or -1 if the value for the ordinal is not stored as a packed date.
+     *
+     * @since 1.0.0
+     */
+    public int getDateSlot(int ordinal) {
+        return dateSlots[ordinal];
+    }
+
+    /**
+     * Returns the number of date slots in the layout.
+     *
+     * @return The number of tag names whose values are stored as packed dates.
+     *
+     * @since 1.0.0
+     */
+    public int getDateSlotCount() {
+        return dateSlotCount;
+    }
+
+    private static int ordinal(Integer ordinal) {
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TagSectionLayout other)) {
+            return false;
+        }
+        return Arrays.equals(tagNames, other.tagNames) && Arrays.equals(intSlots, other.intSlots)
+                && Arrays.equals(dateSlots, other.dateSlots);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(tagNames) + Arrays.hashCode(intSlots)) + Arrays.hashCode(dateSlots);
+    }
+
+    @Override
+    public String toString() {
+        return "TagSectionLayout" + Arrays.toString(tagNames);
+    }
+}
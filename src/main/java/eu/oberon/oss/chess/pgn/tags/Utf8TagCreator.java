@@ -0,0 +1,74 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tag creator that also accepts input values as a slice of UTF-8 encoded bytes, as found in PGN data.
+ * <p>
+ * Creating a tag from the bytes avoids decoding the input value into a {@link String} when the tag value is not a
+ * string, such as a number. Creators decode the bytes only when the string value is really needed, and may fall back
+ * to decoding for input values that are unusual or rejected, so that both ways of creating a tag accept the same input
+ * values and create equal tags.
+ * <p>
+ * A {@code java.lang.foreign.MemorySegment} slice can be passed as {@code segment.asByteBuffer()}.
+ *
+ * @param <I> Represents the parameter type of the data that is the input for the PGN Tag value
+ * @param <O> Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public interface Utf8TagCreator<I extends CharSequence, O> extends TagCreator<I, O> {
+    /**
+     * Creates a tag for the UTF-8 encoded input value in a range of a buffer, without throwing an exception when the
+     * value is not acceptable. The position and limit of the buffer are neither used nor changed, and the buffer is not
+     * referenced by the created tag.
+     *
+     * @param buffer The buffer holding the input value.
+     * @param offset The absolute index in the buffer of the first byte of the input value.
+     * @param length The number of bytes of the input value.
+     *
+     * @return The created tag, or the reason why the input value was rejected.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the buffer.
+     * @since 1.0.0
+     */
+    @Nonnull
+    TagCreationResult<O> tryCreateTag(@Nonnull ByteBuffer buffer, int offset, int length);
+
+    /**
+     * Creates a tag for the UTF-8 encoded input value in a range of a byte array, without throwing an exception when
+     * the value is not acceptable.
+     *
+     * @param bytes  The array holding the input value.
+     * @param offset The index of the first byte of the input value.
+     * @param length The number of bytes of the input value.
+     *
+     * @return The created tag, or the reason why the input value was rejected.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     * @since 1.0.0
+     */
+    default @Nonnull TagCreationResult<O> tryCreateTag(@Nonnull byte[] bytes, int offset, int length) {
+        return tryCreateTag(ByteBuffer.wrap(bytes), offset, length);
+    }
+
+    /**
+     * Creates a tag for the UTF-8 encoded input value in a range of a buffer.
+     *
+     * @param buffer The buffer holding the input value.
+     * @param offset The absolute index in the buffer of the first byte of the input value.
+     * @param length The number of bytes of the input value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException  if the input value is not acceptable.
+     * @throws IndexOutOfBoundsException if the range is not within the buffer.
+     * @since 1.0.0
+     */
+    default @Nonnull PgnTag<O> createTag(@Nonnull ByteBuffer buffer, int offset, int length) {
+        return tryCreateTag(buffer, offset, length).orElseThrow();
+    }
+}
@@ -0,0 +1,48 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Immutable tag holding an already converted value, created by {@link PgnTag#of(String, Object, boolean)}.
+ *
+ * @param <O> The type of the tag value.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class ValueTag<O> implements PgnTag<O> {
+    private final String tagName;
+    private final O tagValue;
+    private final boolean isRequired;
+
+    ValueTag(String tagName, @Nullable O tagValue, boolean isRequired) {
+        this.tagName = tagName;
+        this.tagValue = tagValue;
+        this.isRequired = isRequired;
+    }
+
+    @Override
+    public String getTagName() {
+        return tagName;
+    }
+
+    @Override
+    public O getTagValue() {
+        return tagValue;
+    }
+
+    @Override
+    public boolean isRequiredTag() {
+        return isRequired;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return PgnTag.isEqual(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return PgnTag.hashCodeOf(this);
+    }
+}
@@ -0,0 +1,487 @@
+package eu.oberon.oss.chess.pgn.tags.cache;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tag creator that returns a shared tag for repeated input values, instead of creating a new tag for every occurrence.
+ * <p>
+ * The tags created by the delegate are cached by input value, in a bounded cache with least-recently-used eviction. A
+ * cached tag is returned without validating or converting the input value again, so the delegate is expected to
+ * create immutable tags that depend on the input value only, as the tag creators of this library do. Rejected input
+ * values, {@code null} and blank values are not cached, so that a delegate reporting accepted missing values to a
+ * {@link eu.oberon.oss.chess.pgn.tags.TagDiagnostics} sink reports every occurrence. Input values that are a {@link CharSequence}, but not a {@link String}, are
+ * cached by their string value, as such sequences may be mutable. When the delegate is a {@link Utf8TagCreator}, so is
+ * the canonicalizing creator: values passed as bytes are looked up by comparing the bytes in place with the cached
+ * string values, and only decoded on a cache miss, when they are also passed on to the delegate as bytes. Byte values
+ * that are not well-formed UTF-8 are not cached.
+ * <p>
+ * To keep contention low when many threads create tags at once, the cache is split in up to 16 segments, each with its
+ * own lock and its own share of the maximum size; eviction is least-recently-used within a segment. Small caches use
+ * fewer segments, so that each segment holds enough tags for its eviction order to be meaningful.
+ *
+ * @param <I> Represents the parameter type of the data that is the input for the PGN Tag value
+ * @param <O> Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public sealed class CanonicalizingTagCreator<I, O> implements TagCreator<I, O> permits CanonicalizingTagCreator.Utf8 {
+    /**
+     * The maximum cache size used when none is specified.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final TagCreator<I, O> delegate;
+    private final int maximumSize;
+    private final Segment<O>[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private CanonicalizingTagCreator(TagCreator<I, O> delegate, int maximumSize) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Parameter: delegate");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Parameter: maximumSize");
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maximumSize / MIN_SEGMENT_SIZE)));
+        int segmentSize = maximumSize / segmentCount;
+        int remainder = maximumSize % segmentCount;
+        @SuppressWarnings("unchecked")
+        Segment<O>[] cacheSegments = (Segment<O>[]) new Segment<?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            cacheSegments[i] = new Segment<>(i < remainder ? segmentSize + 1 : segmentSize, evictions);
+        }
+        this.segments = cacheSegments;
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Wraps a tag creator in a creator that canonicalizes its tags, using the {@link #DEFAULT_MAXIMUM_SIZE}.
+     *
+     * @param tagCreator The tag creator to wrap.
+     * @param <I>        Represents the parameter type of the data that is the input for the PGN Tag value
+     * @param <O>        Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+     *
+     * @return The canonicalizing tag creator.
+     *
+     * @since 1.0.0
+     */
+    public static <I, O> @Nonnull CanonicalizingTagCreator<I, O> of(@Nonnull TagCreator<I, O> tagCreator) {
+        return of(tagCreator, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Wraps a tag creator in a creator that canonicalizes its tags.
+     *
+     * @param tagCreator  The tag creator to wrap.
+     * @param maximumSize The maximum number of cached tags.
+     * @param <I>         Represents the parameter type of the data that is the input for the PGN Tag value
+     * @param <O>         Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+     *
+     * @return The canonicalizing tag creator.
+     *
+     * @throws IllegalArgumentException if the tag creator is {@code null}, or the maximum size is not positive.
+     * @since 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O> @Nonnull CanonicalizingTagCreator<I, O> of(@Nonnull TagCreator<I, O> tagCreator, int maximumSize) {
+        if (tagCreator instanceof Utf8TagCreator<?, ?> utf8Creator) {
+            return (CanonicalizingTagCreator<I, O>) (CanonicalizingTagCreator<?, ?>) new Utf8<>(utf8Creator, maximumSize);
+        }
+        return new CanonicalizingTagCreator<>(tagCreator, maximumSize);
+    }
+
+    /**
+     * Returns the tag creator that creates the tags on a cache miss.
+     *
+     * @return The delegate.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagCreator<I, O> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the maximum number of cached tags.
+     *
+     * @return The maximum size.
+     *
+     * @since 1.0.0
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the statistics of the cache.
+     *
+     * @return A snapshot of the statistics.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagCacheStatistics getStatistics() {
+        int size = 0;
+        for (Segment<O> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new TagCacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size, maximumSize);
+    }
+
+    /**
+     * Removes all cached tags. The statistics are not reset.
+     *
+     * @since 1.0.0
+     */
+    public void clear() {
+        for (Segment<O> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public String getTagName() {
+        return delegate.getTagName();
+    }
+
+    @Override
+    public PgnTag<O> createTag(I inputValue) {
+        Object key = keyOf(inputValue);
+        if (key == null) {
+            return delegate.createTag(inputValue);
+        }
+        Segment<O> segment = segmentFor(key);
+        PgnTag<O> tag = get(segment, key);
+        if (tag == null) {
+            tag = put(segment, key, delegate.createTag(inputValue));
+        }
+        return tag;
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<O> tryCreateTag(I inputValue) {
+        Object key = keyOf(inputValue);
+        if (key == null) {
+            return delegate.tryCreateTag(inputValue);
+        }
+        Segment<O> segment = segmentFor(key);
+        PgnTag<O> tag = get(segment, key);
+        if (tag != null) {
+            return TagCreationResult.success(tag);
+        }
+        return put(segment, key, delegate.tryCreateTag(inputValue));
+    }
+
+    PgnTag<O> get(Segment<O> segment, Object key) {
+        PgnTag<O> tag;
+        synchronized (segment) {
+            tag = segment.get(key);
+        }
+        return count(tag);
+    }
+
+    /**
+     * Looks up the tag cached for a UTF-8 encoded value, without decoding it.
+     */
+    PgnTag<O> get(Segment<O> segment, byte[] array, ByteBuffer buffer, int offset, int length, int hash) {
+        PgnTag<O> tag;
+        synchronized (segment) {
+            Utf8Probe probe = segment.probe;
+            probe.set(array, buffer, offset, length, hash);
+            try {
+                tag = segment.get(probe);
+            } finally {
+                probe.clear();
+            }
+        }
+        return count(tag);
+    }
+
+    private PgnTag<O> count(PgnTag<O> tag) {
+        if (tag != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return tag;
+    }
+
+    /**
+     * Caches a created tag, unless another thread cached a tag for the same key in the meantime.
+     *
+     * @return The cached tag.
+     */
+    PgnTag<O> put(Segment<O> segment, Object key, PgnTag<O> tag) {
+        synchronized (segment) {
+            PgnTag<O> existing = segment.putIfAbsent(key, tag);
+            return existing != null ? existing : tag;
+        }
+    }
+
+    /**
+     * Caches the tag of a successful result, unless another thread cached a tag for the same key in the meantime.
+     *
+     * @return The result holding the cached tag, or the failed result.
+     */
+    TagCreationResult<O> put(Segment<O> segment, Object key, TagCreationResult<O> result) {
+        if (!result.isSuccess()) {
+            return result;
+        }
+        PgnTag<O> created = result.getTag();
+        PgnTag<O> canonical = put(segment, key, created);
+        return canonical == created ? result : TagCreationResult.success(canonical);
+    }
+
+    Segment<O> segmentFor(Object key) {
+        return segmentFor(key.hashCode());
+    }
+
+    Segment<O> segmentFor(int hash) {
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    private static Object keyOf(Object inputValue) {
+        if (TagCreator.isMissingValue(inputValue)) {
+            return null;
+        }
+        if (inputValue instanceof CharSequence text && !(inputValue instanceof String)) {
+            return text.toString();
+        }
+        return inputValue;
+    }
+
+    /**
+     * Canonicalizing tag creator for a delegate that accepts UTF-8 encoded values.
+     */
+    static final class Utf8<I extends CharSequence, O> extends CanonicalizingTagCreator<I, O> implements Utf8TagCreator<I, O> {
+        private final Utf8TagCreator<I, O> utf8Delegate;
+
+        private Utf8(Utf8TagCreator<I, O> delegate, int maximumSize) {
+            super(delegate, maximumSize);
+            this.utf8Delegate = delegate;
+        }
+
+        @Override
+        public @Nonnull TagCreationResult<O> tryCreateTag(@Nonnull ByteBuffer buffer, int offset, int length) {
+            long hash = Utf8Probe.hashOf(null, buffer, offset, length);
+            if (hash == Utf8Probe.NOT_CACHED) {
+                return utf8Delegate.tryCreateTag(buffer, offset, length);
+            }
+            Segment<O> segment = segmentFor((int) hash);
+            PgnTag<O> tag = get(segment, null, buffer, offset, length, (int) hash);
+            if (tag != null) {
+                return TagCreationResult.success(tag);
+            }
+            String key = StandardCharsets.UTF_8.decode(buffer.slice(offset, length)).toString();
+            return put(segment, key, utf8Delegate.tryCreateTag(buffer, offset, length));
+        }
+
+        @Override
+        public @Nonnull TagCreationResult<O> tryCreateTag(@Nonnull byte[] bytes, int offset, int length) {
+            long hash = Utf8Probe.hashOf(bytes, null, offset, length);
+            if (hash == Utf8Probe.NOT_CACHED) {
+                return utf8Delegate.tryCreateTag(bytes, offset, length);
+            }
+            Segment<O> segment = segmentFor((int) hash);
+            PgnTag<O> tag = get(segment, bytes, null, offset, length, (int) hash);
+            if (tag != null) {
+                return TagCreationResult.success(tag);
+            }
+            String key = new String(bytes, offset, length, StandardCharsets.UTF_8);
+            return put(segment, key, utf8Delegate.tryCreateTag(bytes, offset, length));
+        }
+    }
+
+    /**
+     * Lookup key for a UTF-8 encoded value, equal to the cached string key holding the same characters. Only used to look
+     * up values under the lock of its segment; never stored in the cache.
+     */
+    private static final class Utf8Probe {
+        /**
+         * Returned by {@link #hashOf} for values that are blank or not well-formed UTF-8.
+         */
+        static final long NOT_CACHED = -1L;
+
+        private byte[] array;
+        private ByteBuffer buffer;
+        private int offset;
+        private int length;
+        private int hash;
+
+        void set(byte[] array, ByteBuffer buffer, int offset, int length, int hash) {
+            this.array = array;
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        void clear() {
+            array = null;
+            buffer = null;
+        }
+
+        /**
+         * Computes the {@link String#hashCode()} of the decoded value, without decoding it.
+         *
+         * @return The hash code, or {@link #NOT_CACHED} if the value is blank or not well-formed UTF-8.
+         */
+        static long hashOf(byte[] array, ByteBuffer buffer, int offset, int length) {
+            int hash = 0;
+            boolean blank = true;
+            int index = 0;
+            while (index < length) {
+                int codePoint = codePointAt(array, buffer, offset, length, index);
+                if (codePoint < 0) {
+                    return NOT_CACHED;
+                }
+                if (Character.isBmpCodePoint(codePoint)) {
+                    hash = 31 * hash + codePoint;
+                    blank &= Character.isWhitespace(codePoint);
+                } else {
+                    hash = 31 * (31 * hash + Character.highSurrogate(codePoint)) + Character.lowSurrogate(codePoint);
+                    blank = false;
+                }
+                index += encodedLength(codePoint);
+            }
+            return blank ? NOT_CACHED : hash & 0xFFFFFFFFL;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof String text)) {
+                return false;
+            }
+            int position = 0;
+            int index = 0;
+            while (index < length) {
+                int codePoint = codePointAt(array, buffer, offset, length, index);
+                if (Character.isBmpCodePoint(codePoint)) {
+                    if (position >= text.length() || text.charAt(position++) != codePoint) {
+                        return false;
+                    }
+                } else if (position + 1 >= text.length()
+                        || text.charAt(position++) != Character.highSurrogate(codePoint)
+                        || text.charAt(position++) != Character.lowSurrogate(codePoint)) {
+                    return false;
+                }
+                index += encodedLength(codePoint);
+            }
+            return position == text.length();
+        }
+
+        /**
+         * Decodes the code point starting at an index, rejecting the sequences that a decoder would replace.
+         *
+         * @return The code point, or -1 if the bytes at the index are not a well-formed UTF-8 sequence.
+         */
+        private static int codePointAt(byte[] array, ByteBuffer buffer, int offset, int length, int index) {
+            int first = byteAt(array, buffer, offset + index);
+            if (first < 0x80) {
+                return first;
+            }
+            int count;
+            int minimum;
+            int codePoint;
+            if (first >= 0xC2 && first <= 0xDF) {
+                count = 1;
+                minimum = 0x80;
+                codePoint = first & 0x1F;
+            } else if (first >= 0xE0 && first <= 0xEF) {
+                count = 2;
+                minimum = 0x800;
+                codePoint = first & 0x0F;
+            } else if (first >= 0xF0 && first <= 0xF4) {
+                count = 3;
+                minimum = 0x10000;
+                codePoint = first & 0x07;
+            } else {
+                return -1;
+            }
+            if (index + count >= length) {
+                return -1;
+            }
+            for (int i = 1; i <= count; i++) {
+                int next = byteAt(array, buffer, offset + index + i);
+                if ((next & 0xC0) != 0x80) {
+                    return -1;
+                }
+                codePoint = (codePoint << 6) | (next & 0x3F);
+            }
+            if (codePoint < minimum || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                return -1;
+            }
+            return codePoint;
+        }
+
+        private static int byteAt(byte[] array, ByteBuffer buffer, int index) {
+            return (array != null ? array[index] : buffer.get(index)) & 0xFF;
+        }
+
+        private static int encodedLength(int codePoint) {
+            if (codePoint < 0x80) {
+                return 1;
+            }
+            if (codePoint < 0x800) {
+                return 2;
+            }
+            return codePoint < 0x10000 ? 3 : 4;
+        }
+    }
+
+    /**
+     * A part of the cache, ordered from least to most recently used. Guarded by its own lock. Never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class Segment<O> extends LinkedHashMap<Object, PgnTag<O>> {
+        private final int capacity;
+        private final transient LongAdder evictions;
+        private final transient Utf8Probe probe = new Utf8Probe();
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, PgnTag<O>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package eu.oberon.oss.chess.pgn.tags.cache;
+
+/**
+ * Immutable snapshot of the statistics of the cache of a {@link CanonicalizingTagCreator}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagCacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int maximumSize;
+
+    TagCacheStatistics(long hits, long misses, long evictions, int size, int maximumSize) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the number of tags that were returned from the cache.
+     *
+     * @return The number of hits.
+     *
+     * @since 1.0.0
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of tags that had to be created, because their input value was not cached.
+     *
+     * @return The number of misses.
+     *
+     * @since 1.0.0
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of tags that were removed from the cache to make room for others.
+     *
+     * @return The number of evictions.
+     *
+     * @since 1.0.0
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of cached tags.
+     *
+     * @return The size of the cache.
+     *
+     * @since 1.0.0
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of cached tags.
+     *
+     * @return The maximum size of the cache.
+     *
+     * @since 1.0.0
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the fraction of requests that were served from the cache.
+     *
+     * @return The hit rate, from 0 to 1; 0 if there were no requests.
+     *
+     * @since 1.0.0
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "TagCacheStatistics{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size
+                + ", maximumSize=" + maximumSize + "}";
+    }
+}
@@ -0,0 +1,229 @@
+package eu.oberon.oss.chess.pgn.tags.columnar;
+
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only view of the values of one column in one row group of a columnar tag file.
+ * <p>
+ * Values are read from the mapped file when requested; only the strings of a dictionary are cached once decoded.
+ * Instances are thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class ColumnChunk {
+    private final ColumnType type;
+    private final int rowCount;
+    private final ByteBuffer chunk;
+    private final int valuesOffset;
+    private final int dictionarySize;
+    private final int dictionaryOffsetsOffset;
+    private final int dictionaryDataOffset;
+    private final int indexWidth;
+    private final String[] dictionary;
+
+    ColumnChunk(ColumnType type, int rowCount, ByteBuffer chunk) {
+        this.type = type;
+        this.rowCount = rowCount;
+        this.chunk = chunk;
+        int bitmapSize = (rowCount + 7) >>> 3;
+        if (type == ColumnType.STRING) {
+            this.dictionarySize = chunk.getInt(bitmapSize);
+            this.dictionaryOffsetsOffset = bitmapSize + Integer.BYTES;
+            this.dictionaryDataOffset = dictionaryOffsetsOffset + (dictionarySize + 1) * Integer.BYTES;
+            int widthOffset = dictionaryDataOffset + chunk.getInt(dictionaryOffsetsOffset + dictionarySize * Integer.BYTES);
+            this.indexWidth = chunk.get(widthOffset);
+            this.valuesOffset = widthOffset + 1;
+            this.dictionary = new String[dictionarySize];
+        } else {
+            this.dictionarySize = 0;
+            this.dictionaryOffsetsOffset = 0;
+            this.dictionaryDataOffset = 0;
+            this.indexWidth = Integer.BYTES;
+            this.valuesOffset = bitmapSize;
+            this.dictionary = null;
+        }
+    }
+
+    /**
+     * Returns the type of the column.
+     *
+     * @return The column type.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull ColumnType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of rows in the chunk.
+     *
+     * @return The number of rows.
+     *
+     * @since 1.0.0
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns if a row has a value.
+     *
+     * @param row The row index within the chunk.
+     *
+     * @return <b>True</b> if the row has a value, <b>false</b> if the tag was missing or had no value.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public boolean isPresent(int row) {
+        Objects.checkIndex(row, rowCount);
+        return (chunk.get(row >>> 3) & (1 << (row & 7))) != 0;
+    }
+
+    /**
+     * Returns the primitive value of a row of an int or date column. Date values are returned as their packed value.
+     *
+     * @param row The row index within the chunk.
+     *
+     * @return The value, or 0 if the row has no value.
+     *
+     * @throws IllegalStateException     if this is a string column.
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public int getInt(int row) {
+        if (type == ColumnType.STRING) {
+            throw new IllegalStateException("Not an int column");
+        }
+        Objects.checkIndex(row, rowCount);
+        return chunk.getInt(valuesOffset + row * Integer.BYTES);
+    }
+
+    /**
+     * Returns the value of a row, as an {@link Integer} for int columns, a {@link PgnDate} for date columns, and a
+     * {@link String} for string columns.
+     *
+     * @param row The row index within the chunk.
+     *
+     * @return The value, or {@code null} if the row has no value.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public @Nullable Object getValue(int row) {
+        if (!isPresent(row)) {
+            return null;
+        }
+        return switch (type) {
+            case INT -> getInt(row);
+            case DATE -> PgnDate.ofPacked(getInt(row));
+            case STRING -> getDictionaryValue(getDictionaryIndex(row));
+        };
+    }
+
+    /**
+     * Returns the string representation of the value of a row.
+     *
+     * @param row The row index within the chunk.
+     *
+     * @return The value as a string, or {@code null} if the row has no value.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public @Nullable String getString(int row) {
+        Object value = getValue(row);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Returns the number of distinct values of a string column in this chunk.
+     *
+     * @return The dictionary size; 0 for int and date columns.
+     *
+     * @since 1.0.0
+     */
+    public int getDictionarySize() {
+        return dictionarySize;
+    }
+
+    /**
+     * Returns a value of the dictionary of a string column.
+     *
+     * @param index The dictionary index.
+     *
+     * @return The value.
+     *
+     * @throws IndexOutOfBoundsException if there is no such dictionary entry.
+     * @since 1.0.0
+     */
+    public @Nonnull String getDictionaryValue(int index) {
+        Objects.checkIndex(index, dictionarySize);
+        String value = dictionary[index];
+        if (value == null) {
+            // decoding twice on a race is harmless, as both threads create equal strings
+            int start = chunk.getInt(dictionaryOffsetsOffset + index * Integer.BYTES);
+            int end = chunk.getInt(dictionaryOffsetsOffset + (index + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            chunk.get(dictionaryDataOffset + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            dictionary[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the dictionary index of the value of a row of a string column, e.g. to count values without decoding
+     * them.
+     *
+     * @param row The row index within the chunk.
+     *
+     * @return The dictionary index, or -1 if the row has no value.
+     *
+     * @throws IllegalStateException     if this is not a string column.
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public int getDictionaryIndex(int row) {
+        if (type != ColumnType.STRING) {
+            throw new IllegalStateException("Not a string column");
+        }
+        if (!isPresent(row)) {
+            return -1;
+        }
+        int position = valuesOffset + row * indexWidth;
+        return switch (indexWidth) {
+            case 1 -> Byte.toUnsignedInt(chunk.get(position));
+            case 2 -> Short.toUnsignedInt(chunk.getShort(position));
+            default -> chunk.getInt(position);
+        };
+    }
+
+    /**
+     * Passes the values of an int or date column to a consumer, in row order, skipping rows without a value.
+     *
+     * @param consumer The consumer of the values.
+     *
+     * @throws IllegalStateException if this is a string column.
+     * @since 1.0.0
+     */
+    public void forEachInt(@Nonnull IntConsumer consumer) {
+        if (type == ColumnType.STRING) {
+            throw new IllegalStateException("Not an int column");
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if ((chunk.get(row >>> 3) & (1 << (row & 7))) != 0) {
+                consumer.accept(chunk.getInt(valuesOffset + row * Integer.BYTES));
+            }
+        }
+    }
+}
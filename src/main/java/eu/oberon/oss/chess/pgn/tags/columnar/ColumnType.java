@@ -0,0 +1,65 @@
+package eu.oberon.oss.chess.pgn.tags.columnar;
+
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorDateValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntegerValue;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * The storage type of a column in a columnar tag file, derived from the output type of the tag creator of the column.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public enum ColumnType {
+    /**
+     * Values stored as dictionary-encoded UTF-8 strings: the string representation of the tag values.
+     *
+     * @since 1.0.0
+     */
+    STRING,
+    /**
+     * Values stored as primitive {@code int} values, for tags created by a {@link TagCreatorIntValue} or a
+     * {@link TagCreatorIntegerValue}.
+     *
+     * @since 1.0.0
+     */
+    INT,
+    /**
+     * Values stored as the packed {@code int} value of a {@link eu.oberon.oss.chess.pgn.tags.creators.PgnDate}, for
+     * tags created by a {@link TagCreatorDateValue}.
+     *
+     * @since 1.0.0
+     */
+    DATE;
+
+    private static final ColumnType[] VALUES = values();
+
+    /**
+     * Returns the column type for the values created by a tag creator.
+     *
+     * @param tagCreator The tag creator, or {@code null} for tags without a creator.
+     *
+     * @return The column type.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull ColumnType of(@Nullable TagCreator<?, ?> tagCreator) {
+        if (tagCreator instanceof TagCreatorIntValue || tagCreator instanceof TagCreatorIntegerValue) {
+            return INT;
+        }
+        if (tagCreator instanceof TagCreatorDateValue) {
+            return DATE;
+        }
+        return STRING;
+    }
+
+    static ColumnType ofCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Parameter: code");
+        }
+        return VALUES[code];
+    }
+}
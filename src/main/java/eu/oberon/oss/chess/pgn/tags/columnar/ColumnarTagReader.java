@@ -0,0 +1,270 @@
+package eu.oberon.oss.chess.pgn.tags.columnar;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Reads a columnar tag file written by a {@link ColumnarTagWriter}.
+ * <p>
+ * Only the footer, describing the columns and the position of every column chunk, is read when a file is opened. The
+ * chunks of a column are memory-mapped when requested, so a scan over a single tag reads only the data of that tag.
+ * <p>
+ * Instances are thread-safe. The returned {@link ColumnChunk} instances remain valid after the reader is closed.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class ColumnarTagReader implements Closeable {
+    static final byte[] MAGIC = "PGNTAGCF".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    // magic and version at the start, footer offset and magic at the end
+    static final int HEADER_SIZE = 8 + Integer.BYTES;
+    static final int TRAILER_SIZE = Long.BYTES + 8;
+
+    private final FileChannel channel;
+    private final List<String> tagNames;
+    private final Map<String, Integer> columnIndexes;
+    private final ColumnType[] types;
+    private final int[] rowCounts;
+    private final long[][] offsets;
+    private final int[][] lengths;
+    private final long rowCount;
+
+    private ColumnarTagReader(FileChannel channel, List<String> tagNames, ColumnType[] types, int[] rowCounts,
+                              long[][] offsets, int[][] lengths) {
+        this.channel = channel;
+        this.tagNames = Collections.unmodifiableList(tagNames);
+        this.types = types;
+        this.rowCounts = rowCounts;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.columnIndexes = new HashMap<>();
+        for (int i = 0; i < tagNames.size(); i++) {
+            columnIndexes.put(normalize(tagNames.get(i)), i);
+        }
+        this.rowCount = Arrays.stream(rowCounts).asLongStream().sum();
+    }
+
+    /**
+     * Opens a columnar tag file.
+     *
+     * @param path The file to open.
+     *
+     * @return The reader.
+     *
+     * @throws IOException if the file cannot be read, or is not a columnar tag file of a supported version.
+     * @since 1.0.0
+     */
+    public static @Nonnull ColumnarTagReader open(@Nonnull Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = read(channel, 0, HEADER_SIZE, size);
+            ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE, size);
+            if (header == null || trailer == null || !hasMagic(header, 0) || !hasMagic(trailer, Long.BYTES)) {
+                throw new IOException("Not a columnar tag file: " + path);
+            }
+            int version = header.getInt(MAGIC.length);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported columnar tag file version " + version + ": " + path);
+            }
+            long footerOffset = trailer.getLong(0);
+            ByteBuffer footer = read(channel, footerOffset, size - TRAILER_SIZE - footerOffset, size);
+            if (footer == null) {
+                throw new IOException("Corrupt columnar tag file: " + path);
+            }
+
+            int columnCount = footer.getInt();
+            List<String> tagNames = new ArrayList<>(columnCount);
+            ColumnType[] types = new ColumnType[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                byte[] name = new byte[footer.getShort()];
+                footer.get(name);
+                tagNames.add(new String(name, StandardCharsets.UTF_8));
+                types[i] = ColumnType.ofCode(footer.get());
+            }
+            int rowGroupCount = footer.getInt();
+            int[] rowCounts = new int[rowGroupCount];
+            long[][] offsets = new long[rowGroupCount][columnCount];
+            int[][] lengths = new int[rowGroupCount][columnCount];
+            for (int group = 0; group < rowGroupCount; group++) {
+                rowCounts[group] = footer.getInt();
+                for (int i = 0; i < columnCount; i++) {
+                    offsets[group][i] = footer.getLong();
+                    lengths[group][i] = footer.getInt();
+                }
+            }
+            LOGGER.debug("Opened {} columns in {} row groups from '{}'", columnCount, rowGroupCount, path);
+            return new ColumnarTagReader(channel, tagNames, types, rowCounts, offsets, lengths);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the names of the tags stored as columns.
+     *
+     * @return An unmodifiable list of tag names, in column order.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull List<String> getTagNames() {
+        return tagNames;
+    }
+
+    /**
+     * Returns the type of the column of a tag.
+     *
+     * @param tagName The tag name, matched case-insensitively.
+     *
+     * @return The column type, or {@code null} if the file has no column for the tag.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable ColumnType getColumnType(@Nonnull String tagName) {
+        Integer column = columnIndexes.get(normalize(tagName));
+        return column == null ? null : types[column];
+    }
+
+    /**
+     * Returns the number of rows, i.e. the number of games, in the file.
+     *
+     * @return The number of rows.
+     *
+     * @since 1.0.0
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of row groups in the file.
+     *
+     * @return The number of row groups.
+     *
+     * @since 1.0.0
+     */
+    public int getRowGroupCount() {
+        return rowCounts.length;
+    }
+
+    /**
+     * Returns the number of rows in a row group.
+     *
+     * @param rowGroup The index of the row group.
+     *
+     * @return The number of rows.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row group.
+     * @since 1.0.0
+     */
+    public int getRowCount(int rowGroup) {
+        return rowCounts[Objects.checkIndex(rowGroup, rowCounts.length)];
+    }
+
+    /**
+     * Maps the chunk of a column in a row group.
+     *
+     * @param rowGroup The index of the row group.
+     * @param tagName  The tag name, matched case-insensitively.
+     *
+     * @return The column chunk.
+     *
+     * @throws IllegalArgumentException  if the file has no column for the tag.
+     * @throws IndexOutOfBoundsException if there is no such row group.
+     * @throws IOException               if the chunk cannot be mapped.
+     * @since 1.0.0
+     */
+    public @Nonnull ColumnChunk getColumnChunk(int rowGroup, @Nonnull String tagName) throws IOException {
+        Objects.checkIndex(rowGroup, rowCounts.length);
+        int column = columnIndex(tagName);
+        ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, offsets[rowGroup][column], lengths[rowGroup][column]);
+        return new ColumnChunk(types[column], rowCounts[rowGroup], chunk);
+    }
+
+    /**
+     * Passes the values of an int or date column to a consumer, in row order, skipping rows without a value. Only the
+     * chunks of the column are read. Date values are passed as their packed value, see
+     * {@link eu.oberon.oss.chess.pgn.tags.creators.PgnDate#ofPacked(int)}.
+     *
+     * @param tagName  The tag name, matched case-insensitively.
+     * @param consumer The consumer of the values.
+     *
+     * @throws IllegalArgumentException if the file has no column for the tag, or it is a string column.
+     * @throws IOException              if a chunk cannot be mapped.
+     * @since 1.0.0
+     */
+    public void forEachInt(@Nonnull String tagName, @Nonnull IntConsumer consumer) throws IOException {
+        if (types[columnIndex(tagName)] == ColumnType.STRING) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        for (int group = 0; group < rowCounts.length; group++) {
+            getColumnChunk(group, tagName).forEachInt(consumer);
+        }
+    }
+
+    /**
+     * Closes the file. Column chunks that were already mapped remain valid.
+     *
+     * @throws IOException if the file cannot be closed.
+     * @since 1.0.0
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int columnIndex(String tagName) {
+        Integer column = columnIndexes.get(normalize(tagName));
+        if (column == null) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        return column;
+    }
+
+    private static String normalize(String tagName) {
+        return tagName.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer, int index) {
+        return buffer.slice(index, MAGIC.length).equals(ByteBuffer.wrap(MAGIC));
+    }
+
+    /**
+     * Reads a range of a file.
+     *
+     * @return The bytes read, or {@code null} if the range is not within the file.
+     */
+    private static ByteBuffer read(FileChannel channel, long position, long length, long size) throws IOException {
+        if (position < 0 || length < 0 || length > Integer.MAX_VALUE || position + length > size) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return buffer.flip();
+    }
+}
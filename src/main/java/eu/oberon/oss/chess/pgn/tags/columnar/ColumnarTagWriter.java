@@ -0,0 +1,373 @@
+package eu.oberon.oss.chess.pgn.tags.columnar;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+import static eu.oberon.oss.chess.pgn.tags.columnar.ColumnarTagReader.FORMAT_VERSION;
+import static eu.oberon.oss.chess.pgn.tags.columnar.ColumnarTagReader.MAGIC;
+
+/**
+ * Writes the tags of parsed games to a columnar tag file, with one column per tag name of a section layout.
+ * <p>
+ * The type of each column follows from the tag creator of the tag name, see {@link ColumnType#of}. String columns are
+ * dictionary-encoded; int and date columns are stored as primitive values. Every column has a bitmap marking the rows
+ * that have a value. Tags without a slot in the layout are not written.
+ * <p>
+ * Rows are buffered in memory until a row group is complete, and then written column by column, so files of any size
+ * can be written with a fixed amount of memory. The file is complete once {@link #close()} has written its footer.
+ * Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public class ColumnarTagWriter implements ObjLongConsumer<TagSection>, Closeable {
+    /**
+     * The default number of rows per row group.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 1 << 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final TagSectionLayout layout;
+    private final int rowGroupSize;
+    private final Column[] columns;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private int rowCount;
+    private long totalRowCount;
+    private long position;
+    private boolean closed;
+
+    /**
+     * Creates a writer using the {@link #DEFAULT_ROW_GROUP_SIZE}.
+     *
+     * @param path   The file to write; an existing file is replaced.
+     * @param layout The layout of the tag sections to write, usually
+     *               {@link CreatorRegistry#getTagSectionLayout()}.
+     *
+     * @throws IOException if the file cannot be created.
+     * @since 1.0.0
+     */
+    public ColumnarTagWriter(@Nonnull Path path, @Nonnull TagSectionLayout layout) throws IOException {
+        this(path, layout, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param path         The file to write; an existing file is replaced.
+     * @param layout       The layout of the tag sections to write, usually
+     *                     {@link CreatorRegistry#getTagSectionLayout()}.
+     * @param rowGroupSize The number of rows per row group.
+     *
+     * @throws IllegalArgumentException if the row group size is not positive.
+     * @throws IOException              if the file cannot be created.
+     * @since 1.0.0
+     */
+    public ColumnarTagWriter(@Nonnull Path path, @Nonnull TagSectionLayout layout, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Parameter: rowGroupSize");
+        }
+        this.path = path;
+        this.layout = layout;
+        this.rowGroupSize = rowGroupSize;
+
+        List<Column> list = new ArrayList<>();
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            if (layout.getTagCreator(ordinal) != null) {
+                list.add(new Column(layout.getTagName(ordinal), ordinal, ColumnType.of(layout.getTagCreator(ordinal)), rowGroupSize));
+            }
+        }
+        this.columns = list.toArray(new Column[0]);
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        write(ByteBuffer.allocate(MAGIC.length + Integer.BYTES).put(MAGIC).putInt(FORMAT_VERSION).flip());
+    }
+
+    /**
+     * Parses a PGN file and writes the tags of its games to a columnar tag file.
+     *
+     * @param registry     The registry providing the tag creators.
+     * @param pgnFile      The PGN file to parse.
+     * @param columnarFile The columnar tag file to write; an existing file is replaced.
+     *
+     * @throws IOException if the PGN file cannot be read, or the columnar tag file cannot be written.
+     * @since 1.0.0
+     */
+    public static void write(@Nonnull CreatorRegistry registry, @Nonnull Path pgnFile, @Nonnull Path columnarFile) throws IOException {
+        TagSectionLayout layout = registry.getTagSectionLayout();
+        try (ColumnarTagWriter writer = new ColumnarTagWriter(columnarFile, layout)) {
+            new TagSectionParser(registry).parse(pgnFile, new TagSectionBuilder(layout, writer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds the tags of a game as a row.
+     *
+     * @param section    The tag section of the game.
+     * @param gameOffset The byte offset of the game in the PGN file; not written.
+     *
+     * @throws IllegalArgumentException if the section has another layout than the writer.
+     * @throws IllegalStateException    if the writer is closed.
+     * @throws UncheckedIOException     if a completed row group cannot be written.
+     * @since 1.0.0
+     */
+    @Override
+    public void accept(@Nonnull TagSection section, long gameOffset) {
+        if (closed) {
+            throw new IllegalStateException("The writer is closed");
+        }
+        if (!section.getLayout().equals(layout)) {
+            throw new IllegalArgumentException("Parameter: section");
+        }
+        for (Column column : columns) {
+            column.add(section, rowCount);
+        }
+        totalRowCount++;
+        if (++rowCount == rowGroupSize) {
+            try {
+                writeRowGroup();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rows added.
+     *
+     * @return The number of rows.
+     *
+     * @since 1.0.0
+     */
+    public long getRowCount() {
+        return totalRowCount;
+    }
+
+    /**
+     * Writes the last row group and the footer, and closes the file. Has no effect if the writer is already closed.
+     *
+     * @throws IOException if the file cannot be written.
+     * @since 1.0.0
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            if (rowCount > 0) {
+                writeRowGroup();
+            }
+            writeFooter();
+        }
+        LOGGER.debug("Wrote {} columns of {} rows in {} row groups to '{}'", columns.length, totalRowCount, rowGroups.size(), path);
+    }
+
+    private void writeRowGroup() throws IOException {
+        long[] offsets = new long[columns.length];
+        int[] lengths = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            ByteBuffer chunk = columns[i].encode(rowCount);
+            offsets[i] = position;
+            lengths[i] = chunk.remaining();
+            write(chunk);
+            columns[i].clear();
+        }
+        rowGroups.add(new RowGroup(rowCount, offsets, lengths));
+        rowCount = 0;
+    }
+
+    private void writeFooter() throws IOException {
+        byte[][] names = new byte[columns.length][];
+        int size = Integer.BYTES * 2 + rowGroups.size() * (Integer.BYTES + columns.length * (Long.BYTES + Integer.BYTES));
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].name.getBytes(StandardCharsets.UTF_8);
+            size += Short.BYTES + names[i].length + 1;
+        }
+
+        long footerOffset = position;
+        ByteBuffer footer = ByteBuffer.allocate(size + Long.BYTES + MAGIC.length);
+        footer.putInt(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            footer.putShort((short) names[i].length).put(names[i]).put((byte) columns[i].type.ordinal());
+        }
+        footer.putInt(rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            footer.putInt(rowGroup.rowCount);
+            for (int i = 0; i < columns.length; i++) {
+                footer.putLong(rowGroup.offsets[i]).putInt(rowGroup.lengths[i]);
+            }
+        }
+        footer.putLong(footerOffset).put(MAGIC);
+        write(footer.flip());
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private record RowGroup(int rowCount, long[] offsets, int[] lengths) {
+    }
+
+    /**
+     * The values of one column in the current row group.
+     */
+    private static final class Column {
+        private final String name;
+        private final int ordinal;
+        private final ColumnType type;
+        private final long[] present;
+        private final int[] values;
+        private final Map<String, Integer> dictionary;
+        private final List<byte[]> entries;
+        private int dictionaryBytes;
+
+        Column(String name, int ordinal, ColumnType type, int rowGroupSize) {
+            this.name = name;
+            this.ordinal = ordinal;
+            this.type = type;
+            this.present = new long[(rowGroupSize + 63) >>> 6];
+            this.values = new int[rowGroupSize];
+            this.dictionary = type == ColumnType.STRING ? new HashMap<>() : null;
+            this.entries = type == ColumnType.STRING ? new ArrayList<>() : null;
+        }
+
+        void add(TagSection section, int row) {
+            int intValue = section.getIntValue(ordinal);
+            if (intValue != IntPgnTag.MISSING_VALUE) {
+                set(row, intValue);
+                return;
+            }
+            int packedDate = section.getPackedDateValue(ordinal);
+            if (packedDate != IntPgnTag.MISSING_VALUE && type == ColumnType.DATE) {
+                set(row, packedDate);
+                return;
+            }
+            Object value = section.getTagValue(ordinal);
+            switch (type) {
+                case INT -> {
+                    if (value instanceof Number number) {
+                        set(row, number.intValue());
+                    }
+                }
+                case DATE -> {
+                    if (value instanceof PgnDate date) {
+                        set(row, date.getPackedValue());
+                    }
+                }
+                case STRING -> {
+                    if (value != null) {
+                        set(row, dictionaryIndex(value.toString()));
+                    }
+                }
+            }
+        }
+
+        private void set(int row, int value) {
+            present[row >>> 6] |= 1L << row;
+            values[row] = value;
+        }
+
+        private int dictionaryIndex(String value) {
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                index = entries.size();
+                dictionary.put(value, index);
+                entries.add(bytes);
+                dictionaryBytes += bytes.length;
+            }
+            return index;
+        }
+
+        /**
+         * Encodes the column chunk: the presence bitmap, followed by the values, or by the dictionary and the
+         * dictionary indexes.
+         */
+        ByteBuffer encode(int rowCount) throws IOException {
+            int bitmapSize = (rowCount + 7) >>> 3;
+            long size;
+            int width = 0;
+            if (type == ColumnType.STRING) {
+                width = entries.size() <= 0x100 ? 1 : entries.size() <= 0x10000 ? 2 : 4;
+                size = bitmapSize + Integer.BYTES + (entries.size() + 1L) * Integer.BYTES + dictionaryBytes + 1 + (long) rowCount * width;
+            } else {
+                size = bitmapSize + (long) rowCount * Integer.BYTES;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Column chunk of tag '" + name + "' exceeds 2 GiB, use a smaller row group size");
+            }
+
+            ByteBuffer chunk = ByteBuffer.allocate((int) size);
+            for (int i = 0; i < bitmapSize; i++) {
+                chunk.put((byte) (present[i >>> 3] >>> ((i & 7) << 3)));
+            }
+            if (type != ColumnType.STRING) {
+                for (int row = 0; row < rowCount; row++) {
+                    chunk.putInt(values[row]);
+                }
+                return chunk.flip();
+            }
+
+            chunk.putInt(entries.size());
+            int offset = 0;
+            chunk.putInt(offset);
+            for (byte[] entry : entries) {
+                offset += entry.length;
+                chunk.putInt(offset);
+            }
+            for (byte[] entry : entries) {
+                chunk.put(entry);
+            }
+            chunk.put((byte) width);
+            for (int row = 0; row < rowCount; row++) {
+                switch (width) {
+                    case 1 -> chunk.put((byte) values[row]);
+                    case 2 -> chunk.putShort((short) values[row]);
+                    default -> chunk.putInt(values[row]);
+                }
+            }
+            return chunk.flip();
+        }
+
+        void clear() {
+            Arrays.fill(present, 0);
+            Arrays.fill(values, 0);
+            if (dictionary != null) {
+                dictionary.clear();
+                entries.clear();
+                dictionaryBytes = 0;
+            }
+        }
+    }
+}
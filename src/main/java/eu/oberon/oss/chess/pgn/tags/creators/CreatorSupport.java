@@ -0,0 +1,139 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Helper methods and classes shared by the tag creators that validate their input character by character.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class CreatorSupport {
+    private CreatorSupport() {
+    }
+
+    /**
+     * Creates the failed result for a rejected input value: {@link TagCreationError#MISSING_VALUE} for a blank value,
+     * {@link TagCreationError#INVALID_VALUE} otherwise.
+     *
+     * @param tagName    The name of the tag.
+     * @param inputValue The rejected input value.
+     * @param <O>        The type of the tag value.
+     *
+     * @return The failed result.
+     */
+    static <O> TagCreationResult<O> rejected(String tagName, @Nullable CharSequence inputValue) {
+        TagCreationError error = isBlank(inputValue) ? TagCreationError.MISSING_VALUE : TagCreationError.INVALID_VALUE;
+        return TagCreationResult.failure(tagName, error, inputValue);
+    }
+
+    /**
+     * Checks if an input value is {@code null}, empty, or consists of whitespace only.
+     */
+    static boolean isBlank(@Nullable CharSequence inputValue) {
+        return TagCreator.isMissingValue(inputValue);
+    }
+
+    /**
+     * Returns the value of the decimal digit at a position.
+     *
+     * @return The value of the digit, or -1 if the character is not a decimal digit.
+     */
+    static int digit(CharSequence inputValue, int index) {
+        int digit = inputValue.charAt(index) - '0';
+        return digit >= 0 && digit <= 9 ? digit : -1;
+    }
+
+    /**
+     * Decodes UTF-8 encoded bytes in a range of a buffer, without changing the position of the buffer.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the buffer.
+     */
+    static String decode(ByteBuffer buffer, int offset, int length) {
+        return new String(copy(buffer, offset, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the bytes in a range of a buffer, without changing the position of the buffer.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the buffer.
+     */
+    static byte[] copy(ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    /**
+     * Checks if UTF-8 encoded bytes might represent a blank value. Only bytes outside the ASCII range, which may encode
+     * a non-ASCII whitespace character, and ASCII whitespace are considered; a value for which this method returns
+     * <b>true</b> is to be decoded to find out if it is blank.
+     *
+     * @return <b>False</b> if the range holds an ASCII character that is not whitespace.
+     */
+    static boolean mayBeBlank(ByteBuffer buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            byte b = buffer.get(i);
+            if (b >= 0 && !Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Immutable tag holding a string value as UTF-8 encoded bytes, decoding them when the value is first requested.
+     */
+    static final class Utf8Tag implements PgnTag<String> {
+        private final String tagName;
+        private final byte[] utf8;
+        private final boolean isRequired;
+        private volatile String tagValue;
+
+        Utf8Tag(String tagName, byte[] utf8, boolean isRequired) {
+            this.tagName = tagName;
+            this.utf8 = utf8;
+            this.isRequired = isRequired;
+        }
+
+        @Override
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public String getTagValue() {
+            String value = tagValue;
+            if (value == null) {
+                // decoding twice on a race is harmless, as both threads create equal strings
+                value = new String(utf8, StandardCharsets.UTF_8);
+                tagValue = value;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return isRequired;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * An opening classification code of the Encyclopaedia of Chess Openings, {@code A00} to {@code E99}, as used by the
+ * {@code ECO} tag.
+ * <p>
+ * The code is packed in a {@code short}: the volume ({@code A} to {@code E}) times 100 plus the number within the
+ * volume, giving 0 for {@code A00} up to 499 for {@code E99}. The packed values sort in the same order as the codes.
+ * <p>
+ * There are only 500 codes; all instances are shared and immutable.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class EcoCode implements Comparable<EcoCode> {
+    /**
+     * The number of distinct codes.
+     *
+     * @since 1.0.0
+     */
+    public static final int CODE_COUNT = 500;
+
+    private static final EcoCode[] CODES = new EcoCode[CODE_COUNT];
+
+    static {
+        for (short code = 0; code < CODE_COUNT; code++) {
+            CODES[code] = new EcoCode(code);
+        }
+    }
+
+    private final short code;
+    private final String text;
+
+    private EcoCode(short code) {
+        this.code = code;
+        this.text = new String(new char[]{(char) ('A' + code / 100), (char) ('0' + code / 10 % 10), (char) ('0' + code % 10)});
+    }
+
+    /**
+     * Returns the ECO code represented by a packed value, as returned by {@link #getCode()}.
+     *
+     * @param code The packed value, 0 to 499.
+     *
+     * @return The ECO code.
+     *
+     * @throws IllegalArgumentException if the packed value is out of range.
+     * @since 1.0.0
+     */
+    public static @Nonnull EcoCode of(int code) {
+        if (code < 0 || code >= CODE_COUNT) {
+            throw new IllegalArgumentException("Parameter: code");
+        }
+        return CODES[code];
+    }
+
+    /**
+     * Returns the ECO code written as the given value, such as {@code B12}.
+     *
+     * @param value The value to parse.
+     *
+     * @return The ECO code, or {@code null} if the value is not a valid ECO code.
+     *
+     * @since 1.0.0
+     */
+    public static @Nullable EcoCode parse(@Nullable CharSequence value) {
+        if (value == null || value.length() != 3) {
+            return null;
+        }
+        int volume = value.charAt(0) - 'A';
+        int tens = CreatorSupport.digit(value, 1);
+        int units = CreatorSupport.digit(value, 2);
+        if (volume < 0 || volume > 4 || tens < 0 || units < 0) {
+            return null;
+        }
+        return CODES[volume * 100 + tens * 10 + units];
+    }
+
+    /**
+     * Returns the packed representation of the code.
+     *
+     * @return The packed value, 0 to 499.
+     *
+     * @since 1.0.0
+     */
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the volume of the code.
+     *
+     * @return The volume, {@code 'A'} to {@code 'E'}.
+     *
+     * @since 1.0.0
+     */
+    public char getVolume() {
+        return (char) ('A' + code / 100);
+    }
+
+    /**
+     * Returns the number of the code within its volume.
+     *
+     * @return The number, 0 to 99.
+     *
+     * @since 1.0.0
+     */
+    public int getNumber() {
+        return code % 100;
+    }
+
+    @Override
+    public int compareTo(@Nonnull EcoCode other) {
+        return Short.compare(code, other.code);
+    }
+
+    /**
+     * Returns the code in its PGN representation, such as {@code B12}.
+     *
+     * @return The formatted code.
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+}
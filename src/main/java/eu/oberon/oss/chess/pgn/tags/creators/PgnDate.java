@@ -0,0 +1,201 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * A possibly partial PGN date, as used by the {@code Date} and {@code EventDate} tags.
+ * <p>
+ * The date is packed in a single {@code int}: the year in bits 9 and up, the month in bits 5-8 and the day in bits
+ * 0-4. An unknown component, written as {@code ????} or {@code ??} in PGN, is stored as 0. The natural order of the
+ * packed values is chronological, with unknown components sorting before known ones, so packed dates can be sorted,
+ * compared and grouped directly.
+ * <p>
+ * Instances are immutable.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class PgnDate implements Comparable<PgnDate> {
+    /**
+     * The completely unknown date, {@code ????.??.??}.
+     *
+     * @since 1.0.0
+     */
+    public static final PgnDate UNKNOWN = new PgnDate(0);
+
+    private static final int YEAR_SHIFT = 9;
+    private static final int MONTH_SHIFT = 5;
+    private static final int MONTH_MASK = 0xF;
+    private static final int DAY_MASK = 0x1F;
+    private static final int MAX_YEAR = 9999;
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final int packedValue;
+
+    private PgnDate(int packedValue) {
+        this.packedValue = packedValue;
+    }
+
+    /**
+     * Returns the date with the given components.
+     *
+     * @param year  The year, 1 to 9999, or 0 if unknown.
+     * @param month The month, 1 to 12, or 0 if unknown.
+     * @param day   The day of the month, or 0 if unknown.
+     *
+     * @return The date.
+     *
+     * @throws IllegalArgumentException if a component is out of range, or the day does not exist in the month.
+     * @since 1.0.0
+     */
+    public static @Nonnull PgnDate of(int year, int month, int day) {
+        if (!isValid(year, month, day)) {
+            throw new IllegalArgumentException(String.format("Invalid date components: %d, %d, %d", year, month, day));
+        }
+        return ofValid(year, month, day);
+    }
+
+    /**
+     * Returns the date represented by a packed value, as returned by {@link #getPackedValue()}.
+     *
+     * @param packedValue The packed value.
+     *
+     * @return The date.
+     *
+     * @throws IllegalArgumentException if the packed value does not represent a valid date.
+     * @since 1.0.0
+     */
+    public static @Nonnull PgnDate ofPacked(int packedValue) {
+        if (!isValidPackedValue(packedValue)) {
+            throw new IllegalArgumentException("Parameter: packedValue");
+        }
+        return ofValid(packedValue >>> YEAR_SHIFT, (packedValue >>> MONTH_SHIFT) & MONTH_MASK, packedValue & DAY_MASK);
+    }
+
+    /**
+     * Returns if a value is the packed representation of a valid date, i.e. if {@link #ofPacked(int)} accepts it.
+     *
+     * @param packedValue The packed value.
+     *
+     * @return <b>True</b> if the value represents a valid date, false otherwise.
+     *
+     * @since 1.0.0
+     */
+    public static boolean isValidPackedValue(int packedValue) {
+        return isValid(packedValue >>> YEAR_SHIFT, (packedValue >>> MONTH_SHIFT) & MONTH_MASK, packedValue & DAY_MASK);
+    }
+
+    static PgnDate ofValid(int year, int month, int day) {
+        if ((year | month | day) == 0) {
+            return UNKNOWN;
+        }
+        return new PgnDate(year << YEAR_SHIFT | month << MONTH_SHIFT | day);
+    }
+
+    static boolean isValid(int year, int month, int day) {
+        if (year < 0 || year > MAX_YEAR || month < 0 || month > 12 || day < 0) {
+            return false;
+        }
+        if (month == 0) {
+            return day <= 31;
+        }
+        if (month == 2 && day == 29 && year != 0) {
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+        }
+        return day <= DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * Returns the packed representation of the date.
+     *
+     * @return The packed value.
+     *
+     * @since 1.0.0
+     */
+    public int getPackedValue() {
+        return packedValue;
+    }
+
+    /**
+     * Returns the year.
+     *
+     * @return The year, or 0 if unknown.
+     *
+     * @since 1.0.0
+     */
+    public int getYear() {
+        return packedValue >>> YEAR_SHIFT;
+    }
+
+    /**
+     * Returns the month.
+     *
+     * @return The month, 1 to 12, or 0 if unknown.
+     *
+     * @since 1.0.0
+     */
+    public int getMonth() {
+        return (packedValue >>> MONTH_SHIFT) & MONTH_MASK;
+    }
+
+    /**
+     * Returns the day of the month.
+     *
+     * @return The day, or 0 if unknown.
+     *
+     * @since 1.0.0
+     */
+    public int getDay() {
+        return packedValue & DAY_MASK;
+    }
+
+    /**
+     * Returns a flag indicating if all components of the date are known.
+     *
+     * @return <b>True</b> if year, month and day are known, <b>false</b> otherwise.
+     *
+     * @since 1.0.0
+     */
+    public boolean isComplete() {
+        return getYear() != 0 && getMonth() != 0 && getDay() != 0;
+    }
+
+    @Override
+    public int compareTo(@Nonnull PgnDate other) {
+        return Integer.compare(packedValue, other.packedValue);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PgnDate other && packedValue == other.packedValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return packedValue;
+    }
+
+    /**
+     * Returns the date in its PGN representation, {@code YYYY.MM.DD}, with question marks for unknown components.
+     *
+     * @return The formatted date.
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[10];
+        putComponent(chars, 0, 4, getYear());
+        chars[4] = '.';
+        putComponent(chars, 5, 2, getMonth());
+        chars[7] = '.';
+        putComponent(chars, 8, 2, getDay());
+        return new String(chars);
+    }
+
+    private static void putComponent(char[] chars, int offset, int length, int value) {
+        boolean unknown = value == 0;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = unknown ? '?' : (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
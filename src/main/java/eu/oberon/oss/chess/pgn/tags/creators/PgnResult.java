@@ -0,0 +1,116 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * The four legal values of the PGN {@code Result} tag.
+ * <p>
+ * The {@link #getCode() code} of a result is a stable byte value that can be stored instead of the result itself.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public enum PgnResult {
+    /**
+     * White won the game, {@code 1-0}.
+     *
+     * @since 1.0.0
+     */
+    WHITE_WINS("1-0"),
+    /**
+     * Black won the game, {@code 0-1}.
+     *
+     * @since 1.0.0
+     */
+    BLACK_WINS("0-1"),
+    /**
+     * The game was drawn, {@code 1/2-1/2}.
+     *
+     * @since 1.0.0
+     */
+    DRAW("1/2-1/2"),
+    /**
+     * The game is in progress, was abandoned, or its result is unknown, {@code *}.
+     *
+     * @since 1.0.0
+     */
+    UNDECIDED("*");
+
+    private static final PgnResult[] VALUES = values();
+
+    private final String pgnValue;
+
+    PgnResult(String pgnValue) {
+        this.pgnValue = pgnValue;
+    }
+
+    /**
+     * Returns the result's compact code.
+     *
+     * @return The code, 0 to 3.
+     *
+     * @since 1.0.0
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Returns the result represented by a code, as returned by {@link #getCode()}.
+     *
+     * @param code The code.
+     *
+     * @return The result.
+     *
+     * @throws IllegalArgumentException if the code does not represent a result.
+     * @since 1.0.0
+     */
+    public static @Nonnull PgnResult ofCode(byte code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Parameter: code");
+        }
+        return VALUES[code];
+    }
+
+    /**
+     * Returns the result written as the given PGN value, comparing character by character.
+     *
+     * @param value The PGN value.
+     *
+     * @return The result, or {@code null} if the value is not one of the four legal values.
+     *
+     * @since 1.0.0
+     */
+    public static @Nullable PgnResult parse(@Nullable CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.length()) {
+            case 1 -> value.charAt(0) == '*' ? UNDECIDED : null;
+            case 3 -> parseDecisive(value);
+            case 7 -> CharSequence.compare(value, DRAW.pgnValue) == 0 ? DRAW : null;
+            default -> null;
+        };
+    }
+
+    private static PgnResult parseDecisive(CharSequence value) {
+        if (value.charAt(1) != '-') {
+            return null;
+        }
+        if (value.charAt(0) == '1' && value.charAt(2) == '0') {
+            return WHITE_WINS;
+        }
+        return value.charAt(0) == '0' && value.charAt(2) == '1' ? BLACK_WINS : null;
+    }
+
+    /**
+     * Returns the result in its PGN representation.
+     *
+     * @return The PGN value.
+     */
+    @Override
+    public String toString() {
+        return pgnValue;
+    }
+}
@@ -0,0 +1,242 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * The value of a PGN {@code Round} tag: a dotted sequence of up to four numbers, such as {@code 3} or {@code 5.2}, or
+ * one of the special values {@code ?} (unknown) and {@code -} (not applicable).
+ * <p>
+ * The round is packed in a single {@code long}, with 16 bits per level, the first level in the most significant bits.
+ * Each level number, 0 to {@value #MAX_LEVEL_VALUE}, is stored incremented by one, so absent levels are 0. Compared as
+ * unsigned values, packed rounds sort in natural order: {@code 1 < 1.1 < 1.2 < 2 < 10}, preceded by the unknown round
+ * and followed by the not applicable round.
+ * <p>
+ * Instances are immutable. Rounds with a single level up to 64 and the special values are shared.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class PgnRound implements Comparable<PgnRound> {
+    /**
+     * The highest number allowed for a level.
+     *
+     * @since 1.0.0
+     */
+    public static final int MAX_LEVEL_VALUE = 0xFFFD;
+
+    /**
+     * The maximum number of levels.
+     *
+     * @since 1.0.0
+     */
+    public static final int MAX_LEVELS = 4;
+
+    /**
+     * The unknown round, {@code ?}.
+     *
+     * @since 1.0.0
+     */
+    public static final PgnRound UNKNOWN = new PgnRound(0);
+
+    /**
+     * The not applicable round, {@code -}.
+     *
+     * @since 1.0.0
+     */
+    public static final PgnRound NOT_APPLICABLE = new PgnRound(-1);
+
+    private static final int LEVEL_BITS = 16;
+    private static final long LEVEL_MASK = 0xFFFF;
+    private static final PgnRound[] SHARED = new PgnRound[65];
+
+    static {
+        for (int i = 0; i < SHARED.length; i++) {
+            SHARED[i] = new PgnRound(packLevel(0, i));
+        }
+    }
+
+    private final long packedValue;
+
+    private PgnRound(long packedValue) {
+        this.packedValue = packedValue;
+    }
+
+    /**
+     * Returns the round with the given level numbers.
+     *
+     * @param levels The level numbers, 1 to {@value #MAX_LEVELS} of them, each 0 to {@value #MAX_LEVEL_VALUE}.
+     *
+     * @return The round.
+     *
+     * @throws IllegalArgumentException if the number of levels or a level number is out of range.
+     * @since 1.0.0
+     */
+    public static @Nonnull PgnRound of(int... levels) {
+        if (levels.length == 0 || levels.length > MAX_LEVELS) {
+            throw new IllegalArgumentException("Parameter: levels");
+        }
+        long packed = 0;
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] < 0 || levels[i] > MAX_LEVEL_VALUE) {
+                throw new IllegalArgumentException("Parameter: levels");
+            }
+            packed |= packLevel(i, levels[i]);
+        }
+        return ofValidPacked(packed);
+    }
+
+    /**
+     * Returns the round represented by a packed value, as returned by {@link #getPackedValue()}.
+     *
+     * @param packedValue The packed value.
+     *
+     * @return The round.
+     *
+     * @throws IllegalArgumentException if the packed value does not represent a round.
+     * @since 1.0.0
+     */
+    public static @Nonnull PgnRound ofPacked(long packedValue) {
+        if (packedValue == 0 || packedValue == -1) {
+            return ofValidPacked(packedValue);
+        }
+        boolean absent = false;
+        for (int i = 0; i < MAX_LEVELS; i++) {
+            long level = (packedValue >>> shift(i)) & LEVEL_MASK;
+            if (level == LEVEL_MASK || (absent && level != 0) || (i == 0 && level == 0)) {
+                throw new IllegalArgumentException("Parameter: packedValue");
+            }
+            absent = level == 0;
+        }
+        return ofValidPacked(packedValue);
+    }
+
+    static PgnRound ofValidPacked(long packedValue) {
+        if (packedValue == 0) {
+            return UNKNOWN;
+        }
+        if (packedValue == -1) {
+            return NOT_APPLICABLE;
+        }
+        if ((packedValue & ~(LEVEL_MASK << shift(0))) == 0) {
+            int first = (int) (packedValue >>> shift(0)) - 1;
+            if (first < SHARED.length) {
+                return SHARED[first];
+            }
+        }
+        return new PgnRound(packedValue);
+    }
+
+    static long packLevel(int level, int value) {
+        return (value + 1L) << shift(level);
+    }
+
+    private static int shift(int level) {
+        return (MAX_LEVELS - 1 - level) * LEVEL_BITS;
+    }
+
+    /**
+     * Returns the packed representation of the round.
+     *
+     * @return The packed value; to be compared as an unsigned value.
+     *
+     * @since 1.0.0
+     */
+    public long getPackedValue() {
+        return packedValue;
+    }
+
+    /**
+     * Returns a flag indicating if the round is unknown, {@code ?}.
+     *
+     * @return <b>True</b> if the round is unknown.
+     *
+     * @since 1.0.0
+     */
+    public boolean isUnknown() {
+        return packedValue == 0;
+    }
+
+    /**
+     * Returns a flag indicating if the round is not applicable, {@code -}.
+     *
+     * @return <b>True</b> if the round is not applicable.
+     *
+     * @since 1.0.0
+     */
+    public boolean isNotApplicable() {
+        return packedValue == -1;
+    }
+
+    /**
+     * Returns the number of levels of the round.
+     *
+     * @return The number of levels, or 0 for the special values.
+     *
+     * @since 1.0.0
+     */
+    public int getLevelCount() {
+        if (isNotApplicable()) {
+            return 0;
+        }
+        int count = 0;
+        while (count < MAX_LEVELS && ((packedValue >>> shift(count)) & LEVEL_MASK) != 0) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of a level.
+     *
+     * @param level The level, starting at 0.
+     *
+     * @return The number of the level.
+     *
+     * @throws IndexOutOfBoundsException if the round does not have the level.
+     * @since 1.0.0
+     */
+    public int getLevel(int level) {
+        if (level < 0 || level >= getLevelCount()) {
+            throw new IndexOutOfBoundsException(level);
+        }
+        return (int) ((packedValue >>> shift(level)) & LEVEL_MASK) - 1;
+    }
+
+    @Override
+    public int compareTo(@Nonnull PgnRound other) {
+        return Long.compareUnsigned(packedValue, other.packedValue);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PgnRound other && packedValue == other.packedValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(packedValue);
+    }
+
+    /**
+     * Returns the round in its PGN representation.
+     *
+     * @return The formatted round.
+     */
+    @Override
+    public String toString() {
+        if (isUnknown()) {
+            return "?";
+        }
+        if (isNotApplicable()) {
+            return "-";
+        }
+        StringBuilder builder = new StringBuilder(8);
+        for (int i = 0; i < getLevelCount(); i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            builder.append(getLevel(i));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Handles tag creation for date tags, such as {@code Date} and {@code EventDate}, that have a {@link PgnDate} payload
+ * as data object.
+ * <p>
+ * Accepted values have the form {@code YYYY.MM.DD}, where each component is either all digits or all question marks
+ * (unknown). The input is validated character by character, without regular expressions; days are checked against
+ * the length of the month, including leap years when the year is known.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagCreatorDateValue implements TagCreator<CharSequence, PgnDate> {
+    private static final int DATE_LENGTH = 10;
+
+    private final String tagName;
+    private final boolean allowMissingTagValue;
+    private final TagDiagnostics diagnostics;
+    private final boolean isRequired;
+    private final PgnTag<PgnDate> missingValueTag;
+    private final PgnTag<PgnDate> unknownDateTag;
+
+    private TagCreatorDateValue(String tagName, boolean allowMissingTagValue, boolean isRequired, TagDiagnostics diagnostics) {
+        if (tagName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.tagName = tagName;
+        this.allowMissingTagValue = allowMissingTagValue;
+        this.diagnostics = diagnostics;
+        this.isRequired = isRequired;
+        this.missingValueTag = PgnTag.of(tagName, null, isRequired);
+        this.unknownDateTag = PgnTag.of(tagName, PgnDate.UNKNOWN, isRequired);
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link PgnDate}.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}. Note that {@code ????.??.??} is not a missing value, but the {@link PgnDate#UNKNOWN} date.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorDateValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link PgnDate}.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}. Note that {@code ????.??.??} is not a missing value, but the {@link PgnDate#UNKNOWN} date.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorDateValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                  TagDiagnostics diagnostics) {
+        return new TagCreatorDateValue(tagName, allowMissingTagValue, isRequired, diagnostics);
+    }
+
+    @Override
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Creates a tag for the provided input value.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the specified 'inputValue' is not a valid date, or is missing while missing
+     *                                  values are not allowed.
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull PgnTag<PgnDate> createTag(CharSequence inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<PgnDate> tryCreateTag(CharSequence inputValue) {
+        if (CreatorSupport.isBlank(inputValue)) {
+            if (!allowMissingTagValue) {
+                return CreatorSupport.rejected(tagName, inputValue);
+            }
+            diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
+            return TagCreationResult.success(missingValueTag);
+        }
+        if (inputValue.length() != DATE_LENGTH || inputValue.charAt(4) != '.' || inputValue.charAt(7) != '.') {
+            return CreatorSupport.rejected(tagName, inputValue);
+        }
+        int year = parseComponent(inputValue, 0, 4);
+        int month = parseComponent(inputValue, 5, 2);
+        int day = parseComponent(inputValue, 8, 2);
+        if (year < 0 || month < 0 || day < 0 || !PgnDate.isValid(year, month, day)) {
+            return CreatorSupport.rejected(tagName, inputValue);
+        }
+        if ((year | month | day) == 0) {
+            return TagCreationResult.success(unknownDateTag);
+        }
+        return TagCreationResult.success(PgnTag.of(tagName, PgnDate.ofValid(year, month, day), isRequired));
+    }
+
+    /**
+     * Parses a date component.
+     *
+     * @return The value of the component, 0 if it consists of question marks only, or -1 if it is invalid.
+     */
+    private static int parseComponent(CharSequence inputValue, int offset, int length) {
+        if (inputValue.charAt(offset) == '?') {
+            for (int i = offset + 1; i < offset + length; i++) {
+                if (inputValue.charAt(i) != '?') {
+                    return -1;
+                }
+            }
+            return 0;
+        }
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = CreatorSupport.digit(inputValue, i);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        // a component of zeros is not a known value
+        return value == 0 ? -1 : value;
+    }
+}
@@ -0,0 +1,125 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Handles tag creation for the {@code ECO} tag, which has an {@link EcoCode} payload as data object.
+ * <p>
+ * Accepted values are the codes {@code A00} to {@code E99}. Values that are blank or consist of a single {@code '?'}
+ * are considered missing. The tags for the 500 codes are created once per creator and shared; creating a tag does not
+ * allocate.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagCreatorEcoValue implements TagCreator<CharSequence, EcoCode> {
+    private final String tagName;
+    private final boolean allowMissingTagValue;
+    private final TagDiagnostics diagnostics;
+    private final PgnTag<EcoCode> missingValueTag;
+    private final PgnTag<EcoCode>[] codeTags;
+
+    private TagCreatorEcoValue(String tagName, boolean allowMissingTagValue, boolean isRequired, TagDiagnostics diagnostics) {
+        if (tagName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.tagName = tagName;
+        this.allowMissingTagValue = allowMissingTagValue;
+        this.diagnostics = diagnostics;
+        this.missingValueTag = PgnTag.of(tagName, null, isRequired);
+        @SuppressWarnings("unchecked")
+        PgnTag<EcoCode>[] tags = (PgnTag<EcoCode>[]) new PgnTag<?>[EcoCode.CODE_COUNT];
+        for (int code = 0; code < EcoCode.CODE_COUNT; code++) {
+            tags[code] = PgnTag.of(tagName, EcoCode.of(code), isRequired);
+        }
+        this.codeTags = tags;
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link EcoCode}.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be missing
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorEcoValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link EcoCode}.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be missing
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorEcoValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                 TagDiagnostics diagnostics) {
+        return new TagCreatorEcoValue(tagName, allowMissingTagValue, isRequired, diagnostics);
+    }
+
+    @Override
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Creates a tag for the provided input value.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the specified 'inputValue' is not a valid ECO code, or is missing while
+     *                                  missing values are not allowed.
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull PgnTag<EcoCode> createTag(CharSequence inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<EcoCode> tryCreateTag(CharSequence inputValue) {
+        EcoCode code = EcoCode.parse(inputValue);
+        if (code != null) {
+            return TagCreationResult.success(codeTags[code.getCode()]);
+        }
+        boolean missing = CreatorSupport.isBlank(inputValue) || (inputValue.length() == 1 && inputValue.charAt(0) == '?');
+        if (missing && allowMissingTagValue) {
+            diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
+            return TagCreationResult.success(missingValueTag);
+        }
+        if (missing) {
+            return TagCreationResult.failure(tagName, TagCreationError.MISSING_VALUE, inputValue);
+        }
+        return CreatorSupport.rejected(tagName, inputValue);
+    }
+}
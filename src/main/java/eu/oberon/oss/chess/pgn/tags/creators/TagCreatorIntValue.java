@@ -0,0 +1,233 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Handles tag creation for tags that have a primitive {@code int} payload as data object.
+ * <p>
+ * Unlike {@link TagCreatorIntegerValue}, the input is validated and converted in a single pass over its characters,
+ * without regular expressions and without boxing. Accepted values consist of an optional sign followed by one or more
+ * decimal digits, in the range {@code -2147483647} to {@code 2147483647}; {@code -2147483648} is reserved for the
+ * {@link IntPgnTag#MISSING_VALUE} sentinel.
+ * <p>
+ * Values that are blank, or consist of a single {@code '?'} (unknown) or {@code '-'} (not applicable, e.g. an unrated
+ * player), are considered missing.
+ * <p>
+ * Input values in UTF-8 encoded bytes are converted without decoding them; only rejected values are decoded, to
+ * describe them in the failed result.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagCreatorIntValue implements Utf8TagCreator<CharSequence, Integer> {
+    private final String tagName;
+    private final boolean allowMissingTagValue;
+    private final TagDiagnostics diagnostics;
+    private final boolean isRequired;
+    private final IntTag missingValueTag;
+
+    private TagCreatorIntValue(String tagName, boolean allowMissingTagValue, boolean isRequired, TagDiagnostics diagnostics) {
+        if (tagName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.tagName = tagName;
+        this.allowMissingTagValue = allowMissingTagValue;
+        this.diagnostics = diagnostics;
+        this.isRequired = isRequired;
+        this.missingValueTag = new IntTag(tagName, IntPgnTag.MISSING_VALUE, isRequired);
+    }
+
+    /**
+     * Constructs a new tag creator for {@link IntPgnTag} instances.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be the
+     * {@link IntPgnTag#MISSING_VALUE} sentinel.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be missing
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorIntValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link IntPgnTag} instances.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be the
+     * {@link IntPgnTag#MISSING_VALUE} sentinel.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be missing
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorIntValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                 TagDiagnostics diagnostics) {
+        return new TagCreatorIntValue(tagName, allowMissingTagValue, isRequired, diagnostics);
+    }
+
+    @Override
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Creates a tag for the provided input value.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the specified 'inputValue' is not a valid integer, is out of range, or is
+     *                                  missing while missing values are not allowed.
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull IntPgnTag createTag(CharSequence inputValue) {
+        return (IntPgnTag) tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<Integer> tryCreateTag(CharSequence inputValue) {
+        if (isMissing(inputValue)) {
+            if (!allowMissingTagValue) {
+                return TagCreationResult.failure(tagName, TagCreationError.MISSING_VALUE, inputValue);
+            }
+            diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
+            return TagCreationResult.success(missingValueTag);
+        }
+
+        final int length = inputValue.length();
+        int index = 0;
+        boolean negative = false;
+        char first = inputValue.charAt(0);
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            index++;
+        }
+        if (index == length) {
+            return TagCreationResult.failure(tagName, TagCreationError.INVALID_VALUE, inputValue);
+        }
+
+        long value = 0;
+        boolean overflow = false;
+        for (; index < length; index++) {
+            int digit = inputValue.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return TagCreationResult.failure(tagName, TagCreationError.INVALID_VALUE, inputValue);
+            }
+            if (!overflow) {
+                value = value * 10 + digit;
+                overflow = value > Integer.MAX_VALUE;
+            }
+        }
+        if (overflow) {
+            return TagCreationResult.failure(tagName, TagCreationError.OUT_OF_RANGE, inputValue);
+        }
+        return TagCreationResult.success(new IntTag(tagName, (int) (negative ? -value : value), isRequired));
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<Integer> tryCreateTag(@Nonnull ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        if (length == 0 || (length == 1 && (buffer.get(offset) == '?' || buffer.get(offset) == '-'))) {
+            return tryCreateTag("");
+        }
+
+        final int end = offset + length;
+        int index = offset;
+        boolean negative = false;
+        byte first = buffer.get(index);
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            index++;
+        }
+        if (index == end) {
+            return TagCreationResult.failure(tagName, TagCreationError.INVALID_VALUE, CreatorSupport.decode(buffer, offset, length));
+        }
+
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                // blank, invalid or non-ASCII: decode, to have the exact same result as for the decoded value
+                return tryCreateTag(CreatorSupport.decode(buffer, offset, length));
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                return tryCreateTag(CreatorSupport.decode(buffer, offset, length));
+            }
+        }
+        return TagCreationResult.success(new IntTag(tagName, (int) (negative ? -value : value), isRequired));
+    }
+
+    private static boolean isMissing(CharSequence inputValue) {
+        if (inputValue != null && inputValue.length() == 1 && (inputValue.charAt(0) == '?' || inputValue.charAt(0) == '-')) {
+            return true;
+        }
+        return CreatorSupport.isBlank(inputValue);
+    }
+
+    private static final class IntTag implements IntPgnTag {
+        private final String tagName;
+        private final int intValue;
+        private final boolean isRequired;
+
+        private IntTag(String tagName, int intValue, boolean isRequired) {
+            this.tagName = tagName;
+            this.intValue = intValue;
+            this.isRequired = isRequired;
+        }
+
+        @Override
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public int getIntValue() {
+            return intValue;
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return isRequired;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+}
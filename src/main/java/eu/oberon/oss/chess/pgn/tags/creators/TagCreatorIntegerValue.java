@@ -1,39 +1,135 @@
 package eu.oberon.oss.chess.pgn.tags.creators;
 
 import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationMode;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
 import eu.oberon.oss.chess.pgn.tags.TagCreator;
 import eu.oberon.oss.chess.pgn.tags.TagCreatorImpl;
-import lombok.extern.log4j.Log4j2;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
 
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 
 /**
  * Handles tag creation for tags that have a {@link Integer} payload as data object.
+ * <p>
+ * In {@link TagCreationMode#EAGER} mode, integers in UTF-8 encoded bytes are converted without decoding them. Other
+ * input values, and all input values in the lazy modes, are decoded and handled as a {@link String} input value.
  *
  * @author TigerLilly64
  * @since 1.0.0
  */
-@Log4j2
-public class TagCreatorIntegerValue extends TagCreatorImpl<String, Integer> {
+public class TagCreatorIntegerValue extends TagCreatorImpl<String, Integer> implements Utf8TagCreator<String, Integer> {
+    private final boolean isRequired;
 
-    private TagCreatorIntegerValue(String tagName, boolean allowEmptyTagValue, boolean isRequired) {
+    private TagCreatorIntegerValue(String tagName, boolean allowEmptyTagValue, boolean isRequired, TagCreationMode creationMode,
+                                   TagDiagnostics diagnostics) {
         super(
                 tagName,
                 s -> {
                     if (allowEmptyTagValue && (s == null || s.isBlank())) {
                         return true;
                     }
-                    return s != null && Pattern.matches("([+-]?)\\d+", s);
+                    return s != null && isInteger(s) && isInRange(s);
                 },
                 s -> {
                     if (s == null || s.isBlank()) {
-                        LOGGER.warn("No value specified for tag {}; returned <null>", tagName);
+                        diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
                         return null;
                     }
                     return Integer.parseInt(s);
                 },
-                isRequired
+                isRequired,
+                creationMode
         );
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.isRequired = isRequired;
+    }
+
+    @Override
+    protected @Nonnull TagCreationError rejectionReason(String inputValue) {
+        if (inputValue != null && isInteger(inputValue)) {
+            return TagCreationError.OUT_OF_RANGE;
+        }
+        return super.rejectionReason(inputValue);
+    }
+
+    /**
+     * Returns if a value is an optional sign followed by ASCII digits.
+     */
+    private static boolean isInteger(String value) {
+        int index = value.startsWith("+") || value.startsWith("-") ? 1 : 0;
+        if (index == value.length()) {
+            return false;
+        }
+        for (; index < value.length(); index++) {
+            char c = value.charAt(index);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if an optional sign followed by ASCII digits is within the range of an {@code int}.
+     */
+    private static boolean isInRange(String value) {
+        boolean negative = value.charAt(0) == '-';
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long magnitude = 0;
+        for (int index = negative || value.charAt(0) == '+' ? 1 : 0; index < value.length(); index++) {
+            magnitude = magnitude * 10 + value.charAt(index) - '0';
+            if (magnitude > limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<Integer> tryCreateTag(@Nonnull ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        int value = getCreationMode() == TagCreationMode.EAGER ? parse(buffer, offset, length) : Integer.MIN_VALUE;
+        if (value == Integer.MIN_VALUE) {
+            return tryCreateTag(CreatorSupport.decode(buffer, offset, length));
+        }
+        return TagCreationResult.success(PgnTag.of(getTagName(), value, isRequired));
+    }
+
+    /**
+     * Parses an optional sign followed by ASCII digits.
+     *
+     * @return The value, or {@link Integer#MIN_VALUE} if the bytes are not such an integer, or are out of range.
+     */
+    private static int parse(ByteBuffer buffer, int offset, int length) {
+        final int end = offset + length;
+        int index = offset;
+        boolean negative = false;
+        if (index < end && (buffer.get(index) == '+' || buffer.get(index) == '-')) {
+            negative = buffer.get(index) == '-';
+            index++;
+        }
+        if (index == end) {
+            return Integer.MIN_VALUE;
+        }
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                return Integer.MIN_VALUE;
+            }
+        }
+        return (int) (negative ? -value : value);
     }
 
     /**
@@ -52,6 +148,50 @@ public class TagCreatorIntegerValue extends TagCreatorImpl<String, Integer> {
      * @since 1.0.0
      */
     public static TagCreator<String, Integer> getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
-        return new TagCreatorIntegerValue(tagName, allowMissingTagValue, isRequired);
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagCreationMode.EAGER);
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link Integer},
+     * validating and converting input values as specified by the creation mode.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be a
+     * {@literal <null>}.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param creationMode         Specifies when input values are validated and converted.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreator<String, Integer> getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                          TagCreationMode creationMode) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, creationMode, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link Integer},
+     * validating and converting input values as specified by the creation mode.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param creationMode         Specifies when input values are validated and converted.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreator<String, Integer> getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                          TagCreationMode creationMode, TagDiagnostics diagnostics) {
+        return new TagCreatorIntegerValue(tagName, allowMissingTagValue, isRequired, creationMode, diagnostics);
     }
 }
@@ -0,0 +1,125 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Handles tag creation for the {@code Result} tag, which has a {@link PgnResult} payload as data object.
+ * <p>
+ * Only the four legal values {@code 1-0}, {@code 0-1}, {@code 1/2-1/2} and {@code *} are accepted. As there are only
+ * four possible tags, each creator shares one immutable tag instance per result; creating a tag does not allocate.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagCreatorResultValue implements TagCreator<CharSequence, PgnResult> {
+    private final String tagName;
+    private final boolean allowMissingTagValue;
+    private final TagDiagnostics diagnostics;
+    private final PgnTag<PgnResult> missingValueTag;
+    private final PgnTag<PgnResult>[] resultTags;
+
+    private TagCreatorResultValue(String tagName, boolean allowMissingTagValue, boolean isRequired, TagDiagnostics diagnostics) {
+        if (tagName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.tagName = tagName;
+        this.allowMissingTagValue = allowMissingTagValue;
+        this.diagnostics = diagnostics;
+        this.missingValueTag = PgnTag.of(tagName, null, isRequired);
+        // generic arrays cannot be created directly; the array only ever holds tags of this creator
+        @SuppressWarnings("unchecked")
+        PgnTag<PgnResult>[] tags = (PgnTag<PgnResult>[]) new PgnTag<?>[PgnResult.values().length];
+        for (PgnResult result : PgnResult.values()) {
+            tags[result.ordinal()] = PgnTag.of(tagName, result, isRequired);
+        }
+        this.resultTags = tags;
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type
+     * {@link PgnResult}.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorResultValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type
+     * {@link PgnResult}.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorResultValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                    TagDiagnostics diagnostics) {
+        return new TagCreatorResultValue(tagName, allowMissingTagValue, isRequired, diagnostics);
+    }
+
+    @Override
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Creates a tag for the provided input value.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the specified 'inputValue' is not a legal result, or is missing while missing
+     *                                  values are not allowed.
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull PgnTag<PgnResult> createTag(CharSequence inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<PgnResult> tryCreateTag(CharSequence inputValue) {
+        PgnResult result = PgnResult.parse(inputValue);
+        if (result != null) {
+            return TagCreationResult.success(resultTags[result.ordinal()]);
+        }
+        if (CreatorSupport.isBlank(inputValue) && allowMissingTagValue) {
+            diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
+            return TagCreationResult.success(missingValueTag);
+        }
+        return CreatorSupport.rejected(tagName, inputValue);
+    }
+}
@@ -0,0 +1,155 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Handles tag creation for the {@code Round} tag, which has a {@link PgnRound} payload as data object.
+ * <p>
+ * Accepted values are {@code ?}, {@code -}, or up to {@value PgnRound#MAX_LEVELS} decimal numbers separated by single
+ * dots, each at most {@value PgnRound#MAX_LEVEL_VALUE}. The input is validated and packed in a single pass over its
+ * characters, without regular expressions. Leading zeros are accepted, but not preserved.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagCreatorRoundValue implements TagCreator<CharSequence, PgnRound> {
+    private final String tagName;
+    private final boolean allowMissingTagValue;
+    private final TagDiagnostics diagnostics;
+    private final boolean isRequired;
+    private final PgnTag<PgnRound> missingValueTag;
+    private final PgnTag<PgnRound> unknownRoundTag;
+    private final PgnTag<PgnRound> notApplicableRoundTag;
+
+    private TagCreatorRoundValue(String tagName, boolean allowMissingTagValue, boolean isRequired, TagDiagnostics diagnostics) {
+        if (tagName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.tagName = tagName;
+        this.allowMissingTagValue = allowMissingTagValue;
+        this.diagnostics = diagnostics;
+        this.isRequired = isRequired;
+        this.missingValueTag = PgnTag.of(tagName, null, isRequired);
+        this.unknownRoundTag = PgnTag.of(tagName, PgnRound.UNKNOWN, isRequired);
+        this.notApplicableRoundTag = PgnTag.of(tagName, PgnRound.NOT_APPLICABLE, isRequired);
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type
+     * {@link PgnRound}.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}. Note that {@code ?} and {@code -} are not missing values, but special rounds.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorRoundValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type
+     * {@link PgnRound}.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}. Note that {@code ?} and {@code -} are not missing values, but special rounds.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorRoundValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                   TagDiagnostics diagnostics) {
+        return new TagCreatorRoundValue(tagName, allowMissingTagValue, isRequired, diagnostics);
+    }
+
+    @Override
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Creates a tag for the provided input value.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the specified 'inputValue' is not a valid round, or is missing while missing
+     *                                  values are not allowed.
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull PgnTag<PgnRound> createTag(CharSequence inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<PgnRound> tryCreateTag(CharSequence inputValue) {
+        if (CreatorSupport.isBlank(inputValue)) {
+            if (!allowMissingTagValue) {
+                return CreatorSupport.rejected(tagName, inputValue);
+            }
+            diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
+            return TagCreationResult.success(missingValueTag);
+        }
+        final int length = inputValue.length();
+        if (length == 1 && inputValue.charAt(0) == '?') {
+            return TagCreationResult.success(unknownRoundTag);
+        }
+        if (length == 1 && inputValue.charAt(0) == '-') {
+            return TagCreationResult.success(notApplicableRoundTag);
+        }
+
+        long packed = 0;
+        int level = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || inputValue.charAt(i) == '.') {
+                if (digits == 0 || level == PgnRound.MAX_LEVELS) {
+                    return CreatorSupport.rejected(tagName, inputValue);
+                }
+                packed |= PgnRound.packLevel(level++, value);
+                value = 0;
+                digits = 0;
+                continue;
+            }
+            int digit = CreatorSupport.digit(inputValue, i);
+            if (digit < 0) {
+                return CreatorSupport.rejected(tagName, inputValue);
+            }
+            value = value * 10 + digit;
+            digits++;
+            if (value > PgnRound.MAX_LEVEL_VALUE) {
+                return CreatorSupport.rejected(tagName, inputValue);
+            }
+        }
+        return TagCreationResult.success(PgnTag.of(tagName, PgnRound.ofValidPacked(packed), isRequired));
+    }
+}
@@ -1,22 +1,34 @@
 package eu.oberon.oss.chess.pgn.tags.creators;
 
 import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationMode;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
 import eu.oberon.oss.chess.pgn.tags.TagCreator;
 import eu.oberon.oss.chess.pgn.tags.TagCreatorImpl;
-import lombok.extern.log4j.Log4j2;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
 
+import java.nio.ByteBuffer;
 import java.util.function.UnaryOperator;
 
 /**
  * Handles tag creation for tags that have a {@link String} payload as data object.
+ * <p>
+ * Input values in UTF-8 encoded bytes are decoded when the tag is created in {@link TagCreationMode#EAGER} mode. In
+ * the lazy modes, the created tag holds a copy of the bytes, and decodes them when its value is first requested.
+ * Values that are not blank are accepted in every mode, so the bytes are validated right away; values that may be
+ * blank are decoded and handled as a {@link String} input value.
  *
  * @author TigerLilly64
  * @since 1.0.0
  */
-@Log4j2
-public class TagCreatorStringValue extends TagCreatorImpl<String, String> {
+public class TagCreatorStringValue extends TagCreatorImpl<String, String> implements Utf8TagCreator<String, String> {
+    private final boolean isRequired;
 
-    private TagCreatorStringValue(String tagName, boolean allowEmptyTagValue, boolean isRequired) {
+    private TagCreatorStringValue(String tagName, boolean allowEmptyTagValue, boolean isRequired, TagCreationMode creationMode,
+                                  TagDiagnostics diagnostics) {
         super(
                 tagName,
                 s -> {
@@ -27,13 +39,29 @@ public class TagCreatorStringValue extends TagCreatorImpl<String, String> {
                 },
                 (UnaryOperator<String>) s -> {
                     if (s == null || s.isBlank()) {
-                        LOGGER.warn("No value specified for tag {}; returned an empty string", tagName);
+                        diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
                         return null;
                     }
                     return s;
                 },
-                isRequired
+                isRequired,
+                creationMode
         );
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.isRequired = isRequired;
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<String> tryCreateTag(@Nonnull ByteBuffer buffer, int offset, int length) {
+        if (CreatorSupport.mayBeBlank(buffer, offset, length)) {
+            return tryCreateTag(CreatorSupport.decode(buffer, offset, length));
+        }
+        if (getCreationMode() == TagCreationMode.EAGER) {
+            return TagCreationResult.success(PgnTag.of(getTagName(), CreatorSupport.decode(buffer, offset, length), isRequired));
+        }
+        return TagCreationResult.success(new CreatorSupport.Utf8Tag(getTagName(), CreatorSupport.copy(buffer, offset, length), isRequired));
     }
 
     /**
@@ -53,6 +81,52 @@ public class TagCreatorStringValue extends TagCreatorImpl<String, String> {
      * @since 1.0.0
      */
     public static TagCreator<String, String> getInstance(String tagName, boolean allowEmptyTagValue, boolean isRequired) {
-        return new TagCreatorStringValue(tagName, allowEmptyTagValue, isRequired);
+        return getInstance(tagName, allowEmptyTagValue, isRequired, TagCreationMode.EAGER);
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link String},
+     * validating and converting input values as specified by the creation mode.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}.
+     *
+     * @param tagName            The name of PGN tag for which this creator is/will be applicable.
+     * @param allowEmptyTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                           only
+     * @param isRequired         Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag is
+     *                           expected to be part of the tag section of the PGN data.
+     * @param creationMode       Specifies when input values are validated and converted.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreator<String, String> getInstance(String tagName, boolean allowEmptyTagValue, boolean isRequired,
+                                                         TagCreationMode creationMode) {
+        return getInstance(tagName, allowEmptyTagValue, isRequired, creationMode, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type {@link String},
+     * validating and converting input values as specified by the creation mode.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     *
+     * @param tagName            The name of PGN tag for which this creator is/will be applicable.
+     * @param allowEmptyTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                           only
+     * @param isRequired         Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag is
+     *                           expected to be part of the tag section of the PGN data.
+     * @param creationMode       Specifies when input values are validated and converted.
+     * @param diagnostics        The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreator<String, String> getInstance(String tagName, boolean allowEmptyTagValue, boolean isRequired,
+                                                         TagCreationMode creationMode, TagDiagnostics diagnostics) {
+        return new TagCreatorStringValue(tagName, allowEmptyTagValue, isRequired, creationMode, diagnostics);
     }
 }
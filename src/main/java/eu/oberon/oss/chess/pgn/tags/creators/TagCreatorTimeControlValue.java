@@ -0,0 +1,130 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Handles tag creation for the {@code TimeControl} tag, which has a {@link TimeControl} payload as data object.
+ * <p>
+ * The input is parsed in a single pass over its characters, without regular expressions and without creating
+ * substrings. See {@link TimeControl} for the accepted forms. Decoded time controls are shared, so tags for commonly
+ * used controls reference the same immutable instance.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagCreatorTimeControlValue implements TagCreator<CharSequence, TimeControl> {
+    private final String tagName;
+    private final boolean allowMissingTagValue;
+    private final TagDiagnostics diagnostics;
+    private final boolean isRequired;
+    private final PgnTag<TimeControl> missingValueTag;
+    private final PgnTag<TimeControl> unknownTag;
+    private final PgnTag<TimeControl> noneTag;
+
+    private TagCreatorTimeControlValue(String tagName, boolean allowMissingTagValue, boolean isRequired, TagDiagnostics diagnostics) {
+        if (tagName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Parameter: diagnostics");
+        }
+        this.tagName = tagName;
+        this.allowMissingTagValue = allowMissingTagValue;
+        this.diagnostics = diagnostics;
+        this.isRequired = isRequired;
+        this.missingValueTag = PgnTag.of(tagName, null, isRequired);
+        this.unknownTag = PgnTag.of(tagName, TimeControl.UNKNOWN, isRequired);
+        this.noneTag = PgnTag.of(tagName, TimeControl.NONE, isRequired);
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type
+     * {@link TimeControl}.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}. Note that {@code ?} and {@code -} are not missing values, but special time controls.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorTimeControlValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired) {
+        return getInstance(tagName, allowMissingTagValue, isRequired, TagDiagnostics.getDefault());
+    }
+
+    /**
+     * Constructs a new tag creator for {@link PgnTag} instances that have a value (payload) of type
+     * {@link TimeControl}.
+     * <p>
+     * Missing values that are accepted are reported to the specified diagnostics sink, instead of being logged.
+     * <p>
+     * When using the creator to create a tag when missing tag values are allowed, the tag value returned will be
+     * {@literal <null>}. Note that {@code ?} and {@code -} are not missing values, but special time controls.
+     *
+     * @param tagName              The name of PGN tag for which this creator is/will be applicable.
+     * @param allowMissingTagValue If the value for a tag of this type is allowed to be null, empty, or contain blanks
+     *                             only
+     * @param isRequired           Specifies if the tag is a required tag, i.e. if, when processing PGN data, this tag
+     *                             is expected to be part of the tag section of the PGN data.
+     * @param diagnostics          The sink to which accepted missing values are reported.
+     *
+     * @return An instance of the TagCreator interface.
+     *
+     * @since 1.0.0
+     */
+    public static TagCreatorTimeControlValue getInstance(String tagName, boolean allowMissingTagValue, boolean isRequired,
+                                                         TagDiagnostics diagnostics) {
+        return new TagCreatorTimeControlValue(tagName, allowMissingTagValue, isRequired, diagnostics);
+    }
+
+    @Override
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Creates a tag for the provided input value.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the specified 'inputValue' is not a valid time control, or is missing while
+     *                                  missing values are not allowed.
+     * @since 1.0.0
+     */
+    @Override
+    public @Nonnull PgnTag<TimeControl> createTag(CharSequence inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<TimeControl> tryCreateTag(CharSequence inputValue) {
+        TimeControl timeControl = TimeControl.parse(inputValue);
+        if (timeControl == TimeControl.UNKNOWN) {
+            return TagCreationResult.success(unknownTag);
+        }
+        if (timeControl == TimeControl.NONE) {
+            return TagCreationResult.success(noneTag);
+        }
+        if (timeControl != null) {
+            return TagCreationResult.success(PgnTag.of(tagName, timeControl, isRequired));
+        }
+        if (CreatorSupport.isBlank(inputValue) && allowMissingTagValue) {
+            diagnostics.report(tagName, TagCreationError.MISSING_VALUE);
+            return TagCreationResult.success(missingValueTag);
+        }
+        return CreatorSupport.rejected(tagName, inputValue);
+    }
+}
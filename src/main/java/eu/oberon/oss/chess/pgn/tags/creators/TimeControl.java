@@ -0,0 +1,307 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The value of a PGN {@code TimeControl} tag: {@code ?} (unknown), {@code -} (no time control), or a sequence of
+ * periods separated by colons.
+ * <p>
+ * Each period has a number of moves, a number of seconds and an increment in seconds. The supported period forms
+ * are:
+ * <ul>
+ *     <li>{@code moves/seconds}, for example {@code 40/7200}, optionally followed by {@code +increment};</li>
+ *     <li>{@code seconds}, a sudden death period for the rest of the game, optionally followed by
+ *     {@code +increment}, for example {@code 300+2};</li>
+ *     <li>{@code *seconds}, a sandclock period.</li>
+ * </ul>
+ * The periods are stored in a single {@code int} array, three elements per period. At most {@value #MAX_PERIODS}
+ * periods are supported.
+ * <p>
+ * Instances are immutable. Parsed time controls are kept in a small, fixed-size cache, keyed by their text, so a
+ * commonly used control is only parsed once and its instance is shared between all tags and creators.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TimeControl {
+    /**
+     * The maximum number of periods.
+     *
+     * @since 1.0.0
+     */
+    public static final int MAX_PERIODS = 8;
+
+    /**
+     * The unknown time control, {@code ?}.
+     *
+     * @since 1.0.0
+     */
+    public static final TimeControl UNKNOWN = new TimeControl(new int[0]);
+
+    /**
+     * No time control, {@code -}.
+     *
+     * @since 1.0.0
+     */
+    public static final TimeControl NONE = new TimeControl(new int[0]);
+
+    private static final int FIELDS_PER_PERIOD = 3;
+    private static final int SANDCLOCK = -1;
+    private static final int CACHE_SIZE = 1024;
+    // racy, but safe: instances are immutable and only have final fields
+    private static final CacheEntry[] CACHE = new CacheEntry[CACHE_SIZE];
+
+    private final int[] periods;
+
+    private TimeControl(int[] periods) {
+        this.periods = periods;
+    }
+
+    /**
+     * Parses a time control in a single pass over its characters. A value found in the cache is returned without parsing
+     * it again.
+     *
+     * @param value The value to parse.
+     *
+     * @return The time control, or {@code null} if the value is not a valid time control.
+     *
+     * @since 1.0.0
+     */
+    public static @Nullable TimeControl parse(@Nullable CharSequence value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        final int length = value.length();
+        if (length == 1 && value.charAt(0) == '?') {
+            return UNKNOWN;
+        }
+        if (length == 1 && value.charAt(0) == '-') {
+            return NONE;
+        }
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        CacheEntry cached = CACHE[slot];
+        if (cached != null && cached.text().contentEquals(value)) {
+            return cached.timeControl();
+        }
+        TimeControl timeControl = parsePeriods(value);
+        if (timeControl != null) {
+            CACHE[slot] = new CacheEntry(value.toString(), timeControl);
+        }
+        return timeControl;
+    }
+
+    private static TimeControl parsePeriods(CharSequence value) {
+        final int length = value.length();
+        int[] fields = new int[MAX_PERIODS * FIELDS_PER_PERIOD];
+        int count = 0;
+        long number = -1;
+        int moves = 0;
+        int seconds = 0;
+        boolean sandclock = false;
+        // 0: seconds or moves, 1: seconds after moves, 2: increment
+        int part = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i == length ? ':' : value.charAt(i);
+            int digit = c - '0';
+            if (digit >= 0 && digit <= 9) {
+                number = Math.max(number, 0) * 10 + digit;
+                if (number > Integer.MAX_VALUE) {
+                    return null;
+                }
+                continue;
+            }
+            switch (c) {
+                case '*' -> {
+                    if (number >= 0 || part != 0 || sandclock) {
+                        return null;
+                    }
+                    sandclock = true;
+                }
+                case '/' -> {
+                    if (number <= 0 || part != 0 || sandclock) {
+                        return null;
+                    }
+                    moves = (int) number;
+                    part = 1;
+                }
+                case '+' -> {
+                    if (number < 0 || part == 2 || sandclock) {
+                        return null;
+                    }
+                    seconds = (int) number;
+                    part = 2;
+                }
+                case ':' -> {
+                    if (number < 0 || count == MAX_PERIODS) {
+                        return null;
+                    }
+                    int field = count++ * FIELDS_PER_PERIOD;
+                    fields[field] = sandclock ? SANDCLOCK : moves;
+                    fields[field + 1] = part == 2 ? seconds : (int) number;
+                    fields[field + 2] = part == 2 ? (int) number : 0;
+                    moves = 0;
+                    seconds = 0;
+                    sandclock = false;
+                    part = 0;
+                }
+                default -> {
+                    return null;
+                }
+            }
+            number = -1;
+        }
+        return new TimeControl(Arrays.copyOf(fields, count * FIELDS_PER_PERIOD));
+    }
+
+    private record CacheEntry(String text, TimeControl timeControl) {
+    }
+
+    /**
+     * Returns a flag indicating if the time control is unknown, {@code ?}.
+     *
+     * @return <b>True</b> if the time control is unknown.
+     *
+     * @since 1.0.0
+     */
+    public boolean isUnknown() {
+        return this == UNKNOWN;
+    }
+
+    /**
+     * Returns a flag indicating if there is no time control, {@code -}.
+     *
+     * @return <b>True</b> if there is no time control.
+     *
+     * @since 1.0.0
+     */
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    /**
+     * Returns the number of periods.
+     *
+     * @return The number of periods, or 0 for the unknown time control and for no time control.
+     *
+     * @since 1.0.0
+     */
+    public int getPeriodCount() {
+        return periods.length / FIELDS_PER_PERIOD;
+    }
+
+    /**
+     * Returns the number of moves to be played in a period.
+     *
+     * @param period The period, starting at 0.
+     *
+     * @return The number of moves, or 0 if the period lasts for the rest of the game.
+     *
+     * @throws IndexOutOfBoundsException if there is no such period.
+     * @since 1.0.0
+     */
+    public int getMoves(int period) {
+        return Math.max(0, field(period, 0));
+    }
+
+    /**
+     * Returns the time available for a period.
+     *
+     * @param period The period, starting at 0.
+     *
+     * @return The time in seconds.
+     *
+     * @throws IndexOutOfBoundsException if there is no such period.
+     * @since 1.0.0
+     */
+    public int getSeconds(int period) {
+        return field(period, 1);
+    }
+
+    /**
+     * Returns the increment per move during a period.
+     *
+     * @param period The period, starting at 0.
+     *
+     * @return The increment in seconds, 0 if there is no increment.
+     *
+     * @throws IndexOutOfBoundsException if there is no such period.
+     * @since 1.0.0
+     */
+    public int getIncrement(int period) {
+        return field(period, 2);
+    }
+
+    /**
+     * Returns a flag indicating if a period is a sandclock period.
+     *
+     * @param period The period, starting at 0.
+     *
+     * @return <b>True</b> for a sandclock period.
+     *
+     * @throws IndexOutOfBoundsException if there is no such period.
+     * @since 1.0.0
+     */
+    public boolean isSandclock(int period) {
+        return field(period, 0) == SANDCLOCK;
+    }
+
+    private int field(int period, int offset) {
+        if (period < 0 || period >= getPeriodCount()) {
+            throw new IndexOutOfBoundsException(period);
+        }
+        return periods[period * FIELDS_PER_PERIOD + offset];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // the special values have no periods, and are only equal to themselves
+        return o instanceof TimeControl other && periods.length > 0 && Arrays.equals(periods, other.periods);
+    }
+
+    @Override
+    public int hashCode() {
+        return periods.length == 0 ? System.identityHashCode(this) : Arrays.hashCode(periods);
+    }
+
+    /**
+     * Returns the time control in its PGN representation.
+     *
+     * @return The formatted time control.
+     */
+    @Override
+    public String toString() {
+        if (isUnknown()) {
+            return "?";
+        }
+        if (isNone()) {
+            return "-";
+        }
+        StringBuilder builder = new StringBuilder(16);
+        for (int period = 0; period < getPeriodCount(); period++) {
+            if (period > 0) {
+                builder.append(':');
+            }
+            if (isSandclock(period)) {
+                builder.append('*');
+            } else if (getMoves(period) > 0) {
+                builder.append(getMoves(period)).append('/');
+            }
+            builder.append(getSeconds(period));
+            if (getIncrement(period) > 0) {
+                builder.append('+').append(getIncrement(period));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import jakarta.annotation.Nonnull;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Passes on the tag sections of the games not seen before, dropping duplicates.
+ * <p>
+ * A game is considered a duplicate when its fingerprint, computed by a {@link TagSectionFingerprinter}, is already in
+ * the set of seen fingerprints. The set can be shared by successive filters, e.g. one per merged database, to drop
+ * games already present in an earlier database. The filter can be passed to e.g. a
+ * {@link eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder}; it is not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class DuplicateFilter implements ObjLongConsumer<TagSection> {
+    private final TagSectionFingerprinter fingerprinter;
+    private final LongHashSet seen;
+    private final ObjLongConsumer<TagSection> consumer;
+    private long uniqueCount;
+    private long duplicateCount;
+
+    /**
+     * Creates a filter.
+     *
+     * @param fingerprinter The fingerprinter.
+     * @param seen          The fingerprints of the games seen before; the fingerprints of passed games are added.
+     * @param consumer      The consumer receiving the games not seen before, with their offset.
+     *
+     * @throws IllegalArgumentException if a parameter is {@code null}.
+     * @since 1.0.0
+     */
+    public DuplicateFilter(@Nonnull TagSectionFingerprinter fingerprinter, @Nonnull LongHashSet seen,
+                           @Nonnull ObjLongConsumer<TagSection> consumer) {
+        if (fingerprinter == null) {
+            throw new IllegalArgumentException("Parameter: fingerprinter");
+        }
+        if (seen == null) {
+            throw new IllegalArgumentException("Parameter: seen");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Parameter: consumer");
+        }
+        this.fingerprinter = fingerprinter;
+        this.seen = seen;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(@Nonnull TagSection section, long offset) {
+        if (seen.add(fingerprinter.fingerprint(section))) {
+            uniqueCount++;
+            consumer.accept(section, offset);
+        } else {
+            duplicateCount++;
+        }
+    }
+
+    /**
+     * Returns the number of games passed on.
+     *
+     * @return The number of games not seen before.
+     *
+     * @since 1.0.0
+     */
+    public long getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /**
+     * Returns the number of games dropped.
+     *
+     * @return The number of duplicate games.
+     *
+     * @since 1.0.0
+     */
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+}
@@ -0,0 +1,256 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Set of primitive {@code long} values, e.g. game fingerprints, without boxing.
+ * <p>
+ * The set is an open addressing hash table with linear probing, holding the values themselves in its slots; 0 marks an
+ * empty slot, and is tracked separately. The table doubles when it is three quarters full. It is divided into pages
+ * of at most 2^24 slots, so it can grow beyond the maximum array size, to billions of values.
+ * <p>
+ * The pages are either {@code long} arrays on the heap, or direct buffers outside of it. Off-heap pages keep large
+ * sets out of the garbage collector's way; they count against the JVM's {@code MaxDirectMemorySize}, and are released
+ * when the set is garbage collected. Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class LongHashSet {
+    private static final int PAGE_SHIFT = 24;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final long MIN_CAPACITY = 16;
+    private static final long MAX_CAPACITY = 1L << 40;
+
+    private final boolean offHeap;
+    private long[][] heapPages;
+    private LongBuffer[] offHeapPages;
+    private long capacity;
+    private long mask;
+    private long threshold;
+    private long size;
+    private boolean containsZero;
+
+    /**
+     * Creates an empty set on the heap.
+     *
+     * @since 1.0.0
+     */
+    public LongHashSet() {
+        this(0, false);
+    }
+
+    /**
+     * Creates an empty set, sized for an expected number of values.
+     *
+     * @param expectedSize The number of values the set can hold without growing.
+     * @param offHeap      Whether the table is stored in direct buffers, outside of the heap.
+     *
+     * @throws IllegalArgumentException if the expected size is negative, or too large.
+     * @since 1.0.0
+     */
+    public LongHashSet(long expectedSize, boolean offHeap) {
+        if (expectedSize < 0 || expectedSize > MAX_CAPACITY / 2) {
+            throw new IllegalArgumentException("Parameter: expectedSize");
+        }
+        this.offHeap = offHeap;
+        long required = Math.max(MIN_CAPACITY, expectedSize + expectedSize / 3 + 1);
+        allocate(Long.highestOneBit(required - 1) << 1);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value.
+     *
+     * @return {@code true} if the value was added, {@code false} if the set already contained it.
+     *
+     * @throws IllegalStateException if the set has reached its maximum capacity.
+     * @since 1.0.0
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        long slot = slot(value);
+        long current;
+        while ((current = get(slot)) != 0) {
+            if (current == value) {
+                return false;
+            }
+            slot = slot + 1 & mask;
+        }
+        set(slot, value);
+        if (++size > threshold) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Returns if the set contains a value.
+     *
+     * @param value The value.
+     *
+     * @return {@code true} if the set contains the value.
+     *
+     * @since 1.0.0
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        long slot = slot(value);
+        long current;
+        while ((current = get(slot)) != 0) {
+            if (current == value) {
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return The number of values.
+     *
+     * @since 1.0.0
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns if the set is empty.
+     *
+     * @return {@code true} if the set contains no values.
+     *
+     * @since 1.0.0
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns if the table of the set is stored outside of the heap.
+     *
+     * @return {@code true} if the table is stored in direct buffers.
+     *
+     * @since 1.0.0
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Returns the number of slots of the table.
+     *
+     * @return The capacity, a power of two.
+     *
+     * @since 1.0.0
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the memory used by the table of the set.
+     *
+     * @return The size of the table, in bytes.
+     *
+     * @since 1.0.0
+     */
+    public long getMemoryBytes() {
+        return capacity * Long.BYTES;
+    }
+
+    /**
+     * Removes all values, keeping the capacity.
+     *
+     * @since 1.0.0
+     */
+    public void clear() {
+        if (offHeap) {
+            for (LongBuffer page : offHeapPages) {
+                for (int i = 0; i < page.capacity(); i++) {
+                    page.put(i, 0);
+                }
+            }
+        } else {
+            for (long[] page : heapPages) {
+                Arrays.fill(page, 0);
+            }
+        }
+        size = 0;
+        containsZero = false;
+    }
+
+    private void allocate(long newCapacity) {
+        int pageSize = (int) Math.min(newCapacity, 1L << PAGE_SHIFT);
+        int pageCount = (int) (newCapacity / pageSize);
+        if (offHeap) {
+            offHeapPages = new LongBuffer[pageCount];
+            for (int i = 0; i < pageCount; i++) {
+                offHeapPages[i] = ByteBuffer.allocateDirect(pageSize * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+            }
+        } else {
+            heapPages = new long[pageCount][pageSize];
+        }
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        threshold = newCapacity / 4 * 3;
+    }
+
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Maximum capacity reached: " + capacity);
+        }
+        long[][] oldHeapPages = heapPages;
+        LongBuffer[] oldOffHeapPages = offHeapPages;
+        long oldCapacity = capacity;
+        allocate(capacity << 1);
+        for (long index = 0; index < oldCapacity; index++) {
+            int page = (int) (index >>> PAGE_SHIFT);
+            int offset = (int) (index & PAGE_MASK);
+            long value = offHeap ? oldOffHeapPages[page].get(offset) : oldHeapPages[page][offset];
+            if (value != 0) {
+                long slot = slot(value);
+                while (get(slot) != 0) {
+                    slot = slot + 1 & mask;
+                }
+                set(slot, value);
+            }
+        }
+    }
+
+    private long slot(long value) {
+        long hash = value * 0x9e3779b97f4a7c15L;
+        return (hash ^ hash >>> 32) & mask;
+    }
+
+    private long get(long slot) {
+        int page = (int) (slot >>> PAGE_SHIFT);
+        int offset = (int) (slot & PAGE_MASK);
+        return offHeap ? offHeapPages[page].get(offset) : heapPages[page][offset];
+    }
+
+    private void set(long slot, long value) {
+        int page = (int) (slot >>> PAGE_SHIFT);
+        int offset = (int) (slot & PAGE_MASK);
+        if (offHeap) {
+            offHeapPages[page].put(offset, value);
+        } else {
+            heapPages[page][offset] = value;
+        }
+    }
+}
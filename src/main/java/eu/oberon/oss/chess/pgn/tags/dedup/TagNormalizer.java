@@ -0,0 +1,120 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Normalizes string tag values before they are fingerprinted, so that values differing only in spelling details are
+ * recognized as equal.
+ * <p>
+ * Per tag name, the value can be folded to lower case, and runs of whitespace can be collapsed to a single space, with
+ * leading and trailing whitespace removed. Tag names are matched case-insensitively. Instances are immutable and
+ * thread-safe; they are created with a {@link TagNormalizerBuilder}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagNormalizer {
+    static final int FOLD_CASE = 1;
+    static final int COLLAPSE_WHITESPACE = 2;
+
+    private static final TagNormalizer NONE = new TagNormalizer(Map.of());
+    private static final TagNormalizer PLAYER_NAMES = builder()
+            .foldCase("White", "Black")
+            .collapseWhitespace("White", "Black")
+            .build();
+
+    private final Map<String, Integer> flags;
+
+    TagNormalizer(@Nonnull Map<String, Integer> flags) {
+        this.flags = Map.copyOf(flags);
+    }
+
+    /**
+     * Returns a builder for a normalizer.
+     *
+     * @return The builder, initially normalizing no tags.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull TagNormalizerBuilder builder() {
+        return new TagNormalizerBuilder();
+    }
+
+    /**
+     * Returns the normalizer leaving all values unchanged.
+     *
+     * @return The normalizer.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull TagNormalizer none() {
+        return NONE;
+    }
+
+    /**
+     * Returns the normalizer folding the case and collapsing the whitespace of the player names, the values of the
+     * {@code White} and {@code Black} tags.
+     *
+     * @return The normalizer.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull TagNormalizer playerNames() {
+        return PLAYER_NAMES;
+    }
+
+    /**
+     * Normalizes the value of a tag.
+     *
+     * @param tagName The tag name.
+     * @param value   The value.
+     *
+     * @return The normalized value; the value itself if the normalization leaves it unchanged.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull String normalize(@Nonnull String tagName, @Nonnull String value) {
+        Integer tagFlags = flags.get(key(tagName));
+        return tagFlags == null ? value : normalize(value, tagFlags);
+    }
+
+    static @Nonnull String key(@Nonnull String tagName) {
+        return tagName.toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalize(String value, int flags) {
+        String result = value;
+        if ((flags & COLLAPSE_WHITESPACE) != 0) {
+            result = collapseWhitespace(result);
+        }
+        if ((flags & FOLD_CASE) != 0) {
+            result = result.toLowerCase(Locale.ROOT);
+        }
+        return result.equals(value) ? value : result;
+    }
+
+    private static String collapseWhitespace(String value) {
+        StringBuilder builder = null;
+        int length = value.length();
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (builder == null) {
+                    builder = new StringBuilder(length).append(value, 0, i);
+                }
+                pendingSpace = !builder.isEmpty();
+            } else if (builder != null) {
+                if (pendingSpace) {
+                    builder.append(' ');
+                    pendingSpace = false;
+                }
+                builder.append(c);
+            }
+        }
+        return builder == null ? value : builder.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds {@link TagNormalizer} instances.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagNormalizerBuilder {
+    private final Map<String, Integer> flags = new HashMap<>();
+
+    TagNormalizerBuilder() {
+    }
+
+    /**
+     * Folds the values of tags to lower case.
+     *
+     * @param tagNames The names of the tags.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if a tag name is {@code null}.
+     * @since 1.0.0
+     */
+    public @Nonnull TagNormalizerBuilder foldCase(@Nonnull String... tagNames) {
+        return add(tagNames, TagNormalizer.FOLD_CASE);
+    }
+
+    /**
+     * Collapses runs of whitespace in the values of tags to a single space, and removes leading and trailing
+     * whitespace.
+     *
+     * @param tagNames The names of the tags.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if a tag name is {@code null}.
+     * @since 1.0.0
+     */
+    public @Nonnull TagNormalizerBuilder collapseWhitespace(@Nonnull String... tagNames) {
+        return add(tagNames, TagNormalizer.COLLAPSE_WHITESPACE);
+    }
+
+    /**
+     * Creates the normalizer.
+     *
+     * @return The normalizer.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagNormalizer build() {
+        return new TagNormalizer(flags);
+    }
+
+    private TagNormalizerBuilder add(String[] tagNames, int flag) {
+        for (String tagName : tagNames) {
+            if (tagName == null) {
+                throw new IllegalArgumentException("Parameter: tagNames");
+            }
+            flags.merge(TagNormalizer.key(tagName), flag, (a, b) -> a | b);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,160 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnResult;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnRound;
+import jakarta.annotation.Nonnull;
+
+import java.util.List;
+
+/**
+ * Computes 64-bit fingerprints of games, for detecting duplicate games, e.g. when merging databases.
+ * <p>
+ * The fingerprint is a hash over the values of the seven tag roster, {@link CreatorRegistry#getSevenTagRosterNames()},
+ * as converted by the tag creators: dates, rounds and results are hashed by their packed values, other values by
+ * their string form after normalization by a {@link TagNormalizer}. Missing tags are part of the fingerprint as well.
+ * Fingerprints are only comparable when computed with registries converting the roster tags alike, and equal
+ * normalizers.
+ * <p>
+ * Distinct games have equal fingerprints with a probability of about {@code n² / 2^65} for {@code n} games, less than
+ * one percent for half a billion games. Instances are thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagSectionFingerprinter {
+    private static final List<String> TAG_NAMES = CreatorRegistry.getSevenTagRosterNames();
+    private static final long SEED = 0x9e3779b97f4a7c15L;
+    private static final long ABSENT = 0x5a3c_e1f0_0b47_d2a1L;
+    private static final long NO_VALUE = 0x2d8b_36c9_f05e_174bL;
+    private static final int TYPE_NUMBER = 1;
+    private static final int TYPE_ROUND = 2;
+    private static final int TYPE_RESULT = 3;
+    private static final int TYPE_STRING = 4;
+
+    private final TagNormalizer normalizer;
+    private volatile Ordinals ordinals;
+
+    /**
+     * Creates a fingerprinter normalizing the player names, see {@link TagNormalizer#playerNames()}.
+     *
+     * @since 1.0.0
+     */
+    public TagSectionFingerprinter() {
+        this(TagNormalizer.playerNames());
+    }
+
+    /**
+     * Creates a fingerprinter.
+     *
+     * @param normalizer The normalizer applied to string values.
+     *
+     * @throws IllegalArgumentException if the normalizer is {@code null}.
+     * @since 1.0.0
+     */
+    public TagSectionFingerprinter(@Nonnull TagNormalizer normalizer) {
+        if (normalizer == null) {
+            throw new IllegalArgumentException("Parameter: normalizer");
+        }
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * Returns the normalizer applied to string values.
+     *
+     * @return The normalizer.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagNormalizer getNormalizer() {
+        return normalizer;
+    }
+
+    /**
+     * Computes the fingerprint of a game.
+     *
+     * @param section The tag section of the game.
+     *
+     * @return The fingerprint.
+     *
+     * @since 1.0.0
+     */
+    public long fingerprint(@Nonnull TagSection section) {
+        int[] tagOrdinals = ordinals(section.getLayout());
+        long hash = SEED;
+        for (int i = 0; i < tagOrdinals.length; i++) {
+            hash = hashValue(hash, section, tagOrdinals[i], TAG_NAMES.get(i));
+        }
+        return finish(hash);
+    }
+
+    private long hashValue(long hash, TagSection section, int ordinal, String tagName) {
+        if (ordinal < 0 || !section.contains(ordinal)) {
+            return mix(hash, ABSENT);
+        }
+        int intValue = section.getIntValue(ordinal);
+        if (intValue != IntPgnTag.MISSING_VALUE) {
+            return mix(mix(hash, TYPE_NUMBER), intValue);
+        }
+        int packedDate = section.getPackedDateValue(ordinal);
+        if (packedDate != IntPgnTag.MISSING_VALUE) {
+            return mix(mix(hash, TYPE_NUMBER), packedDate);
+        }
+        Object value = section.getTagValue(ordinal);
+        return switch (value) {
+            case null -> mix(hash, NO_VALUE);
+            case PgnDate date -> mix(mix(hash, TYPE_NUMBER), date.getPackedValue());
+            case Number number -> mix(mix(hash, TYPE_NUMBER), number.longValue());
+            case PgnRound round -> mix(mix(hash, TYPE_ROUND), round.getPackedValue());
+            case PgnResult result -> mix(mix(hash, TYPE_RESULT), result.getCode());
+            default -> hashString(mix(hash, TYPE_STRING), normalizer.normalize(tagName, value.toString()));
+        };
+    }
+
+    private static long hashString(long hash, String value) {
+        int length = value.length();
+        hash = mix(hash, length);
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            hash = mix(hash, (long) value.charAt(i) | (long) value.charAt(i + 1) << 16
+                    | (long) value.charAt(i + 2) << 32 | (long) value.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) value.charAt(i) << shift;
+        }
+        return mix(hash, tail);
+    }
+
+    private static long mix(long hash, long value) {
+        return Long.rotateLeft(hash ^ value * 0x87c37b91114253d5L, 31) * 0x4cf5ad432745937fL;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+
+    private int[] ordinals(TagSectionLayout layout) {
+        Ordinals cached = ordinals;
+        if (cached == null || cached.layout != layout) {
+            int[] values = new int[TAG_NAMES.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = layout.getOrdinal(TAG_NAMES.get(i));
+            }
+            cached = new Ordinals(layout, values);
+            ordinals = cached;
+        }
+        return cached.values;
+    }
+
+    private record Ordinals(TagSectionLayout layout, int[] values) {
+    }
+}
@@ -0,0 +1,121 @@
+package eu.oberon.oss.chess.pgn.tags.index;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a file of arbitrary size.
+ * <p>
+ * A {@link MappedByteBuffer} is limited to 2 GiB, so the file is mapped in segments of 1 GiB. Values crossing a
+ * segment boundary are assembled byte by byte. Multi-byte values are read in big-endian order.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class MappedFile {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final ByteBuffer[] segments;
+    private final long size;
+
+    private MappedFile(ByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Maps a file. The channel used for mapping is closed before returning; the mapping stays valid until the
+     * instance is garbage collected.
+     *
+     * @param path The file to map.
+     *
+     * @return The mapped file.
+     *
+     * @throws IOException if the file cannot be opened or mapped.
+     */
+    static MappedFile map(@Nonnull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[(int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+            return new MappedFile(segments, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte getByte(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    short getShort(long position) {
+        int index = (int) (position & SEGMENT_MASK);
+        ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        if (index + Short.BYTES <= segment.limit()) {
+            return segment.getShort(index);
+        }
+        return (short) readBytes(position, Short.BYTES);
+    }
+
+    int getInt(long position) {
+        int index = (int) (position & SEGMENT_MASK);
+        ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        if (index + Integer.BYTES <= segment.limit()) {
+            return segment.getInt(index);
+        }
+        return (int) readBytes(position, Integer.BYTES);
+    }
+
+    long getLong(long position) {
+        int index = (int) (position & SEGMENT_MASK);
+        ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        if (index + Long.BYTES <= segment.limit()) {
+            return segment.getLong(index);
+        }
+        return readBytes(position, Long.BYTES);
+    }
+
+    void getBytes(long position, byte[] destination, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = getByte(position + i);
+        }
+    }
+
+    /**
+     * Compares a range of the file with a byte array, treating bytes as unsigned.
+     *
+     * @return A negative value, zero or a positive value if the range of the file is respectively less than, equal
+     * to, or greater than the array.
+     */
+    int compare(long position, int length, byte[] bytes) {
+        int common = Math.min(length, bytes.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(getByte(position + i)) - Byte.toUnsignedInt(bytes[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - bytes.length;
+    }
+
+    private long readBytes(long position, int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value = (value << 8) | Byte.toUnsignedLong(getByte(position + i));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,321 @@
+package eu.oberon.oss.chess.pgn.tags.index;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Memory-mapped index of the tag values of the games in a PGN file.
+ * <p>
+ * For every indexed tag, the index holds a dictionary of the distinct tag values, sorted so it can be binary
+ * searched, and per value a posting list with the byte offsets of the games having that value. Only the small tag
+ * directory is read when an index is opened; values and posting lists are read from the mapped file when queried.
+ * <p>
+ * Values of tags whose creator produces integers are indexed as numbers, so range queries follow numeric order. All
+ * other values are indexed by their string representation, in UTF-8 byte order. A range query on the {@code Date} tag
+ * such as {@code findRange("Date", "2019", "2020")} therefore selects all games played in 2019.
+ * <p>
+ * Indexes are written by a {@link TagIndexBuilder}. Instances are immutable and thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class TagIndex {
+    static final byte[] MAGIC = "PGNTAGIX".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    // magic, version, tag count, game count
+    static final int HEADER_SIZE = 8 + Integer.BYTES + Integer.BYTES + Long.BYTES;
+    // name length, type, value count, value table offset; excluding the name itself
+    static final int DIRECTORY_ENTRY_SIZE = Short.BYTES + 1 + Integer.BYTES + Long.BYTES;
+    // key offset, key length, posting count, posting offset
+    static final int VALUE_ENTRY_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES;
+    static final byte TYPE_STRING = 0;
+    static final byte TYPE_INT = 1;
+
+    private static final long[] NO_GAMES = new long[0];
+
+    private final MappedFile file;
+    private final long gameCount;
+    private final Map<String, Column> columns;
+    private final List<String> tagNames;
+
+    private TagIndex(MappedFile file, long gameCount, Map<String, Column> columns, List<String> tagNames) {
+        this.file = file;
+        this.gameCount = gameCount;
+        this.columns = columns;
+        this.tagNames = tagNames;
+    }
+
+    /**
+     * Opens an index file.
+     *
+     * @param path The index file.
+     *
+     * @return The index.
+     *
+     * @throws IOException if the file cannot be read, or is not a tag index file of a supported version.
+     * @since 1.0.0
+     */
+    public static @Nonnull TagIndex open(@Nonnull Path path) throws IOException {
+        MappedFile file = MappedFile.map(path);
+        if (file.size() < HEADER_SIZE || file.compare(0, MAGIC.length, MAGIC) != 0) {
+            throw new IOException("Not a tag index file: " + path);
+        }
+        int version = file.getInt(MAGIC.length);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported tag index version " + version + ": " + path);
+        }
+        int tagCount = file.getInt(MAGIC.length + Integer.BYTES);
+        long gameCount = file.getLong(MAGIC.length + 2L * Integer.BYTES);
+
+        Map<String, Column> columns = new HashMap<>();
+        List<String> tagNames = new ArrayList<>(tagCount);
+        long position = HEADER_SIZE;
+        for (int i = 0; i < tagCount; i++) {
+            byte[] name = new byte[file.getShort(position)];
+            file.getBytes(position + Short.BYTES, name, 0, name.length);
+            position += Short.BYTES + name.length;
+            byte type = file.getByte(position);
+            int valueCount = file.getInt(position + 1);
+            long tableOffset = file.getLong(position + 1 + Integer.BYTES);
+            position += DIRECTORY_ENTRY_SIZE - Short.BYTES;
+
+            String tagName = new String(name, StandardCharsets.UTF_8);
+            tagNames.add(tagName);
+            columns.put(normalize(tagName), new Column(type, valueCount, tableOffset));
+        }
+        LOGGER.debug("Opened index of {} tags over {} games from '{}'", tagCount, gameCount, path);
+        return new TagIndex(file, gameCount, columns, Collections.unmodifiableList(tagNames));
+    }
+
+    /**
+     * Returns the number of games in the index.
+     *
+     * @return The number of games.
+     *
+     * @since 1.0.0
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Returns the names of the indexed tags.
+     *
+     * @return An unmodifiable list of tag names.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull List<String> getTagNames() {
+        return tagNames;
+    }
+
+    /**
+     * Returns the number of distinct values of a tag.
+     *
+     * @param tagName The tag name, matched case-insensitively.
+     *
+     * @return The number of distinct values, or 0 if the tag is not indexed.
+     *
+     * @since 1.0.0
+     */
+    public int getValueCount(@Nonnull String tagName) {
+        Column column = columns.get(normalize(tagName));
+        return column == null ? 0 : column.valueCount;
+    }
+
+    /**
+     * Finds the games having a tag with the given value.
+     *
+     * @param tagName The tag name, matched case-insensitively.
+     * @param value   The tag value. For numeric tags, a {@link Number} or a string holding an integer.
+     *
+     * @return The byte offsets of the games, in ascending order. Empty if the tag is not indexed, or no game has the
+     * value.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull long[] find(@Nonnull String tagName, @Nonnull Object value) {
+        Column column = columns.get(normalize(tagName));
+        if (column == null) {
+            return NO_GAMES;
+        }
+        byte[] key = encodeKey(column.type, value);
+        if (key == null) {
+            return NO_GAMES;
+        }
+        int index = lowerBound(column, key);
+        if (index == column.valueCount || compareKey(column, index, key) != 0) {
+            return NO_GAMES;
+        }
+        long[] games = new long[postingCount(column, index)];
+        readPostings(column, index, games, 0);
+        return games;
+    }
+
+    /**
+     * Finds the games having a tag with a value in the given range.
+     *
+     * @param tagName       The tag name, matched case-insensitively.
+     * @param fromInclusive The lower bound, or {@code null} for no lower bound.
+     * @param toExclusive   The upper bound, or {@code null} for no upper bound.
+     *
+     * @return The byte offsets of the games, in ascending order. Empty if the tag is not indexed, or no game has a
+     * value in the range.
+     *
+     * @throws IllegalArgumentException if a bound of a numeric tag is not an integer.
+     * @since 1.0.0
+     */
+    public @Nonnull long[] findRange(@Nonnull String tagName, @Nullable Object fromInclusive, @Nullable Object toExclusive) {
+        Column column = columns.get(normalize(tagName));
+        if (column == null) {
+            return NO_GAMES;
+        }
+        int from = fromInclusive == null ? 0 : lowerBound(column, encodeBound(column.type, fromInclusive, "fromInclusive"));
+        int to = toExclusive == null ? column.valueCount : lowerBound(column, encodeBound(column.type, toExclusive, "toExclusive"));
+        if (from >= to) {
+            return NO_GAMES;
+        }
+        long total = 0;
+        for (int index = from; index < to; index++) {
+            total += postingCount(column, index);
+        }
+        long[] games = new long[Math.toIntExact(total)];
+        int count = 0;
+        for (int index = from; index < to; index++) {
+            count += readPostings(column, index, games, count);
+        }
+        // every game has at most one value per tag, so the merged lists hold no duplicates
+        Arrays.sort(games);
+        return games;
+    }
+
+    /**
+     * Intersects sorted game offset arrays, as returned by {@link #find(String, Object)} and
+     * {@link #findRange(String, Object, Object)}, to combine queries on several tags.
+     *
+     * @param first The first array.
+     * @param more  The other arrays.
+     *
+     * @return The offsets contained in all arrays, in ascending order.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull long[] intersect(@Nonnull long[] first, @Nonnull long[]... more) {
+        long[] result = first;
+        for (long[] other : more) {
+            long[] merged = new long[Math.min(result.length, other.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < result.length && j < other.length) {
+                if (result[i] < other[j]) {
+                    i++;
+                } else if (result[i] > other[j]) {
+                    j++;
+                } else {
+                    merged[count++] = result[i];
+                    i++;
+                    j++;
+                }
+            }
+            result = Arrays.copyOf(merged, count);
+        }
+        return result;
+    }
+
+    static String normalize(String tagName) {
+        return tagName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Encodes a number so that the unsigned byte order of the encoded values matches their numeric order.
+     */
+    static byte[] encodeLong(long value) {
+        long sortable = value ^ Long.MIN_VALUE;
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) sortable;
+            sortable >>>= 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes a query value as a key of the given type.
+     *
+     * @return The key, or {@code null} if the value cannot be a value of a numeric tag.
+     */
+    private static byte[] encodeKey(byte type, Object value) {
+        if (type == TYPE_STRING) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return encodeLong(((Number) value).longValue());
+        }
+        try {
+            return encodeLong(Long.parseLong(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] encodeBound(byte type, Object bound, String parameterName) {
+        byte[] key = encodeKey(type, bound);
+        if (key == null) {
+            throw new IllegalArgumentException("Parameter: " + parameterName);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the index of the first value not less than the key.
+     */
+    private int lowerBound(Column column, byte[] key) {
+        int low = 0;
+        int high = column.valueCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKey(column, middle, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareKey(Column column, int index, byte[] key) {
+        long entry = column.tableOffset + (long) index * VALUE_ENTRY_SIZE;
+        return file.compare(file.getLong(entry), file.getInt(entry + Long.BYTES), key);
+    }
+
+    private int postingCount(Column column, int index) {
+        return file.getInt(column.tableOffset + (long) index * VALUE_ENTRY_SIZE + Long.BYTES + Integer.BYTES);
+    }
+
+    private int readPostings(Column column, int index, long[] destination, int offset) {
+        long entry = column.tableOffset + (long) index * VALUE_ENTRY_SIZE;
+        int count = file.getInt(entry + Long.BYTES + Integer.BYTES);
+        long position = file.getLong(entry + Long.BYTES + 2 * Integer.BYTES);
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = file.getLong(position + (long) i * Long.BYTES);
+        }
+        return count;
+    }
+
+    private record Column(byte type, int valueCount, long tableOffset) {
+    }
+}
@@ -0,0 +1,345 @@
+package eu.oberon.oss.chess.pgn.tags.index;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.DIRECTORY_ENTRY_SIZE;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.FORMAT_VERSION;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.HEADER_SIZE;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.MAGIC;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.TYPE_INT;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.TYPE_STRING;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.VALUE_ENTRY_SIZE;
+import static eu.oberon.oss.chess.pgn.tags.index.TagIndex.normalize;
+
+/**
+ * Collects the tag values of parsed games and writes them as a {@link TagIndex} file.
+ * <p>
+ * The builder consumes {@link TagSection} instances together with the byte offset of their game, as delivered by a
+ * {@link TagSectionBuilder} or a {@link eu.oberon.oss.chess.pgn.tags.parser.ParallelTagSectionParser}. The values
+ * indexed are the ones produced by the registered tag creators. Only tags in the fixed slots of the section layout are
+ * indexed; tags without a layout slot are ignored.
+ * <p>
+ * The posting lists are kept in memory until {@link #write(Path)} is called, requiring about 8 bytes per indexed tag
+ * value. Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public class TagIndexBuilder implements ObjLongConsumer<TagSection> {
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final Set<String> tagNames;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private long gameCount;
+
+    /**
+     * Creates a builder indexing all tags with a slot in the section layout.
+     *
+     * @since 1.0.0
+     */
+    public TagIndexBuilder() {
+        this.tagNames = null;
+    }
+
+    /**
+     * Creates a builder indexing only the given tags. Tag names are matched case-insensitively.
+     *
+     * @param tagNames The names of the tags to index.
+     *
+     * @since 1.0.0
+     */
+    public TagIndexBuilder(@Nonnull Collection<String> tagNames) {
+        this.tagNames = new HashSet<>();
+        for (String tagName : tagNames) {
+            this.tagNames.add(normalize(tagName));
+        }
+    }
+
+    /**
+     * Parses a PGN file and writes an index of its tag values.
+     *
+     * @param registry  The registry providing the tag creators.
+     * @param pgnFile   The PGN file to index.
+     * @param indexFile The index file to write; an existing file is replaced.
+     *
+     * @throws IOException if the PGN file cannot be read, or the index file cannot be written.
+     * @since 1.0.0
+     */
+    public static void build(@Nonnull CreatorRegistry registry, @Nonnull Path pgnFile, @Nonnull Path indexFile) throws IOException {
+        TagIndexBuilder builder = new TagIndexBuilder();
+        new TagSectionParser(registry).parse(pgnFile, new TagSectionBuilder(registry.getTagSectionLayout(), builder));
+        builder.write(indexFile);
+    }
+
+    /**
+     * Adds the tags of a game.
+     *
+     * @param section    The tag section of the game.
+     * @param gameOffset The byte offset of the game in the PGN file.
+     *
+     * @since 1.0.0
+     */
+    @Override
+    public void accept(@Nonnull TagSection section, long gameOffset) {
+        TagSectionLayout layout = section.getLayout();
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            if (!section.contains(ordinal)) {
+                continue;
+            }
+            Object key;
+            int intValue = section.getIntValue(ordinal);
+            if (intValue != IntPgnTag.MISSING_VALUE) {
+                key = (long) intValue;
+            } else {
+                Object value = section.getTagValue(ordinal);
+                if (value == null) {
+                    continue;
+                }
+                key = value instanceof Integer || value instanceof Long ? ((Number) value).longValue() : value.toString();
+            }
+            Column column = getColumn(layout.getTagName(ordinal));
+            if (column != null) {
+                column.add(key, gameOffset);
+            }
+        }
+        gameCount++;
+    }
+
+    /**
+     * Returns the number of games added.
+     *
+     * @return The number of games.
+     *
+     * @since 1.0.0
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Writes the index file.
+     *
+     * @param indexFile The file to write; an existing file is replaced.
+     *
+     * @throws IOException if the file cannot be written.
+     * @since 1.0.0
+     */
+    public void write(@Nonnull Path indexFile) throws IOException {
+        List<Column> written = new ArrayList<>(columns.values());
+        byte[][] names = new byte[written.size()][];
+        long directorySize = 0;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = written.get(i).name.getBytes(StandardCharsets.UTF_8);
+            directorySize += DIRECTORY_ENTRY_SIZE + names[i].length;
+        }
+
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel, HEADER_SIZE + directorySize);
+            byte[] types = new byte[names.length];
+            int[] valueCounts = new int[names.length];
+            long[] tableOffsets = new long[names.length];
+            for (int i = 0; i < names.length; i++) {
+                List<Entry> entries = written.get(i).toEntries();
+                types[i] = written.get(i).numeric ? TYPE_INT : TYPE_STRING;
+                valueCounts[i] = entries.size();
+                tableOffsets[i] = writeColumn(out, entries);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate((int) (HEADER_SIZE + directorySize));
+            header.put(MAGIC).putInt(FORMAT_VERSION).putInt(names.length).putLong(gameCount);
+            for (int i = 0; i < names.length; i++) {
+                header.putShort((short) names[i].length).put(names[i]).put(types[i]).putInt(valueCounts[i]).putLong(tableOffsets[i]);
+            }
+            header.flip();
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+        }
+        LOGGER.debug("Wrote index of {} tags over {} games to '{}'", names.length, gameCount, indexFile);
+    }
+
+    private Column getColumn(String tagName) {
+        String normalized = normalize(tagName);
+        Column column = columns.get(normalized);
+        if (column == null && (tagNames == null || tagNames.contains(normalized))) {
+            column = new Column(tagName);
+            columns.put(normalized, column);
+        }
+        return column;
+    }
+
+    /**
+     * Writes the value table, the key heap and the posting lists of a column.
+     *
+     * @return The offset of the value table.
+     */
+    private static long writeColumn(Output out, List<Entry> entries) throws IOException {
+        long tableOffset = out.position();
+        long keyOffset = tableOffset + (long) entries.size() * VALUE_ENTRY_SIZE;
+        long postingOffset = keyOffset;
+        for (Entry entry : entries) {
+            postingOffset += entry.key.length;
+        }
+        for (Entry entry : entries) {
+            out.putLong(keyOffset).putInt(entry.key.length).putInt(entry.postings.size).putLong(postingOffset);
+            keyOffset += entry.key.length;
+            postingOffset += (long) entry.postings.size * Long.BYTES;
+        }
+        for (Entry entry : entries) {
+            out.put(entry.key);
+        }
+        for (Entry entry : entries) {
+            for (int i = 0; i < entry.postings.size; i++) {
+                out.putLong(entry.postings.values[i]);
+            }
+        }
+        return tableOffset;
+    }
+
+    private static final class Column {
+        private final String name;
+        private final Map<Object, LongList> postings = new HashMap<>();
+        private boolean numeric = true;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        void add(Object key, long gameOffset) {
+            if (key instanceof String) {
+                numeric = false;
+            }
+            postings.computeIfAbsent(key, k -> new LongList()).add(gameOffset);
+        }
+
+        List<Entry> toEntries() {
+            List<Entry> entries = new ArrayList<>(postings.size());
+            if (numeric) {
+                postings.forEach((key, list) -> entries.add(new Entry(TagIndex.encodeLong((Long) key), list)));
+            } else {
+                // numbers and strings were mixed, index every value as a string
+                Map<String, LongList> merged = new HashMap<>();
+                postings.forEach((key, list) -> merged.merge(key.toString(), list, LongList::addAll));
+                merged.forEach((key, list) -> entries.add(new Entry(key.getBytes(StandardCharsets.UTF_8), list)));
+            }
+            entries.sort((a, b) -> Arrays.compareUnsigned(a.key, b.key));
+            entries.forEach(entry -> entry.postings.sort());
+            return entries;
+        }
+    }
+
+    private record Entry(byte[] key, LongList postings) {
+    }
+
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (size > 0 && values[size - 1] > value) {
+                sorted = false;
+            }
+            values[size++] = value;
+        }
+
+        LongList addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+            return this;
+        }
+
+        void sort() {
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+        }
+    }
+
+    /**
+     * Buffered sequential writer on a file channel, keeping track of the file position.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private long flushed;
+
+        Output(FileChannel channel, long start) {
+            this.channel = channel;
+            this.flushed = start;
+        }
+
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        Output putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+            return this;
+        }
+
+        Output putLong(long value) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+            return this;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer, flushed);
+            }
+            buffer.clear();
+        }
+
+        private void ensureRemaining(int count) throws IOException {
+            if (buffer.remaining() < count) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Input stream decompressing bzip2 data.
+ * <p>
+ * The decoder is written in plain Java, without dependencies. It decodes one or more concatenated bzip2 streams, as
+ * written by {@code bzip2} and {@code pbzip2}, and verifies the block and stream checksums. Data following the last
+ * stream that does not start with a bzip2 signature is ignored. Blocks using the randomisation of bzip2 versions before
+ * 0.9.5 are not supported.
+ * <p>
+ * Every block is decoded in full when the first byte of it is read, so the stream holds a block of up to 900,000
+ * symbols in memory. Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class Bzip2InputStream extends InputStream {
+    private static final long BLOCK_MAGIC = 0x314159265359L;
+    private static final long END_MAGIC = 0x177245385090L;
+    private static final int MAX_GROUPS = 6;
+    private static final int GROUP_SIZE = 50;
+    private static final int MAX_CODE_LENGTH = 20;
+    private static final int MAX_ALPHABET_SIZE = 258;
+    private static final int RUNA = 0;
+    private static final int RUNB = 1;
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 24;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04c11db7 : crc << 1;
+            }
+            CRC_TABLE[i] = crc;
+        }
+    }
+
+    private final InputStream in;
+    private final byte[] inputBuffer = new byte[1 << 16];
+    private int inputPosition;
+    private int inputLength;
+    private int bitBuffer;
+    private int bitCount;
+
+    private int[] tt;
+    private int blockSize;
+    private boolean streamEnded = true;
+    private boolean finished;
+    private int combinedCrc;
+
+    // decoding tables of the current block
+    private final int[] unzftab = new int[256];
+    private final int[] cftab = new int[257];
+    private final byte[] seqToUnseq = new byte[256];
+    private final byte[] selectors = new byte[18002];
+    private final int[][] limit = new int[MAX_GROUPS][MAX_CODE_LENGTH + 2];
+    private final int[][] base = new int[MAX_GROUPS][MAX_CODE_LENGTH + 2];
+    private final int[][] perm = new int[MAX_GROUPS][MAX_ALPHABET_SIZE];
+    private final int[] minLengths = new int[MAX_GROUPS];
+
+    // output state of the current block
+    private int blockCrc;
+    private int crc;
+    private int tPos;
+    private int remaining;
+    private int repeat;
+    private int last = -1;
+    private int runLength;
+
+    /**
+     * Creates a stream decompressing bzip2 data.
+     *
+     * @param in The stream of compressed data; closed when this stream is closed.
+     *
+     * @since 1.0.0
+     */
+    public Bzip2InputStream(@Nonnull InputStream in) {
+        this.in = Objects.requireNonNull(in, "Parameter: in");
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        while (n < len) {
+            if (repeat > 0) {
+                int count = Math.min(repeat, len - n);
+                for (int i = 0; i < count; i++) {
+                    b[off + n++] = (byte) last;
+                    crc = (crc << 8) ^ CRC_TABLE[(crc >>> 24) ^ last];
+                }
+                repeat -= count;
+                continue;
+            }
+            if (remaining == 0) {
+                if (n > 0) {
+                    break;
+                }
+                if (!nextBlock()) {
+                    return -1;
+                }
+                continue;
+            }
+            tPos = tt[tPos];
+            int ch = tPos & 0xff;
+            tPos >>>= 8;
+            remaining--;
+            if (runLength == 4) {
+                repeat = ch;
+                runLength = 0;
+                continue;
+            }
+            if (ch == last) {
+                runLength++;
+            } else {
+                last = ch;
+                runLength = 1;
+            }
+            b[off + n++] = (byte) ch;
+            crc = (crc << 8) ^ CRC_TABLE[(crc >>> 24) ^ ch];
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        tt = null;
+        in.close();
+    }
+
+    /**
+     * Verifies the checksum of the block that has been read, and decodes the next block.
+     *
+     * @return <b>True</b> if a block was decoded, <b>false</b> at the end of the data.
+     */
+    private boolean nextBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (tt != null && !streamEnded) {
+            if (~crc != blockCrc) {
+                throw new IOException("bzip2 block checksum mismatch");
+            }
+            combinedCrc = (combinedCrc << 1 | combinedCrc >>> 31) ^ blockCrc;
+        }
+        while (true) {
+            if (streamEnded) {
+                if (!startStream()) {
+                    finished = true;
+                    return false;
+                }
+            }
+            long magic = (long) bits(24) << 24 | bits(24);
+            if (magic == BLOCK_MAGIC) {
+                decodeBlock();
+                return true;
+            }
+            if (magic != END_MAGIC) {
+                throw new IOException("Corrupt bzip2 data: invalid block signature");
+            }
+            if (bits32() != combinedCrc) {
+                throw new IOException("bzip2 stream checksum mismatch");
+            }
+            // the stream is padded to a byte boundary
+            bitCount = 0;
+            streamEnded = true;
+        }
+    }
+
+    /**
+     * Reads the header of a stream.
+     *
+     * @return <b>True</b> if a stream starts, <b>false</b> at the end of the data.
+     */
+    private boolean startStream() throws IOException {
+        int b = readByte();
+        if (tt != null && b != 'B') {
+            return false;
+        }
+        if (b != 'B' || readByte() != 'Z' || readByte() != 'h') {
+            if (tt == null) {
+                throw new IOException("Not in bzip2 format");
+            }
+            return false;
+        }
+        int level = readByte() - '0';
+        if (level < 1 || level > 9) {
+            throw new IOException("Not in bzip2 format");
+        }
+        if (tt == null || blockSize != level * 100000) {
+            blockSize = level * 100000;
+            tt = new int[blockSize];
+        }
+        streamEnded = false;
+        combinedCrc = 0;
+        return true;
+    }
+
+    private void decodeBlock() throws IOException {
+        blockCrc = bits32();
+        if (bits(1) != 0) {
+            throw new IOException("Randomised bzip2 blocks are not supported");
+        }
+        int origPtr = bits(24);
+
+        int inUseCount = 0;
+        int inUse16 = bits(16);
+        for (int i = 0; i < 16; i++) {
+            if ((inUse16 & (0x8000 >>> i)) != 0) {
+                int inUse = bits(16);
+                for (int j = 0; j < 16; j++) {
+                    if ((inUse & (0x8000 >>> j)) != 0) {
+                        seqToUnseq[inUseCount++] = (byte) (i * 16 + j);
+                    }
+                }
+            }
+        }
+        if (inUseCount == 0) {
+            throw new IOException("Corrupt bzip2 data: no symbols in use");
+        }
+        int alphabetSize = inUseCount + 2;
+
+        int groupCount = bits(3);
+        int selectorCount = bits(15);
+        if (groupCount < 2 || groupCount > MAX_GROUPS || selectorCount < 1) {
+            throw new IOException("Corrupt bzip2 data: invalid coding table count");
+        }
+        readSelectors(groupCount, selectorCount);
+        readCodingTables(groupCount, alphabetSize);
+
+        int blockLength = decodeSymbols(alphabetSize, Math.min(selectorCount, selectors.length));
+        if (origPtr >= blockLength) {
+            throw new IOException("Corrupt bzip2 data: invalid origin pointer");
+        }
+
+        // inverse Burrows-Wheeler transform, linking every position to the next one
+        cftab[0] = 0;
+        for (int i = 0; i < 256; i++) {
+            cftab[i + 1] = cftab[i] + unzftab[i];
+        }
+        for (int i = 0; i < blockLength; i++) {
+            int uc = tt[i] & 0xff;
+            tt[cftab[uc]] |= i << 8;
+            cftab[uc]++;
+        }
+        tPos = tt[origPtr] >>> 8;
+        remaining = blockLength;
+        crc = 0xffffffff;
+        last = -1;
+        runLength = 0;
+        repeat = 0;
+    }
+
+    private void readSelectors(int groupCount, int selectorCount) throws IOException {
+        int[] mtf = new int[MAX_GROUPS];
+        for (int i = 0; i < groupCount; i++) {
+            mtf[i] = i;
+        }
+        for (int i = 0; i < selectorCount; i++) {
+            int j = 0;
+            while (bits(1) != 0) {
+                if (++j >= groupCount) {
+                    throw new IOException("Corrupt bzip2 data: invalid selector");
+                }
+            }
+            int group = mtf[j];
+            System.arraycopy(mtf, 0, mtf, 1, j);
+            mtf[0] = group;
+            // selectors beyond the maximum are written by some encoders, but never used
+            if (i < selectors.length) {
+                selectors[i] = (byte) group;
+            }
+        }
+    }
+
+    private void readCodingTables(int groupCount, int alphabetSize) throws IOException {
+        int[] lengths = new int[alphabetSize];
+        for (int t = 0; t < groupCount; t++) {
+            int length = bits(5);
+            int minLength = MAX_CODE_LENGTH;
+            int maxLength = 0;
+            for (int i = 0; i < alphabetSize; i++) {
+                while (true) {
+                    if (length < 1 || length > MAX_CODE_LENGTH) {
+                        throw new IOException("Corrupt bzip2 data: invalid code length");
+                    }
+                    if (bits(1) == 0) {
+                        break;
+                    }
+                    length += bits(1) == 0 ? 1 : -1;
+                }
+                lengths[i] = length;
+                minLength = Math.min(minLength, length);
+                maxLength = Math.max(maxLength, length);
+            }
+            createDecodeTable(t, lengths, alphabetSize, minLength, maxLength);
+        }
+    }
+
+    /**
+     * Creates the tables to decode the canonical Huffman code of a group, as in the reference implementation.
+     */
+    private void createDecodeTable(int group, int[] lengths, int alphabetSize, int minLength, int maxLength) {
+        int[] groupPerm = perm[group];
+        int[] groupBase = base[group];
+        int[] groupLimit = limit[group];
+        int p = 0;
+        for (int length = minLength; length <= maxLength; length++) {
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                if (lengths[symbol] == length) {
+                    groupPerm[p++] = symbol;
+                }
+            }
+        }
+        Arrays.fill(groupBase, 0);
+        Arrays.fill(groupLimit, 0);
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            groupBase[lengths[symbol] + 1]++;
+        }
+        for (int i = 1; i < groupBase.length; i++) {
+            groupBase[i] += groupBase[i - 1];
+        }
+        int code = 0;
+        for (int length = minLength; length <= maxLength; length++) {
+            code += groupBase[length + 1] - groupBase[length];
+            groupLimit[length] = code - 1;
+            code <<= 1;
+        }
+        for (int length = minLength + 1; length <= maxLength; length++) {
+            groupBase[length] = ((groupLimit[length - 1] + 1) << 1) - groupBase[length];
+        }
+        minLengths[group] = minLength;
+    }
+
+    /**
+     * Decodes the Huffman coded symbols of a block, undoing the move-to-front and zero run-length coding.
+     *
+     * @return The number of bytes in the block.
+     */
+    private int decodeSymbols(int alphabetSize, int selectorCount) throws IOException {
+        int endOfBlock = alphabetSize - 1;
+        byte[] mtf = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            mtf[i] = (byte) i;
+        }
+        Arrays.fill(unzftab, 0);
+
+        int length = 0;
+        int groupIndex = -1;
+        int groupRemaining = 0;
+        int group = 0;
+        int runCount = -1;
+        int runWeight = 1;
+        while (true) {
+            if (groupRemaining == 0) {
+                if (++groupIndex >= selectorCount) {
+                    throw new IOException("Corrupt bzip2 data: selectors exhausted");
+                }
+                group = selectors[groupIndex];
+                groupRemaining = GROUP_SIZE;
+            }
+            groupRemaining--;
+            int symbol = decodeSymbol(group, alphabetSize);
+
+            if (symbol == RUNA || symbol == RUNB) {
+                if (runWeight > 1 << 20) {
+                    throw new IOException("Corrupt bzip2 data: run too long");
+                }
+                runCount += (symbol + 1) * runWeight;
+                runWeight <<= 1;
+                continue;
+            }
+            if (runCount >= 0) {
+                int count = runCount + 1;
+                int uc = seqToUnseq[mtf[0] & 0xff] & 0xff;
+                if (length + count > blockSize) {
+                    throw new IOException("Corrupt bzip2 data: block too long");
+                }
+                unzftab[uc] += count;
+                Arrays.fill(tt, length, length + count, uc);
+                length += count;
+                runCount = -1;
+                runWeight = 1;
+            }
+            if (symbol == endOfBlock) {
+                return length;
+            }
+
+            int index = symbol - 1;
+            byte value = mtf[index];
+            System.arraycopy(mtf, 0, mtf, 1, index);
+            mtf[0] = value;
+            int uc = seqToUnseq[value & 0xff] & 0xff;
+            if (length >= blockSize) {
+                throw new IOException("Corrupt bzip2 data: block too long");
+            }
+            unzftab[uc]++;
+            tt[length++] = uc;
+        }
+    }
+
+    private int decodeSymbol(int group, int alphabetSize) throws IOException {
+        int[] groupLimit = limit[group];
+        int length = minLengths[group];
+        int code = bits(length);
+        while (code > groupLimit[length]) {
+            if (++length > MAX_CODE_LENGTH) {
+                throw new IOException("Corrupt bzip2 data: invalid Huffman code");
+            }
+            code = code << 1 | bits(1);
+        }
+        int index = code - base[group][length];
+        if (index < 0 || index >= alphabetSize) {
+            throw new IOException("Corrupt bzip2 data: invalid Huffman code");
+        }
+        return perm[group][index];
+    }
+
+    private int bits32() throws IOException {
+        return bits(16) << 16 | bits(16);
+    }
+
+    private int bits(int count) throws IOException {
+        while (bitCount < count) {
+            int b = readByte();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of bzip2 data");
+            }
+            bitBuffer = bitBuffer << 8 | b;
+            bitCount += 8;
+        }
+        bitCount -= count;
+        return (bitBuffer >>> bitCount) & ((1 << count) - 1);
+    }
+
+    private int readByte() throws IOException {
+        if (inputPosition == inputLength) {
+            inputLength = in.read(inputBuffer, 0, inputBuffer.length);
+            inputPosition = 0;
+            if (inputLength <= 0) {
+                inputLength = 0;
+                return -1;
+            }
+        }
+        return inputBuffer[inputPosition++] & 0xff;
+    }
+}
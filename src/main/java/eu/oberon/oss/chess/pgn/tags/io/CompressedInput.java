@@ -0,0 +1,109 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens PGN data that may be compressed, decompressing it while it is read.
+ * <p>
+ * Decompression runs on a thread of its own, handing buffers of {@link #BUFFER_SIZE} bytes to the reader, so
+ * decompressing and processing the data overlap. Gzip files consisting of multiple members are decompressed on
+ * multiple threads, see {@link #open(Path, int)}; bzip2 data is decompressed by a {@link Bzip2InputStream}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class CompressedInput {
+    /**
+     * The size of the buffers handed from the decompressing thread to the reader.
+     *
+     * @since 1.0.0
+     */
+    public static final int BUFFER_SIZE = 1 << 20;
+    private static final int BUFFER_COUNT = 4;
+    private static final long UNIT_SIZE = 1 << 20;
+
+    private CompressedInput() {
+    }
+
+    /**
+     * Opens a file, decompressing it if it is compressed, using all available processors for multi-member gzip files.
+     *
+     * @param path The file.
+     *
+     * @return A channel reading the decompressed data.
+     *
+     * @throws IOException if the file cannot be opened.
+     * @see #open(Path, int)
+     * @since 1.0.0
+     */
+    public static @Nonnull ReadableByteChannel open(@Nonnull Path path) throws IOException {
+        return open(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Opens a file, decompressing it if it is compressed. The compression format is detected from the content of the
+     * file, not its name. Uncompressed files are read directly.
+     * <p>
+     * With a parallelism above 1, the members of a multi-member gzip file are decompressed in parallel; a single
+     * member can only be decompressed sequentially.
+     *
+     * @param path        The file.
+     * @param parallelism The maximum number of threads decompressing a gzip file.
+     *
+     * @return A channel reading the decompressed data. Errors in the compressed data are thrown by its read method.
+     *
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     * @throws IOException              if the file cannot be opened.
+     * @since 1.0.0
+     */
+    public static @Nonnull ReadableByteChannel open(@Nonnull Path path, int parallelism) throws IOException {
+        return open(path, parallelism, UNIT_SIZE);
+    }
+
+    static ReadableByteChannel open(Path path, int parallelism, long unitSize) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parameter: parallelism");
+        }
+        Compression compression = Compression.detect(path);
+        LOGGER.debug("Opening '{}' with compression {}", path, compression);
+        if (compression == Compression.NONE) {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        }
+        if (compression == Compression.GZIP && parallelism > 1) {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            return new PipelinedChannel(new ParallelGzipDecoder(channel, parallelism, unitSize), channel, BUFFER_SIZE, BUFFER_COUNT);
+        }
+        return open(Files.newInputStream(path), compression);
+    }
+
+    /**
+     * Opens a stream of PGN data, decompressing it on a separate thread.
+     *
+     * @param in          The stream; closed when the channel is closed.
+     * @param compression The compression format of the stream.
+     *
+     * @return A channel reading the decompressed data. Errors in the compressed data are thrown by its read method.
+     *
+     * @throws IOException if the header of gzip data is invalid.
+     * @since 1.0.0
+     */
+    public static @Nonnull ReadableByteChannel open(@Nonnull InputStream in, @Nonnull Compression compression) throws IOException {
+        return switch (compression) {
+            case NONE -> Channels.newChannel(in);
+            case GZIP -> PipelinedChannel.of(new GZIPInputStream(in, 1 << 16), BUFFER_SIZE, BUFFER_COUNT);
+            case BZIP2 -> PipelinedChannel.of(new Bzip2InputStream(in), BUFFER_SIZE, BUFFER_COUNT);
+        };
+    }
+}
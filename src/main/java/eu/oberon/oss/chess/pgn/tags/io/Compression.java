@@ -0,0 +1,67 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The compression format of a PGN file, detected from the first bytes of the file.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public enum Compression {
+    /**
+     * Uncompressed data.
+     *
+     * @since 1.0.0
+     */
+    NONE,
+    /**
+     * Data compressed with gzip, in one or more members.
+     *
+     * @since 1.0.0
+     */
+    GZIP,
+    /**
+     * Data compressed with bzip2, in one or more streams.
+     *
+     * @since 1.0.0
+     */
+    BZIP2;
+
+    /**
+     * Detects the compression format of a file.
+     *
+     * @param path The file.
+     *
+     * @return The compression format; {@link #NONE} for files not starting with a gzip or bzip2 signature.
+     *
+     * @throws IOException if the file cannot be read.
+     * @since 1.0.0
+     */
+    public static @Nonnull Compression detect(@Nonnull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            int count;
+            do {
+                count = channel.read(header);
+            } while (count >= 0 && header.hasRemaining());
+            return of(header.array(), header.position());
+        }
+    }
+
+    static Compression of(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xff) == 0x1f && (header[1] & 0xff) == 0x8b && header[2] == 8) {
+            return GZIP;
+        }
+        if (length >= 4 && header[0] == 'B' && header[1] == 'Z' && header[2] == 'h' && header[3] >= '1' && header[3] <= '9') {
+            return BZIP2;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,196 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes single gzip members (RFC 1952) from a file, using an {@link Inflater}.
+ * <p>
+ * Unlike {@link java.util.zip.GZIPInputStream}, which decodes all members of a stream, the decoder reports where each
+ * member ends, so the members of a multi-member file can be decoded independently. Instances are not thread-safe;
+ * every thread uses its own decoder.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class GzipMemberDecoder implements AutoCloseable {
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int RESERVED = 0xe0;
+
+    /**
+     * Receives decoded data.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void write(@Nonnull byte[] bytes, int offset, int count) throws IOException, InterruptedException;
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc = new CRC32();
+    private final byte[] input;
+    private final byte[] output;
+    private long inputStart;
+    private int inputLength;
+
+    GzipMemberDecoder(@Nonnull FileChannel channel, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.input = new byte[bufferSize];
+        this.output = new byte[bufferSize];
+    }
+
+    /**
+     * Returns if a gzip member header may start at a position of a buffer: the signature, the deflate method and
+     * no reserved flags.
+     */
+    static boolean isCandidate(byte[] bytes, int index) {
+        return bytes[index] == 0x1f && bytes[index + 1] == (byte) 0x8b && bytes[index + 2] == 8
+                && (bytes[index + 3] & RESERVED) == 0;
+    }
+
+    /**
+     * Decodes the member starting at a position.
+     *
+     * @param position The position of the member header.
+     * @param limit    The position the member may not extend beyond.
+     * @param sink     The receiver of the decoded data.
+     *
+     * @return The position after the member, or -1 if there is no member header at the position.
+     *
+     * @throws ZipException if the member is corrupt, or extends beyond the limit.
+     * @throws IOException  if the file cannot be read, or the sink fails.
+     */
+    long decode(long position, long limit, @Nonnull Sink sink) throws IOException, InterruptedException {
+        long dataStart = skipHeader(position, limit);
+        if (dataStart < 0) {
+            return -1;
+        }
+
+        inflater.reset();
+        crc.reset();
+        long next = dataStart;
+        try {
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    int count = fill(next, limit);
+                    if (count == 0) {
+                        throw new ZipException("Truncated gzip member at " + position);
+                    }
+                    inflater.setInput(input, (int) (next - inputStart), count);
+                    next += count;
+                } else if (inflater.needsDictionary()) {
+                    throw new ZipException("Unsupported preset dictionary in gzip member at " + position);
+                }
+                int count = inflater.inflate(output);
+                if (count > 0) {
+                    crc.update(output, 0, count);
+                    sink.write(output, 0, count);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt gzip member at " + position + ": " + e.getMessage());
+        }
+
+        long trailer = next - inflater.getRemaining();
+        if (trailer + 8 > limit || fill(trailer, limit) < 8) {
+            throw new ZipException("Truncated gzip member at " + position);
+        }
+        int offset = (int) (trailer - inputStart);
+        ByteBuffer values = ByteBuffer.wrap(input).order(ByteOrder.LITTLE_ENDIAN);
+        if (values.getInt(offset) != (int) crc.getValue() || values.getInt(offset + 4) != (int) inflater.getBytesWritten()) {
+            throw new ZipException("Checksum mismatch in gzip member at " + position);
+        }
+        return trailer + 8;
+    }
+
+    /**
+     * Returns the position of the compressed data of the member starting at a position.
+     *
+     * @return The position, or -1 if there is no valid member header at the position.
+     */
+    private long skipHeader(long position, long limit) throws IOException {
+        if (fill(position, limit) < 10) {
+            return -1;
+        }
+        int offset = (int) (position - inputStart);
+        if (!isCandidate(input, offset)) {
+            return -1;
+        }
+        int flags = input[offset + 3];
+        long next = position + 10;
+        if ((flags & FEXTRA) != 0) {
+            if (fill(next, limit) < 2) {
+                return -1;
+            }
+            int index = (int) (next - inputStart);
+            next += 2 + ((input[index] & 0xff) | (input[index + 1] & 0xff) << 8);
+        }
+        if ((flags & FNAME) != 0) {
+            next = skipString(next, limit);
+        }
+        if ((flags & FCOMMENT) != 0 && next >= 0) {
+            next = skipString(next, limit);
+        }
+        if ((flags & FHCRC) != 0 && next >= 0) {
+            next += 2;
+        }
+        return next >= 0 && next <= limit ? next : -1;
+    }
+
+    private long skipString(long position, long limit) throws IOException {
+        while (true) {
+            int count = fill(position, limit);
+            if (count == 0) {
+                return -1;
+            }
+            int offset = (int) (position - inputStart);
+            for (int i = 0; i < count; i++) {
+                if (input[offset + i] == 0) {
+                    return position + i + 1;
+                }
+            }
+            position += count;
+        }
+    }
+
+    /**
+     * Makes the bytes at a position available in the input buffer, reading from the file if needed.
+     *
+     * @return The number of bytes available from the position, before the limit; 0 at the limit.
+     */
+    private int fill(long position, long limit) throws IOException {
+        long end = Math.min(limit, size);
+        if (position >= end) {
+            return 0;
+        }
+        if (position < inputStart || position >= inputStart + inputLength || inputStart + inputLength - position < 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(input, 0, (int) Math.min(input.length, end - position));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            inputStart = position;
+            inputLength = buffer.position();
+        }
+        return (int) Math.min(inputStart + inputLength - position, end - position);
+    }
+
+    @Override
+    public void close() {
+        inflater.end();
+    }
+}
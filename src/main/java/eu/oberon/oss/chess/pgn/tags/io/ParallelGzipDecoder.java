@@ -0,0 +1,260 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes a gzip file on multiple threads, when it consists of multiple members, as written by e.g. {@code bgzip} or
+ * by concatenating gzip files.
+ * <p>
+ * Member boundaries are only known once the preceding member has been decoded, so the decoder speculates: the file is
+ * scanned for byte sequences that look like a member header, and the ranges between such candidates, of at least
+ * {@code unitSize} bytes, are decoded in parallel. A unit is accepted when it starts where the previously accepted
+ * data ended and decodes to a sequence of complete members ending exactly at the end of the unit; the checksum of each
+ * member guards against accepting a false candidate. Data not covered by an accepted unit, such as a single large
+ * member, is decoded sequentially, so the result is always identical to a sequential decode.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+final class ParallelGzipDecoder implements PipelinedChannel.Producer {
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final int parallelism;
+    private final long unitSize;
+    private final long maxUnitSize;
+    private final long lookahead;
+
+    ParallelGzipDecoder(@Nonnull FileChannel channel, int parallelism, long unitSize) {
+        this.channel = channel;
+        this.parallelism = parallelism;
+        this.unitSize = unitSize;
+        this.maxUnitSize = unitSize * 4;
+        this.lookahead = maxUnitSize * parallelism * 2;
+    }
+
+    @Override
+    public void produce(@Nonnull PipelinedChannel.Output output) throws IOException, InterruptedException {
+        long size = channel.size();
+        CandidateScanner scanner = new CandidateScanner(size);
+        Deque<Unit> units = new ArrayDeque<>();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("pgn-decompress-worker-", 0).daemon().factory());
+        long accepted = 0;
+        long sequential = 0;
+        try (GzipMemberDecoder decoder = new GzipMemberDecoder(channel, READ_BUFFER_SIZE)) {
+            long nextUnit = 0;
+            long position = 0;
+            while (position < size) {
+                nextUnit = Math.max(nextUnit, position);
+                while (units.size() < parallelism * 2 && nextUnit < Math.min(size, position + lookahead)) {
+                    long start = scanner.next(nextUnit, nextUnit + maxUnitSize);
+                    if (start == Math.min(size, nextUnit + maxUnitSize)) {
+                        nextUnit = start;
+                        continue;
+                    }
+                    long end = scanner.next(start + unitSize, start + maxUnitSize);
+                    if (end == start + maxUnitSize && end < size) {
+                        // no candidate boundary within reach: most likely inside a large member, left to the sequential decode
+                        nextUnit = end;
+                        continue;
+                    }
+                    Unit unit = new Unit(start, end);
+                    unit.result = workers.submit(() -> decodeUnit(unit));
+                    units.add(unit);
+                    nextUnit = end;
+                }
+
+                Unit unit = units.peekFirst();
+                if (unit != null && unit.end <= position) {
+                    units.removeFirst().cancel();
+                    continue;
+                }
+                if (unit != null && unit.start == position) {
+                    units.removeFirst();
+                    List<byte[]> chunks = result(unit);
+                    if (chunks != null) {
+                        for (byte[] chunk : chunks) {
+                            output.write(chunk, 0, chunk.length);
+                        }
+                        position = unit.end;
+                        accepted += unit.end - unit.start;
+                        continue;
+                    }
+                }
+
+                long end = decoder.decode(position, size, output::write);
+                if (end < 0) {
+                    if (position == 0) {
+                        throw new ZipException("Not in GZIP format");
+                    }
+                    // trailing data after the last member is ignored, as by GZIPInputStream
+                    break;
+                }
+                sequential += end - position;
+                position = end;
+            }
+        } finally {
+            units.forEach(Unit::cancel);
+            // workers are not interrupted: an interrupt during a read would close the shared file channel
+            workers.shutdown();
+        }
+        LOGGER.debug("Decoded {} compressed bytes in parallel and {} sequentially", accepted, sequential);
+    }
+
+    private static List<byte[]> result(Unit unit) throws InterruptedException {
+        try {
+            return unit.result.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the members of a unit.
+     *
+     * @return The decoded data, or {@code null} if the unit does not consist of complete members.
+     */
+    private List<byte[]> decodeUnit(Unit unit) throws IOException, InterruptedException {
+        // data expanding beyond this is decoded sequentially, to bound the memory held by units
+        ChunkCollector collector = new ChunkCollector(unit, (unit.end - unit.start) * 64 + READ_BUFFER_SIZE);
+        try (GzipMemberDecoder decoder = new GzipMemberDecoder(channel, READ_BUFFER_SIZE)) {
+            long position = unit.start;
+            while (position < unit.end) {
+                position = decoder.decode(position, unit.end, collector);
+                if (position < 0) {
+                    return null;
+                }
+            }
+        } catch (ZipException e) {
+            return null;
+        }
+        return collector.finish();
+    }
+
+    private static final class Unit {
+        private final long start;
+        private final long end;
+        private Future<List<byte[]>> result;
+        private volatile boolean cancelled;
+
+        Unit(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void cancel() {
+            cancelled = true;
+            result.cancel(false);
+        }
+    }
+
+    /**
+     * Collects the decoded data of a unit, up to a maximum size.
+     */
+    private static final class ChunkCollector implements GzipMemberDecoder.Sink {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private final Unit unit;
+        private final long maxLength;
+        private byte[] current = new byte[READ_BUFFER_SIZE * 4];
+        private int length;
+        private long total;
+
+        ChunkCollector(Unit unit, long maxLength) {
+            this.unit = unit;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(@Nonnull byte[] bytes, int offset, int count) throws IOException {
+            if (unit.cancelled) {
+                throw new ZipException("Unit cancelled");
+            }
+            total += count;
+            if (total > maxLength) {
+                throw new ZipException("Unit exceeds the maximum decoded size");
+            }
+            while (count > 0) {
+                if (length == current.length) {
+                    chunks.add(current);
+                    current = new byte[current.length];
+                    length = 0;
+                }
+                int n = Math.min(count, current.length - length);
+                System.arraycopy(bytes, offset, current, length, n);
+                length += n;
+                offset += n;
+                count -= n;
+            }
+        }
+
+        List<byte[]> finish() {
+            if (length > 0) {
+                chunks.add(Arrays.copyOf(current, length));
+            }
+            return chunks;
+        }
+    }
+
+    /**
+     * Finds the positions in the file that may start a member, reading the file front to back.
+     */
+    private final class CandidateScanner {
+        private final long size;
+        private final byte[] window = new byte[1 << 20];
+        private long windowStart = -1;
+        private int windowLength;
+
+        CandidateScanner(long size) {
+            this.size = size;
+        }
+
+        /**
+         * Returns the first candidate position in a range, or the end of the range, limited to the file size, if
+         * there is none.
+         */
+        long next(long from, long to) throws IOException {
+            long limit = Math.min(to, size);
+            while (from + 4 <= limit) {
+                if (from < windowStart || from + 4 > windowStart + windowLength) {
+                    load(from);
+                }
+                int last = (int) Math.min(windowLength - 4, limit - 4 - windowStart);
+                for (int i = (int) (from - windowStart); i <= last; i++) {
+                    if (window[i] == 0x1f && GzipMemberDecoder.isCandidate(window, i)) {
+                        return windowStart + i;
+                    }
+                }
+                from = windowStart + last + 1;
+            }
+            return limit;
+        }
+
+        private void load(long position) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(window, 0, (int) Math.min(window.length, size - position));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            windowStart = position;
+            windowLength = buffer.position();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Channel reading data produced on a separate thread, so producing the data, e.g. decompressing it, overlaps with
+ * processing it.
+ * <p>
+ * The producer fills buffers which are handed to the reader through a bounded queue; buffers that have been read are
+ * returned to the producer for reuse. A failure of the producer is rethrown by the read following the data produced
+ * before the failure. Closing the channel interrupts the producer and closes its resource.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class PipelinedChannel implements ReadableByteChannel {
+    private static final ThreadFactory THREADS = Thread.ofPlatform().name("pgn-decompress-", 0).daemon().factory();
+    private static final Chunk END = new Chunk(new byte[0], 0);
+
+    /**
+     * Produces the data of a channel, on the thread of the channel.
+     */
+    @FunctionalInterface
+    interface Producer {
+        void produce(@Nonnull Output output) throws IOException, InterruptedException;
+    }
+
+    private final Closeable resource;
+    private final BlockingQueue<Chunk> filled;
+    private final BlockingQueue<byte[]> free;
+    private final Thread thread;
+    private final int bufferSize;
+    private volatile Throwable failure;
+    private volatile boolean open = true;
+    private Chunk current;
+    private int position;
+
+    /**
+     * Starts a channel.
+     *
+     * @param producer    The producer of the data.
+     * @param resource    The resource closed when the channel is closed.
+     * @param bufferSize  The size of the buffers handed to the reader.
+     * @param bufferCount The maximum number of buffers queued for the reader.
+     */
+    PipelinedChannel(@Nonnull Producer producer, @Nonnull Closeable resource, int bufferSize, int bufferCount) {
+        this.resource = resource;
+        this.bufferSize = bufferSize;
+        this.filled = new ArrayBlockingQueue<>(bufferCount);
+        this.free = new ArrayBlockingQueue<>(bufferCount + 2);
+        this.thread = THREADS.newThread(() -> run(producer));
+        thread.start();
+    }
+
+    /**
+     * Starts a channel reading an input stream, typically a decompressing stream, on a separate thread.
+     *
+     * @param in          The input stream; closed when the channel is closed.
+     * @param bufferSize  The size of the buffers handed to the reader.
+     * @param bufferCount The maximum number of buffers queued for the reader.
+     *
+     * @return The channel.
+     */
+    static @Nonnull PipelinedChannel of(@Nonnull InputStream in, int bufferSize, int bufferCount) {
+        return new PipelinedChannel(output -> output.transferFrom(in), in, bufferSize, bufferCount);
+    }
+
+    private void run(Producer producer) {
+        Output output = new Output();
+        try {
+            producer.produce(output);
+            output.flush();
+        } catch (Throwable t) {
+            if (open) {
+                failure = t;
+            }
+        } finally {
+            try {
+                if (open) {
+                    filled.put(END);
+                }
+            } catch (InterruptedException e) {
+                // the channel was closed, nobody reads the end marker
+            }
+        }
+    }
+
+    @Override
+    public int read(@Nonnull ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        while (current == null || position == current.length) {
+            if (current == END) {
+                return end();
+            }
+            if (current != null && current.data.length == bufferSize) {
+                free.offer(current.data);
+            }
+            try {
+                current = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for data");
+            }
+            position = 0;
+        }
+        int count = Math.min(dst.remaining(), current.length - position);
+        dst.put(current.data, position, count);
+        position += count;
+        return count;
+    }
+
+    private int end() throws IOException {
+        Throwable t = failure;
+        if (t == null) {
+            return -1;
+        }
+        if (t instanceof IOException e) {
+            throw e;
+        }
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        throw new IOException(t);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            thread.interrupt();
+            filled.clear();
+            resource.close();
+        }
+    }
+
+    private record Chunk(byte[] data, int length) {
+    }
+
+    /**
+     * Collects the data of the producer in buffers, and queues full buffers for the reader.
+     */
+    final class Output {
+        private byte[] buffer;
+        private int length;
+
+        /**
+         * Appends data.
+         */
+        void write(@Nonnull byte[] bytes, int offset, int count) throws InterruptedException {
+            while (count > 0) {
+                ensureBuffer();
+                int n = Math.min(count, buffer.length - length);
+                System.arraycopy(bytes, offset, buffer, length, n);
+                length += n;
+                offset += n;
+                count -= n;
+                if (length == buffer.length) {
+                    flush();
+                }
+            }
+        }
+
+        /**
+         * Appends all data read from an input stream, until its end.
+         */
+        void transferFrom(@Nonnull InputStream in) throws IOException, InterruptedException {
+            while (true) {
+                ensureBuffer();
+                int n = in.read(buffer, length, buffer.length - length);
+                if (n < 0) {
+                    return;
+                }
+                length += n;
+                if (length == buffer.length) {
+                    flush();
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        void flush() throws InterruptedException {
+            if (length > 0) {
+                filled.put(new Chunk(buffer, length));
+                buffer = null;
+                length = 0;
+            }
+        }
+
+        private void ensureBuffer() {
+            if (buffer == null) {
+                byte[] reused = free.poll();
+                buffer = reused != null ? reused : new byte[bufferSize];
+            }
+        }
+    }
+}
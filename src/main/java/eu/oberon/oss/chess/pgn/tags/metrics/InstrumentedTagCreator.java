@@ -0,0 +1,173 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tag creator that delegates to another tag creator, recording creations, validation failures, blank values and,
+ * optionally, conversion latencies in a {@link TagMetrics} instance, and emitting a {@code TagCreation} JFR event when
+ * that event is enabled.
+ * <p>
+ * Instances are obtained from {@link TagMetrics#instrument(TagCreator)}. When the delegate is a {@link Utf8TagCreator},
+ * so is the instrumented tag creator, and values passed as bytes are passed on to the delegate as bytes.
+ *
+ * @param <I> Represents the parameter type of the data that is the input for the PGN Tag value
+ * @param <O> Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public sealed class InstrumentedTagCreator<I, O> implements TagCreator<I, O> permits InstrumentedTagCreator.Utf8 {
+    private final TagCreator<I, O> delegate;
+    private final TagMetrics metrics;
+    private final TagCounters counters;
+
+    private InstrumentedTagCreator(TagCreator<I, O> delegate, TagMetrics metrics, TagCounters counters) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.counters = counters;
+    }
+
+    /**
+     * Creates an instrumented tag creator, implementing {@link Utf8TagCreator} if the delegate does.
+     */
+    @SuppressWarnings("unchecked")
+    static <I, O> InstrumentedTagCreator<I, O> of(TagCreator<I, O> delegate, TagMetrics metrics, TagCounters counters) {
+        if (delegate instanceof Utf8TagCreator<?, ?> utf8Creator) {
+            return (InstrumentedTagCreator<I, O>) (InstrumentedTagCreator<?, ?>) new Utf8<>(utf8Creator, metrics, counters);
+        }
+        return new InstrumentedTagCreator<>(delegate, metrics, counters);
+    }
+
+    /**
+     * Returns the tag creator that is instrumented.
+     *
+     * @return The delegate.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagCreator<I, O> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the metrics in which this tag creator records.
+     *
+     * @return The metrics.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagMetrics getMetrics() {
+        return metrics;
+    }
+
+    TagCounters getCounters() {
+        return counters;
+    }
+
+    @Override
+    public String getTagName() {
+        return delegate.getTagName();
+    }
+
+    /**
+     * Creates a tag by calling {@link TagCreator#tryCreateTag(Object)} of the delegate, so a rejected input value is
+     * recorded with the {@link TagCreationError} reported by the delegate.
+     *
+     * @param inputValue The input value for the tag value.
+     *
+     * @return The created tag.
+     *
+     * @throws IllegalArgumentException if the delegate rejects the input value.
+     * @since 1.0.0
+     */
+    @Override
+    public PgnTag<O> createTag(I inputValue) {
+        return tryCreateTag(inputValue).orElseThrow();
+    }
+
+    @Override
+    public @Nonnull TagCreationResult<O> tryCreateTag(I inputValue) {
+        TagCreationEvent event = new TagCreationEvent();
+        event.begin();
+        long start = counters.latency == null ? 0 : System.nanoTime();
+        boolean blank = TagCreator.isMissingValue(inputValue);
+        TagCreationResult<O> result = delegate.tryCreateTag(inputValue);
+        record(event, start, blank, result.getError());
+        return result;
+    }
+
+    void record(TagCreationEvent event, long start, boolean blank, TagCreationError error) {
+        if (counters.latency != null) {
+            counters.latency.record(System.nanoTime() - start);
+        }
+        if (error == null) {
+            counters.creations.increment();
+        } else {
+            counters.failures[error.ordinal()].increment();
+        }
+        if (blank) {
+            counters.blankValues.increment();
+        }
+        if (event.shouldCommit()) {
+            event.tagName = counters.tagName;
+            event.success = error == null;
+            event.reason = error == null ? null : error.name();
+            event.blankValue = blank;
+            event.commit();
+        }
+    }
+
+    /**
+     * Instrumented tag creator for a delegate that accepts UTF-8 encoded values.
+     */
+    static final class Utf8<I extends CharSequence, O> extends InstrumentedTagCreator<I, O> implements Utf8TagCreator<I, O> {
+        private final Utf8TagCreator<I, O> utf8Delegate;
+
+        private Utf8(Utf8TagCreator<I, O> delegate, TagMetrics metrics, TagCounters counters) {
+            super(delegate, metrics, counters);
+            this.utf8Delegate = delegate;
+        }
+
+        @Override
+        public @Nonnull TagCreationResult<O> tryCreateTag(@Nonnull ByteBuffer buffer, int offset, int length) {
+            TagCreationEvent event = new TagCreationEvent();
+            event.begin();
+            long start = getCounters().latency == null ? 0 : System.nanoTime();
+            TagCreationResult<O> result = utf8Delegate.tryCreateTag(buffer, offset, length);
+            record(event, start, isBlank(buffer, offset, length), result.getError());
+            return result;
+        }
+
+        @Override
+        public @Nonnull TagCreationResult<O> tryCreateTag(@Nonnull byte[] bytes, int offset, int length) {
+            TagCreationEvent event = new TagCreationEvent();
+            event.begin();
+            long start = getCounters().latency == null ? 0 : System.nanoTime();
+            TagCreationResult<O> result = utf8Delegate.tryCreateTag(bytes, offset, length);
+            record(event, start, isBlank(ByteBuffer.wrap(bytes), offset, length), result.getError());
+            return result;
+        }
+
+        private static boolean isBlank(ByteBuffer buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                byte b = buffer.get(i);
+                if (b < 0) {
+                    // not ASCII: decode the value, as it may hold white space outside the ASCII range
+                    return TagCreator.isMissingValue(StandardCharsets.UTF_8.decode(buffer.slice(offset, length)));
+                }
+                if (!Character.isWhitespace(b)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
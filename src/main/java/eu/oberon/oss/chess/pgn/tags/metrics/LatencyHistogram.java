@@ -0,0 +1,46 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of latencies in nanoseconds, with one bucket per power of two.
+ * <p>
+ * Bucket {@code 0} counts latencies of 0 nanoseconds; bucket {@code i > 0} counts latencies from {@code 2^(i-1)} up
+ * to, but not including, {@code 2^i} nanoseconds. The buckets are striped counters, so recording from many threads at
+ * once does not contend on a single memory location.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class LatencyHistogram {
+    static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos))].increment();
+        totalNanos.add(nanos);
+    }
+
+    long[] getBucketCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+}
@@ -0,0 +1,47 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import jakarta.annotation.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters kept by {@link TagMetrics} for a single tag name.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class TagCounters {
+    private static final TagCreationError[] REASONS = TagCreationError.values();
+
+    final String tagName;
+    final LongAdder lookups = new LongAdder();
+    final LongAdder creations = new LongAdder();
+    final LongAdder blankValues = new LongAdder();
+    final LongAdder[] failures = new LongAdder[REASONS.length];
+    final @Nullable LatencyHistogram latency;
+
+    TagCounters(String tagName, boolean recordLatency) {
+        this.tagName = tagName;
+        this.latency = recordLatency ? new LatencyHistogram() : null;
+        for (int i = 0; i < REASONS.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    TagStatistics toStatistics() {
+        long[] failureCounts = new long[REASONS.length];
+        for (int i = 0; i < REASONS.length; i++) {
+            failureCounts[i] = failures[i].sum();
+        }
+        return new TagStatistics(
+                tagName,
+                lookups.sum(),
+                creations.sum(),
+                failureCounts,
+                blankValues.sum(),
+                latency == null ? null : latency.getBucketCounts(),
+                latency == null ? 0 : latency.getTotalNanos()
+        );
+    }
+}
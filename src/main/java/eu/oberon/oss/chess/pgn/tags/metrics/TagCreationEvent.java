@@ -0,0 +1,39 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recording the creation of a single tag by an {@link InstrumentedTagCreator}.
+ * <p>
+ * As an event is emitted for every tag of every game, the event is disabled by default; enable it in the recording
+ * settings, typically together with a threshold, to find slow conversions.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Name(TagCreationEvent.NAME)
+@Label("PGN Tag Creation")
+@Description("Creation of a PGN tag from its input value")
+@Category({"PGN", "Tags"})
+@Enabled(false)
+@StackTrace(false)
+final class TagCreationEvent extends jdk.jfr.Event {
+    static final String NAME = "eu.oberon.oss.chess.pgn.TagCreation";
+
+    @Label("Tag Name")
+    String tagName;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Failure Reason")
+    String reason;
+
+    @Label("Blank Value")
+    boolean blankValue;
+}
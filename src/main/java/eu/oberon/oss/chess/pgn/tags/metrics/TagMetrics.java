@@ -0,0 +1,228 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jdk.jfr.FlightRecorder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per tag metrics for registry lookups and tag creation.
+ * <p>
+ * Metrics are recorded by tag creators wrapped by {@link #instrument(TagCreator)}, and by a {@link CreatorRegistry}
+ * once the metrics have been {@linkplain CreatorRegistry#setMetrics(TagMetrics) installed} in it; the registry then
+ * returns instrumented tag creators from its lookups. All counters are striped, so recording from many threads at once
+ * does not contend on a single memory location. The recorded values are read through {@link #snapshot()}, and can be
+ * emitted as periodic JFR events.
+ * <p>
+ * Recording conversion latencies requires two calls to {@link System#nanoTime()} per created tag, and is therefore
+ * optional.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagMetrics {
+    /**
+     * The maximum number of distinct unknown tag names for which misses are counted individually.
+     *
+     * @since 1.0.0
+     */
+    public static final int MAX_MISSED_TAG_NAMES = 1024;
+
+    private final boolean recordLatency;
+    private final Map<String, TagCounters> countersByTag = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> missesByTag = new ConcurrentHashMap<>();
+    private final LongAdder totalMisses = new LongAdder();
+    private final Runnable flightRecorderHook = this::emitStatisticsEvents;
+
+    /**
+     * Constructs metrics that do not record conversion latencies.
+     *
+     * @since 1.0.0
+     */
+    public TagMetrics() {
+        this(false);
+    }
+
+    /**
+     * Constructs metrics.
+     *
+     * @param recordLatency Specifies if conversion latencies are recorded.
+     *
+     * @since 1.0.0
+     */
+    public TagMetrics(boolean recordLatency) {
+        this.recordLatency = recordLatency;
+    }
+
+    /**
+     * Checks if conversion latencies are recorded.
+     *
+     * @return <b>True</b> if latencies are recorded, <b>false</b> if not.
+     *
+     * @since 1.0.0
+     */
+    public boolean isRecordingLatency() {
+        return recordLatency;
+    }
+
+    /**
+     * Wraps a tag creator in a creator that records its creations in these metrics. Creators for tag names that
+     * differ in case only share their counters.
+     *
+     * @param tagCreator The tag creator to instrument.
+     * @param <I>        Represents the parameter type of the data that is the input for the PGN Tag value
+     * @param <O>        Represents the parameter type of the data that is actually stored as the value of a PGN Tag.
+     *
+     * @return The instrumented tag creator, or the specified tag creator if it is already instrumented for these
+     * metrics.
+     *
+     * @since 1.0.0
+     */
+    public <I, O> @Nonnull InstrumentedTagCreator<I, O> instrument(@Nonnull TagCreator<I, O> tagCreator) {
+        if (tagCreator instanceof InstrumentedTagCreator<I, O> instrumented) {
+            if (instrumented.getMetrics() == this) {
+                return instrumented;
+            }
+            tagCreator = instrumented.getDelegate();
+        }
+        return InstrumentedTagCreator.of(tagCreator, this, countersFor(tagCreator.getTagName()));
+    }
+
+    /**
+     * Records the result of a registry lookup for a tag name.
+     *
+     * @param tagCreator The tag creator that was found, or {@code null} if there is none.
+     * @param tagName    The tag name that was looked up.
+     *
+     * @since 1.0.0
+     */
+    public void recordLookup(@Nullable TagCreator<?, ?> tagCreator, @Nonnull CharSequence tagName) {
+        if (tagCreator != null) {
+            recordHit(tagCreator);
+        } else {
+            recordMiss(tagName.toString());
+        }
+    }
+
+    /**
+     * Records the result of a registry lookup for a tag name held in a range of a byte array.
+     *
+     * @param tagCreator The tag creator that was found, or {@code null} if there is none.
+     * @param bytes      The array holding the tag name.
+     * @param offset     The offset of the first byte of the tag name.
+     * @param length     The number of bytes of the tag name.
+     *
+     * @since 1.0.0
+     */
+    public void recordLookup(@Nullable TagCreator<?, ?> tagCreator, @Nonnull byte[] bytes, int offset, int length) {
+        if (tagCreator != null) {
+            recordHit(tagCreator);
+        } else {
+            recordMiss(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    /**
+     * Records the result of a registry lookup for a tag name held in a range of a buffer.
+     *
+     * @param tagCreator The tag creator that was found, or {@code null} if there is none.
+     * @param buffer     The buffer holding the tag name.
+     * @param offset     The absolute index of the first byte of the tag name.
+     * @param length     The number of bytes of the tag name.
+     *
+     * @since 1.0.0
+     */
+    public void recordLookup(@Nullable TagCreator<?, ?> tagCreator, @Nonnull ByteBuffer buffer, int offset, int length) {
+        if (tagCreator != null) {
+            recordHit(tagCreator);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            recordMiss(new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    /**
+     * Takes a snapshot of the metrics recorded so far.
+     *
+     * @return The snapshot.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagMetricsSnapshot snapshot() {
+        Map<String, TagStatistics> statistics = new TreeMap<>();
+        countersByTag.values().forEach(counters -> statistics.put(counters.tagName, counters.toStatistics()));
+        Map<String, Long> misses = new TreeMap<>();
+        missesByTag.forEach((tagName, count) -> misses.put(tagName, count.sum()));
+        return new TagMetricsSnapshot(statistics, misses, totalMisses.sum());
+    }
+
+    /**
+     * Registers a periodic {@code TagStatistics} JFR event, emitting the cumulative metrics of every known tag name
+     * while a recording with that event enabled is running.
+     *
+     * @since 1.0.0
+     */
+    public void registerFlightRecorderEvents() {
+        FlightRecorder.addPeriodicEvent(TagStatisticsEvent.class, flightRecorderHook);
+    }
+
+    /**
+     * Removes the periodic JFR event registered by {@link #registerFlightRecorderEvents()}.
+     *
+     * @return <b>True</b> if the event was registered, <b>false</b> if not.
+     *
+     * @since 1.0.0
+     */
+    public boolean unregisterFlightRecorderEvents() {
+        return FlightRecorder.removePeriodicEvent(flightRecorderHook);
+    }
+
+    private void emitStatisticsEvents() {
+        for (TagStatistics statistics : snapshot().getStatistics().values()) {
+            TagStatisticsEvent event = new TagStatisticsEvent();
+            event.tagName = statistics.getTagName();
+            event.lookups = statistics.getLookups();
+            event.creations = statistics.getCreations();
+            event.validationFailures = statistics.getValidationFailures();
+            event.blankValues = statistics.getBlankValues();
+            long latencyCount = statistics.getLatencyCount();
+            event.meanLatency = latencyCount == 0 ? 0 : statistics.getLatencyTotalNanos() / latencyCount;
+            event.commit();
+        }
+    }
+
+    private void recordHit(TagCreator<?, ?> tagCreator) {
+        if (tagCreator instanceof InstrumentedTagCreator<?, ?> instrumented && instrumented.getMetrics() == this) {
+            instrumented.getCounters().lookups.increment();
+        } else {
+            countersFor(tagCreator.getTagName()).lookups.increment();
+        }
+    }
+
+    private void recordMiss(String tagName) {
+        totalMisses.increment();
+        LongAdder misses = missesByTag.get(tagName);
+        if (misses == null && missesByTag.size() < MAX_MISSED_TAG_NAMES) {
+            misses = missesByTag.computeIfAbsent(tagName, name -> new LongAdder());
+        }
+        if (misses != null) {
+            misses.increment();
+        }
+    }
+
+    private TagCounters countersFor(String tagName) {
+        String key = tagName.toLowerCase(Locale.ROOT);
+        TagCounters counters = countersByTag.get(key);
+        return counters != null ? counters : countersByTag.computeIfAbsent(key, name -> new TagCounters(tagName, recordLatency));
+    }
+}
@@ -0,0 +1,74 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the metrics recorded by a {@link TagMetrics} instance.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagMetricsSnapshot {
+    private final Map<String, TagStatistics> statistics;
+    private final Map<String, Long> misses;
+    private final long totalMisses;
+
+    TagMetricsSnapshot(Map<String, TagStatistics> statistics, Map<String, Long> misses, long totalMisses) {
+        this.statistics = Collections.unmodifiableMap(statistics);
+        this.misses = Collections.unmodifiableMap(misses);
+        this.totalMisses = totalMisses;
+    }
+
+    /**
+     * Returns the statistics per tag name.
+     *
+     * @return An immutable map from tag name to statistics, ordered by tag name.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull Map<String, TagStatistics> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics for a tag name.
+     *
+     * @param tagName The tag name, as returned by the tag creator.
+     *
+     * @return The statistics, or {@code null} if nothing was recorded for the tag name.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable TagStatistics getStatistics(@Nonnull String tagName) {
+        return statistics.get(tagName);
+    }
+
+    /**
+     * Returns the number of lookups for tag names without a tag creator, per tag name.
+     * <p>
+     * At most {@value TagMetrics#MAX_MISSED_TAG_NAMES} distinct names are tracked; misses for further names are only
+     * included in {@link #getTotalMisses()}.
+     *
+     * @return An immutable map from tag name to number of misses, ordered by tag name.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull Map<String, Long> getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the total number of lookups for tag names without a tag creator.
+     *
+     * @return The number of misses.
+     *
+     * @since 1.0.0
+     */
+    public long getTotalMisses() {
+        return totalMisses;
+    }
+}
@@ -0,0 +1,195 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Immutable snapshot of the metrics recorded for a single tag name.
+ * <p>
+ * The counters are read one after the other while other threads may continue to record, so a snapshot taken during
+ * ingest is not guaranteed to be consistent across counters; e.g. a creation may already be counted, while the
+ * corresponding lookup is not yet.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagStatistics {
+    private final String tagName;
+    private final long lookups;
+    private final long creations;
+    private final long[] failures;
+    private final long blankValues;
+    private final long[] latencyBuckets;
+    private final long latencyTotalNanos;
+
+    TagStatistics(String tagName, long lookups, long creations, long[] failures, long blankValues, long[] latencyBuckets,
+                  long latencyTotalNanos) {
+        this.tagName = tagName;
+        this.lookups = lookups;
+        this.creations = creations;
+        this.failures = failures;
+        this.blankValues = blankValues;
+        this.latencyBuckets = latencyBuckets;
+        this.latencyTotalNanos = latencyTotalNanos;
+    }
+
+    /**
+     * Returns the name of the tag.
+     *
+     * @return The tag name, as returned by the tag creator.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Returns the number of successful registry lookups of the tag creator.
+     *
+     * @return The number of lookups.
+     *
+     * @since 1.0.0
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Returns the number of tags that were created successfully.
+     *
+     * @return The number of creations.
+     *
+     * @since 1.0.0
+     */
+    public long getCreations() {
+        return creations;
+    }
+
+    /**
+     * Returns the number of input values that were rejected.
+     *
+     * @return The number of validation failures, for all reasons.
+     *
+     * @since 1.0.0
+     */
+    public long getValidationFailures() {
+        long total = 0;
+        for (long count : failures) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of input values that were rejected for a specific reason.
+     *
+     * @param reason The reason.
+     *
+     * @return The number of validation failures for the reason.
+     *
+     * @since 1.0.0
+     */
+    public long getValidationFailures(@Nonnull TagCreationError reason) {
+        return failures[reason.ordinal()];
+    }
+
+    /**
+     * Returns the number of input values that were {@code null} or blank, whether they were accepted or not.
+     *
+     * @return The number of blank values.
+     *
+     * @since 1.0.0
+     */
+    public long getBlankValues() {
+        return blankValues;
+    }
+
+    /**
+     * Checks if conversion latencies were recorded for the tag.
+     *
+     * @return <b>True</b> if latencies were recorded, <b>false</b> if not.
+     *
+     * @since 1.0.0
+     */
+    public boolean hasLatencies() {
+        return latencyBuckets != null;
+    }
+
+    /**
+     * Returns the number of recorded conversion latencies.
+     *
+     * @return The number of latencies, or 0 if latencies were not recorded.
+     *
+     * @since 1.0.0
+     */
+    public long getLatencyCount() {
+        long count = 0;
+        if (latencyBuckets != null) {
+            for (long bucket : latencyBuckets) {
+                count += bucket;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the recorded conversion latencies.
+     *
+     * @return The total latency in nanoseconds, or 0 if latencies were not recorded.
+     *
+     * @since 1.0.0
+     */
+    public long getLatencyTotalNanos() {
+        return latencyTotalNanos;
+    }
+
+    /**
+     * Returns the histogram of the recorded conversion latencies. Bucket {@code 0} counts latencies of 0 nanoseconds;
+     * bucket {@code i > 0} counts latencies from {@code 2^(i-1)} up to, but not including, {@code 2^i} nanoseconds.
+     *
+     * @return A copy of the 64 bucket counts, or an empty array if latencies were not recorded.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull long[] getLatencyHistogram() {
+        return latencyBuckets == null ? new long[0] : latencyBuckets.clone();
+    }
+
+    /**
+     * Returns an upper bound for a percentile of the recorded conversion latencies, with the resolution of the
+     * histogram buckets.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     *
+     * @return The exclusive upper bound of the bucket holding the percentile, in nanoseconds, or 0 if no latencies
+     * were recorded.
+     *
+     * @throws IllegalArgumentException if the percentile is not in the range 0 to 100.
+     * @since 1.0.0
+     */
+    public long getLatencyPercentileNanos(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Parameter: percentile");
+        }
+        long count = getLatencyCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            seen += latencyBuckets[i];
+            if (seen >= rank) {
+                return i == 0 ? 1 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "TagStatistics{tagName='" + tagName + "', lookups=" + lookups + ", creations=" + creations
+                + ", validationFailures=" + getValidationFailures() + ", blankValues=" + blankValues + "}";
+    }
+}
@@ -0,0 +1,45 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JFR event with the cumulative metrics of a single tag name, emitted for every tag name known to a
+ * {@link TagMetrics} instance after {@link TagMetrics#registerFlightRecorderEvents()} has been called.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Name(TagStatisticsEvent.NAME)
+@Label("PGN Tag Statistics")
+@Description("Cumulative creation and validation metrics of a PGN tag")
+@Category({"PGN", "Tags"})
+@Period("10 s")
+@StackTrace(false)
+final class TagStatisticsEvent extends jdk.jfr.Event {
+    static final String NAME = "eu.oberon.oss.chess.pgn.TagStatistics";
+
+    @Label("Tag Name")
+    String tagName;
+
+    @Label("Lookups")
+    long lookups;
+
+    @Label("Creations")
+    long creations;
+
+    @Label("Validation Failures")
+    long validationFailures;
+
+    @Label("Blank Values")
+    long blankValues;
+
+    @Label("Mean Conversion Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long meanLatency;
+}
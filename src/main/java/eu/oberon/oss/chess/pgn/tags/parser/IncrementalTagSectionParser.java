@@ -0,0 +1,262 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parser for the tag sections of a PGN file that is appended to while it is being read, e.g. the output of a running
+ * tournament or engine match.
+ * <p>
+ * Every parse returns a {@link ParseCheckpoint}; given to the next parse of the same file, only the games appended
+ * since are scanned and passed to the {@link TagSectionHandler}, so the cost of a refresh depends on the amount of new
+ * data rather than on the size of the file. A game is delivered once it is complete: when the tag section of the next
+ * game has started, or, for the last game in the file, when its move text ends with a game termination marker. A game
+ * still being written is left for the next parse, and the checkpoint resumes at its start.
+ * <p>
+ * Before resuming, the checkpoint is validated against the file and the registry. When the file is smaller than it
+ * was, its first bytes or the bytes preceding the resume offset have changed, or the tag creators registered differ,
+ * the file is parsed from the start, and the checkpoint returned reports a {@linkplain ParseCheckpoint#isFullScan()
+ * full scan}.
+ * <p>
+ * Only uncompressed files are supported. Malformed tag pairs are skipped without being reported. Instances are
+ * thread-safe; every call to {@link #parse(Path, ParseCheckpoint, TagSectionHandler)} uses its own state.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public class IncrementalTagSectionParser {
+    // the number of bytes hashed at the start of the file, and before the resume offset
+    static final int HASH_LENGTH = 4096;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final byte[][] TERMINATION_MARKERS = {
+            "1-0".getBytes(StandardCharsets.US_ASCII),
+            "0-1".getBytes(StandardCharsets.US_ASCII),
+            "1/2-1/2".getBytes(StandardCharsets.US_ASCII),
+            "*".getBytes(StandardCharsets.US_ASCII)
+    };
+
+    private final CreatorRegistry registry;
+
+    /**
+     * Creates a parser.
+     *
+     * @param registry The registry providing the tag creators.
+     *
+     * @throws IllegalArgumentException if the registry is {@code null}.
+     * @since 1.0.0
+     */
+    public IncrementalTagSectionParser(@Nonnull CreatorRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Parameter: registry");
+        }
+        this.registry = registry;
+    }
+
+    /**
+     * Returns the registry providing the tag creators.
+     *
+     * @return The registry.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Parses the complete games of a file following a checkpoint.
+     *
+     * @param path       The path of the file.
+     * @param checkpoint The checkpoint returned by the previous parse of the file, or {@code null} to parse the file
+     *                   from the start.
+     * @param handler    The handler receiving the tag sections.
+     *
+     * @return The checkpoint to resume the next parse of the file from.
+     *
+     * @throws IOException if the file cannot be read.
+     * @since 1.0.0
+     */
+    public @Nonnull ParseCheckpoint parse(@Nonnull Path path, @Nullable ParseCheckpoint checkpoint,
+                                          @Nonnull TagSectionHandler handler) throws IOException {
+        long registryFingerprint = fingerprint(registry.getTagSectionLayout());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long gameCount = 0;
+            if (checkpoint != null) {
+                String reason = validate(channel, size, checkpoint, registryFingerprint);
+                if (reason == null) {
+                    start = checkpoint.getResumeOffset();
+                    gameCount = checkpoint.getGameCount();
+                } else {
+                    LOGGER.info("Parsing {} from the start: {}", path, reason);
+                }
+            }
+
+            DeferringHandler deferring = new DeferringHandler(path, new TagCreatingHandler(registry, handler), start);
+            TagSectionScanner scanner = new TagSectionScanner(deferring, start);
+            scanner.scan(channel, start, size);
+            if (scanner.isInMoveText() && endsWithTerminationMarker(channel, deferring.boundary, size)) {
+                deferring.flush(size);
+            }
+            LOGGER.debug("Parsed {} from offset {}: {} games delivered, resuming at {}", path, start,
+                    deferring.delivered, deferring.boundary);
+
+            int prefixLength = (int) Math.min(HASH_LENGTH, size);
+            int tailLength = (int) Math.min(HASH_LENGTH, deferring.boundary);
+            return new ParseCheckpoint(size, deferring.boundary, start, gameCount + deferring.delivered,
+                    registryFingerprint, prefixLength, hash(channel, 0, prefixLength),
+                    tailLength, hash(channel, deferring.boundary - tailLength, tailLength));
+        }
+    }
+
+    private static String validate(FileChannel channel, long size, ParseCheckpoint checkpoint, long registryFingerprint)
+            throws IOException {
+        if (checkpoint.getRegistryFingerprint() != registryFingerprint) {
+            return "the tag creators registered have changed";
+        }
+        if (size < checkpoint.getFileSize()) {
+            return "the file has been truncated";
+        }
+        if (hash(channel, 0, checkpoint.getPrefixLength()) != checkpoint.getPrefixHash()) {
+            return "the file has been replaced";
+        }
+        long resumeOffset = checkpoint.getResumeOffset();
+        int tailLength = checkpoint.getTailLength();
+        if (hash(channel, resumeOffset - tailLength, tailLength) != checkpoint.getTailHash()) {
+            return "the file has been rewritten";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the fingerprint of the tag names and the types of the tag creators of a layout.
+     *
+     * @param layout The layout.
+     *
+     * @return The fingerprint.
+     */
+    static long fingerprint(@Nonnull TagSectionLayout layout) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            TagCreator<?, ?> creator = layout.getTagCreator(ordinal);
+            hash = hash(hash, layout.getTagName(ordinal));
+            hash = hash(hash, creator == null ? "" : creator.getClass().getName());
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    private static long hash(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = read(channel, position, length);
+        long hash = FNV_OFFSET_BASIS;
+        while (buffer.hasRemaining()) {
+            hash = (hash ^ (buffer.get() & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Returns if the bytes between a game boundary and the end of the file end with a game termination marker,
+     * preceded by white space.
+     */
+    private static boolean endsWithTerminationMarker(FileChannel channel, long boundary, long size) throws IOException {
+        int length = (int) Math.min(64, size - boundary);
+        ByteBuffer buffer = read(channel, size - length, length);
+        int end = buffer.limit();
+        while (end > 0 && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        for (byte[] marker : TERMINATION_MARKERS) {
+            int markerStart = end - marker.length;
+            if (markerStart >= 0 && buffer.slice(markerStart, marker.length).equals(ByteBuffer.wrap(marker))
+                    && (markerStart == 0 || isWhitespace(buffer.get(markerStart - 1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    /**
+     * Holds back each tag section until the next one starts, as only then its game is known to be complete.
+     */
+    private static final class DeferringHandler implements TagPairHandler {
+        private final RawTagSections pending;
+        private final TagPairHandler handler;
+        private long boundary;
+        private long delivered;
+
+        DeferringHandler(Path path, TagPairHandler handler, long boundary) {
+            this.pending = new RawTagSections(IngestSource.of(path));
+            this.handler = handler;
+            this.boundary = boundary;
+        }
+
+        @Override
+        public void startTagSection(long offset) {
+            flush(offset);
+            pending.startTagSection(offset);
+        }
+
+        @Override
+        public void tagPair(@Nonnull byte[] name, int nameOffset, int nameLength, @Nonnull byte[] value, int valueOffset, int valueLength) {
+            pending.tagPair(name, nameOffset, nameLength, value, valueOffset, valueLength);
+        }
+
+        @Override
+        public void malformedTag(long offset) {
+            pending.malformedTag(offset);
+        }
+
+        @Override
+        public void endTagSection(long offset) {
+            pending.endTagSection(offset);
+        }
+
+        /**
+         * Delivers the pending game, which ends at the given offset.
+         */
+        void flush(long offset) {
+            if (pending.size() > 0) {
+                pending.replay(handler);
+                delivered += pending.size();
+            }
+            pending.clear();
+            boundary = offset;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running, or completed, ingest of the sources passed to {@link IngestPipeline#start(List, IngestSink)}.
+ * <p>
+ * The job ends when all tag sections of all sources have been passed to the sink, when a source or the sink fails, or
+ * when it is cancelled. Its statistics can be requested at any time, to monitor its progress.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class IngestJob {
+    private static final Object END = new Object();
+
+    private final IngestPipeline pipeline;
+    private final List<IngestSource> sources;
+    private final IngestSink sink;
+    private final TagSectionLayout layout;
+
+    private final IngestQueue<Object> rawQueue;
+    private final IngestQueue<Object> sectionQueue;
+    private final Semaphore openSources;
+    private final ExecutorService readers;
+    private final ExecutorService creators;
+    private final ExecutorService sinks;
+    private final AtomicInteger remainingReaders;
+    private final AtomicInteger remainingCreators;
+    private final AtomicInteger remainingSinks;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private final StageCounters read = new StageCounters();
+    private final StageCounters create = new StageCounters();
+    private final StageCounters deliver = new StageCounters();
+    private final LongAdder completedSources = new LongAdder();
+    private final LongAdder invalidTags = new LongAdder();
+    private final LongAdder malformedTags = new LongAdder();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    IngestJob(IngestPipeline pipeline, List<IngestSource> sources, IngestSink sink) {
+        this.pipeline = pipeline;
+        this.sources = sources;
+        this.sink = sink;
+        this.layout = pipeline.getRegistry().getTagSectionLayout();
+        this.rawQueue = new IngestQueue<>(pipeline.getRawQueueCapacity());
+        this.sectionQueue = new IngestQueue<>(pipeline.getSectionQueueCapacity());
+        this.openSources = new Semaphore(pipeline.getMaxOpenSources());
+        this.readers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pgn-ingest-read-", 0).factory());
+        this.creators = Executors.newFixedThreadPool(pipeline.getCreateParallelism(),
+                Thread.ofPlatform().name("pgn-ingest-create-", 0).daemon().factory());
+        this.sinks = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pgn-ingest-sink-", 0).factory());
+        this.remainingReaders = new AtomicInteger(sources.size());
+        this.remainingCreators = new AtomicInteger(pipeline.getCreateParallelism());
+        this.remainingSinks = new AtomicInteger(pipeline.getSinkParallelism());
+    }
+
+    void start() {
+        for (int i = 0; i < pipeline.getSinkParallelism(); i++) {
+            sinks.execute(this::deliver);
+        }
+        for (int i = 0; i < pipeline.getCreateParallelism(); i++) {
+            creators.execute(new CreateWorker());
+        }
+        if (sources.isEmpty()) {
+            readersDone();
+        }
+        for (IngestSource source : sources) {
+            readers.execute(() -> read(source));
+        }
+        LOGGER.debug("Started ingesting {} sources", sources.size());
+    }
+
+    /**
+     * Waits until the job ends.
+     *
+     * @return The final statistics of the job.
+     *
+     * @throws IOException           if a source cannot be read, or the sink fails.
+     * @throws CancellationException if the job was cancelled.
+     * @throws InterruptedException  if the calling thread is interrupted while waiting; the job keeps running.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestStatistics await() throws IOException, InterruptedException {
+        try {
+            done.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+        return getStatistics();
+    }
+
+    /**
+     * Returns a flag indicating if the job has ended, successfully or not.
+     *
+     * @return <b>True</b> if the job has ended.
+     *
+     * @since 1.0.0
+     */
+    public boolean isDone() {
+        return done.isDone();
+    }
+
+    /**
+     * Cancels the job. Threads blocked on a source, a queue or the sink are interrupted. Has no effect if the job has
+     * already ended.
+     *
+     * @since 1.0.0
+     */
+    public void cancel() {
+        fail(new CancellationException("The ingest job was cancelled"));
+    }
+
+    /**
+     * Returns the statistics of the job so far.
+     *
+     * @return A snapshot of the statistics.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull IngestStatistics getStatistics() {
+        long end = endNanos;
+        long elapsed = (end != 0 ? end : System.nanoTime()) - startNanos;
+        return new IngestStatistics(elapsed, sources.size(), completedSources.sum(), invalidTags.sum(), malformedTags.sum(),
+                read.snapshot("read", Math.min(pipeline.getMaxOpenSources(), sources.size()), elapsed, null),
+                create.snapshot("create", pipeline.getCreateParallelism(), elapsed, rawQueue),
+                deliver.snapshot("sink", pipeline.getSinkParallelism(), elapsed, sectionQueue));
+    }
+
+    private void read(IngestSource source) {
+        try {
+            openSources.acquire();
+            try (ReadableByteChannel channel = source.open()) {
+                Splitter splitter = new Splitter(source);
+                TagSectionScanner scanner = new TagSectionScanner(splitter, 0);
+                ByteBuffer buffer = ByteBuffer.allocate(pipeline.getReadBufferSize());
+                while (true) {
+                    long start = System.nanoTime();
+                    int count = channel.read(buffer);
+                    if (count < 0) {
+                        break;
+                    }
+                    buffer.flip();
+                    scanner.scan(buffer);
+                    buffer.clear();
+                    read.bytes.add(count);
+                    read.busyNanos.add(System.nanoTime() - start);
+                    splitter.flush();
+                }
+                scanner.finish();
+                splitter.finish();
+            } finally {
+                openSources.release();
+            }
+            completedSources.increment();
+            LOGGER.debug("Read source '{}'", source.getName());
+            if (remainingReaders.decrementAndGet() == 0) {
+                readersDone();
+            }
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private void readersDone() {
+        try {
+            for (int i = 0; i < pipeline.getCreateParallelism(); i++) {
+                rawQueue.put(END);
+            }
+        } catch (InterruptedException e) {
+            fail(e);
+        }
+    }
+
+    private void deliver() {
+        try {
+            while (true) {
+                Object item = sectionQueue.take();
+                if (item == END) {
+                    break;
+                }
+                SectionBatch batch = (SectionBatch) item;
+                long start = System.nanoTime();
+                for (int i = 0; i < batch.size(); i++) {
+                    sink.accept(batch.source, batch.sections.get(i), batch.offsets[i]);
+                }
+                deliver.sections.add(batch.size());
+                deliver.busyNanos.add(System.nanoTime() - start);
+            }
+            if (remainingSinks.decrementAndGet() == 0) {
+                complete();
+            }
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private void complete() {
+        endNanos = System.nanoTime();
+        if (done.complete(null)) {
+            shutdown(false);
+            LOGGER.debug("Completed ingest job: {}", this::getStatistics);
+        }
+    }
+
+    private void fail(Throwable t) {
+        if (done.completeExceptionally(t)) {
+            endNanos = System.nanoTime();
+            shutdown(true);
+            if (!(t instanceof CancellationException)) {
+                LOGGER.error("Ingest job aborted", t);
+            }
+        }
+    }
+
+    private void shutdown(boolean interrupt) {
+        for (ExecutorService executor : List.of(readers, creators, sinks)) {
+            if (interrupt) {
+                executor.shutdownNow();
+            } else {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Collects the raw tag sections of a source in batches. Full batches are queued by the reading thread between two
+     * calls to the scanner, as the scanner cannot block.
+     */
+    private final class Splitter implements TagPairHandler {
+        private final IngestSource source;
+        private final List<RawTagSections> full = new ArrayList<>();
+        private RawTagSections current;
+
+        Splitter(IngestSource source) {
+            this.source = source;
+            this.current = new RawTagSections(source);
+        }
+
+        @Override
+        public void startTagSection(long offset) {
+            current.startTagSection(offset);
+        }
+
+        @Override
+        public void tagPair(@Nonnull byte[] name, int nameOffset, int nameLength, @Nonnull byte[] value, int valueOffset, int valueLength) {
+            current.tagPair(name, nameOffset, nameLength, value, valueOffset, valueLength);
+        }
+
+        @Override
+        public void malformedTag(long offset) {
+            current.malformedTag(offset);
+        }
+
+        @Override
+        public void endTagSection(long offset) {
+            current.endTagSection(offset);
+            if (current.size() >= pipeline.getBatchSize()) {
+                full.add(current);
+                current = new RawTagSections(source);
+            }
+        }
+
+        void flush() throws InterruptedException {
+            for (RawTagSections batch : full) {
+                rawQueue.put(batch);
+                read.sections.add(batch.size());
+            }
+            full.clear();
+        }
+
+        void finish() throws InterruptedException {
+            flush();
+            if (current.size() > 0 || current.getMalformedTagCount() > 0) {
+                rawQueue.put(current);
+                read.sections.add(current.size());
+            }
+        }
+    }
+
+    /**
+     * Creates the tags of the raw tag sections, using a handler per thread.
+     */
+    private final class CreateWorker implements Runnable {
+        private SectionBatch batch;
+        private final TagCreatingHandler handler = new TagCreatingHandler(pipeline.getRegistry(),
+                new TagSectionBuilder(layout, (section, offset) -> batch.add(section, offset)) {
+                    @Override
+                    public void invalidTag(@Nonnull String tagName, @Nonnull String tagValue, @Nonnull TagCreationResult<?> failure) {
+                        invalidTags.increment();
+                    }
+                });
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Object item = rawQueue.take();
+                    if (item == END) {
+                        break;
+                    }
+                    RawTagSections raw = (RawTagSections) item;
+                    long start = System.nanoTime();
+                    batch = new SectionBatch(raw.getSource(), raw.size());
+                    raw.replay(handler);
+                    malformedTags.add(raw.getMalformedTagCount());
+                    create.sections.add(raw.size());
+                    create.busyNanos.add(System.nanoTime() - start);
+                    sectionQueue.put(batch);
+                    batch = null;
+                }
+                if (remainingCreators.decrementAndGet() == 0) {
+                    for (int i = 0; i < pipeline.getSinkParallelism(); i++) {
+                        sectionQueue.put(END);
+                    }
+                }
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+    }
+
+    private static final class SectionBatch {
+        private final IngestSource source;
+        private final List<TagSection> sections;
+        private final long[] offsets;
+
+        SectionBatch(IngestSource source, int size) {
+            this.source = source;
+            this.sections = new ArrayList<>(size);
+            this.offsets = new long[size];
+        }
+
+        void add(TagSection section, long offset) {
+            offsets[sections.size()] = offset;
+            sections.add(section);
+        }
+
+        int size() {
+            return sections.size();
+        }
+    }
+
+    private static final class StageCounters {
+        private final LongAdder sections = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+
+        StageStatistics snapshot(String name, int parallelism, long elapsedNanos, IngestQueue<?> queue) {
+            return new StageStatistics(name, Math.max(1, parallelism), sections.sum(), bytes.sum(), busyNanos.sum(),
+                    elapsedNanos, queue == null ? 0 : queue.size(), queue == null ? 0 : queue.capacity(),
+                    queue == null ? 0 : queue.peak());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Pipeline ingesting the tag sections of many sources of PGN data at once.
+ * <p>
+ * A pipeline consists of three stages, connected by bounded queues:
+ * <ol>
+ *     <li><b>read</b>: every source is read on its own virtual thread, and split into batches of tag sections, holding
+ *     the raw bytes of the tag pairs;</li>
+ *     <li><b>create</b>: a fixed number of platform threads create the tags through the tag creators of the
+ *     {@link CreatorRegistry}, and collect them in {@link eu.oberon.oss.chess.pgn.tags.TagSection} instances;</li>
+ *     <li><b>sink</b>: one or more virtual threads pass the tag sections to the {@link IngestSink}.</li>
+ * </ol>
+ * When a stage cannot keep up, the queue in front of it fills up and the stages before it block, so slow sinks and
+ * fast sources cannot exhaust the memory, while slow sources do not hold up the others.
+ * <p>
+ * Tags without a tag creator are kept with their raw value. Invalid and malformed tags are skipped and counted in the
+ * {@link IngestStatistics}. A failure to read a source, or an exception thrown by the sink, aborts the job.
+ * <p>
+ * Instances are immutable and thread-safe; every call to {@link #start(List, IngestSink)} starts an independent job.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class IngestPipeline {
+    private final CreatorRegistry registry;
+    private final int readBufferSize;
+    private final int maxOpenSources;
+    private final int batchSize;
+    private final int rawQueueCapacity;
+    private final int createParallelism;
+    private final int sectionQueueCapacity;
+    private final int sinkParallelism;
+
+    IngestPipeline(CreatorRegistry registry, IngestPipelineBuilder builder) {
+        this.registry = registry;
+        this.readBufferSize = builder.readBufferSize;
+        this.maxOpenSources = builder.maxOpenSources;
+        this.batchSize = builder.batchSize;
+        this.rawQueueCapacity = builder.rawQueueCapacity;
+        this.createParallelism = builder.createParallelism;
+        this.sectionQueueCapacity = builder.sectionQueueCapacity;
+        this.sinkParallelism = builder.sinkParallelism;
+    }
+
+    /**
+     * Returns a builder for a pipeline creating tags through a registry.
+     *
+     * @param registry The registry providing the tag creators.
+     *
+     * @return The builder.
+     *
+     * @throws IllegalArgumentException if the registry is {@code null}.
+     * @since 1.0.0
+     */
+    public static @Nonnull IngestPipelineBuilder builder(@Nonnull CreatorRegistry registry) {
+        return new IngestPipelineBuilder(registry);
+    }
+
+    /**
+     * Starts ingesting the sources in the background.
+     *
+     * @param sources The sources to read.
+     * @param sink    The sink receiving the tag sections.
+     *
+     * @return The running job.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull IngestJob start(@Nonnull List<? extends IngestSource> sources, @Nonnull IngestSink sink) {
+        IngestJob job = new IngestJob(this, List.copyOf(sources), sink);
+        job.start();
+        return job;
+    }
+
+    /**
+     * Ingests the sources, and waits until all tag sections have been passed to the sink.
+     *
+     * @param sources The sources to read.
+     * @param sink    The sink receiving the tag sections.
+     *
+     * @return The final statistics of the job.
+     *
+     * @throws IOException          if a source cannot be read, or the sink fails.
+     * @throws InterruptedException if the calling thread is interrupted while waiting; the job is then cancelled.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestStatistics run(@Nonnull List<? extends IngestSource> sources, @Nonnull IngestSink sink)
+            throws IOException, InterruptedException {
+        IngestJob job = start(sources, sink);
+        try {
+            return job.await();
+        } catch (InterruptedException e) {
+            job.cancel();
+            throw e;
+        }
+    }
+
+    @Nonnull
+    CreatorRegistry getRegistry() {
+        return registry;
+    }
+
+    int getReadBufferSize() {
+        return readBufferSize;
+    }
+
+    int getMaxOpenSources() {
+        return maxOpenSources;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    int getRawQueueCapacity() {
+        return rawQueueCapacity;
+    }
+
+    int getCreateParallelism() {
+        return createParallelism;
+    }
+
+    int getSectionQueueCapacity() {
+        return sectionQueueCapacity;
+    }
+
+    int getSinkParallelism() {
+        return sinkParallelism;
+    }
+}
@@ -0,0 +1,158 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Builds {@link IngestPipeline} instances.
+ * <p>
+ * The memory used by a running pipeline is bounded by the batch size times the number of batches in flight: the
+ * capacities of the two queues, plus one batch per open source, per create thread and per sink thread.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class IngestPipelineBuilder {
+    private final CreatorRegistry registry;
+    int readBufferSize = 64 << 10;
+    int maxOpenSources = 64;
+    int batchSize = 256;
+    int rawQueueCapacity = 16;
+    int createParallelism = Runtime.getRuntime().availableProcessors();
+    int sectionQueueCapacity = 16;
+    int sinkParallelism = 1;
+
+    IngestPipelineBuilder(CreatorRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Parameter: registry");
+        }
+        this.registry = registry;
+    }
+
+    /**
+     * Sets the size of the buffer each open source is read into. The default is 64 KiB.
+     *
+     * @param readBufferSize The buffer size, in bytes.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder readBufferSize(int readBufferSize) {
+        this.readBufferSize = checkPositive(readBufferSize, "readBufferSize");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of sources that are read at the same time; other sources wait until one of them has been
+     * read completely. The default is 64.
+     *
+     * @param maxOpenSources The maximum number of open sources.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the number is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder maxOpenSources(int maxOpenSources) {
+        this.maxOpenSources = checkPositive(maxOpenSources, "maxOpenSources");
+        return this;
+    }
+
+    /**
+     * Sets the number of tag sections passed from one stage to the next at once. The last batch of a source may be
+     * smaller. The default is 256.
+     *
+     * @param batchSize The batch size, in tag sections.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the batch size is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder batchSize(int batchSize) {
+        this.batchSize = checkPositive(batchSize, "batchSize");
+        return this;
+    }
+
+    /**
+     * Sets the number of batches of split, but not yet created, tag sections that may be queued. Readers block while
+     * the queue is full. The default is 16.
+     *
+     * @param rawQueueCapacity The queue capacity, in batches.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the capacity is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder rawQueueCapacity(int rawQueueCapacity) {
+        this.rawQueueCapacity = checkPositive(rawQueueCapacity, "rawQueueCapacity");
+        return this;
+    }
+
+    /**
+     * Sets the number of platform threads creating tags. The default is the number of available processors.
+     *
+     * @param createParallelism The number of threads.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the number is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder createParallelism(int createParallelism) {
+        this.createParallelism = checkPositive(createParallelism, "createParallelism");
+        return this;
+    }
+
+    /**
+     * Sets the number of batches of created tag sections that may be queued for the sink. The create threads block
+     * while the queue is full. The default is 16.
+     *
+     * @param sectionQueueCapacity The queue capacity, in batches.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the capacity is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder sectionQueueCapacity(int sectionQueueCapacity) {
+        this.sectionQueueCapacity = checkPositive(sectionQueueCapacity, "sectionQueueCapacity");
+        return this;
+    }
+
+    /**
+     * Sets the number of virtual threads calling the sink. The default is 1, so the sink is never called concurrently.
+     *
+     * @param sinkParallelism The number of threads.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if the number is not positive.
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipelineBuilder sinkParallelism(int sinkParallelism) {
+        this.sinkParallelism = checkPositive(sinkParallelism, "sinkParallelism");
+        return this;
+    }
+
+    /**
+     * Builds a pipeline with the settings of this builder.
+     *
+     * @return The pipeline.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull IngestPipeline build() {
+        return new IngestPipeline(registry, this);
+    }
+
+    private static int checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Parameter: " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded queue connecting two stages of an {@link IngestJob}, keeping track of its highest occupancy.
+ * <p>
+ * {@link #put(Object)} blocks while the queue is full, which slows down the producing stage to the pace of the
+ * consuming stage.
+ *
+ * @param <T> The type of the queued items.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class IngestQueue<T> {
+    private final BlockingQueue<T> queue;
+    private final int capacity;
+    private volatile int peak;
+
+    IngestQueue(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+    }
+
+    void put(T item) throws InterruptedException {
+        queue.put(item);
+        int size = queue.size();
+        if (size > peak) {
+            // a lost update under contention only lowers the reported peak slightly
+            peak = size;
+        }
+    }
+
+    T take() throws InterruptedException {
+        return queue.take();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int peak() {
+        return peak;
+    }
+}
@@ -0,0 +1,31 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+
+/**
+ * Receives the tag sections created by an {@link IngestPipeline}.
+ * <p>
+ * The sink is called from the sink threads of the pipeline, which are virtual threads, so it may block, e.g. to write
+ * to a database. With a sink parallelism above 1 it is called concurrently, and must be thread-safe. Tag sections are
+ * delivered in batches per source, but batches may be delivered in any order, as they are created in parallel.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface IngestSink {
+    /**
+     * Receives a tag section.
+     *
+     * @param source  The source in which the tag section was found.
+     * @param section The tag section.
+     * @param offset  The byte offset in the source of the first tag pair of the tag section.
+     *
+     * @throws IOException if the tag section cannot be stored; this aborts the pipeline.
+     * @since 1.0.0
+     */
+    void accept(@Nonnull IngestSource source, @Nonnull TagSection section, long offset) throws IOException;
+}
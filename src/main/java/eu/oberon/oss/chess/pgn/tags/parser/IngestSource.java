@@ -0,0 +1,64 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.io.CompressedInput;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * A source of PGN data read by an {@link IngestPipeline}.
+ * <p>
+ * The pipeline opens every source once, on a virtual thread, and closes the channel when it has been read to its end.
+ * The channel should block until data is available; slow sources only occupy a virtual thread while they wait.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public interface IngestSource {
+    /**
+     * Returns the name of the source, used in log messages and to identify the source in an {@link IngestSink}.
+     *
+     * @return The name of the source.
+     *
+     * @since 1.0.0
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * Opens a channel to read the PGN data of the source.
+     *
+     * @return A blocking channel.
+     *
+     * @throws IOException if the source cannot be opened.
+     * @since 1.0.0
+     */
+    @Nonnull
+    ReadableByteChannel open() throws IOException;
+
+    /**
+     * Returns a source reading a file. Gzip and bzip2 compressed files are decompressed on a thread of their own, see
+     * {@link CompressedInput}.
+     *
+     * @param path The file to read.
+     *
+     * @return The source, named after the path.
+     *
+     * @since 1.0.0
+     */
+    static @Nonnull IngestSource of(@Nonnull Path path) {
+        return new IngestSource() {
+            @Override
+            public @Nonnull String getName() {
+                return path.toString();
+            }
+
+            @Override
+            public @Nonnull ReadableByteChannel open() throws IOException {
+                return CompressedInput.open(path, 1);
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the progress of an {@link IngestJob}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class IngestStatistics {
+    private final long elapsedNanos;
+    private final int sourceCount;
+    private final long completedSources;
+    private final long invalidTags;
+    private final long malformedTags;
+    private final StageStatistics readStage;
+    private final StageStatistics createStage;
+    private final StageStatistics sinkStage;
+
+    IngestStatistics(long elapsedNanos, int sourceCount, long completedSources, long invalidTags, long malformedTags,
+                     StageStatistics readStage, StageStatistics createStage, StageStatistics sinkStage) {
+        this.elapsedNanos = elapsedNanos;
+        this.sourceCount = sourceCount;
+        this.completedSources = completedSources;
+        this.invalidTags = invalidTags;
+        this.malformedTags = malformedTags;
+        this.readStage = readStage;
+        this.createStage = createStage;
+        this.sinkStage = sinkStage;
+    }
+
+    /**
+     * Returns the time since the start of the job, or the duration of the job if it has ended.
+     *
+     * @return The elapsed time, in nanoseconds.
+     *
+     * @since 1.0.0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of sources of the job.
+     *
+     * @return The number of sources.
+     *
+     * @since 1.0.0
+     */
+    public int getSourceCount() {
+        return sourceCount;
+    }
+
+    /**
+     * Returns the number of sources that have been read completely.
+     *
+     * @return The number of completed sources.
+     *
+     * @since 1.0.0
+     */
+    public long getCompletedSources() {
+        return completedSources;
+    }
+
+    /**
+     * Returns the number of tags that were skipped, because their tag creator rejected the value.
+     *
+     * @return The number of invalid tags.
+     *
+     * @since 1.0.0
+     */
+    public long getInvalidTags() {
+        return invalidTags;
+    }
+
+    /**
+     * Returns the number of tag pairs that were skipped, because they could not be parsed.
+     *
+     * @return The number of malformed tag pairs.
+     *
+     * @since 1.0.0
+     */
+    public long getMalformedTags() {
+        return malformedTags;
+    }
+
+    /**
+     * Returns the statistics of the stage reading the sources and splitting them into tag sections.
+     *
+     * @return The statistics of the read stage.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull StageStatistics getReadStage() {
+        return readStage;
+    }
+
+    /**
+     * Returns the statistics of the stage creating the tags.
+     *
+     * @return The statistics of the create stage.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull StageStatistics getCreateStage() {
+        return createStage;
+    }
+
+    /**
+     * Returns the statistics of the stage passing the tag sections to the sink.
+     *
+     * @return The statistics of the sink stage.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull StageStatistics getSinkStage() {
+        return sinkStage;
+    }
+
+    /**
+     * Returns the statistics of all stages, in pipeline order.
+     *
+     * @return The statistics of the read, create and sink stages.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull List<StageStatistics> getStages() {
+        return List.of(readStage, createStage, sinkStage);
+    }
+
+    @Override
+    public String toString() {
+        return "IngestStatistics{elapsedMillis=" + elapsedNanos / 1_000_000 + ", sources=" + completedSources + "/"
+                + sourceCount + ", invalidTags=" + invalidTags + ", malformedTags=" + malformedTags + ", stages="
+                + getStages() + "}";
+    }
+}
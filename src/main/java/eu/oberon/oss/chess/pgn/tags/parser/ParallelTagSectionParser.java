@@ -0,0 +1,281 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagDiagnostics;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Parses the tag sections of a PGN file using multiple threads.
+ * <p>
+ * The file is split into chunks of roughly equal size. Chunks are cut at safe game boundaries: a blank line followed
+ * by a line starting with a tag pair, i.e. {@code [} directly followed by a letter. Each chunk is memory-mapped and
+ * parsed by a task in a {@link ForkJoinPool}, creating the tags through the shared {@link CreatorRegistry} and
+ * collecting them in {@link TagSection} instances. The completed sections are passed to the consumer on the calling
+ * thread, in the order in which the games appear in the file.
+ * <p>
+ * To bound memory usage, at most twice the pool's parallelism chunks are parsed ahead of the chunk being delivered.
+ * Note that a blank line followed by a line starting with a tag pair inside a multi-line move text comment, or blank
+ * lines between the tag pairs of a tag section, would be mistaken for a game boundary; such input should be parsed
+ * with the sequential {@link TagSectionParser}. The same holds for compressed files, which cannot be split into
+ * chunks.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public class ParallelTagSectionParser {
+    /**
+     * The default chunk size, in bytes.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32 << 20;
+
+    // the bytes of a boundary candidate that are inspected: the bracket and the first letter of the tag name
+    private static final int BOUNDARY_LENGTH = 2;
+    private static final int BOUNDARY_SEARCH_BLOCK_SIZE = 64 << 10;
+
+    private final CreatorRegistry registry;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+
+    /**
+     * Creates a parser using the common fork-join pool and the {@link #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param registry The registry providing the tag creators.
+     *
+     * @since 1.0.0
+     */
+    public ParallelTagSectionParser(@Nonnull CreatorRegistry registry) {
+        this(registry, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param registry  The registry providing the tag creators.
+     * @param pool      The pool executing the parse tasks.
+     * @param chunkSize The nominal size, in bytes, of the chunks parsed by a single task.
+     *
+     * @throws IllegalArgumentException if the chunk size is not positive.
+     * @since 1.0.0
+     */
+    public ParallelTagSectionParser(@Nonnull CreatorRegistry registry, @Nonnull ForkJoinPool pool, long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Parameter: chunkSize");
+        }
+        this.registry = registry;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Parses a PGN file.
+     * <p>
+     * Tags without a tag creator are kept in the sections with their raw value. If a tag creator rejects a value, the
+     * parse is aborted and the exception is rethrown.
+     *
+     * @param path     The file to parse.
+     * @param consumer The consumer receiving the tag sections, in file order, together with the byte offset of their
+     *                 first tag pair. It is only called from the calling thread.
+     *
+     * @return The number of tag sections found.
+     *
+     * @throws IOException if the file cannot be read.
+     * @since 1.0.0
+     */
+    public long parse(@Nonnull Path path, @Nonnull ObjLongConsumer<TagSection> consumer) throws IOException {
+        return parse(path, consumer, null);
+    }
+
+    /**
+     * Parses a PGN file, skipping invalid tags.
+     * <p>
+     * Tags without a tag creator are kept in the sections with their raw value. If a tag creator rejects a value, the
+     * tag is left out of its section and the rejection is reported to {@code invalidTags}; when {@code invalidTags} is
+     * {@code null}, the parse is aborted and the exception is rethrown instead.
+     *
+     * @param path        The file to parse.
+     * @param consumer    The consumer receiving the tag sections, in file order, together with the byte offset of their
+     *                    first tag pair. It is only called from the calling thread.
+     * @param invalidTags The sink receiving the name and error of every invalid tag skipped, or {@code null} to abort
+     *                    on the first invalid tag. It is called from the parse tasks, so must be thread-safe.
+     *
+     * @return The number of tag sections found.
+     *
+     * @throws IOException if the file cannot be read.
+     * @since 1.0.0
+     */
+    public long parse(@Nonnull Path path, @Nonnull ObjLongConsumer<TagSection> consumer,
+                      @Nullable TagDiagnostics invalidTags) throws IOException {
+        TagSectionLayout layout = registry.getTagSectionLayout();
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel);
+            LOGGER.debug("Parsing '{}' in {} chunks", path, boundaries.length - 1);
+
+            int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+            Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            try {
+                while (next < boundaries.length - 1 || !inFlight.isEmpty()) {
+                    while (next < boundaries.length - 1 && inFlight.size() < maxInFlight) {
+                        inFlight.add(pool.submit(parseTask(channel, layout, invalidTags, boundaries[next],
+                                boundaries[next + 1])));
+                        next++;
+                    }
+                    Chunk chunk = inFlight.remove().join();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        consumer.accept(chunk.sections.get(i), chunk.offsets[i]);
+                    }
+                    count += chunk.size();
+                }
+            } catch (RuntimeException e) {
+                RuntimeException original = unwrap(e);
+                if (original instanceof UncheckedIOException uncheckedIOException) {
+                    throw uncheckedIOException.getCause();
+                }
+                throw original;
+            } finally {
+                inFlight.forEach(task -> task.cancel(true));
+            }
+        }
+        return count;
+    }
+
+    private static RuntimeException unwrap(RuntimeException e) {
+        // ForkJoinTask.join() may rethrow a copy of the exception thrown by the task, with the original as its cause
+        if (e.getCause() instanceof RuntimeException cause && cause.getClass() == e.getClass()) {
+            return cause;
+        }
+        return e;
+    }
+
+    private ForkJoinTask<Chunk> parseTask(FileChannel channel, TagSectionLayout layout, TagDiagnostics invalidTags,
+                                          long start, long end) {
+        return ForkJoinTask.adapt(() -> {
+            Chunk chunk = new Chunk();
+            TagSectionBuilder builder = invalidTags == null
+                    ? new TagSectionBuilder(layout, chunk::add)
+                    : new TagSectionBuilder(layout, chunk::add) {
+                        @Override
+                        public void invalidTag(@Nonnull String tagName, @Nonnull String tagValue,
+                                               @Nonnull TagCreationResult<?> failure) {
+                            invalidTags.report(tagName, failure.getError());
+                        }
+                    };
+            TagSectionScanner scanner = new TagSectionScanner(registry, builder, start);
+            try {
+                scanner.scan(channel, start, end);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            scanner.finish();
+            return chunk;
+        });
+    }
+
+    /**
+     * Determines the chunk boundaries. The first boundary is always 0, the last one is always the file size.
+     */
+    long[] findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long boundary = 0;
+        while (boundary + chunkSize < size) {
+            boundary = findGameBoundary(channel, boundary + chunkSize, size);
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Finds the offset of the first line starting with a tag pair at or after {@code from} that directly follows a
+     * blank line.
+     *
+     * @return The offset of the boundary, or {@code size} if there is no boundary.
+     */
+    private static long findGameBoundary(FileChannel channel, long from, long size) throws IOException {
+        // include the three bytes preceding a candidate, to detect the blank line
+        final int lookBehind = 3;
+        ByteBuffer block = ByteBuffer.allocate(BOUNDARY_SEARCH_BLOCK_SIZE);
+        long blockStart = Math.max(0, from - lookBehind);
+        while (blockStart < size) {
+            block.clear();
+            int read = 0;
+            while (block.hasRemaining() && blockStart + read < size) {
+                int n = channel.read(block, blockStart + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            byte[] bytes = block.array();
+            for (int i = (int) Math.max(0, from - blockStart); i + BOUNDARY_LENGTH <= read; i++) {
+                if (bytes[i] == '[' && isBoundary(bytes, i)) {
+                    return blockStart + i;
+                }
+            }
+            if (blockStart + read >= size) {
+                break;
+            }
+            // continue with an overlap, so candidates crossing the block end are not missed
+            blockStart += read - BOUNDARY_LENGTH - lookBehind;
+        }
+        return size;
+    }
+
+    private static boolean isBoundary(byte[] bytes, int index) {
+        if (index < 2 || bytes[index - 1] != '\n') {
+            return false;
+        }
+        boolean blankLine = bytes[index - 2] == '\n'
+                || (index >= 3 && bytes[index - 2] == '\r' && bytes[index - 3] == '\n');
+        byte first = bytes[index + 1];
+        return blankLine && ((first >= 'A' && first <= 'Z') || (first >= 'a' && first <= 'z'));
+    }
+
+    private static final class Chunk {
+        private final List<TagSection> sections = new ArrayList<>();
+        private long[] offsets = new long[64];
+
+        void add(TagSection section, long offset) {
+            if (sections.size() == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[sections.size()] = offset;
+            sections.add(section);
+        }
+
+        int size() {
+            return sections.size();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+
+/**
+ * The state of an {@link IncrementalTagSectionParser} after parsing a file, from which a later parse of the same file
+ * resumes.
+ * <p>
+ * A checkpoint records the offset of the last complete game boundary, the offset up to which all games have been
+ * delivered, together with hashes of the start of the file and of the bytes preceding the boundary, and a fingerprint
+ * of the tag creators registered. These are used to detect a file that has been truncated, rotated or rewritten, or a
+ * registry that has changed, since the checkpoint was taken.
+ * <p>
+ * Checkpoints are immutable, and can be stored with {@link #writeTo(DataOutput)} and restored with
+ * {@link #readFrom(DataInput)}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class ParseCheckpoint {
+    private static final int FORMAT_VERSION = 1;
+
+    private final long fileSize;
+    private final long resumeOffset;
+    private final long startOffset;
+    private final long gameCount;
+    private final long registryFingerprint;
+    private final int prefixLength;
+    private final long prefixHash;
+    private final int tailLength;
+    private final long tailHash;
+
+    ParseCheckpoint(long fileSize, long resumeOffset, long startOffset, long gameCount, long registryFingerprint,
+                    int prefixLength, long prefixHash, int tailLength, long tailHash) {
+        this.fileSize = fileSize;
+        this.resumeOffset = resumeOffset;
+        this.startOffset = startOffset;
+        this.gameCount = gameCount;
+        this.registryFingerprint = registryFingerprint;
+        this.prefixLength = prefixLength;
+        this.prefixHash = prefixHash;
+        this.tailLength = tailLength;
+        this.tailHash = tailHash;
+    }
+
+    /**
+     * Returns the size of the file when it was parsed.
+     *
+     * @return The size of the file, in bytes.
+     *
+     * @since 1.0.0
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Returns the offset of the last complete game boundary: the offset of the first game not yet delivered, or the
+     * size of the file if all games were delivered.
+     *
+     * @return The offset at which the next parse resumes.
+     *
+     * @since 1.0.0
+     */
+    public long getResumeOffset() {
+        return resumeOffset;
+    }
+
+    /**
+     * Returns the offset at which the parse producing this checkpoint started.
+     *
+     * @return The offset, {@code 0} if the file was parsed from the start.
+     *
+     * @since 1.0.0
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * Returns if the parse producing this checkpoint started at the start of the file. When a parse given a
+     * checkpoint returns a full scan, the previous checkpoint could not be used, and the games delivered before have
+     * been delivered again.
+     *
+     * @return {@code true} if the file was parsed from the start.
+     *
+     * @since 1.0.0
+     */
+    public boolean isFullScan() {
+        return startOffset == 0;
+    }
+
+    /**
+     * Returns the number of games delivered from the file, by the parse producing this checkpoint and the parses it
+     * resumed from.
+     *
+     * @return The number of games delivered before the resume offset.
+     *
+     * @since 1.0.0
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Returns the fingerprint of the tag names and tag creators of the registry used.
+     *
+     * @return The fingerprint of the registry.
+     *
+     * @since 1.0.0
+     */
+    public long getRegistryFingerprint() {
+        return registryFingerprint;
+    }
+
+    int getPrefixLength() {
+        return prefixLength;
+    }
+
+    long getPrefixHash() {
+        return prefixHash;
+    }
+
+    int getTailLength() {
+        return tailLength;
+    }
+
+    long getTailHash() {
+        return tailHash;
+    }
+
+    /**
+     * Writes the checkpoint.
+     *
+     * @param output The output to write to.
+     *
+     * @throws IOException if writing fails.
+     * @since 1.0.0
+     */
+    public void writeTo(@Nonnull DataOutput output) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        output.writeLong(fileSize);
+        output.writeLong(resumeOffset);
+        output.writeLong(startOffset);
+        output.writeLong(gameCount);
+        output.writeLong(registryFingerprint);
+        output.writeInt(prefixLength);
+        output.writeLong(prefixHash);
+        output.writeInt(tailLength);
+        output.writeLong(tailHash);
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input The input to read from.
+     *
+     * @return The checkpoint.
+     *
+     * @throws IOException if reading fails, or the input does not hold a valid checkpoint.
+     * @since 1.0.0
+     */
+    public static @Nonnull ParseCheckpoint readFrom(@Nonnull DataInput input) throws IOException {
+        int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new InvalidObjectException("Unsupported checkpoint version: " + version);
+        }
+        ParseCheckpoint checkpoint = new ParseCheckpoint(input.readLong(), input.readLong(), input.readLong(),
+                input.readLong(), input.readLong(), input.readInt(), input.readLong(), input.readInt(), input.readLong());
+        if (checkpoint.resumeOffset < 0 || checkpoint.resumeOffset > checkpoint.fileSize
+                || checkpoint.startOffset < 0 || checkpoint.startOffset > checkpoint.resumeOffset
+                || checkpoint.gameCount < 0 || checkpoint.prefixLength < 0 || checkpoint.prefixLength > checkpoint.fileSize
+                || checkpoint.tailLength < 0 || checkpoint.tailLength > checkpoint.resumeOffset) {
+            throw new InvalidObjectException("Invalid checkpoint: " + checkpoint);
+        }
+        return checkpoint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ParseCheckpoint that
+                && fileSize == that.fileSize
+                && resumeOffset == that.resumeOffset
+                && startOffset == that.startOffset
+                && gameCount == that.gameCount
+                && registryFingerprint == that.registryFingerprint
+                && prefixLength == that.prefixLength
+                && prefixHash == that.prefixHash
+                && tailLength == that.tailLength
+                && tailHash == that.tailHash;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(fileSize);
+        result = 31 * result + Long.hashCode(resumeOffset);
+        result = 31 * result + Long.hashCode(startOffset);
+        result = 31 * result + Long.hashCode(gameCount);
+        result = 31 * result + Long.hashCode(registryFingerprint);
+        result = 31 * result + Long.hashCode(prefixHash);
+        result = 31 * result + Long.hashCode(tailHash);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseCheckpoint{fileSize=" + fileSize + ", resumeOffset=" + resumeOffset + ", startOffset=" + startOffset
+                + ", gameCount=" + gameCount + ", registryFingerprint=" + Long.toHexString(registryFingerprint) + "}";
+    }
+}
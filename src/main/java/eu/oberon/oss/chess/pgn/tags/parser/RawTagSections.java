@@ -0,0 +1,133 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+
+/**
+ * A batch of tag sections of one source, holding the raw bytes of their tag pairs, as split off the input by a
+ * {@link TagSectionScanner}. The tags are created later, possibly on another thread, by replaying the batch to a
+ * {@link TagCreatingHandler}.
+ * <p>
+ * All tag names and values are copied into a single array; instances are not thread-safe, but may be handed over to
+ * another thread through a queue.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class RawTagSections implements TagPairHandler {
+    private static final int TAG_FIELDS = 4;
+
+    private final IngestSource source;
+    private byte[] data = new byte[4096];
+    private int dataLength;
+    private int[] tags = new int[64 * TAG_FIELDS];
+    private int tagCount;
+    private long[] startOffsets = new long[16];
+    private long[] endOffsets = new long[16];
+    private int[] tagEnds = new int[16];
+    private int sectionCount;
+    private int malformedTagCount;
+
+    RawTagSections(@Nonnull IngestSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the source of the tag sections.
+     *
+     * @return The source.
+     */
+    @Nonnull
+    IngestSource getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of completed tag sections.
+     *
+     * @return The number of tag sections.
+     */
+    int size() {
+        return sectionCount;
+    }
+
+    /**
+     * Returns the number of tag pairs that could not be parsed.
+     *
+     * @return The number of malformed tag pairs.
+     */
+    int getMalformedTagCount() {
+        return malformedTagCount;
+    }
+
+    @Override
+    public void startTagSection(long offset) {
+        if (sectionCount == startOffsets.length) {
+            startOffsets = Arrays.copyOf(startOffsets, sectionCount * 2);
+            endOffsets = Arrays.copyOf(endOffsets, sectionCount * 2);
+            tagEnds = Arrays.copyOf(tagEnds, sectionCount * 2);
+        }
+        startOffsets[sectionCount] = offset;
+    }
+
+    @Override
+    public void tagPair(@Nonnull byte[] name, int nameOffset, int nameLength, @Nonnull byte[] value, int valueOffset, int valueLength) {
+        if (tagCount * TAG_FIELDS == tags.length) {
+            tags = Arrays.copyOf(tags, tags.length * 2);
+        }
+        int index = tagCount++ * TAG_FIELDS;
+        tags[index] = append(name, nameOffset, nameLength);
+        tags[index + 1] = nameLength;
+        tags[index + 2] = append(value, valueOffset, valueLength);
+        tags[index + 3] = valueLength;
+    }
+
+    @Override
+    public void malformedTag(long offset) {
+        malformedTagCount++;
+    }
+
+    @Override
+    public void endTagSection(long offset) {
+        endOffsets[sectionCount] = offset;
+        tagEnds[sectionCount++] = tagCount;
+    }
+
+    /**
+     * Removes all tag sections, including a tag section that has been started but not ended.
+     */
+    void clear() {
+        dataLength = 0;
+        tagCount = 0;
+        sectionCount = 0;
+        malformedTagCount = 0;
+    }
+
+    /**
+     * Passes the tag sections and their tag pairs to a handler, in the order in which they were found.
+     *
+     * @param handler The handler.
+     */
+    void replay(@Nonnull TagPairHandler handler) {
+        int tag = 0;
+        for (int section = 0; section < sectionCount; section++) {
+            handler.startTagSection(startOffsets[section]);
+            for (; tag < tagEnds[section]; tag++) {
+                int index = tag * TAG_FIELDS;
+                handler.tagPair(data, tags[index], tags[index + 1], data, tags[index + 2], tags[index + 3]);
+            }
+            handler.endTagSection(endOffsets[section]);
+        }
+    }
+
+    private int append(byte[] bytes, int offset, int length) {
+        if (dataLength + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+        }
+        System.arraycopy(bytes, offset, data, dataLength, length);
+        int start = dataLength;
+        dataLength += length;
+        return start;
+    }
+}
@@ -0,0 +1,244 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link TagPairHandler} evaluating a {@link TagScan}, and passing the selected games on to a
+ * {@link TagSectionHandler}.
+ * <p>
+ * The tag creators of the tags of the scan are looked up once, when the handler is created. The tag pairs of other
+ * tags are dropped after comparing their name to the few names of the scan. Tags with a condition are converted and
+ * tested right away; the raw bytes of the other projected tags are kept until the end of the tag section, and only
+ * converted when all conditions hold. Malformed tag pairs are skipped silently. Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class ScanningTagHandler implements TagPairHandler {
+    private final TagSectionHandler handler;
+    private final byte[][] names;
+    private final TagCreator<String, ?>[] creators;
+    private final TagScan.Condition[] conditions;
+    private final int conditionCount;
+    private final long[] seenInSection;
+
+    private long sectionNumber;
+    private long sectionOffset;
+    private boolean rejected;
+    private int conditionsSeen;
+    private long matchCount;
+
+    // the projected tags of the current section, in input order: a created tag, or raw bytes in the pool
+    private final List<PgnTag<?>> created = new ArrayList<>();
+    private int[] entries = new int[5 * 16];
+    private int entryCount;
+    private byte[] pool = new byte[1024];
+    private int poolLength;
+    private byte[] wrappedValue;
+    private ByteBuffer valueBuffer;
+
+    ScanningTagHandler(@Nonnull CreatorRegistry registry, @Nonnull TagScan scan, @Nonnull TagSectionHandler handler) {
+        this.handler = handler;
+        List<String> tagNames = new ArrayList<>(scan.getConditions().keySet());
+        for (String tagName : scan.getProjection()) {
+            if (!tagNames.contains(tagName)) {
+                tagNames.add(tagName);
+            }
+        }
+        int count = tagNames.size();
+        names = new byte[count][];
+        @SuppressWarnings("unchecked")
+        TagCreator<String, ?>[] tagCreators = (TagCreator<String, ?>[]) new TagCreator<?, ?>[count];
+        creators = tagCreators;
+        conditions = new TagScan.Condition[count];
+        seenInSection = new long[count];
+        for (int i = 0; i < count; i++) {
+            String tagName = tagNames.get(i);
+            names[i] = tagName.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.ISO_8859_1);
+            creators[i] = registry.getInstance(tagName);
+            conditions[i] = scan.getConditions().get(tagName);
+        }
+        conditionCount = scan.getConditions().size();
+    }
+
+    /**
+     * Returns the number of tag sections selected so far.
+     *
+     * @return The number of selected tag sections.
+     */
+    long getMatchCount() {
+        return matchCount;
+    }
+
+    @Override
+    public void startTagSection(long offset) {
+        sectionNumber++;
+        sectionOffset = offset;
+        rejected = false;
+        conditionsSeen = 0;
+        created.clear();
+        entryCount = 0;
+        poolLength = 0;
+    }
+
+    @Override
+    public void tagPair(@Nonnull byte[] name, int nameOffset, int nameLength, @Nonnull byte[] value, int valueOffset, int valueLength) {
+        if (rejected) {
+            return;
+        }
+        int index = indexOf(name, nameOffset, nameLength);
+        if (index < 0) {
+            return;
+        }
+        TagScan.Condition condition = conditions[index];
+        if (condition == null) {
+            addRaw(index, name, nameOffset, nameLength, value, valueOffset, valueLength);
+            return;
+        }
+
+        TagCreator<String, ?> creator = creators[index];
+        if (creator == null) {
+            if (!condition.test((Object) new String(value, valueOffset, valueLength, StandardCharsets.UTF_8))) {
+                rejected = true;
+                return;
+            }
+            addRaw(index, name, nameOffset, nameLength, value, valueOffset, valueLength);
+        } else {
+            TagCreationResult<?> result = create(creator, value, valueOffset, valueLength);
+            if (!result.isSuccess() || !condition.test(result.getTag())) {
+                rejected = true;
+                return;
+            }
+            addCreated(result.getTag());
+        }
+        if (seenInSection[index] != sectionNumber) {
+            seenInSection[index] = sectionNumber;
+            conditionsSeen++;
+        }
+    }
+
+    @Override
+    public void malformedTag(long offset) {
+        // the section may not be selected, so there is nothing to report it in
+    }
+
+    @Override
+    public void endTagSection(long offset) {
+        if (rejected || conditionsSeen < conditionCount) {
+            return;
+        }
+        matchCount++;
+        handler.startTagSection(sectionOffset);
+        for (int i = 0; i < entryCount; i++) {
+            int entry = i * 5;
+            int index = entries[entry];
+            if (index < 0) {
+                handler.tag(created.get(entries[entry + 1]));
+            } else {
+                deliverRaw(index, entries[entry + 1], entries[entry + 2], entries[entry + 3], entries[entry + 4]);
+            }
+        }
+        handler.endTagSection(offset);
+    }
+
+    private void deliverRaw(int index, int nameOffset, int nameLength, int valueOffset, int valueLength) {
+        TagCreator<String, ?> creator = creators[index];
+        if (creator == null) {
+            handler.unknownTag(string(nameOffset, nameLength, StandardCharsets.ISO_8859_1),
+                    string(valueOffset, valueLength, StandardCharsets.UTF_8));
+            return;
+        }
+        TagCreationResult<?> result = create(creator, pool, valueOffset, valueLength);
+        if (result.isSuccess()) {
+            handler.tag(result.getTag());
+        } else {
+            handler.invalidTag(string(nameOffset, nameLength, StandardCharsets.ISO_8859_1),
+                    string(valueOffset, valueLength, StandardCharsets.UTF_8), result);
+        }
+    }
+
+    private TagCreationResult<?> create(TagCreator<String, ?> creator, byte[] value, int offset, int length) {
+        return creator instanceof Utf8TagCreator<?, ?> utf8Creator
+                ? utf8Creator.tryCreateTag(wrap(value), offset, length)
+                : creator.tryCreateTag(new String(value, offset, length, StandardCharsets.UTF_8));
+    }
+
+    private int indexOf(byte[] name, int offset, int length) {
+        for (int i = 0; i < names.length; i++) {
+            byte[] candidate = names[i];
+            if (candidate.length == length && equalsIgnoreCase(candidate, name, offset)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean equalsIgnoreCase(byte[] lowerCase, byte[] name, int offset) {
+        for (int i = 0; i < lowerCase.length; i++) {
+            byte b = name[offset + i];
+            if (b != lowerCase[i] && Character.toLowerCase((char) (b & 0xFF)) != (lowerCase[i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addCreated(PgnTag<?> tag) {
+        ensureEntry();
+        int entry = entryCount++ * 5;
+        entries[entry] = -1;
+        entries[entry + 1] = created.size();
+        created.add(tag);
+    }
+
+    private void addRaw(int index, byte[] name, int nameOffset, int nameLength, byte[] value, int valueOffset, int valueLength) {
+        ensureEntry();
+        int entry = entryCount++ * 5;
+        entries[entry] = index;
+        entries[entry + 1] = append(name, nameOffset, nameLength);
+        entries[entry + 2] = nameLength;
+        entries[entry + 3] = append(value, valueOffset, valueLength);
+        entries[entry + 4] = valueLength;
+    }
+
+    private void ensureEntry() {
+        if ((entryCount + 1) * 5 > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+    }
+
+    private int append(byte[] bytes, int offset, int length) {
+        if (poolLength + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolLength + length));
+        }
+        System.arraycopy(bytes, offset, pool, poolLength, length);
+        int start = poolLength;
+        poolLength += length;
+        return start;
+    }
+
+    private String string(int offset, int length, Charset charset) {
+        return new String(pool, offset, length, charset);
+    }
+
+    private ByteBuffer wrap(byte[] value) {
+        if (value != wrappedValue) {
+            wrappedValue = value;
+            valueBuffer = ByteBuffer.wrap(value);
+        }
+        return valueBuffer;
+    }
+}
@@ -0,0 +1,156 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Immutable snapshot of the statistics of one stage of an {@link IngestJob}.
+ * <p>
+ * The busy time of a stage is the time its threads spent working, excluding the time spent waiting on the queues that
+ * connect the stages. A stage whose utilization is close to 1 while its input queue is full is the bottleneck of the
+ * pipeline; a stage waiting on a full output queue is slowed down by the stages following it.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class StageStatistics {
+    private final String name;
+    private final int parallelism;
+    private final long sections;
+    private final long bytes;
+    private final long busyNanos;
+    private final long elapsedNanos;
+    private final int queueSize;
+    private final int queueCapacity;
+    private final int queuePeak;
+
+    StageStatistics(String name, int parallelism, long sections, long bytes, long busyNanos, long elapsedNanos,
+                    int queueSize, int queueCapacity, int queuePeak) {
+        this.name = name;
+        this.parallelism = parallelism;
+        this.sections = sections;
+        this.bytes = bytes;
+        this.busyNanos = busyNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.queueSize = queueSize;
+        this.queueCapacity = queueCapacity;
+        this.queuePeak = queuePeak;
+    }
+
+    /**
+     * Returns the name of the stage: {@code read}, {@code create} or {@code sink}.
+     *
+     * @return The name of the stage.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the maximum number of threads working in the stage at the same time.
+     *
+     * @return The parallelism.
+     *
+     * @since 1.0.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the number of tag sections the stage has passed on.
+     *
+     * @return The number of tag sections.
+     *
+     * @since 1.0.0
+     */
+    public long getSections() {
+        return sections;
+    }
+
+    /**
+     * Returns the number of bytes the stage has read; 0 for the stages that do not read.
+     *
+     * @return The number of bytes.
+     *
+     * @since 1.0.0
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the total time the threads of the stage spent working.
+     *
+     * @return The busy time, in nanoseconds.
+     *
+     * @since 1.0.0
+     */
+    public long getBusyNanos() {
+        return busyNanos;
+    }
+
+    /**
+     * Returns the number of tag sections passed on per second, since the start of the job.
+     *
+     * @return The throughput; 0 if no time has elapsed.
+     *
+     * @since 1.0.0
+     */
+    public double getSectionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : sections * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the fraction of the available thread time that the stage spent working, since the start of the job.
+     *
+     * @return The utilization, usually from 0 to 1; 0 if no time has elapsed.
+     *
+     * @since 1.0.0
+     */
+    public double getUtilization() {
+        return elapsedNanos == 0 ? 0 : (double) busyNanos / elapsedNanos / parallelism;
+    }
+
+    /**
+     * Returns the number of batches in the input queue of the stage.
+     *
+     * @return The queue size; 0 for the read stage, which has no input queue.
+     *
+     * @since 1.0.0
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Returns the maximum number of batches in the input queue of the stage.
+     *
+     * @return The queue capacity; 0 for the read stage, which has no input queue.
+     *
+     * @since 1.0.0
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Returns the highest number of batches in the input queue of the stage, since the start of the job.
+     *
+     * @return The peak queue size; 0 for the read stage, which has no input queue.
+     *
+     * @since 1.0.0
+     */
+    public int getQueuePeak() {
+        return queuePeak;
+    }
+
+    @Override
+    public String toString() {
+        return "StageStatistics{name=" + name + ", parallelism=" + parallelism + ", sections=" + sections + ", bytes="
+                + bytes + ", sectionsPerSecond=" + Math.round(getSectionsPerSecond()) + ", utilization="
+                + Math.round(getUtilization() * 100) + "%, queue=" + queueSize + "/" + queueCapacity + ", queuePeak="
+                + queuePeak + "}";
+    }
+}
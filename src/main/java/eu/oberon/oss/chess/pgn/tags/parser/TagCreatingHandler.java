@@ -0,0 +1,87 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link TagPairHandler} that creates the tags of the tag pairs through the tag creators of a registry, and passes
+ * them on to a {@link TagSectionHandler}.
+ * <p>
+ * Tag values are passed to a {@link Utf8TagCreator} as bytes, so they are only decoded when needed. Instances are not
+ * thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class TagCreatingHandler implements TagPairHandler {
+    private final CreatorRegistry registry;
+    private final TagSectionHandler handler;
+    private byte[] wrappedValue;
+    private ByteBuffer valueBuffer;
+
+    /**
+     * Creates a handler.
+     *
+     * @param registry The registry used to look up the tag creators.
+     * @param handler  The handler receiving the tag sections.
+     */
+    TagCreatingHandler(@Nonnull CreatorRegistry registry, @Nonnull TagSectionHandler handler) {
+        this.registry = registry;
+        this.handler = handler;
+    }
+
+    @Override
+    public void startTagSection(long offset) {
+        handler.startTagSection(offset);
+    }
+
+    @Override
+    public void tagPair(@Nonnull byte[] name, int nameOffset, int nameLength, @Nonnull byte[] value, int valueOffset, int valueLength) {
+        TagCreator<String, ?> creator = registry.getInstance(name, nameOffset, nameLength);
+        if (creator == null) {
+            handler.unknownTag(tagName(name, nameOffset, nameLength), tagValue(value, valueOffset, valueLength));
+            return;
+        }
+
+        TagCreationResult<?> result = creator instanceof Utf8TagCreator<?, ?> utf8Creator
+                ? utf8Creator.tryCreateTag(wrap(value), valueOffset, valueLength)
+                : creator.tryCreateTag(tagValue(value, valueOffset, valueLength));
+        if (result.isSuccess()) {
+            handler.tag(result.getTag());
+        } else {
+            handler.invalidTag(tagName(name, nameOffset, nameLength), tagValue(value, valueOffset, valueLength), result);
+        }
+    }
+
+    @Override
+    public void malformedTag(long offset) {
+        handler.malformedTag(offset);
+    }
+
+    @Override
+    public void endTagSection(long offset) {
+        handler.endTagSection(offset);
+    }
+
+    private ByteBuffer wrap(byte[] value) {
+        if (value != wrappedValue) {
+            wrappedValue = value;
+            valueBuffer = ByteBuffer.wrap(value);
+        }
+        return valueBuffer;
+    }
+
+    private static String tagName(byte[] name, int offset, int length) {
+        return new String(name, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String tagValue(byte[] value, int offset, int length) {
+        return new String(value, offset, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Receives the tag sections and the raw tag pairs located by a {@link TagSectionScanner}.
+ * <p>
+ * The byte arrays passed to {@link #tagPair(byte[], int, int, byte[], int, int)} are reused by the caller, so they must
+ * not be kept after the call returns.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+interface TagPairHandler {
+    /**
+     * Called when the first tag pair of a new game is encountered.
+     *
+     * @param offset The byte offset in the input of the opening bracket of the first tag pair.
+     */
+    void startTagSection(long offset);
+
+    /**
+     * Called for each tag pair.
+     *
+     * @param name        The array holding the tag name, in ISO-8859-1.
+     * @param nameOffset  The index of the first byte of the tag name.
+     * @param nameLength  The number of bytes of the tag name.
+     * @param value       The array holding the unescaped tag value, in UTF-8.
+     * @param valueOffset The index of the first byte of the tag value.
+     * @param valueLength The number of bytes of the tag value.
+     */
+    void tagPair(@Nonnull byte[] name, int nameOffset, int nameLength, @Nonnull byte[] value, int valueOffset, int valueLength);
+
+    /**
+     * Called when a tag pair could not be parsed.
+     *
+     * @param offset The byte offset in the input at which the malformed tag pair was detected.
+     */
+    void malformedTag(long offset);
+
+    /**
+     * Called when the tag section of a game ends.
+     *
+     * @param offset The byte offset in the input directly following the tag section.
+     */
+    void endTagSection(long offset);
+}
@@ -0,0 +1,137 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Selection of games and tags to be delivered by a {@link TagSectionParser}, pushed down into the parse.
+ * <p>
+ * A scan consists of a projection, the names of the tags needed, and conditions on the values of tags, which all have
+ * to hold for a game to be selected. Only the tags of the projection and the conditions are looked up and converted;
+ * all other tag pairs are skipped as soon as their name is read. The conditions are evaluated as the tags are
+ * encountered, and once a condition fails, the remaining tags of the game are skipped as well. The tags of the
+ * projection are only converted for the games selected.
+ * <p>
+ * A condition holds when the tag is present and its value, as converted by the tag creator, satisfies the predicate;
+ * a missing tag, or a value rejected by the tag creator, fails the condition. The values of tags without a tag creator
+ * are tested as strings. Instances are immutable and thread-safe; they are created with a {@link TagScanBuilder}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagScan {
+    private final Set<String> projection;
+    private final Map<String, Condition> conditions;
+
+    TagScan(@Nonnull Set<String> projection, @Nonnull Map<String, Condition> conditions) {
+        this.projection = projection;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Returns a builder for a scan.
+     *
+     * @return The builder, initially selecting all games and no tags.
+     *
+     * @since 1.0.0
+     */
+    public static @Nonnull TagScanBuilder builder() {
+        return new TagScanBuilder();
+    }
+
+    /**
+     * Returns the names of the tags delivered for the selected games, in order of addition. The tags having a
+     * condition are delivered as well.
+     *
+     * @return An immutable set of tag names.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull Set<String> getProjection() {
+        return projection;
+    }
+
+    /**
+     * Returns the names of the tags having a condition.
+     *
+     * @return An immutable set of tag names.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull Set<String> getConditionTagNames() {
+        return conditions.keySet();
+    }
+
+    @Nonnull Map<String, Condition> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public String toString() {
+        return "TagScan{projection=" + projection + ", conditions=" + conditions.keySet() + "}";
+    }
+
+    /**
+     * Condition on the value of a tag.
+     */
+    interface Condition {
+        /**
+         * Tests the converted value of a tag.
+         */
+        boolean test(@Nullable Object value);
+
+        /**
+         * Tests a tag created by a tag creator.
+         */
+        default boolean test(@Nonnull PgnTag<?> tag) {
+            return test(tag.getTagValue());
+        }
+
+        default @Nonnull Condition and(@Nonnull Condition other) {
+            Condition first = this;
+            return new Condition() {
+                @Override
+                public boolean test(@Nullable Object value) {
+                    return first.test(value) && other.test(value);
+                }
+
+                @Override
+                public boolean test(@Nonnull PgnTag<?> tag) {
+                    return first.test(tag) && other.test(tag);
+                }
+            };
+        }
+
+        static @Nonnull Condition of(@Nonnull Predicate<Object> predicate) {
+            return predicate::test;
+        }
+
+        /**
+         * Returns a condition on an int value, tested without boxing for {@link IntPgnTag} instances.
+         */
+        static @Nonnull Condition ofInt(@Nonnull IntPredicate predicate) {
+            return new Condition() {
+                @Override
+                public boolean test(@Nullable Object value) {
+                    return value instanceof Number number && predicate.test(number.intValue());
+                }
+
+                @Override
+                public boolean test(@Nonnull PgnTag<?> tag) {
+                    if (tag instanceof IntPgnTag intTag) {
+                        int value = intTag.getIntValue();
+                        return value != IntPgnTag.MISSING_VALUE && predicate.test(value);
+                    }
+                    return test(tag.getTagValue());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Builds {@link TagScan} instances.
+ * <p>
+ * Tag names are matched case-insensitively; a tag name given more than once, in any case, refers to the same tag.
+ * Multiple conditions on the same tag must all hold.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public final class TagScanBuilder {
+    // keyed by the normalized tag name, holding the tag name as first given
+    private final Map<String, String> names = new LinkedHashMap<>();
+    private final Set<String> projection = new LinkedHashSet<>();
+    private final Map<String, TagScan.Condition> conditions = new LinkedHashMap<>();
+
+    TagScanBuilder() {
+    }
+
+    /**
+     * Adds tags to the projection, the tags delivered for the selected games.
+     *
+     * @param tagNames The names of the tags.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if a tag name is {@code null} or blank.
+     * @since 1.0.0
+     */
+    public @Nonnull TagScanBuilder project(@Nonnull String... tagNames) {
+        for (String tagName : tagNames) {
+            projection.add(name(tagName));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a condition on the value of a tag, as converted by its tag creator. The condition fails when the value is
+     * not an instance of the given type.
+     *
+     * @param tagName   The name of the tag.
+     * @param type      The type of the value, e.g. {@link eu.oberon.oss.chess.pgn.tags.creators.PgnDate}; use
+     *                  {@link String} for tags converted by a string tag creator and tags without a tag creator.
+     * @param predicate The predicate the value must satisfy.
+     * @param <V>       The type of the value.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if a parameter is {@code null}, or the tag name is blank.
+     * @since 1.0.0
+     */
+    public <V> @Nonnull TagScanBuilder where(@Nonnull String tagName, @Nonnull Class<V> type, @Nonnull Predicate<? super V> predicate) {
+        if (type == null) {
+            throw new IllegalArgumentException("Parameter: type");
+        }
+        if (predicate == null) {
+            throw new IllegalArgumentException("Parameter: predicate");
+        }
+        return add(tagName, TagScan.Condition.of(value -> type.isInstance(value) && predicate.test(type.cast(value))));
+    }
+
+    /**
+     * Adds a condition on the int value of a tag, e.g. a rating. Values of int tags are tested without boxing; other
+     * numeric values are converted to an {@code int}. The condition fails when the value is not numeric.
+     *
+     * @param tagName   The name of the tag.
+     * @param predicate The predicate the value must satisfy.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if a parameter is {@code null}, or the tag name is blank.
+     * @since 1.0.0
+     */
+    public @Nonnull TagScanBuilder whereInt(@Nonnull String tagName, @Nonnull IntPredicate predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("Parameter: predicate");
+        }
+        return add(tagName, TagScan.Condition.ofInt(predicate));
+    }
+
+    /**
+     * Adds a condition requiring the value of a tag, as converted by its tag creator, to equal a given value, e.g.
+     * {@link eu.oberon.oss.chess.pgn.tags.creators.PgnResult#WHITE_WINS} for the {@code Result} tag.
+     *
+     * @param tagName The name of the tag.
+     * @param value   The value.
+     *
+     * @return This builder.
+     *
+     * @throws IllegalArgumentException if a parameter is {@code null}, or the tag name is blank.
+     * @since 1.0.0
+     */
+    public @Nonnull TagScanBuilder whereEquals(@Nonnull String tagName, @Nonnull Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Parameter: value");
+        }
+        return add(tagName, TagScan.Condition.of(value::equals));
+    }
+
+    /**
+     * Creates the scan.
+     *
+     * @return The scan.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagScan build() {
+        return new TagScan(Collections.unmodifiableSet(new LinkedHashSet<>(projection)),
+                Collections.unmodifiableMap(new LinkedHashMap<>(conditions)));
+    }
+
+    private TagScanBuilder add(String tagName, TagScan.Condition condition) {
+        conditions.merge(name(tagName), condition, TagScan.Condition::and);
+        return this;
+    }
+
+    private String name(String tagName) {
+        if (tagName == null || tagName.isBlank()) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        return names.computeIfAbsent(tagName.toLowerCase(Locale.ROOT), key -> tagName);
+    }
+}
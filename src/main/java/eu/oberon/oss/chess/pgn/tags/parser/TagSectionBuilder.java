@@ -0,0 +1,62 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import jakarta.annotation.Nonnull;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * {@link TagSectionHandler} that collects the tags of every game in a {@link TagSection}, and passes the completed
+ * section on to a consumer, together with the byte offset of the game in the input.
+ * <p>
+ * Tags without a tag creator are kept with their raw value. Invalid and malformed tags are handled as specified by
+ * the {@link TagSectionHandler} defaults.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public class TagSectionBuilder implements TagSectionHandler {
+    private final TagSectionLayout layout;
+    private final ObjLongConsumer<TagSection> consumer;
+    private TagSection current;
+    private long currentOffset;
+
+    /**
+     * Creates a builder.
+     *
+     * @param layout   The layout of the tag sections to build, usually
+     *                 {@link eu.oberon.oss.chess.pgn.tags.CreatorRegistry#getTagSectionLayout()}.
+     * @param consumer The consumer receiving each completed tag section and the byte offset of its first tag pair.
+     *
+     * @since 1.0.0
+     */
+    public TagSectionBuilder(@Nonnull TagSectionLayout layout, @Nonnull ObjLongConsumer<TagSection> consumer) {
+        this.layout = layout;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void startTagSection(long offset) {
+        current = new TagSection(layout);
+        currentOffset = offset;
+    }
+
+    @Override
+    public void tag(@Nonnull PgnTag<?> tag) {
+        current.add(tag);
+    }
+
+    @Override
+    public void unknownTag(@Nonnull String tagName, @Nonnull String tagValue) {
+        current.addUnknownTag(tagName, tagValue);
+    }
+
+    @Override
+    public void endTagSection(long offset) {
+        TagSection completed = current;
+        current = null;
+        consumer.accept(completed, currentOffset);
+    }
+}
@@ -0,0 +1,99 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Receives the tag sections found by a {@link TagSectionParser}.
+ * <p>
+ * For every game in the input, the parser calls {@link #startTagSection(long)}, followed by one call to
+ * {@link #tag(PgnTag)}, {@link #unknownTag(String, String)} or {@link #invalidTag(String, String,
+ * TagCreationResult)} per tag pair, and ends with {@link #endTagSection(long)}.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+public interface TagSectionHandler {
+    /**
+     * Called when the first tag pair of a new game is encountered.
+     *
+     * @param offset The byte offset in the input of the opening bracket of the first tag pair.
+     *
+     * @since 1.0.0
+     */
+    default void startTagSection(long offset) {
+    }
+
+    /**
+     * Called for each tag pair for which the registry holds a tag creator.
+     *
+     * @param tag The tag created by the registered tag creator.
+     *
+     * @since 1.0.0
+     */
+    void tag(@Nonnull PgnTag<?> tag);
+
+    /**
+     * Called for each tag pair for which the registry holds no tag creator. The default implementation ignores the
+     * tag.
+     *
+     * @param tagName  The name of the tag, as it appears in the input.
+     * @param tagValue The unescaped value of the tag.
+     *
+     * @since 1.0.0
+     */
+    default void unknownTag(@Nonnull String tagName, @Nonnull String tagValue) {
+    }
+
+    /**
+     * Called when the registered tag creator rejects the value of a tag pair. The default implementation rethrows the
+     * exception, which aborts the parse.
+     *
+     * @param tagName   The name of the tag, as it appears in the input.
+     * @param tagValue  The unescaped value of the tag.
+     * @param exception The exception thrown by the tag creator.
+     *
+     * @since 1.0.0
+     */
+    default void invalidTag(@Nonnull String tagName, @Nonnull String tagValue, @Nonnull IllegalArgumentException exception) {
+        throw exception;
+    }
+
+    /**
+     * Called when the registered tag creator rejects the value of a tag pair. This is the method the parser calls; no
+     * exception is created unless requested. The default implementation creates the exception describing the failure
+     * and passes it to {@link #invalidTag(String, String, IllegalArgumentException)}. Handlers that skip or count
+     * invalid tags should override this method, to avoid the cost of creating exceptions.
+     *
+     * @param tagName  The name of the tag, as it appears in the input.
+     * @param tagValue The unescaped value of the tag.
+     * @param failure  The failed result returned by the tag creator.
+     *
+     * @since 1.0.0
+     */
+    default void invalidTag(@Nonnull String tagName, @Nonnull String tagValue, @Nonnull TagCreationResult<?> failure) {
+        invalidTag(tagName, tagValue, failure.toException());
+    }
+
+    /**
+     * Called when a tag pair could not be parsed, for example because the closing bracket or quote is missing. The
+     * parser skips the remainder of the line. The default implementation ignores the tag pair.
+     *
+     * @param offset The byte offset in the input at which the malformed tag pair was detected.
+     *
+     * @since 1.0.0
+     */
+    default void malformedTag(long offset) {
+    }
+
+    /**
+     * Called when the tag section of a game ends, i.e. when the move text starts or the input ends.
+     *
+     * @param offset The byte offset in the input directly following the tag section.
+     *
+     * @since 1.0.0
+     */
+    default void endTagSection(long offset) {
+    }
+}
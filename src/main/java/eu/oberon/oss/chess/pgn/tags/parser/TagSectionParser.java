@@ -0,0 +1,192 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.io.CompressedInput;
+import eu.oberon.oss.chess.pgn.tags.io.Compression;
+import jakarta.annotation.Nonnull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming parser for the tag sections of PGN data.
+ * <p>
+ * The parser reads the input in large blocks and scans the raw bytes for tag pairs and game boundaries, without
+ * building a string per line. Every tag pair found is turned into a {@link eu.oberon.oss.chess.pgn.tags.PgnTag} by the
+ * tag creator registered for the tag name in the {@link CreatorRegistry}, and passed on to a
+ * {@link TagSectionHandler}. The tag creators used must accept a {@link String} as input value.
+ * <p>
+ * Move text, including comments and escaped lines, is skipped. A game's tag section starts at the first {@code '['}
+ * following the move text of the previous game.
+ * <p>
+ * When only some games and tags are needed, a {@link TagScan} pushes the selection down into the parse, so the other
+ * tags are neither looked up nor converted.
+ * <p>
+ * Instances are thread-safe; every call to one of the {@code parse} methods uses its own state.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public class TagSectionParser {
+    /**
+     * The default size, in bytes, of the blocks read from a channel.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final CreatorRegistry registry;
+    private final int bufferSize;
+
+    /**
+     * Creates a parser using the {@link #DEFAULT_BUFFER_SIZE}.
+     *
+     * @param registry The registry providing the tag creators.
+     *
+     * @since 1.0.0
+     */
+    public TagSectionParser(@Nonnull CreatorRegistry registry) {
+        this(registry, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param registry   The registry providing the tag creators.
+     * @param bufferSize The size, in bytes, of the blocks read from a channel.
+     *
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     * @since 1.0.0
+     */
+    public TagSectionParser(@Nonnull CreatorRegistry registry, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Parameter: bufferSize");
+        }
+        this.registry = registry;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns the registry providing the tag creators.
+     *
+     * @return The registry.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull CreatorRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Parses all PGN data that can be read from the channel. The channel is read until end-of-stream, but not closed.
+     *
+     * @param channel The channel to read from.
+     * @param handler The handler receiving the tag sections.
+     *
+     * @return The number of tag sections found.
+     *
+     * @throws IOException if reading from the channel fails.
+     * @since 1.0.0
+     */
+    public long parse(@Nonnull ReadableByteChannel channel, @Nonnull TagSectionHandler handler) throws IOException {
+        TagSectionScanner scanner = new TagSectionScanner(registry, handler, 0);
+        scan(channel, scanner);
+        return scanner.getTagSectionCount();
+    }
+
+    /**
+     * Parses a PGN file. The file is memory-mapped, in regions of at most 1 GiB, instead of being read into buffers.
+     * <p>
+     * Gzip and bzip2 compressed files are detected from their content and decompressed while they are parsed, see
+     * {@link CompressedInput#open(Path)}; the offsets passed to the handler are then offsets in the decompressed data.
+     *
+     * @param path    The file to parse.
+     * @param handler The handler receiving the tag sections.
+     *
+     * @return The number of tag sections found.
+     *
+     * @throws IOException if the file cannot be opened or mapped.
+     * @since 1.0.0
+     */
+    public long parse(@Nonnull Path path, @Nonnull TagSectionHandler handler) throws IOException {
+        TagSectionScanner scanner = new TagSectionScanner(registry, handler, 0);
+        scan(path, scanner);
+        LOGGER.debug("Parsed {} tag sections from '{}'", scanner.getTagSectionCount(), path);
+        return scanner.getTagSectionCount();
+    }
+
+    /**
+     * Parses all PGN data that can be read from the channel, passing only the games and tags selected by a scan to the
+     * handler. The channel is read until end-of-stream, but not closed.
+     * <p>
+     * Tags outside the scan are neither looked up nor converted, and the tags of a game are skipped once a condition of
+     * the scan fails, so a scan selecting few games and tags costs far less than building every tag section. The
+     * handler is only called for the selected games; malformed tag pairs are not reported.
+     *
+     * @param channel The channel to read from.
+     * @param scan    The scan selecting the games and tags.
+     * @param handler The handler receiving the selected tag sections.
+     *
+     * @return The number of games selected.
+     *
+     * @throws IOException if reading from the channel fails.
+     * @since 1.0.0
+     */
+    public long parse(@Nonnull ReadableByteChannel channel, @Nonnull TagScan scan, @Nonnull TagSectionHandler handler) throws IOException {
+        ScanningTagHandler scanningHandler = new ScanningTagHandler(registry, scan, handler);
+        scan(channel, new TagSectionScanner(scanningHandler, 0));
+        return scanningHandler.getMatchCount();
+    }
+
+    /**
+     * Parses a PGN file, passing only the games and tags selected by a scan to the handler. The file is read as by
+     * {@link #parse(Path, TagSectionHandler)}.
+     *
+     * @param path    The file to parse.
+     * @param scan    The scan selecting the games and tags.
+     * @param handler The handler receiving the selected tag sections.
+     *
+     * @return The number of games selected.
+     *
+     * @throws IOException if the file cannot be opened or mapped.
+     * @see #parse(ReadableByteChannel, TagScan, TagSectionHandler)
+     * @since 1.0.0
+     */
+    public long parse(@Nonnull Path path, @Nonnull TagScan scan, @Nonnull TagSectionHandler handler) throws IOException {
+        ScanningTagHandler scanningHandler = new ScanningTagHandler(registry, scan, handler);
+        TagSectionScanner scanner = new TagSectionScanner(scanningHandler, 0);
+        scan(path, scanner);
+        LOGGER.debug("Selected {} of {} tag sections from '{}' with {}", scanningHandler.getMatchCount(),
+                scanner.getTagSectionCount(), path, scan);
+        return scanningHandler.getMatchCount();
+    }
+
+    private void scan(ReadableByteChannel channel, TagSectionScanner scanner) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            scanner.scan(buffer);
+            buffer.clear();
+        }
+        scanner.finish();
+    }
+
+    private void scan(Path path, TagSectionScanner scanner) throws IOException {
+        if (Compression.detect(path) != Compression.NONE) {
+            try (ReadableByteChannel channel = CompressedInput.open(path)) {
+                scan(channel, scanner);
+            }
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scanner.scan(channel, 0, channel.size());
+        }
+        scanner.finish();
+    }
+}
@@ -0,0 +1,283 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Byte oriented state machine that locates tag pairs and tag section boundaries in PGN data.
+ * <p>
+ * The scanner is fed consecutive blocks of input through {@link #scan(ByteBuffer)}. All state, including a partially
+ * scanned tag pair, is carried over from one block to the next, so blocks may be split at arbitrary positions.
+ * The tag pairs found are passed to a {@link TagPairHandler} as raw bytes; when constructed with a registry, the tags
+ * are created by a {@link TagCreatingHandler}. Instances are not thread-safe.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class TagSectionScanner {
+    private static final int MOVE_TEXT = 0;
+    private static final int MOVE_TEXT_LINE_COMMENT = 1;
+    private static final int BRACE_COMMENT = 2;
+    private static final int SECTION = 3;
+    private static final int SECTION_LINE_COMMENT = 4;
+    private static final int SKIP_LINE = 5;
+    private static final int TAG_NAME_START = 6;
+    private static final int TAG_NAME = 7;
+    private static final int TAG_VALUE_START = 8;
+    private static final int TAG_VALUE = 9;
+    private static final int TAG_VALUE_ESCAPE = 10;
+    private static final int TAG_END = 11;
+
+    private static final long MAX_MAPPED_REGION_SIZE = 1L << 30;
+
+    private final TagPairHandler handler;
+
+    private int state = MOVE_TEXT;
+    private boolean lineStart = true;
+    private boolean inSection;
+    private long position;
+    private long tagSectionCount;
+
+    private byte[] nameBytes = new byte[32];
+    private int nameLength;
+    private byte[] valueBytes = new byte[128];
+    private int valueLength;
+
+    /**
+     * Creates a scanner.
+     *
+     * @param registry      The registry used to look up the tag creators.
+     * @param handler       The handler receiving the tag sections.
+     * @param startPosition The offset of the first byte that will be scanned, used for reporting offsets.
+     */
+    TagSectionScanner(@Nonnull CreatorRegistry registry, @Nonnull TagSectionHandler handler, long startPosition) {
+        this(new TagCreatingHandler(registry, handler), startPosition);
+    }
+
+    /**
+     * Creates a scanner passing the raw tag pairs to a handler.
+     *
+     * @param handler       The handler receiving the tag sections and tag pairs.
+     * @param startPosition The offset of the first byte that will be scanned, used for reporting offsets.
+     */
+    TagSectionScanner(@Nonnull TagPairHandler handler, long startPosition) {
+        this.handler = handler;
+        this.position = startPosition;
+    }
+
+    /**
+     * Returns the offset of the next byte to be scanned.
+     *
+     * @return The current position.
+     */
+    long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns if the scanner is in the move text of a game, outside of comments, or before the first game.
+     *
+     * @return {@code true} if the last byte scanned is part of the move text.
+     */
+    boolean isInMoveText() {
+        return state == MOVE_TEXT;
+    }
+
+    /**
+     * Returns the number of tag sections started so far.
+     *
+     * @return The tag section count.
+     */
+    long getTagSectionCount() {
+        return tagSectionCount;
+    }
+
+    /**
+     * Scans all remaining bytes of the buffer. On return, the buffer's position equals its limit.
+     *
+     * @param buffer The block of input to scan.
+     */
+    void scan(@Nonnull ByteBuffer buffer) {
+        int index = buffer.position();
+        final int limit = buffer.limit();
+        final long base = position - index;
+
+        while (index < limit) {
+            byte b = buffer.get(index);
+            switch (state) {
+                case MOVE_TEXT -> {
+                    if (b == '[') {
+                        startSection(base + index);
+                        state = TAG_NAME_START;
+                    } else if (b == '{') {
+                        state = BRACE_COMMENT;
+                    } else if (b == ';' || (b == '%' && lineStart)) {
+                        state = MOVE_TEXT_LINE_COMMENT;
+                    }
+                }
+                case BRACE_COMMENT -> {
+                    if (b == '}') {
+                        state = MOVE_TEXT;
+                    }
+                }
+                case MOVE_TEXT_LINE_COMMENT -> {
+                    if (b == '\n') {
+                        state = MOVE_TEXT;
+                    }
+                }
+                case SECTION -> {
+                    if (b == '[') {
+                        state = TAG_NAME_START;
+                    } else if (b == ';' || (b == '%' && lineStart)) {
+                        state = SECTION_LINE_COMMENT;
+                    } else if (!isWhitespace(b)) {
+                        endSection(base + index);
+                        state = MOVE_TEXT;
+                        // re-examine the byte as the first byte of the move text
+                        continue;
+                    }
+                }
+                case SECTION_LINE_COMMENT, SKIP_LINE -> {
+                    if (b == '\n') {
+                        state = SECTION;
+                    }
+                }
+                case TAG_NAME_START -> {
+                    if (b == '\n' || b == ']' || b == '"') {
+                        malformed(b, base + index);
+                    } else if (!isWhitespace(b)) {
+                        nameLength = 0;
+                        appendName(b);
+                        state = TAG_NAME;
+                    }
+                }
+                case TAG_NAME -> {
+                    if (b == '"') {
+                        valueLength = 0;
+                        state = TAG_VALUE;
+                    } else if (b == '\n' || b == ']') {
+                        malformed(b, base + index);
+                    } else if (isWhitespace(b)) {
+                        state = TAG_VALUE_START;
+                    } else {
+                        appendName(b);
+                    }
+                }
+                case TAG_VALUE_START -> {
+                    if (b == '"') {
+                        valueLength = 0;
+                        state = TAG_VALUE;
+                    } else if (b == '\n' || !isWhitespace(b)) {
+                        malformed(b, base + index);
+                    }
+                }
+                case TAG_VALUE -> {
+                    if (b == '"') {
+                        state = TAG_END;
+                    } else if (b == '\\') {
+                        state = TAG_VALUE_ESCAPE;
+                    } else if (b == '\n') {
+                        malformed(b, base + index);
+                    } else {
+                        appendValue(b);
+                    }
+                }
+                case TAG_VALUE_ESCAPE -> {
+                    if (b == '\n') {
+                        malformed(b, base + index);
+                    } else {
+                        appendValue(b);
+                        state = TAG_VALUE;
+                    }
+                }
+                case TAG_END -> {
+                    if (b == ']') {
+                        emitTag();
+                        state = SECTION;
+                    } else if (b == '\n' || !isWhitespace(b)) {
+                        malformed(b, base + index);
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown scanner state " + state);
+            }
+            lineStart = b == '\n';
+            index++;
+        }
+        position = base + limit;
+        buffer.position(limit);
+    }
+
+    /**
+     * Scans a range of a file by memory-mapping it, in regions of at most 1 GiB.
+     *
+     * @param channel The file to scan.
+     * @param start   The offset of the first byte to scan.
+     * @param end     The offset following the last byte to scan.
+     *
+     * @throws IOException if the file cannot be mapped.
+     */
+    void scan(@Nonnull FileChannel channel, long start, long end) throws IOException {
+        for (long regionStart = start; regionStart < end; regionStart += MAX_MAPPED_REGION_SIZE) {
+            long regionSize = Math.min(MAX_MAPPED_REGION_SIZE, end - regionStart);
+            scan(channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize));
+        }
+    }
+
+    /**
+     * Signals the end of the input. Completes the current tag section, if any, and resets the scanner to the state
+     * it has before the start of a game.
+     */
+    void finish() {
+        if (state >= TAG_NAME_START) {
+            handler.malformedTag(position);
+        }
+        if (inSection) {
+            endSection(position);
+        }
+        state = MOVE_TEXT;
+        lineStart = true;
+    }
+
+    private void startSection(long offset) {
+        inSection = true;
+        tagSectionCount++;
+        handler.startTagSection(offset);
+    }
+
+    private void endSection(long offset) {
+        inSection = false;
+        handler.endTagSection(offset);
+    }
+
+    private void malformed(byte b, long offset) {
+        handler.malformedTag(offset);
+        state = b == '\n' ? SECTION : SKIP_LINE;
+    }
+
+    private void emitTag() {
+        handler.tagPair(nameBytes, 0, nameLength, valueBytes, 0, valueLength);
+    }
+
+    private void appendName(byte b) {
+        if (nameLength == nameBytes.length) {
+            nameBytes = Arrays.copyOf(nameBytes, nameLength * 2);
+        }
+        nameBytes[nameLength++] = b;
+    }
+
+    private void appendValue(byte b) {
+        if (valueLength == valueBytes.length) {
+            valueBytes = Arrays.copyOf(valueBytes, valueLength * 2);
+        }
+        valueBytes[valueLength++] = b;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+}
@@ -0,0 +1,182 @@
+package eu.oberon.oss.chess.pgn.tags.store;
+
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only dictionary of strings, holding the UTF-8 bytes of the strings in direct buffers.
+ * <p>
+ * Every distinct string gets an id, in order of addition. The bytes of the strings are appended to data blocks; per
+ * id, an entry block holds the position, length and hash of its bytes. The only heap structure is the open addressing
+ * hash table mapping hashes to ids, with one {@code int} per slot.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+final class OffHeapDictionary {
+    static final int DATA_BLOCK_SIZE = 1 << 20;
+    // block index, offset, length, hash
+    private static final int ENTRY_SIZE = 4 * Integer.BYTES;
+    private static final int ENTRY_BLOCK_SHIFT = 12;
+    private static final int ENTRY_BLOCK_MASK = (1 << ENTRY_BLOCK_SHIFT) - 1;
+
+    private final List<ByteBuffer> dataBlocks = new ArrayList<>();
+    private final List<ByteBuffer> entryBlocks = new ArrayList<>();
+    private ByteBuffer currentData;
+    private int currentBlock;
+    private int[] table = new int[1 << 10];
+    private int size;
+    private long offHeapBytes;
+
+    /**
+     * Returns the id of a string, adding the string if it is not yet in the dictionary.
+     *
+     * @param value The string.
+     *
+     * @return The id.
+     */
+    int add(@Nonnull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int slot = slot(bytes, hash);
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+
+        int id = size++;
+        table[slot] = id + 1;
+        append(id, bytes, hash);
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of a string.
+     *
+     * @param value The string.
+     *
+     * @return The id, or -1 if the string is not in the dictionary.
+     */
+    int find(@Nonnull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return table[slot(bytes, hash(bytes))] - 1;
+    }
+
+    /**
+     * Decodes the string with an id.
+     *
+     * @param id The id.
+     *
+     * @return The string.
+     */
+    @Nonnull String get(int id) {
+        ByteBuffer entries = entryBlocks.get(id >>> ENTRY_BLOCK_SHIFT);
+        int entry = (id & ENTRY_BLOCK_MASK) * ENTRY_SIZE;
+        byte[] bytes = new byte[entries.getInt(entry + 2 * Integer.BYTES)];
+        dataBlocks.get(entries.getInt(entry)).get(entries.getInt(entry + Integer.BYTES), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    long getHeapIndexBytes() {
+        return (long) table.length * Integer.BYTES;
+    }
+
+    private void append(int id, byte[] bytes, int hash) {
+        int block;
+        int offset;
+        if (bytes.length > DATA_BLOCK_SIZE / 4) {
+            // large values get a block of their own, so they do not waste the rest of the current block
+            block = addDataBlock(bytes.length);
+            offset = 0;
+        } else {
+            if (currentData == null || currentData.remaining() < bytes.length) {
+                currentBlock = addDataBlock(DATA_BLOCK_SIZE);
+                currentData = dataBlocks.get(currentBlock);
+            }
+            block = currentBlock;
+            offset = currentData.position();
+            currentData.position(offset + bytes.length);
+        }
+        dataBlocks.get(block).put(offset, bytes);
+
+        if ((id & ENTRY_BLOCK_MASK) == 0) {
+            entryBlocks.add(allocate(ENTRY_SIZE << ENTRY_BLOCK_SHIFT));
+        }
+        int entry = (id & ENTRY_BLOCK_MASK) * ENTRY_SIZE;
+        entryBlocks.get(id >>> ENTRY_BLOCK_SHIFT)
+                .putInt(entry, block)
+                .putInt(entry + Integer.BYTES, offset)
+                .putInt(entry + 2 * Integer.BYTES, bytes.length)
+                .putInt(entry + 3 * Integer.BYTES, hash);
+    }
+
+    private int addDataBlock(int capacity) {
+        dataBlocks.add(allocate(capacity));
+        return dataBlocks.size() - 1;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        offHeapBytes += capacity;
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Returns the slot holding the id of a string, or the empty slot where it is to be added.
+     */
+    private int slot(byte[] bytes, int hash) {
+        int mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (id < 0 || (entryHash(id) == hash && matches(id, bytes))) {
+                return slot;
+            }
+        }
+    }
+
+    private void rehash() {
+        int[] newTable = new int[table.length * 2];
+        int mask = newTable.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = entryHash(id) & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = id + 1;
+        }
+        table = newTable;
+    }
+
+    private int entryHash(int id) {
+        return entryBlocks.get(id >>> ENTRY_BLOCK_SHIFT).getInt((id & ENTRY_BLOCK_MASK) * ENTRY_SIZE + 3 * Integer.BYTES);
+    }
+
+    private boolean matches(int id, byte[] bytes) {
+        ByteBuffer entries = entryBlocks.get(id >>> ENTRY_BLOCK_SHIFT);
+        int entry = (id & ENTRY_BLOCK_MASK) * ENTRY_SIZE;
+        if (entries.getInt(entry + 2 * Integer.BYTES) != bytes.length) {
+            return false;
+        }
+        ByteBuffer data = dataBlocks.get(entries.getInt(entry));
+        return data.slice(entries.getInt(entry + Integer.BYTES), bytes.length).mismatch(ByteBuffer.wrap(bytes)) < 0;
+    }
+
+    private static int hash(byte[] bytes) {
+        int hash = Arrays.hashCode(bytes);
+        return hash ^ (hash >>> 16);
+    }
+}
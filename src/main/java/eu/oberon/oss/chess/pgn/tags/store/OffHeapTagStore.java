@@ -0,0 +1,501 @@
+package eu.oberon.oss.chess.pgn.tags.store;
+
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import eu.oberon.oss.chess.pgn.tags.columnar.ColumnType;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.log4j.Log4j2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Append-only store of the tags of a large number of games, holding the tag values outside the Java heap.
+ * <p>
+ * The store has a column per tag name of a section layout, typed as in {@link ColumnType#of}. Int and date columns
+ * hold a fixed-width {@code int} per game; string columns hold a reference into a dictionary shared by all string
+ * columns, whose UTF-8 bytes are off-heap as well. Values of typed tags in string columns, e.g. a
+ * {@link eu.oberon.oss.chess.pgn.tags.creators.PgnRound}, are stored as their string representation. Tags without a
+ * slot in the layout are not stored.
+ * <p>
+ * Rows are stored in blocks of direct buffers, one per column, so a scan over a single tag runs over contiguous
+ * memory. The heap only holds the buffer references and the hash table of the dictionary. Tags are returned as
+ * lightweight views that read their value from the store when requested.
+ * <p>
+ * Appending is not thread-safe. Once appending has completed, and the store has been safely published, it can be read
+ * by multiple threads. The off-heap memory is released when the store is garbage collected.
+ *
+ * @author TigerLilly64
+ * @since 1.0.0
+ */
+@Log4j2
+public final class OffHeapTagStore {
+    /**
+     * The default number of rows per block.
+     *
+     * @since 1.0.0
+     */
+    public static final int DEFAULT_BLOCK_ROWS = 1 << 14;
+    private static final int NO_REFERENCE = -1;
+
+    private final TagSectionLayout layout;
+    private final ColumnType[] types;
+    private final int blockShift;
+    private final int blockMask;
+    private final int blockSize;
+    private final List<ByteBuffer[]> blocks = new ArrayList<>();
+    private final OffHeapDictionary dictionary = new OffHeapDictionary();
+    private long size;
+
+    /**
+     * Creates a store using {@link #DEFAULT_BLOCK_ROWS} rows per block.
+     *
+     * @param layout The layout of the tag sections to store, usually
+     *               {@link eu.oberon.oss.chess.pgn.tags.CreatorRegistry#getTagSectionLayout()}.
+     *
+     * @since 1.0.0
+     */
+    public OffHeapTagStore(@Nonnull TagSectionLayout layout) {
+        this(layout, DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Creates a store.
+     *
+     * @param layout    The layout of the tag sections to store, usually
+     *                  {@link eu.oberon.oss.chess.pgn.tags.CreatorRegistry#getTagSectionLayout()}.
+     * @param blockRows The number of rows per block; a power of two, of at least 64.
+     *
+     * @throws IllegalArgumentException if the number of rows per block is invalid.
+     * @since 1.0.0
+     */
+    public OffHeapTagStore(@Nonnull TagSectionLayout layout, int blockRows) {
+        if (blockRows < 64 || blockRows > 1 << 24 || Integer.bitCount(blockRows) != 1) {
+            throw new IllegalArgumentException("Parameter: blockRows");
+        }
+        this.layout = layout;
+        this.types = new ColumnType[layout.size()];
+        for (int ordinal = 0; ordinal < types.length; ordinal++) {
+            types[ordinal] = ColumnType.of(layout.getTagCreator(ordinal));
+        }
+        this.blockShift = Integer.numberOfTrailingZeros(blockRows);
+        this.blockMask = blockRows - 1;
+        // values, followed by the present and required bitmaps
+        this.blockSize = blockRows * Integer.BYTES + 2 * (blockRows >>> 3);
+    }
+
+    /**
+     * Returns the layout of the stored tag sections.
+     *
+     * @return The layout.
+     *
+     * @since 1.0.0
+     */
+    public @Nonnull TagSectionLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the type of the column of a tag.
+     *
+     * @param tagName The tag name, matched case-insensitively.
+     *
+     * @return The column type, or {@code null} if the layout has no slot for the tag.
+     *
+     * @since 1.0.0
+     */
+    public @Nullable ColumnType getColumnType(@Nonnull CharSequence tagName) {
+        int ordinal = layout.getOrdinal(tagName);
+        return ordinal < 0 ? null : types[ordinal];
+    }
+
+    /**
+     * Appends the tags of a game as a row.
+     *
+     * @param section The tag section of the game.
+     *
+     * @return The index of the row.
+     *
+     * @throws IllegalArgumentException if the section has another layout than the store, or holds a value that does
+     *                                  not match the type of its column.
+     * @since 1.0.0
+     */
+    public long append(@Nonnull TagSection section) {
+        if (!section.getLayout().equals(layout)) {
+            throw new IllegalArgumentException("Parameter: section");
+        }
+        long row = size;
+        int index = (int) (row & blockMask);
+        if (index == 0) {
+            ByteBuffer[] block = new ByteBuffer[types.length];
+            for (int ordinal = 0; ordinal < block.length; ordinal++) {
+                block[ordinal] = ByteBuffer.allocateDirect(blockSize);
+            }
+            blocks.add(block);
+        }
+        ByteBuffer[] block = blocks.getLast();
+        int bitmapOffset = (blockMask + 1) * Integer.BYTES + (index >>> 3);
+        int requiredOffset = bitmapOffset + ((blockMask + 1) >>> 3);
+        byte bit = (byte) (1 << (index & 7));
+        for (int ordinal = 0; ordinal < types.length; ordinal++) {
+            if (!section.contains(ordinal)) {
+                continue;
+            }
+            ByteBuffer buffer = block[ordinal];
+            buffer.putInt(index * Integer.BYTES, encode(section, ordinal));
+            buffer.put(bitmapOffset, (byte) (buffer.get(bitmapOffset) | bit));
+            PgnTag<?> tag = section.getTag(ordinal);
+            if (tag != null && tag.isRequiredTag()) {
+                buffer.put(requiredOffset, (byte) (buffer.get(requiredOffset) | bit));
+            }
+        }
+        size++;
+        return row;
+    }
+
+    private int encode(TagSection section, int ordinal) {
+        int intValue = section.getIntValue(ordinal);
+        if (intValue != IntPgnTag.MISSING_VALUE) {
+            return intValue;
+        }
+        int packedDate = section.getPackedDateValue(ordinal);
+        if (packedDate != IntPgnTag.MISSING_VALUE && types[ordinal] == ColumnType.DATE) {
+            return packedDate;
+        }
+        Object value = section.getTagValue(ordinal);
+        if (value == null) {
+            return types[ordinal] == ColumnType.STRING ? NO_REFERENCE : IntPgnTag.MISSING_VALUE;
+        }
+        return switch (types[ordinal]) {
+            case INT -> value instanceof Number number ? number.intValue() : invalidValue(ordinal);
+            case DATE -> value instanceof PgnDate date ? date.getPackedValue() : invalidValue(ordinal);
+            case STRING -> dictionary.add(value.toString());
+        };
+    }
+
+    private int invalidValue(int ordinal) {
+        throw new IllegalArgumentException("Parameter: section, value of tag '" + layout.getTagName(ordinal) + "'");
+    }
+
+    /**
+     * Returns the number of rows in the store.
+     *
+     * @return The number of rows.
+     *
+     * @since 1.0.0
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns if a row holds a tag.
+     *
+     * @param row     The row index.
+     * @param ordinal The ordinal of the tag in the layout.
+     *
+     * @return <b>True</b> if the tag is present, <b>false</b> otherwise.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row or ordinal.
+     * @since 1.0.0
+     */
+    public boolean contains(long row, int ordinal) {
+        Objects.checkIndex(row, size);
+        Objects.checkIndex(ordinal, types.length);
+        return isPresent(blocks.get((int) (row >>> blockShift))[ordinal], (int) (row & blockMask));
+    }
+
+    /**
+     * Returns the primitive value of a tag in an int or date column. Date values are returned as their packed value.
+     *
+     * @param row     The row index.
+     * @param ordinal The ordinal of the tag in the layout.
+     *
+     * @return The value, or {@link IntPgnTag#MISSING_VALUE} if the tag is absent or has no value.
+     *
+     * @throws IllegalArgumentException  if the column of the tag is a string column.
+     * @throws IndexOutOfBoundsException if there is no such row or ordinal.
+     * @since 1.0.0
+     */
+    public int getIntValue(long row, int ordinal) {
+        if (!contains(row, ordinal)) {
+            return IntPgnTag.MISSING_VALUE;
+        }
+        if (types[ordinal] == ColumnType.STRING) {
+            throw new IllegalArgumentException("Parameter: ordinal");
+        }
+        return slot(row, ordinal);
+    }
+
+    /**
+     * Returns a view of a tag in a row.
+     *
+     * @param row     The row index.
+     * @param ordinal The ordinal of the tag in the layout.
+     *
+     * @return The tag, an {@link IntPgnTag} for int columns, or {@code null} if the row does not hold the tag.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row or ordinal.
+     * @since 1.0.0
+     */
+    public @Nullable PgnTag<?> getTag(long row, int ordinal) {
+        if (!contains(row, ordinal)) {
+            return null;
+        }
+        return types[ordinal] == ColumnType.INT ? new StoredIntTag(row, ordinal) : new StoredTag(row, ordinal);
+    }
+
+    /**
+     * Returns a view of a tag in a row.
+     *
+     * @param row     The row index.
+     * @param tagName The tag name, matched case-insensitively.
+     *
+     * @return The tag, or {@code null} if the row does not hold the tag, or the layout has no slot for it.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public @Nullable PgnTag<?> getTag(long row, @Nonnull CharSequence tagName) {
+        int ordinal = layout.getOrdinal(tagName);
+        if (ordinal < 0) {
+            Objects.checkIndex(row, size);
+            return null;
+        }
+        return getTag(row, ordinal);
+    }
+
+    /**
+     * Copies the tags of a row to a new tag section on the heap.
+     *
+     * @param row The row index.
+     *
+     * @return The tag section.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row.
+     * @since 1.0.0
+     */
+    public @Nonnull TagSection getTagSection(long row) {
+        Objects.checkIndex(row, size);
+        TagSection section = new TagSection(layout);
+        for (int ordinal = 0; ordinal < types.length; ordinal++) {
+            PgnTag<?> tag = getTag(row, ordinal);
+            if (tag != null) {
+                section.add(tag);
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Passes the values of an int or date column to a consumer, in row order, skipping rows without a value. Date
+     * values are passed as their packed value, see {@link PgnDate#ofPacked(int)}.
+     *
+     * @param tagName  The tag name, matched case-insensitively.
+     * @param consumer The consumer of the values.
+     *
+     * @throws IllegalArgumentException if the layout has no slot for the tag, or it is a string column.
+     * @since 1.0.0
+     */
+    public void forEachInt(@Nonnull CharSequence tagName, @Nonnull IntConsumer consumer) {
+        int ordinal = ordinal(tagName);
+        if (types[ordinal] == ColumnType.STRING) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        int blockRows = blockMask + 1;
+        for (int i = 0; i < blocks.size(); i++) {
+            ByteBuffer buffer = blocks.get(i)[ordinal];
+            int rows = (int) Math.min(blockRows, size - ((long) i << blockShift));
+            for (int index = 0; index < rows; index++) {
+                int value = buffer.getInt(index * Integer.BYTES);
+                if (value != IntPgnTag.MISSING_VALUE && isPresent(buffer, index)) {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the indexes of the rows in which a tag has a value to a consumer, in row order. For string columns the
+     * value is looked up in the dictionary once, after which the column is scanned for its reference.
+     *
+     * @param tagName The tag name, matched case-insensitively.
+     * @param value   The value: a {@link Number} for int columns, a {@link PgnDate} for date columns, and any value
+     *                for string columns, which is matched by its string representation.
+     * @param rows    The consumer of the row indexes.
+     *
+     * @return The number of matching rows.
+     *
+     * @throws IllegalArgumentException if the layout has no slot for the tag, or the value does not match the type of
+     *                                  its column.
+     * @since 1.0.0
+     */
+    public long forEachMatch(@Nonnull CharSequence tagName, @Nonnull Object value, @Nonnull LongConsumer rows) {
+        int ordinal = ordinal(tagName);
+        int target = switch (types[ordinal]) {
+            case INT -> value instanceof Number number ? number.intValue() : invalidMatch();
+            case DATE -> value instanceof PgnDate date ? date.getPackedValue() : invalidMatch();
+            case STRING -> dictionary.find(value.toString());
+        };
+        if (types[ordinal] == ColumnType.STRING && target == NO_REFERENCE) {
+            return 0;
+        }
+
+        long count = 0;
+        int blockRows = blockMask + 1;
+        for (int i = 0; i < blocks.size(); i++) {
+            ByteBuffer buffer = blocks.get(i)[ordinal];
+            long first = (long) i << blockShift;
+            int limit = (int) Math.min(blockRows, size - first);
+            for (int index = 0; index < limit; index++) {
+                if (buffer.getInt(index * Integer.BYTES) == target && isPresent(buffer, index)) {
+                    rows.accept(first + index);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int invalidMatch() {
+        throw new IllegalArgumentException("Parameter: value");
+    }
+
+    /**
+     * Returns the number of distinct string values in the dictionary.
+     *
+     * @return The dictionary size.
+     *
+     * @since 1.0.0
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * Returns the number of bytes allocated outside the heap, for the columns and the dictionary.
+     *
+     * @return The number of bytes.
+     *
+     * @since 1.0.0
+     */
+    public long getOffHeapBytes() {
+        return (long) blocks.size() * types.length * blockSize + dictionary.getOffHeapBytes();
+    }
+
+    /**
+     * Returns the approximate number of bytes of the indexes on the heap: the block references and the hash table of
+     * the dictionary.
+     *
+     * @return The number of bytes.
+     *
+     * @since 1.0.0
+     */
+    public long getHeapIndexBytes() {
+        return (long) blocks.size() * types.length * Long.BYTES + dictionary.getHeapIndexBytes();
+    }
+
+    private int ordinal(CharSequence tagName) {
+        int ordinal = layout.getOrdinal(tagName);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Parameter: tagName");
+        }
+        return ordinal;
+    }
+
+    private int slot(long row, int ordinal) {
+        return blocks.get((int) (row >>> blockShift))[ordinal].getInt((int) (row & blockMask) * Integer.BYTES);
+    }
+
+    private boolean isPresent(ByteBuffer buffer, int index) {
+        return (buffer.get((blockMask + 1) * Integer.BYTES + (index >>> 3)) & (1 << (index & 7))) != 0;
+    }
+
+    private boolean isRequired(long row, int ordinal) {
+        int index = (int) (row & blockMask);
+        int offset = (blockMask + 1) * Integer.BYTES + ((blockMask + 1) >>> 3) + (index >>> 3);
+        return (blocks.get((int) (row >>> blockShift))[ordinal].get(offset) & (1 << (index & 7))) != 0;
+    }
+
+    private final class StoredTag implements PgnTag<Object> {
+        private final long row;
+        private final int ordinal;
+
+        StoredTag(long row, int ordinal) {
+            this.row = row;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getTagName() {
+            return layout.getTagName(ordinal);
+        }
+
+        @Override
+        public Object getTagValue() {
+            int value = slot(row, ordinal);
+            if (types[ordinal] == ColumnType.DATE) {
+                return value == IntPgnTag.MISSING_VALUE ? null : PgnDate.ofPacked(value);
+            }
+            return value == NO_REFERENCE ? null : dictionary.get(value);
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return isRequired(row, ordinal);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+
+    private final class StoredIntTag implements IntPgnTag {
+        private final long row;
+        private final int ordinal;
+
+        StoredIntTag(long row, int ordinal) {
+            this.row = row;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getTagName() {
+            return layout.getTagName(ordinal);
+        }
+
+        @Override
+        public int getIntValue() {
+            return slot(row, ordinal);
+        }
+
+        @Override
+        public boolean isRequiredTag() {
+            return isRequired(row, ordinal);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return PgnTag.isEqual(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return PgnTag.hashCodeOf(this);
+        }
+    }
+}
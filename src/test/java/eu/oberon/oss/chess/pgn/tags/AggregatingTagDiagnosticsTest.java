@@ -0,0 +1,105 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregatingTagDiagnosticsTest {
+    LogCaptor logCaptor = LogCaptor.forClass(AggregatingTagDiagnostics.class);
+
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new AggregatingTagDiagnostics(-1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new AggregatingTagDiagnostics(0, null));
+    }
+
+    @Test
+    void testSamplesAreLimited() {
+        AggregatingTagDiagnostics diagnostics = new AggregatingTagDiagnostics(2, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            diagnostics.report("Round", TagCreationError.MISSING_VALUE);
+        }
+        diagnostics.report("WhiteElo", TagCreationError.MISSING_VALUE);
+
+        assertEquals(List.of(
+                "MISSING_VALUE for tag 'Round' (sample 1 of 2, further occurrences are summarized)",
+                "MISSING_VALUE for tag 'Round' (sample 2 of 2, further occurrences are summarized)",
+                "MISSING_VALUE for tag 'WhiteElo' (sample 1 of 2, further occurrences are summarized)"
+        ), logCaptor.getWarnLogs());
+        assertEquals(5, diagnostics.getCount("Round", TagCreationError.MISSING_VALUE));
+        assertEquals(0, diagnostics.getCount("Round", TagCreationError.INVALID_VALUE));
+        assertEquals(0, diagnostics.getCount("Event", TagCreationError.MISSING_VALUE));
+        assertEquals(Map.of(
+                "Round", Map.of(TagCreationError.MISSING_VALUE, 5L),
+                "WhiteElo", Map.of(TagCreationError.MISSING_VALUE, 1L)
+        ), diagnostics.getCounts());
+    }
+
+    @Test
+    void testSummaryReportsNewOccurrencesOnly() {
+        AggregatingTagDiagnostics diagnostics = new AggregatingTagDiagnostics(0, Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            diagnostics.report("Round", TagCreationError.MISSING_VALUE);
+        }
+        assertTrue(logCaptor.getWarnLogs().isEmpty());
+
+        diagnostics.logSummary();
+        assertEquals(List.of("MISSING_VALUE for tag 'Round': 3 occurrence(s) since the previous summary"), logCaptor.getWarnLogs());
+
+        logCaptor.clearLogs();
+        diagnostics.logSummary();
+        assertTrue(logCaptor.getWarnLogs().isEmpty());
+
+        diagnostics.report("Round", TagCreationError.MISSING_VALUE);
+        diagnostics.logSummary();
+        assertEquals(List.of("MISSING_VALUE for tag 'Round': 1 occurrence(s) since the previous summary"), logCaptor.getWarnLogs());
+    }
+
+    @Test
+    void testPeriodicSummary() throws InterruptedException {
+        AggregatingTagDiagnostics diagnostics = new AggregatingTagDiagnostics(0, Duration.ofMillis(1));
+        Thread.sleep(5);
+        diagnostics.report("Round", TagCreationError.MISSING_VALUE);
+
+        assertEquals(List.of("MISSING_VALUE for tag 'Round': 1 occurrence(s) since the previous summary"), logCaptor.getWarnLogs());
+    }
+
+    @Test
+    void testConcurrentReports() throws InterruptedException {
+        AggregatingTagDiagnostics diagnostics = new AggregatingTagDiagnostics(3, Duration.ZERO);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    diagnostics.report("Round", TagCreationError.MISSING_VALUE);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, diagnostics.getCount("Round", TagCreationError.MISSING_VALUE));
+        assertEquals(3, logCaptor.getWarnLogs().size());
+    }
+
+    @Test
+    void testCreatorsReportToRegistryDiagnostics() {
+        List<String> reports = new ArrayList<>();
+        CreatorRegistry registry = new CreatorRegistry((tagName, reason) -> reports.add(tagName + ":" + reason));
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false, registry.getDiagnostics()));
+
+        registry.<CharSequence, Integer>getInstance("WhiteElo").createTag("");
+
+        assertEquals(List.of("WhiteElo:MISSING_VALUE"), reports);
+        assertSame(TagDiagnostics.getDefault(), new CreatorRegistry().getDiagnostics());
+        assertThrows(IllegalArgumentException.class, () -> new CreatorRegistry(null));
+    }
+}
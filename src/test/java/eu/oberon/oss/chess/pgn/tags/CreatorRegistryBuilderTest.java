@@ -0,0 +1,100 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import eu.oberon.oss.chess.pgn.tags.metrics.TagMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatorRegistryBuilderTest {
+
+    @Test
+    void testBuildFrozenRegistry() {
+        CreatorRegistry registry = CreatorRegistry.builder()
+                .addSevenTagRosterCreators(true)
+                .addDefaultCreators(Set.of("Annotator"), false)
+                .build();
+
+        assertTrue(registry.isFrozen());
+        assertEquals(8, registry.getKnownTagNames().size());
+        assertEquals(PgnDate.of(2024, 1, 2), registry.<CharSequence, PgnDate>getInstance("DATE").createTag("2024.01.02").getTagValue());
+        assertEquals("Event", registry.getTagSectionLayout().getTagName(0));
+        assertEquals(8, registry.getTagSectionLayout().size());
+    }
+
+    @Test
+    void testFrozenRegistryRejectsChanges() {
+        CreatorRegistry registry = CreatorRegistry.builder().addDefaultCreators(Set.of("Event"), false).build();
+        TagCreator<String, String> creator = TagCreatorStringValue.getInstance("Site", false, false);
+
+        assertEquals("The registry is frozen", assertThrows(IllegalStateException.class, () -> registry.registerTagCreator(creator)).getMessage());
+        assertThrows(IllegalStateException.class, () -> registry.replaceTagCreator(creator));
+        assertThrows(IllegalStateException.class, () -> registry.addDefaultCreators(Set.of("Site"), false));
+        assertThrows(IllegalStateException.class, () -> registry.setMetrics(new TagMetrics()));
+        assertThrows(IllegalStateException.class, () -> registry.setCanonicalizationCacheSize(10));
+        assertFalse(new CreatorRegistry().isFrozen());
+    }
+
+    @Test
+    void testDuplicateTagCreator() {
+        CreatorRegistryBuilder builder = CreatorRegistry.builder().addDefaultCreators(Set.of("Event"), false);
+        TagCreator<String, String> creator = TagCreatorStringValue.getInstance("EVENT", true, true);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> builder.registerTagCreator(creator));
+        assertEquals("A tag creator already exists for tag name 'EVENT'", e.getMessage());
+
+        CreatorRegistry registry = builder.replaceTagCreator(creator).build();
+        assertSame(creator, registry.getInstance("event"));
+        assertTrue(builder.removeTagCreator("Event").build().getKnownTagNames().isEmpty());
+        assertEquals(1, registry.getKnownTagNames().size());
+    }
+
+    @Test
+    void testDiscoverTagCreators() {
+        List<String> reports = new ArrayList<>();
+        CreatorRegistry registry = CreatorRegistry.builder()
+                .diagnostics((tagName, reason) -> reports.add(tagName))
+                .discoverTagCreators()
+                .build();
+
+        assertInstanceOf(TagCreatorIntValue.class, registry.getInstance("WhiteElo"));
+        assertInstanceOf(TagCreatorIntValue.class, registry.getInstance("BlackElo"));
+        registry.<CharSequence, Integer>getInstance("WhiteElo").createTag("?");
+        assertEquals(List.of("WhiteElo"), reports);
+        assertEquals(2, registry.getTagSectionLayout().getIntSlotCount());
+
+        CreatorRegistryBuilder builder = CreatorRegistry.builder().discoverTagCreators(getClass().getClassLoader());
+        assertThrows(IllegalStateException.class, builder::discoverTagCreators);
+    }
+
+    @Test
+    void testToBuilder() {
+        TagMetrics metrics = new TagMetrics();
+        CreatorRegistry mutable = new CreatorRegistry(TagDiagnostics.NONE);
+        mutable.addDefaultCreators(Set.of("Event"), false);
+        mutable.setMetrics(metrics);
+
+        CreatorRegistry frozen = mutable.toBuilder().canonicalizationCacheSize(8).build();
+        assertTrue(frozen.isFrozen());
+        assertSame(TagDiagnostics.NONE, frozen.getDiagnostics());
+        assertSame(metrics, frozen.getMetrics());
+        assertEquals(8, frozen.getCanonicalizationCacheSize());
+        assertEquals(Set.of("event"), frozen.getKnownTagNames());
+
+        frozen.getInstance("Event");
+        assertEquals(1, metrics.snapshot().getStatistics("Event").getLookups());
+    }
+
+    @Test
+    void testInvalidParameters() {
+        CreatorRegistryBuilder builder = CreatorRegistry.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.diagnostics(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.canonicalizationCacheSize(-1));
+    }
+}
@@ -0,0 +1,69 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatorRegistryReferenceTest {
+
+    @Test
+    void testRequiresFrozenRegistry() {
+        assertThrows(IllegalArgumentException.class, () -> new CreatorRegistryReference(new CreatorRegistry()));
+        assertThrows(IllegalArgumentException.class, () -> new CreatorRegistryReference(null));
+
+        CreatorRegistryReference reference = new CreatorRegistryReference(CreatorRegistry.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> reference.set(new CreatorRegistry()));
+        assertThrows(IllegalArgumentException.class, () -> reference.update(snapshot -> new CreatorRegistry()));
+    }
+
+    @Test
+    void testReplaceTagCreator() {
+        CreatorRegistry initial = CreatorRegistry.builder().addDefaultCreators(Set.of("Event"), false).build();
+        CreatorRegistryReference reference = new CreatorRegistryReference(initial);
+        TagCreator<String, String> creator = TagCreatorStringValue.getInstance("Event", true, true);
+
+        assertTrue(reference.replaceTagCreator(creator));
+        assertNotSame(initial, reference.get());
+        assertSame(creator, reference.get().getInstance("Event"));
+        assertNotSame(creator, initial.getInstance("Event"));
+
+        CreatorRegistry current = reference.get();
+        assertFalse(reference.replaceTagCreator(TagCreatorStringValue.getInstance("Site", true, true)));
+        assertSame(current, reference.get());
+    }
+
+    @Test
+    void testRegisterTagCreator() {
+        CreatorRegistryReference reference = new CreatorRegistryReference(CreatorRegistry.builder().build());
+        reference.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+
+        assertEquals(Set.of("whiteelo"), reference.get().getKnownTagNames());
+        assertThrows(IllegalStateException.class, () -> reference.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false)));
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws InterruptedException {
+        CreatorRegistryReference reference = new CreatorRegistryReference(CreatorRegistry.builder().build());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 25; i++) {
+                    reference.registerTagCreator(TagCreatorStringValue.getInstance("Tag" + thread + "_" + i, false, false));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(200, reference.get().getKnownTagNames().size());
+        assertEquals(200, reference.get().getTagSectionLayout().size() - 7);
+    }
+}
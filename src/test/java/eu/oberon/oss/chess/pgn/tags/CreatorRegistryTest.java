@@ -1,10 +1,16 @@
 package eu.oberon.oss.chess.pgn.tags;
 
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorDateValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorResultValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorRoundValue;
 import nl.altindag.log.LogCaptor;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -112,4 +118,72 @@ class CreatorRegistryTest {
 
         assertThrows(IllegalArgumentException.class, () -> registry.registerTagCreator(tagCreator));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCaseInsensitiveLookups() {
+        TagCreator<?, ?> creator = registry.getInstance("Event");
+        assertNotNull(creator);
+
+        assertSame(creator, registry.getInstance("EVENT"));
+        assertSame(creator, registry.getInstance(new StringBuilder("eVeNt")));
+        assertSame(creator, registry.getInstance(CharBuffer.wrap("[Event \"x\"]", 1, 6)));
+
+        byte[] bytes = "[EvEnT \"x\"]".getBytes(StandardCharsets.US_ASCII);
+        assertSame(creator, registry.getInstance(bytes, 1, 5));
+        assertSame(creator, registry.getInstance(ByteBuffer.wrap(bytes), 1, 5));
+
+        assertNull(registry.getInstance(bytes, 1, 4));
+        assertNull(registry.getInstance(new StringBuilder("Events")));
+        assertNull(new CreatorRegistry().getInstance("Event"));
+    }
+
+    @Test
+    void testLayoutOfSubclass() {
+        CreatorRegistry subclass = new CreatorRegistry() {
+            {
+                addSevenTagRosterCreators(false);
+                registerTagCreator(new TagCreatorImpl<>("WhiteElo", Objects::nonNull, o -> o, false));
+            }
+        };
+        assertEquals(8, subclass.getTagSectionLayout().size());
+        assertEquals("WhiteElo", subclass.getTagSectionLayout().getTagName(7));
+        assertNotNull(subclass.getTagSectionLayout().getTagCreator(0));
+    }
+
+    @Test
+    void testNonAsciiLookups() {
+        TagCreatorImpl<Object, Object> creator = new TagCreatorImpl<>("İzmir", Objects::nonNull, o -> o, false);
+        registry.registerTagCreator(creator);
+        assertSame(creator, registry.getInstance("İzmir"));
+        assertSame(creator, registry.getInstance(new StringBuilder("İZMIR")));
+        assertSame(creator, registry.getInstance("izmir"));
+    }
+
+    @Test
+    void testLookupReflectsRegistrationAndReplacement() {
+        Predicate<Object> validator = Objects::nonNull;
+        UnaryOperator<Object> converter = o -> "TEST-VALUE";
+        TagCreatorImpl<Object, Object> creator = new TagCreatorImpl<>("Event", validator, converter, true);
+
+        assertNull(registry.getInstance(new StringBuilder("WhiteElo")));
+        registry.registerTagCreator(new TagCreatorImpl<>("WhiteElo", validator, converter, false));
+        assertNotNull(registry.getInstance(new StringBuilder("whiteelo")));
+
+        assertTrue(registry.replaceTagCreator(creator));
+        assertSame(creator, registry.getInstance(new StringBuilder("EVENT")));
+    }
+
+    @Test
+    void testSevenTagRosterInstance() {
+        CreatorRegistry typedRegistry = CreatorRegistry.getSevenTagRosterInstance(true);
+
+        assertEquals(SEVEN_TAG_ROSTER_NAMES.size(), typedRegistry.getKnownTagNames().size());
+        assertInstanceOf(TagCreatorDateValue.class, typedRegistry.getInstance("Date"));
+        assertInstanceOf(TagCreatorRoundValue.class, typedRegistry.getInstance("Round"));
+        assertInstanceOf(TagCreatorResultValue.class, typedRegistry.getInstance("Result"));
+        TagCreator<String, ?> event = typedRegistry.getInstance("Event");
+        assertNotNull(event);
+        assertEquals("Test", event.createTag("Test").getTagValue());
+        assertTrue(event.createTag("Test").isRequiredTag());
+    }
+}
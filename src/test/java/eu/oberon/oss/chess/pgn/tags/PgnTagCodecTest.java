@@ -0,0 +1,187 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.EcoCode;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnResult;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnRound;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorEcoValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntegerValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorTimeControlValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TimeControl;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgnTagCodecTest {
+    private static CreatorRegistry registry() {
+        CreatorRegistry registry = CreatorRegistry.getSevenTagRosterInstance(true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("BlackElo", true, false));
+        registry.registerTagCreator(TagCreatorIntegerValue.getInstance("PlyCount", true, false));
+        registry.registerTagCreator(TagCreatorEcoValue.getInstance("ECO", true, false));
+        registry.registerTagCreator(TagCreatorTimeControlValue.getInstance("TimeControl", true, false));
+        return registry;
+    }
+
+    private static void add(CreatorRegistry registry, TagSection section, String tagName, String value) {
+        section.add(registry.<String, Object>getInstance(tagName).createTag(value));
+    }
+
+    private static TagSection section(CreatorRegistry registry) {
+        TagSection section = new TagSection(registry.getTagSectionLayout());
+        add(registry, section, "Event", "Tata Steel Masters");
+        add(registry, section, "Site", "Wijk aan Zee NED");
+        add(registry, section, "Date", "2024.01.??");
+        add(registry, section, "Round", "7.1");
+        add(registry, section, "White", "Gukesh, D");
+        add(registry, section, "Black", "Giri, Anish");
+        add(registry, section, "Result", "1/2-1/2");
+        add(registry, section, "WhiteElo", "2725");
+        add(registry, section, "BlackElo", "?");
+        add(registry, section, "PlyCount", "84");
+        add(registry, section, "ECO", "C67");
+        add(registry, section, "TimeControl", "40/7200:3600");
+        section.addUnknownTag("Annotator", "Früh 象棋 😀");
+        section.addUnknownTag("Opening", null);
+        return section;
+    }
+
+    private static PgnTag<?> unknownTag(CreatorRegistry registry, String tagName, String value) {
+        TagSection section = new TagSection(registry.getTagSectionLayout());
+        section.addUnknownTag(tagName, value);
+        return section.getTag(tagName);
+    }
+
+    private static void assertSameTags(TagSection expected, TagSection actual) {
+        assertEquals(expected.size(), actual.size());
+        List<PgnTag<?>> expectedTags = expected.getTags();
+        List<PgnTag<?>> actualTags = actual.getTags();
+        for (int i = 0; i < expectedTags.size(); i++) {
+            assertTrue(PgnTag.isEqual(expectedTags.get(i), actualTags.get(i)), expectedTags.get(i).getTagName());
+            assertEquals(expectedTags.get(i).isRequiredTag(), actualTags.get(i).isRequiredTag());
+        }
+    }
+
+    @Test
+    void testTagSection() throws IOException {
+        CreatorRegistry registry = registry();
+        PgnTagCodec codec = new PgnTagCodec(registry.getTagSectionLayout());
+        TagSection section = section(registry);
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        codec.encode(buffer, section);
+        int length = buffer.position();
+        buffer.flip();
+        TagSection decoded = codec.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertSameTags(section, decoded);
+        assertEquals(2725, decoded.getIntValue(decoded.getLayout().getOrdinal("WhiteElo")));
+        assertEquals(PgnDate.of(2024, 1, 0), decoded.getTagValue(decoded.getLayout().getOrdinal("Date")));
+        assertEquals(PgnDate.of(2024, 1, 0).getPackedValue(), decoded.getPackedDateValue(decoded.getLayout().getOrdinal("Date")));
+        assertEquals(PgnRound.of(7, 1), decoded.getTag("Round").getTagValue());
+        assertEquals(PgnResult.DRAW, decoded.getTag("Result").getTagValue());
+        assertEquals(EcoCode.parse("C67"), decoded.getTag("ECO").getTagValue());
+        assertEquals(TimeControl.parse("40/7200:3600"), decoded.getTag("TimeControl").getTagValue());
+        assertEquals(84, decoded.getTag("PlyCount").getTagValue());
+        assertNull(decoded.getTag("BlackElo").getTagValue());
+        assertNull(decoded.getTag("Opening").getTagValue());
+
+        StringBuilder pgn = new StringBuilder();
+        PgnTagWriter.appendTagSection(pgn, section);
+        int pgnLength = pgn.toString().getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(length * 5 < pgnLength * 3, length + " of " + pgnLength + " bytes");
+
+        // decoding into a reused section replaces all tags
+        TagSection reused = new TagSection(registry.getTagSectionLayout());
+        add(registry, reused, "Event", "x");
+        reused.addUnknownTag("Source", "y");
+        ByteBuffer direct = ByteBuffer.allocateDirect(length).put(buffer.flip());
+        codec.decode(direct.flip(), reused);
+        assertSameTags(section, reused);
+    }
+
+    @Test
+    void testTag() {
+        CreatorRegistry registry = registry();
+        PgnTagCodec codec = new PgnTagCodec(registry.getTagSectionLayout());
+        List<PgnTag<?>> tags = List.of(
+                registry.<String, Object>getInstance("WhiteElo").createTag("-12"),
+                registry.<String, Object>getInstance("WhiteElo").createTag("?"),
+                registry.<String, Object>getInstance("Event").createTag("Olympiad"),
+                registry.<String, Object>getInstance("Round").createTag("-"),
+                registry.<String, Object>getInstance("TimeControl").createTag("300+2"),
+                unknownTag(registry, "Annotator", "Kasparov, Garry"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        for (PgnTag<?> tag : tags) {
+            codec.encode(buffer, tag);
+        }
+        buffer.flip();
+        for (PgnTag<?> tag : tags) {
+            PgnTag<?> decoded = codec.decodeTag(buffer);
+            assertTrue(PgnTag.isEqual(tag, decoded), tag.getTagName());
+            assertEquals(tag.isRequiredTag(), decoded.isRequiredTag());
+            assertEquals(tag instanceof IntPgnTag, decoded instanceof IntPgnTag);
+        }
+        assertFalse(buffer.hasRemaining());
+
+        // ordinals and varints keep small tags small
+        buffer.clear();
+        codec.encode(buffer, registry.<String, Object>getInstance("Result").createTag("0-1"));
+        assertEquals(2, buffer.position());
+        assertEquals(PgnResult.BLACK_WINS, codec.decodeTag(buffer.flip()).getTagValue());
+    }
+
+    @Test
+    void testSchemaVersion() {
+        CreatorRegistry registry = registry();
+        PgnTagCodec codec = new PgnTagCodec(registry.getTagSectionLayout());
+        assertEquals(codec.getSchemaVersion(), new PgnTagCodec(registry().getTagSectionLayout()).getSchemaVersion());
+
+        CreatorRegistry other = registry();
+        other.registerTagCreator(TagCreatorIntValue.getInstance("FideId", true, false));
+        PgnTagCodec otherCodec = new PgnTagCodec(other.getTagSectionLayout());
+        assertNotEquals(codec.getSchemaVersion(), otherCodec.getSchemaVersion());
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        codec.encode(buffer, section(registry));
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> otherCodec.decode(buffer));
+        assertEquals(0, buffer.position());
+        assertThrows(IllegalArgumentException.class, () -> otherCodec.encode(ByteBuffer.allocate(256), section(registry)));
+        assertThrows(IllegalArgumentException.class, () -> new PgnTagCodec(null));
+    }
+
+    @Test
+    void testBufferBounds() {
+        CreatorRegistry registry = registry();
+        PgnTagCodec codec = new PgnTagCodec(registry.getTagSectionLayout());
+        TagSection section = section(registry);
+
+        ByteBuffer small = ByteBuffer.allocate(40);
+        small.put((byte) 1);
+        assertThrows(BufferOverflowException.class, () -> codec.encode(small, section));
+        assertEquals(1, small.position());
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        codec.encode(buffer, section);
+        buffer.flip().limit(buffer.limit() - 1);
+        assertThrows(BufferUnderflowException.class, () -> codec.decode(buffer));
+        assertEquals(0, buffer.position());
+        buffer.limit(buffer.limit() + 1);
+        assertSameTags(section, codec.decode(buffer));
+
+        // an ordinal beyond the layout
+        ByteBuffer corrupt = ByteBuffer.allocate(8).put((byte) 0xF0).put((byte) 0x0F).flip();
+        assertThrows(IllegalArgumentException.class, () -> codec.decodeTag(corrupt));
+        assertEquals(0, corrupt.position());
+    }
+}
@@ -0,0 +1,89 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntegerValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgnTagWriterTest {
+    private static final PgnTag<String> WHITE = TagCreatorStringValue.getInstance("White", false, true).createTag("Fischer, Robert J.");
+    private static final PgnTag<String> ESCAPED = TagCreatorStringValue.getInstance("Annotator", false, false).createTag("A \"quoted\" \\ name");
+    private static final PgnTag<String> UNICODE = TagCreatorStringValue.getInstance("Black", false, true).createTag("Früh 象棋 😀");
+
+    @Test
+    void testFormattedTag() {
+        assertEquals("[White \"Fischer, Robert J.\"]", WHITE.getFormattedTag());
+        assertEquals("[Annotator \"A \\\"quoted\\\" \\\\ name\"]", ESCAPED.getFormattedTag());
+        assertEquals("[WhiteElo \"-2650\"]", TagCreatorIntValue.getInstance("WhiteElo", true, false).createTag("-2650").getFormattedTag());
+        assertEquals("[WhiteElo \"\"]", TagCreatorIntValue.getInstance("WhiteElo", true, false).createTag("?").getFormattedTag());
+        assertEquals("[PlyCount \"0\"]", TagCreatorIntegerValue.getInstance("PlyCount", true, false).createTag("0").getFormattedTag());
+        assertEquals("[Round \"\"]", TagCreatorStringValue.getInstance("Round", true, false).createTag("").getFormattedTag());
+    }
+
+    @Test
+    void testAppendTags() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        PgnTagWriter.appendTags(builder, List.of(WHITE, ESCAPED));
+        assertEquals("[White \"Fischer, Robert J.\"]\n[Annotator \"A \\\"quoted\\\" \\\\ name\"]\n", builder.toString());
+    }
+
+    @Test
+    void testTagSection() throws IOException {
+        CreatorRegistry registry = CreatorRegistry.getDefaultInstance(Set.of("Event", "White", "Result"), true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        TagSection section = new TagSection(registry.getTagSectionLayout());
+        section.add(WHITE);
+        section.add(registry.<CharSequence, Integer>getInstance("WhiteElo").createTag("2785"));
+        section.add(registry.<String, String>getInstance("Event").createTag("Event \"1\""));
+        section.addUnknownTag("Annotator", "\\");
+
+        String expected = """
+                [Event "Event \\"1\\""]
+                [White "Fischer, Robert J."]
+                [WhiteElo "2785"]
+                [Annotator "\\\\"]
+                """;
+
+        StringBuilder builder = new StringBuilder();
+        PgnTagWriter.appendTagSection(builder, section);
+        assertEquals(expected, builder.toString());
+
+        CharBuffer chars = CharBuffer.allocate(256);
+        PgnTagWriter.putTagSection(chars, section);
+        assertEquals(expected, chars.flip().toString());
+
+        ByteBuffer bytes = ByteBuffer.allocate(256);
+        PgnTagWriter.putTagSection(bytes, section);
+        assertEquals(expected, StandardCharsets.UTF_8.decode(bytes.flip()).toString());
+    }
+
+    @Test
+    void testUtf8Encoding() {
+        ByteBuffer bytes = ByteBuffer.allocate(64);
+        PgnTagWriter.putTag(bytes, UNICODE);
+        assertEquals(UNICODE.getFormattedTag(), StandardCharsets.UTF_8.decode(bytes.flip()).toString());
+        assertEquals("[Black \"Früh 象棋 😀\"]", UNICODE.getFormattedTag());
+    }
+
+    @Test
+    void testBufferOverflowLeavesBufferUnchanged() {
+        ByteBuffer bytes = ByteBuffer.allocate(10);
+        bytes.put((byte) 'x');
+        assertThrows(BufferOverflowException.class, () -> PgnTagWriter.putTag(bytes, WHITE));
+        assertEquals(1, bytes.position());
+
+        CharBuffer chars = CharBuffer.allocate(10);
+        assertThrows(BufferOverflowException.class, () -> PgnTagWriter.putTag(chars, WHITE));
+        assertEquals(0, chars.position());
+    }
+}
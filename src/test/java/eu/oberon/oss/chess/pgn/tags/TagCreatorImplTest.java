@@ -1,8 +1,15 @@
 package eu.oberon.oss.chess.pgn.tags;
 
+import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
@@ -87,4 +94,130 @@ class TagCreatorImplTest {
         e = assertThrows(IllegalArgumentException.class, () -> creator.createTag(100));
         assertEquals("Invalid input value '100' for tag 'empty-2'. Input value class=java.lang.Integer.", e.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLazyConversion() {
+        AtomicInteger conversions = new AtomicInteger();
+        Function<String, Integer> converter = s -> {
+            conversions.incrementAndGet();
+            return Integer.parseInt(s);
+        };
+        TagCreatorImpl<String, Integer> creator = new TagCreatorImpl<>("lazy", s -> s.matches("\\d+"), converter, true,
+                TagCreationMode.LAZY_CONVERSION);
+        assertEquals(TagCreationMode.LAZY_CONVERSION, creator.getCreationMode());
+
+        PgnTag<Integer> tag = creator.createTag("42");
+        assertEquals(0, conversions.get());
+        assertEquals("lazy", tag.getTagName());
+        assertTrue(tag.isRequiredTag());
+        assertEquals(42, tag.getTagValue());
+        assertEquals(42, tag.getTagValue());
+        assertEquals(1, conversions.get());
+
+        // validation is still eager
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("x"));
+    }
+
+    @Test
+    void testLazyValidation() {
+        TagCreatorImpl<String, Integer> creator = new TagCreatorImpl<>("lazy", s -> s.matches("\\d+"), Integer::parseInt, false,
+                TagCreationMode.LAZY);
+
+        PgnTag<Integer> tag = assertDoesNotThrow(() -> creator.createTag("x"));
+        Exception e = assertThrows(IllegalArgumentException.class, tag::getTagValue);
+        assertEquals("Invalid input value 'x' for tag 'lazy'. Input value class=java.lang.String.", e.getMessage());
+        assertThrows(IllegalArgumentException.class, tag::getTagValue);
+        assertEquals(7, creator.createTag("7").getTagValue());
+    }
+
+    @Test
+    void testLazyConversionIsRunOnceAcrossThreads() throws InterruptedException {
+        AtomicInteger conversions = new AtomicInteger();
+        TagCreatorImpl<String, String> creator = new TagCreatorImpl<>("lazy", Objects::nonNull, s -> {
+            conversions.incrementAndGet();
+            return s.toUpperCase();
+        }, false, TagCreationMode.LAZY);
+        PgnTag<String> tag = creator.createTag("value");
+
+        List<Thread> threads = new ArrayList<>();
+        List<String> values = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> values.add(tag.getTagValue())));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, conversions.get());
+        assertEquals(Collections.nCopies(8, "VALUE"), values);
+    }
+
+    @Test
+    void testNullCreationMode() {
+        assertThrows(IllegalArgumentException.class, () -> new TagCreatorImpl<>("tag", o -> true, o -> o, false, null));
+    }
+
+    @Test
+    void testTryCreateTag() {
+        TagCreatorImpl<String, Integer> creator = new TagCreatorImpl<>("try", s -> s != null && s.matches("\\d+"), Integer::parseInt, false);
+
+        TagCreationResult<Integer> result = creator.tryCreateTag("12");
+        assertTrue(result.isSuccess());
+        assertEquals(12, result.orElseThrow().getTagValue());
+        assertThrows(IllegalStateException.class, result::toException);
+
+        result = creator.tryCreateTag("x");
+        assertEquals(TagCreationError.INVALID_VALUE, result.getError());
+        Exception e = assertThrows(IllegalArgumentException.class, () -> creator.createTag("x"));
+        assertEquals(e.getMessage(), result.getMessage());
+        assertEquals(e.getMessage(), result.toException().getMessage());
+
+        assertEquals(TagCreationError.MISSING_VALUE, creator.tryCreateTag(null).getError());
+        assertEquals(TagCreationError.MISSING_VALUE, creator.tryCreateTag(" ").getError());
+
+        assertTrue(TagCreator.isMissingValue(null));
+        assertTrue(TagCreator.isMissingValue(new StringBuilder(" \t")));
+        assertFalse(TagCreator.isMissingValue(new StringBuilder(" x")));
+        assertFalse(TagCreator.isMissingValue(12));
+
+        TagCreatorImpl<String, Integer> lazy = new TagCreatorImpl<>("try", s -> s.matches("\\d+"), Integer::parseInt, false, TagCreationMode.LAZY);
+        assertTrue(lazy.tryCreateTag("x").isSuccess());
+    }
+
+    @Test
+    void testDefaultTryCreateTag() {
+        TagCreator<String, String> creator = new TagCreator<>() {
+            @Override
+            public @Nonnull String getTagName() {
+                return "Default";
+            }
+
+            @Override
+            public @Nonnull PgnTag<String> createTag(String inputValue) {
+                return new TagCreatorImpl<String, String>("Default", Objects::nonNull, s -> s, false).createTag(inputValue);
+            }
+        };
+
+        assertEquals("v", creator.tryCreateTag("v").orElseThrow().getTagValue());
+        assertEquals(TagCreationError.INVALID_VALUE, creator.tryCreateTag(null).getError());
+    }
+
+    @Test
+    void testTagEquality() {
+        TagCreatorImpl<String, String> creator = new TagCreatorImpl<>("Event", Objects::nonNull, s -> s, false);
+        TagCreatorImpl<String, String> lazy = new TagCreatorImpl<>("Event", Objects::nonNull, s -> s, false, TagCreationMode.LAZY);
+
+        PgnTag<String> tag = creator.createTag("Titled Arena");
+        assertEquals(tag, creator.createTag("Titled Arena"));
+        assertEquals(tag.hashCode(), creator.createTag("Titled Arena").hashCode());
+        assertEquals(tag, lazy.createTag("Titled Arena"));
+        assertEquals(lazy.createTag("Titled Arena"), tag);
+        assertEquals(tag.hashCode(), lazy.createTag("Titled Arena").hashCode());
+        assertNotEquals(tag, creator.createTag("Casual"));
+        assertNotEquals(tag, new TagCreatorImpl<String, String>("Event", Objects::nonNull, s -> s, true).createTag("Titled Arena"));
+        assertNotEquals(tag, new TagCreatorImpl<String, String>("Site", Objects::nonNull, s -> s, false).createTag("Titled Arena"));
+        assertNotEquals(tag, "Titled Arena");
+        assertEquals(tag, PgnTag.of("Event", "Titled Arena", false));
+        assertEquals(tag.hashCode(), PgnTag.of("Event", "Titled Arena", false).hashCode());
+        assertSame(PgnTag.of("Event", "x", false).getClass(), tag.getClass());
+    }
+}
@@ -0,0 +1,191 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorDateValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagSectionTest {
+    private CreatorRegistry registry;
+    private TagSectionLayout layout;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getDefaultInstance(Set.of("Event", "Site", "White", "Black", "Result"), true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        registry.registerTagCreator(TagCreatorStringValue.getInstance("ECO", false, false));
+        layout = registry.getTagSectionLayout();
+    }
+
+    @Test
+    void testLayout() {
+        assertEquals(List.of("Event", "Site", "Date", "Round", "White", "Black", "Result", "ECO", "WhiteElo"), layout.getTagNames());
+        assertEquals(0, layout.getOrdinal("EVENT"));
+        assertEquals(8, layout.getOrdinal(new StringBuilder("whiteelo")));
+        assertEquals(-1, layout.getOrdinal("Annotator"));
+        assertNull(layout.getTagCreator(2));
+        assertNotNull(layout.getTagCreator(0));
+        assertEquals(0, layout.getIntSlot(8));
+        assertEquals(-1, layout.getIntSlot(7));
+        assertEquals(1, layout.getIntSlotCount());
+        assertEquals(layout, TagSectionLayout.of(registry));
+    }
+
+    @Test
+    void testLayoutIsSnapshot() {
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("BlackElo", true, false));
+        assertEquals(-1, layout.getOrdinal("BlackElo"));
+        assertEquals(7, registry.getTagSectionLayout().getOrdinal("BlackElo"));
+    }
+
+    @Test
+    void testAddAndRetrieveTags() {
+        TagSection section = new TagSection(layout);
+        assertTrue(section.isEmpty());
+
+        section.add(registry.<String, String>getInstance("White").createTag("Fischer, Robert J."));
+        section.add(registry.<CharSequence, Integer>getInstance("WhiteElo").createTag("2785"));
+        section.add(registry.<String, String>getInstance("ECO").createTag("C95"));
+        section.addUnknownTag("Annotator", "Someone");
+        section.addUnknownTag("Date", "1992.11.04");
+
+        assertEquals(5, section.size());
+        assertTrue(section.contains("white"));
+        assertTrue(section.contains("annotator"));
+        assertFalse(section.contains("Black"));
+        assertFalse(section.contains("PlyCount"));
+
+        assertEquals("Fischer, Robert J.", section.getTagValue(4));
+        assertEquals(2785, section.getIntValue(8));
+        assertEquals(2785, section.getTagValue(8));
+        assertEquals(IntPgnTag.MISSING_VALUE, section.getIntValue(4));
+
+        PgnTag<?> elo = section.getTag("WHITEELO");
+        assertInstanceOf(IntPgnTag.class, elo);
+        assertEquals("WhiteElo", elo.getTagName());
+        assertEquals(2785, ((IntPgnTag) elo).getIntValue());
+        assertFalse(elo.isRequiredTag());
+
+        PgnTag<?> white = section.getTag("White");
+        assertNotNull(white);
+        assertTrue(white.isRequiredTag());
+
+        PgnTag<?> date = section.getTag("Date");
+        assertNotNull(date);
+        assertEquals("1992.11.04", date.getTagValue());
+        assertFalse(date.isRequiredTag());
+
+        PgnTag<?> annotator = section.getTag("annotator");
+        assertNotNull(annotator);
+        assertEquals("Annotator", annotator.getTagName());
+        assertEquals("Someone", annotator.getTagValue());
+
+        List<String> names = new ArrayList<>();
+        section.forEach(tag -> names.add(tag.getTagName()));
+        assertEquals(List.of("Date", "White", "ECO", "WhiteElo", "Annotator"), names);
+        assertEquals(5, section.getTags().size());
+    }
+
+    @Test
+    void testViewEquality() {
+        TagSection section = new TagSection(layout);
+        PgnTag<String> event = registry.<String, String>getInstance("Event").createTag("Olympiad");
+        PgnTag<Integer> elo = registry.<CharSequence, Integer>getInstance("WhiteElo").createTag("2700");
+        section.add(event);
+        section.add(elo);
+        section.addUnknownTag("Annotator", "Tal");
+
+        TagSection copy = new TagSection(layout);
+        copy.add(event);
+        copy.add(elo);
+        copy.addUnknownTag("Annotator", "Tal");
+
+        for (String tagName : List.of("Event", "WhiteElo", "Annotator")) {
+            assertEquals(section.getTag(tagName), copy.getTag(tagName), tagName);
+            assertEquals(section.getTag(tagName).hashCode(), copy.getTag(tagName).hashCode(), tagName);
+        }
+        assertEquals(event, section.getTag("Event"));
+        assertEquals(section.getTag("Event"), event);
+        assertEquals(elo.hashCode(), section.getTag("WhiteElo").hashCode());
+        assertEquals(section.getTags(), copy.getTags());
+        assertEquals(Set.copyOf(section.getTags()), Set.copyOf(copy.getTags()));
+        assertNotEquals(section.getTag("Event"), section.getTag("Annotator"));
+
+        TagSection other = new TagSection(layout);
+        other.addUnknownTag("Annotator", "Nimzowitsch");
+        assertNotEquals(section.getTag("Annotator"), other.getTag("Annotator"));
+    }
+
+    @Test
+    void testMissingIntValueAndReplacement() {
+        TagSection section = new TagSection(layout);
+        TagCreator<CharSequence, Integer> creator = registry.getInstance("WhiteElo");
+
+        section.add(creator.createTag("-"));
+        assertTrue(section.contains(8));
+        assertEquals(IntPgnTag.MISSING_VALUE, section.getIntValue(8));
+        assertNull(section.getTagValue(8));
+        assertNull(section.getTag(8).getTagValue());
+
+        section.add(creator.createTag("2000"));
+        assertEquals(1, section.size());
+        assertEquals(2000, section.getIntValue(8));
+    }
+
+    @Test
+    void testDateSlot() {
+        registry.registerTagCreator(TagCreatorDateValue.getInstance("Date", true, true));
+        registry.registerTagCreator(TagCreatorDateValue.getInstance("EventDate", true, false));
+        TagSectionLayout dateLayout = registry.getTagSectionLayout();
+        assertEquals(2, dateLayout.getDateSlotCount());
+        assertEquals(0, dateLayout.getDateSlot(2));
+        assertEquals(-1, dateLayout.getDateSlot(0));
+        assertEquals(-1, dateLayout.getIntSlot(2));
+        assertNotEquals(layout, dateLayout);
+
+        TagSection section = new TagSection(dateLayout);
+        PgnTag<PgnDate> date = registry.<CharSequence, PgnDate>getInstance("Date").createTag("2024.01.??");
+        section.add(date);
+        assertEquals(PgnDate.of(2024, 1, 0).getPackedValue(), section.getPackedDateValue(2));
+        assertEquals(PgnDate.of(2024, 1, 0), section.getTagValue(2));
+        assertEquals(date, section.getTag("Date"));
+        assertTrue(section.isRequired(2));
+        assertEquals(IntPgnTag.MISSING_VALUE, section.getIntValue(2));
+        assertEquals(IntPgnTag.MISSING_VALUE, section.getPackedDateValue(0));
+
+        section.add(registry.<CharSequence, PgnDate>getInstance("EventDate").createTag(""));
+        int eventDate = dateLayout.getOrdinal("EventDate");
+        assertTrue(section.contains(eventDate));
+        assertNull(section.getTagValue(eventDate));
+        assertEquals(IntPgnTag.MISSING_VALUE, section.getPackedDateValue(eventDate));
+
+        section.add(registry.<CharSequence, PgnDate>getInstance("EventDate").createTag("????.??.??"));
+        assertEquals(PgnDate.UNKNOWN, section.getTag(eventDate).getTagValue());
+        assertEquals(PgnDate.UNKNOWN.getPackedValue(), section.getPackedDateValue(eventDate));
+
+        section.addUnknownTag("Date", "someday");
+        assertEquals(PgnDate.of(2024, 1, 0), section.getTagValue(2));
+        assertEquals(1, section.getOverflowCount());
+    }
+
+    @Test
+    void testClear() {
+        TagSection section = new TagSection(layout);
+        section.add(registry.<String, String>getInstance("Event").createTag("E"));
+        section.addUnknownTag("Annotator", "A");
+
+        section.clear();
+        assertTrue(section.isEmpty());
+        assertNull(section.getTag("Event"));
+        assertNull(section.getTag("Annotator"));
+        assertFalse(section.iterator().hasNext());
+    }
+}
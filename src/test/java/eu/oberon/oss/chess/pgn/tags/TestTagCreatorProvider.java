@@ -0,0 +1,20 @@
+package eu.oberon.oss.chess.pgn.tags;
+
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import jakarta.annotation.Nonnull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Provider registered in the test resources, to test the discovery of tag creators.
+ */
+public class TestTagCreatorProvider implements TagCreatorProvider {
+    @Override
+    public @Nonnull Collection<TagCreator<?, ?>> getTagCreators(@Nonnull TagDiagnostics diagnostics) {
+        return List.of(
+                TagCreatorIntValue.getInstance("WhiteElo", true, false, diagnostics),
+                TagCreatorIntValue.getInstance("BlackElo", true, false, diagnostics)
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package eu.oberon.oss.chess.pgn.tags.cache;
+
+import eu.oberon.oss.chess.pgn.tags.AggregatingTagDiagnostics;
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorEcoValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import eu.oberon.oss.chess.pgn.tags.metrics.InstrumentedTagCreator;
+import eu.oberon.oss.chess.pgn.tags.metrics.TagMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalizingTagCreatorTest {
+
+    @Test
+    void testInvalidParameters() {
+        TagCreator<String, String> creator = TagCreatorStringValue.getInstance("Event", false, false);
+        assertThrows(IllegalArgumentException.class, () -> CanonicalizingTagCreator.of(creator, 0));
+        assertThrows(IllegalArgumentException.class, () -> CanonicalizingTagCreator.of(null, 10));
+    }
+
+    @Test
+    void testRepeatedValuesShareTag() {
+        CanonicalizingTagCreator<String, String> creator = CanonicalizingTagCreator.of(TagCreatorStringValue.getInstance("Event", false, false));
+
+        PgnTag<String> first = creator.createTag("Titled Arena");
+        PgnTag<String> second = creator.createTag(new String("Titled Arena"));
+        PgnTag<String> third = creator.tryCreateTag("Titled Arena").getTag();
+        PgnTag<String> other = creator.createTag("Casual");
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertNotSame(first, other);
+        assertEquals("Event", creator.getTagName());
+        assertEquals(CanonicalizingTagCreator.DEFAULT_MAXIMUM_SIZE, creator.getMaximumSize());
+
+        TagCacheStatistics statistics = creator.getStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(2, statistics.getSize());
+        assertEquals(0.5, statistics.getHitRate());
+    }
+
+    @Test
+    void testCharSequenceInputIsCopied() {
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("WhiteElo", false, false));
+        StringBuilder buffer = new StringBuilder("2700");
+
+        PgnTag<Integer> first = creator.createTag(buffer);
+        buffer.setLength(0);
+        buffer.append("2500");
+        PgnTag<Integer> second = creator.createTag(buffer);
+
+        assertEquals(2700, first.getTagValue());
+        assertEquals(2500, second.getTagValue());
+        assertSame(first, creator.createTag("2700"));
+    }
+
+    @Test
+    void testRejectedValuesAreNotCached() {
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("WhiteElo", false, false));
+
+        assertEquals(TagCreationError.INVALID_VALUE, creator.tryCreateTag("x").getError());
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("x"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag(null));
+        assertEquals(0, creator.getStatistics().getSize());
+    }
+
+    @Test
+    void testMissingValuesAreReported() {
+        AggregatingTagDiagnostics diagnostics = new AggregatingTagDiagnostics(0, Duration.ofHours(1));
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("WhiteElo", true, false, diagnostics));
+        Utf8TagCreator<?, ?> utf8Creator = assertInstanceOf(Utf8TagCreator.class, creator);
+        byte[] blank = " ".getBytes(StandardCharsets.US_ASCII);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(creator.tryCreateTag("").isSuccess());
+            creator.createTag(" ");
+            assertTrue(utf8Creator.tryCreateTag(blank, 0, blank.length).isSuccess());
+            assertTrue(utf8Creator.tryCreateTag(ByteBuffer.wrap(blank), 0, blank.length).isSuccess());
+        }
+
+        assertEquals(4000, diagnostics.getCount("WhiteElo", TagCreationError.MISSING_VALUE));
+        assertEquals(0, creator.getStatistics().getSize());
+    }
+
+    @Test
+    void testEviction() {
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("PlyCount", false, false), 1);
+        PgnTag<Integer> first = creator.createTag("1");
+        creator.createTag("2");
+
+        assertNotSame(first, creator.createTag("1"));
+        TagCacheStatistics statistics = creator.getStatistics();
+        assertEquals(1, statistics.getSize());
+        assertEquals(2, statistics.getEvictions());
+
+        creator.clear();
+        assertEquals(0, creator.getStatistics().getSize());
+        assertEquals(3, creator.getStatistics().getMisses());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("PlyCount", false, false), 100);
+        for (int i = 0; i < 1000; i++) {
+            creator.createTag(Integer.toString(i));
+        }
+        assertEquals(100, creator.getStatistics().getSize());
+    }
+
+    @Test
+    void testSegmentsShareMaximumSize() {
+        // segments whose share is rounded down would leave the cache short of its maximum size
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("PlyCount", false, false), 1030);
+        for (int i = 0; i < 100_000; i++) {
+            creator.createTag(Integer.toString(i));
+        }
+        assertEquals(1030, creator.getStatistics().getSize());
+    }
+
+    @Test
+    void testUtf8Values() {
+        CanonicalizingTagCreator<CharSequence, Integer> creator = CanonicalizingTagCreator.of(TagCreatorIntValue.getInstance("WhiteElo", false, false));
+        Utf8TagCreator<?, ?> utf8Creator = assertInstanceOf(Utf8TagCreator.class, creator);
+        byte[] bytes = "[2700][x]".getBytes(StandardCharsets.UTF_8);
+
+        PgnTag<?> first = utf8Creator.tryCreateTag(bytes, 1, 4).getTag();
+        assertEquals(2700, first.getTagValue());
+        assertSame(first, utf8Creator.tryCreateTag(ByteBuffer.wrap(bytes), 1, 4).getTag());
+        assertSame(first, creator.createTag("2700"));
+        assertEquals(TagCreationError.INVALID_VALUE, utf8Creator.tryCreateTag(bytes, 7, 1).getError());
+        assertEquals(1, creator.getStatistics().getSize());
+        assertEquals(2, creator.getStatistics().getHits());
+
+        TagCreator<CharSequence, ?> eco = CanonicalizingTagCreator.of(TagCreatorEcoValue.getInstance("ECO", true, false));
+        assertFalse(eco instanceof Utf8TagCreator);
+    }
+
+    @Test
+    void testUtf8ValuesComparedInPlace() {
+        CanonicalizingTagCreator<String, String> creator = CanonicalizingTagCreator.of(TagCreatorStringValue.getInstance("Event", false, false));
+        Utf8TagCreator<?, ?> utf8Creator = assertInstanceOf(Utf8TagCreator.class, creator);
+
+        for (String value : new String[]{"Tata Steel", "Sch\u00e4ch Open", "\u5927\u4f1a", "Cup \uD83C\uDFC6", "\u2003Cup"}) {
+            PgnTag<String> tag = creator.createTag(value);
+            byte[] bytes = ("[" + value + "]").getBytes(StandardCharsets.UTF_8);
+            assertSame(tag, utf8Creator.tryCreateTag(bytes, 1, bytes.length - 2).getTag(), value);
+            assertSame(tag, utf8Creator.tryCreateTag(ByteBuffer.wrap(bytes), 1, bytes.length - 2).getTag(), value);
+        }
+        assertEquals(10, creator.getStatistics().getHits());
+
+        byte[] prefix = "Tata".getBytes(StandardCharsets.UTF_8);
+        assertEquals("Tata", utf8Creator.tryCreateTag(prefix, 0, prefix.length).getTag().getTagValue());
+        assertEquals(6, creator.getStatistics().getSize());
+
+        byte[] malformed = {'C', 'u', 'p', (byte) 0xC3};
+        assertTrue(utf8Creator.tryCreateTag(malformed, 0, malformed.length).isSuccess());
+        assertTrue(utf8Creator.tryCreateTag(ByteBuffer.wrap(malformed), 0, malformed.length).isSuccess());
+        assertEquals(6, creator.getStatistics().getSize());
+    }
+
+    @Test
+    void testRegistryCanonicalization() {
+        CreatorRegistry registry = CreatorRegistry.getDefaultInstance(Set.of("Event"), false);
+        assertTrue(registry.getCanonicalizationStatistics().isEmpty());
+        registry.setCanonicalizationCacheSize(16);
+        registry.setMetrics(new TagMetrics());
+
+        TagCreator<String, String> event = registry.getInstance("Event");
+        assertInstanceOf(InstrumentedTagCreator.class, event);
+        assertSame(event.createTag("Titled Arena"), registry.<String, String>getInstance("Event").createTag("Titled Arena"));
+        assertEquals(1, registry.getCanonicalizationStatistics().get("Event").getHits());
+        assertEquals(16, registry.getCanonicalizationCacheSize());
+
+        registry.setCanonicalizationCacheSize(0);
+        assertTrue(registry.getCanonicalizationStatistics().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> registry.setCanonicalizationCacheSize(-1));
+    }
+}
@@ -0,0 +1,217 @@
+package eu.oberon.oss.chess.pgn.tags.columnar;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntegerValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorStringValue;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTagTest {
+    @TempDir
+    Path tempDir;
+
+    private CreatorRegistry registry;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getSevenTagRosterInstance(false);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+    }
+
+    private static String games(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append("[Event \"Event ").append(i % 300).append("\"]\n")
+                    .append("[Site \"Site ").append(i % 7).append("\"]\n")
+                    .append("[Date \"20").append(10 + i % 10).append(".0").append(1 + i % 9).append(".??\"]\n")
+                    .append("[White \"Player ").append(i).append("\"]\n");
+            if (i % 5 != 0) {
+                builder.append("[WhiteElo \"").append(2000 + i % 400).append("\"]\n");
+            }
+            builder.append("\n1. e4 e5 *\n\n");
+        }
+        return builder.toString();
+    }
+
+    private List<TagSection> parse(Path pgn) throws IOException {
+        List<TagSection> sections = new ArrayList<>();
+        new TagSectionParser(registry).parse(pgn, new TagSectionBuilder(registry.getTagSectionLayout(),
+                (section, offset) -> sections.add(section)));
+        return sections;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path pgn = tempDir.resolve("games.pgn");
+        Files.writeString(pgn, games(1000));
+        Path file = tempDir.resolve("games.pgtc");
+        List<TagSection> sections = parse(pgn);
+
+        try (ColumnarTagWriter writer = new ColumnarTagWriter(file, registry.getTagSectionLayout(), 300)) {
+            sections.forEach(section -> writer.accept(section, 0));
+            assertEquals(1000, writer.getRowCount());
+        }
+
+        try (ColumnarTagReader reader = ColumnarTagReader.open(file)) {
+            assertEquals(1000, reader.getRowCount());
+            assertEquals(4, reader.getRowGroupCount());
+            assertEquals(100, reader.getRowCount(3));
+            assertEquals(ColumnType.INT, reader.getColumnType("whiteelo"));
+            assertEquals(ColumnType.DATE, reader.getColumnType("Date"));
+            assertEquals(ColumnType.STRING, reader.getColumnType("Event"));
+            assertNull(reader.getColumnType("Annotator"));
+            assertTrue(reader.getTagNames().containsAll(List.of("Event", "Site", "Date", "White", "WhiteElo")));
+
+            int row = 0;
+            for (int group = 0; group < reader.getRowGroupCount(); group++) {
+                for (String tagName : reader.getTagNames()) {
+                    ColumnChunk chunk = reader.getColumnChunk(group, tagName);
+                    assertEquals(reader.getRowCount(group), chunk.getRowCount());
+                    for (int i = 0; i < chunk.getRowCount(); i++) {
+                        TagSection section = sections.get(row + i);
+                        Object expected = section.contains(tagName) ? section.getTag(tagName).getTagValue() : null;
+                        assertEquals(expected, chunk.getValue(i), tagName + " in row " + (row + i));
+                        assertEquals(expected != null, chunk.isPresent(i));
+                    }
+                }
+                row += reader.getRowCount(group);
+            }
+        }
+    }
+
+    @Test
+    void testDictionaryEncoding() throws IOException {
+        Path file = tempDir.resolve("games.pgtc");
+        Path pgn = tempDir.resolve("games.pgn");
+        Files.writeString(pgn, games(1000));
+        ColumnarTagWriter.write(registry, pgn, file);
+
+        try (ColumnarTagReader reader = ColumnarTagReader.open(file)) {
+            assertEquals(1, reader.getRowGroupCount());
+            ColumnChunk site = reader.getColumnChunk(0, "Site");
+            assertEquals(7, site.getDictionarySize());
+            assertEquals("Site 3", site.getDictionaryValue(site.getDictionaryIndex(10)));
+            ColumnChunk event = reader.getColumnChunk(0, "Event");
+            assertEquals(300, event.getDictionarySize());
+            assertEquals("Event 299", event.getString(599));
+            ColumnChunk white = reader.getColumnChunk(0, "White");
+            assertEquals(1000, white.getDictionarySize());
+            assertEquals("Player 999", white.getString(999));
+
+            ColumnChunk date = reader.getColumnChunk(0, "Date");
+            assertEquals(PgnDate.of(2013, 4, 0), date.getValue(3));
+            assertEquals("2013.04.??", date.getString(3));
+            assertThrows(IllegalStateException.class, () -> date.getDictionaryIndex(0));
+            assertThrows(IllegalStateException.class, () -> site.getInt(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> site.isPresent(1000));
+        }
+    }
+
+    @Test
+    void testSingleColumnScan() throws IOException {
+        Path pgn = tempDir.resolve("games.pgn");
+        Files.writeString(pgn, games(2000));
+        Path file = tempDir.resolve("games.pgtc");
+        try (ColumnarTagWriter writer = new ColumnarTagWriter(file, registry.getTagSectionLayout(), 256)) {
+            new TagSectionParser(registry).parse(pgn, new TagSectionBuilder(registry.getTagSectionLayout(), writer));
+        }
+
+        long expectedSum = 0;
+        int expectedCount = 0;
+        for (int i = 0; i < 2000; i++) {
+            if (i % 5 != 0) {
+                expectedSum += 2000 + i % 400;
+                expectedCount++;
+            }
+        }
+        long[] sumAndCount = new long[2];
+        try (ColumnarTagReader reader = ColumnarTagReader.open(file)) {
+            reader.forEachInt("WhiteElo", elo -> {
+                sumAndCount[0] += elo;
+                sumAndCount[1]++;
+            });
+            assertThrows(IllegalArgumentException.class, () -> reader.forEachInt("Event", elo -> fail()));
+            assertThrows(IllegalArgumentException.class, () -> reader.forEachInt("BlackElo", elo -> fail()));
+        }
+        assertEquals(expectedSum, sumAndCount[0]);
+        assertEquals(expectedCount, sumAndCount[1]);
+    }
+
+    @Test
+    void testWideDictionary() throws IOException {
+        CreatorRegistry wide = new CreatorRegistry();
+        wide.registerTagCreator(TagCreatorStringValue.getInstance("White", false, false));
+        wide.registerTagCreator(TagCreatorIntegerValue.getInstance("PlyCount", false, false));
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 70000; i++) {
+            builder.append("[White \"P").append(i).append("\"]\n[PlyCount \"").append(i).append("\"]\n\n*\n\n");
+        }
+        Path pgn = tempDir.resolve("wide.pgn");
+        Files.writeString(pgn, builder);
+        Path file = tempDir.resolve("wide.pgtc");
+        ColumnarTagWriter.write(wide, pgn, file);
+
+        try (ColumnarTagReader reader = ColumnarTagReader.open(file)) {
+            assertEquals(70000, reader.getRowCount());
+            assertEquals(2, reader.getRowGroupCount());
+            ColumnChunk white = reader.getColumnChunk(0, "White");
+            assertEquals(ColumnarTagWriter.DEFAULT_ROW_GROUP_SIZE, white.getDictionarySize());
+            assertEquals("P65535", white.getString(65535));
+            assertEquals(ColumnType.INT, reader.getColumnType("PlyCount"));
+            assertEquals(65537, reader.getColumnChunk(1, "PlyCount").getInt(1));
+        }
+    }
+
+    @Test
+    void testClosedWriterAndOtherLayout() throws IOException {
+        Path pgn = tempDir.resolve("games.pgn");
+        Files.writeString(pgn, games(1));
+        TagSection section = parse(pgn).get(0);
+
+        CreatorRegistry other = CreatorRegistry.getSevenTagRosterInstance(false);
+        ColumnarTagWriter writer = new ColumnarTagWriter(tempDir.resolve("other.pgtc"), other.getTagSectionLayout());
+        assertThrows(IllegalArgumentException.class, () -> writer.accept(section, 0));
+        writer.close();
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.accept(section, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ColumnarTagWriter(tempDir.resolve("x.pgtc"), other.getTagSectionLayout(), 0));
+
+        try (ColumnarTagReader reader = ColumnarTagReader.open(tempDir.resolve("other.pgtc"))) {
+            assertEquals(0, reader.getRowCount());
+            assertEquals(0, reader.getRowGroupCount());
+        }
+    }
+
+    @Test
+    void testNotAColumnarFile() throws IOException {
+        Path pgn = tempDir.resolve("games.pgn");
+        Files.writeString(pgn, games(10));
+        assertThrows(IOException.class, () -> ColumnarTagReader.open(pgn));
+
+        Path empty = Files.createFile(tempDir.resolve("empty.pgtc"));
+        assertThrows(IOException.class, () -> ColumnarTagReader.open(empty));
+
+        Path file = tempDir.resolve("games.pgtc");
+        ColumnarTagWriter.write(registry, pgn, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[ColumnarTagReader.MAGIC.length + 3] = 2;
+        Files.write(file, bytes);
+        IOException e = assertThrows(IOException.class, () -> ColumnarTagReader.open(file));
+        assertTrue(e.getMessage().startsWith("Unsupported columnar tag file version 2"));
+    }
+}
@@ -0,0 +1,83 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagCreatorDateValueTest {
+
+    @Test
+    void testWithValidValues() {
+        TagCreatorDateValue creator = TagCreatorDateValue.getInstance("Date", false, true);
+
+        PgnTag<PgnDate> tag = assertDoesNotThrow(() -> creator.createTag("1992.11.04"));
+        assertEquals("Date", tag.getTagName());
+        assertTrue(tag.isRequiredTag());
+        PgnDate date = tag.getTagValue();
+        assertEquals(1992, date.getYear());
+        assertEquals(11, date.getMonth());
+        assertEquals(4, date.getDay());
+        assertTrue(date.isComplete());
+        assertEquals("1992.11.04", date.toString());
+        assertEquals(date, PgnDate.ofPacked(date.getPackedValue()));
+        assertEquals(date, PgnDate.of(1992, 11, 4));
+
+        date = creator.createTag("2019.??.??").getTagValue();
+        assertEquals(2019, date.getYear());
+        assertEquals(0, date.getMonth());
+        assertFalse(date.isComplete());
+        assertEquals("2019.??.??", date.toString());
+
+        assertSame(PgnDate.UNKNOWN, creator.createTag("????.??.??").getTagValue());
+        assertSame(creator.createTag("????.??.??"), creator.createTag("????.??.??"));
+        assertEquals("0005.01.01", creator.createTag("0005.01.01").getTagValue().toString());
+        assertEquals("????.02.29", creator.createTag("????.02.29").getTagValue().toString());
+        assertEquals("2000.02.29", creator.createTag("2000.02.29").getTagValue().toString());
+    }
+
+    @Test
+    void testWithInvalidValues() {
+        TagCreatorDateValue creator = TagCreatorDateValue.getInstance("Date", false, true);
+
+        for (String invalid : new String[]{null, "", " ", "1992.11.4", "1992-11-04", "1992.13.01", "1992.00.01",
+                "1992.11.00", "0000.01.01", "1992.11.31", "1900.02.29", "19?2.11.04", "1992.?1.04", "1992.11.04 "}) {
+            Exception e = assertThrows(IllegalArgumentException.class, () -> creator.createTag(invalid), invalid);
+            assertTrue(e.getMessage().startsWith("Invalid input value"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> PgnDate.of(2023, 2, 29));
+        assertThrows(IllegalArgumentException.class, () -> PgnDate.ofPacked(-1));
+        assertFalse(PgnDate.isValidPackedValue(-1));
+        assertFalse(PgnDate.isValidPackedValue(IntPgnTag.MISSING_VALUE));
+        assertTrue(PgnDate.isValidPackedValue(PgnDate.of(2024, 2, 29).getPackedValue()));
+    }
+
+    @Test
+    void testWithMissingValuesAllowed() {
+        TagCreatorDateValue creator = TagCreatorDateValue.getInstance("EventDate", true, false);
+
+        PgnTag<PgnDate> tag = assertDoesNotThrow(() -> creator.createTag(" "));
+        assertNull(tag.getTagValue());
+        assertFalse(tag.isRequiredTag());
+        assertNull(creator.createTag(null).getTagValue());
+    }
+
+    @Test
+    void testPackedValuesSortChronologically() {
+        TagCreatorDateValue creator = TagCreatorDateValue.getInstance("Date", false, true);
+        List<String> values = List.of("????.??.??", "1850.??.??", "1850.01.??", "1850.01.02", "1850.02.01", "2019.12.31", "2020.01.01");
+
+        List<PgnDate> dates = new ArrayList<>();
+        for (String value : values) {
+            dates.add(creator.createTag(value).getTagValue());
+        }
+        for (int i = 1; i < dates.size(); i++) {
+            assertTrue(dates.get(i - 1).getPackedValue() < dates.get(i).getPackedValue(), values.get(i));
+            assertTrue(dates.get(i - 1).compareTo(dates.get(i)) < 0);
+        }
+    }
+}
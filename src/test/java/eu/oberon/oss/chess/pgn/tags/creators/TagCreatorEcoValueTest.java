@@ -0,0 +1,49 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagCreatorEcoValueTest {
+
+    @Test
+    void testWithValidValues() {
+        TagCreatorEcoValue creator = TagCreatorEcoValue.getInstance("ECO", false, false);
+
+        PgnTag<EcoCode> tag = assertDoesNotThrow(() -> creator.createTag("B12"));
+        assertEquals("ECO", tag.getTagName());
+        assertFalse(tag.isRequiredTag());
+        assertSame(tag, creator.createTag(new StringBuilder("B12")));
+
+        EcoCode code = tag.getTagValue();
+        assertEquals(112, code.getCode());
+        assertEquals('B', code.getVolume());
+        assertEquals(12, code.getNumber());
+        assertEquals("B12", code.toString());
+        assertSame(code, EcoCode.of(112));
+
+        assertEquals(0, creator.createTag("A00").getTagValue().getCode());
+        assertEquals(499, creator.createTag("E99").getTagValue().getCode());
+        assertTrue(creator.createTag("A99").getTagValue().compareTo(creator.createTag("B00").getTagValue()) < 0);
+    }
+
+    @Test
+    void testWithInvalidValues() {
+        TagCreatorEcoValue creator = TagCreatorEcoValue.getInstance("ECO", false, false);
+
+        for (String invalid : new String[]{null, "", "?", "F00", "a00", "B1", "B123", "B1x", " B12"}) {
+            assertThrows(IllegalArgumentException.class, () -> creator.createTag(invalid), invalid);
+        }
+        assertThrows(IllegalArgumentException.class, () -> EcoCode.of(500));
+    }
+
+    @Test
+    void testWithMissingValuesAllowed() {
+        TagCreatorEcoValue creator = TagCreatorEcoValue.getInstance("ECO", true, false);
+
+        assertNull(creator.createTag("?").getTagValue());
+        assertNull(creator.createTag(" ").getTagValue());
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("Z00"));
+    }
+}
@@ -0,0 +1,149 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagCreatorIntValueTest {
+
+    @Test
+    void testWithValidValuesNoAllowingMissingValues() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("WhiteElo", false, true);
+        IntPgnTag tag;
+
+        tag = assertDoesNotThrow(() -> creator.createTag("2650"));
+        assertEquals(2650, tag.getIntValue());
+        assertEquals(2650, tag.getTagValue());
+        assertEquals("WhiteElo", tag.getTagName());
+        assertTrue(tag.hasValue());
+        assertTrue(tag.isRequiredTag());
+
+        tag = assertDoesNotThrow(() -> creator.createTag(new StringBuilder("+10")));
+        assertEquals(10, tag.getIntValue());
+
+        tag = assertDoesNotThrow(() -> creator.createTag("-20"));
+        assertEquals(-20, tag.getIntValue());
+
+        tag = assertDoesNotThrow(() -> creator.createTag("2147483647"));
+        assertEquals(Integer.MAX_VALUE, tag.getIntValue());
+
+        tag = assertDoesNotThrow(() -> creator.createTag("-2147483647"));
+        assertEquals(-Integer.MAX_VALUE, tag.getIntValue());
+
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("not-an-integer"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("12a"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("+"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag(" 12"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag(null));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("?"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag(""));
+    }
+
+    @Test
+    void testOutOfRangeValues() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("PlyCount", false, false);
+
+        Exception e = assertThrows(IllegalArgumentException.class, () -> creator.createTag("2147483648"));
+        assertEquals("Input value '2147483648' for tag 'PlyCount' is out of range.", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("-2147483648"));
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("99999999999999999999999"));
+
+        e = assertThrows(IllegalArgumentException.class, () -> creator.createTag("99999999999x"));
+        assertEquals("Invalid input value '99999999999x' for tag 'PlyCount'. Input value class=java.lang.String.", e.getMessage());
+    }
+
+    @Test
+    void testWithValidValuesAllowMissingValues() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("BlackElo", true, false);
+
+        for (String missing : new String[]{null, "", "   ", "?", "-"}) {
+            IntPgnTag tag = assertDoesNotThrow(() -> creator.createTag(missing));
+            assertFalse(tag.hasValue());
+            assertEquals(IntPgnTag.MISSING_VALUE, tag.getIntValue());
+            assertNull(tag.getTagValue());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("not-an-integer"));
+    }
+
+    @Test
+    void testWithInvalidTagNames() {
+        assertThrows(NullPointerException.class, () -> TagCreatorIntValue.getInstance(null, false, false));
+        assertThrows(IllegalArgumentException.class, () -> TagCreatorIntValue.getInstance("  ", false, false));
+    }
+
+    @Test
+    void testTryCreateTag() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("WhiteElo", false, false);
+
+        TagCreationResult<Integer> result = creator.tryCreateTag("2650");
+        assertTrue(result.isSuccess());
+        assertEquals(2650, result.getTag().getTagValue());
+        assertNull(result.getError());
+        assertNull(result.getMessage());
+
+        result = creator.tryCreateTag("26x0");
+        assertFalse(result.isSuccess());
+        assertNull(result.getTag());
+        assertEquals("WhiteElo", result.getTagName());
+        assertEquals(TagCreationError.INVALID_VALUE, result.getError());
+        assertEquals("26x0", result.getInputValue());
+        assertEquals("Invalid input value '26x0' for tag 'WhiteElo'. Input value class=java.lang.String.", result.getMessage());
+
+        assertEquals(TagCreationError.MISSING_VALUE, creator.tryCreateTag("?").getError());
+        assertEquals(TagCreationError.OUT_OF_RANGE, creator.tryCreateTag("2147483648").getError());
+        assertEquals("Input value '2147483648' for tag 'WhiteElo' is out of range.", creator.tryCreateTag("2147483648").getMessage());
+    }
+
+    @Test
+    void testTryCreateTags() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("WhiteElo", false, false);
+
+        List<TagCreationResult<Integer>> results = creator.tryCreateTags(List.of("1", "", "x", "3"));
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).getTag().getTagValue());
+        assertEquals(TagCreationError.MISSING_VALUE, results.get(1).getError());
+        assertEquals(TagCreationError.INVALID_VALUE, results.get(2).getError());
+        assertEquals(3, results.get(3).orElseThrow().getTagValue());
+        assertThrows(IllegalArgumentException.class, () -> results.get(2).orElseThrow());
+    }
+
+    @Test
+    void testTagEquality() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("WhiteElo", true, false);
+
+        assertEquals(creator.createTag("2650"), creator.createTag("+2650"));
+        assertEquals(creator.createTag("2650").hashCode(), creator.createTag("+2650").hashCode());
+        assertEquals(creator.createTag("?"), creator.createTag(""));
+        assertNotEquals(creator.createTag("2650"), creator.createTag("2651"));
+        assertNotEquals(creator.createTag("2650"), TagCreatorIntValue.getInstance("BlackElo", true, false).createTag("2650"));
+    }
+
+    @Test
+    void testTryCreateTagFromBytes() {
+        TagCreatorIntValue creator = TagCreatorIntValue.getInstance("WhiteElo", true, false);
+        for (String value : List.of("2650", "+10", "-20", "0", "2147483647", "-2147483647", "2147483648", "?", "-", "",
+                "  ", "+", "12a", "\u00a0", "\u2003", "2\u00e9")) {
+            byte[] bytes = ("[" + value + "]").getBytes(StandardCharsets.UTF_8);
+            TagCreationResult<Integer> expected = creator.tryCreateTag(value);
+            TagCreationResult<Integer> actual = creator.tryCreateTag(ByteBuffer.allocateDirect(bytes.length).put(bytes), 1, bytes.length - 2);
+
+            assertEquals(expected.isSuccess(), actual.isSuccess(), value);
+            assertEquals(expected.getTag(), actual.getTag(), value);
+            assertEquals(expected.getError(), actual.getError(), value);
+        }
+
+        byte[] bytes = "2700".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(2700, creator.createTag(ByteBuffer.wrap(bytes), 0, 4).getTagValue());
+        assertEquals(27, creator.tryCreateTag(bytes, 0, 2).getTag().getTagValue());
+        assertThrows(IndexOutOfBoundsException.class, () -> creator.tryCreateTag(bytes, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> TagCreatorIntValue.getInstance("WhiteElo", false, false).createTag(ByteBuffer.wrap(bytes), 0, 0));
+    }
+}
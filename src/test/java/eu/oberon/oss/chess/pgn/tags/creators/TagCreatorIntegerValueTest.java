@@ -2,7 +2,13 @@ package eu.oberon.oss.chess.pgn.tags.creators;
 
 import eu.oberon.oss.chess.pgn.tags.PgnTag;
 import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationMode;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
 import org.junit.jupiter.api.Test;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,4 +51,30 @@ class TagCreatorIntegerValueTest {
 
         assertThrows(IllegalArgumentException.class, () -> creator.createTag("not-an-integer"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTryCreateTagFromBytes() {
+        for (TagCreationMode mode : TagCreationMode.values()) {
+            Utf8TagCreator<String, Integer> creator = (Utf8TagCreator<String, Integer>) TagCreatorIntegerValue.getInstance("PlyCount", true, false, mode);
+            for (String value : new String[]{"120", "+10", "-20", "-2147483648", "", " ", "x1"}) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                TagCreationResult<Integer> expected = creator.tryCreateTag(value);
+                TagCreationResult<Integer> actual = creator.tryCreateTag(bytes, 0, bytes.length);
+
+                assertEquals(expected.isSuccess(), actual.isSuccess(), value);
+                assertEquals(expected.getError(), actual.getError(), value);
+                if (mode != TagCreationMode.LAZY || !value.equals("x1")) {
+                    assertEquals(expected.getTag(), actual.getTag(), value);
+                }
+            }
+        }
+        Utf8TagCreator<String, Integer> creator = (Utf8TagCreator<String, Integer>) TagCreatorIntegerValue.getInstance("PlyCount", false, false);
+        assertEquals(TagCreationError.OUT_OF_RANGE, creator.tryCreateTag("2147483648".getBytes(StandardCharsets.US_ASCII), 0, 10).getError());
+        assertEquals(TagCreationError.OUT_OF_RANGE, creator.tryCreateTag("-2147483649").getError());
+        assertEquals(TagCreationError.OUT_OF_RANGE, creator.tryCreateTag("+99999999999999999999").getError());
+        assertEquals(TagCreationError.INVALID_VALUE, creator.tryCreateTag("+").getError());
+        assertEquals(Integer.MAX_VALUE, creator.createTag("+2147483647").getTagValue());
+        assertEquals(Integer.MIN_VALUE, creator.createTag("-2147483648").getTagValue());
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("2147483648"));
+    }
+}
@@ -0,0 +1,53 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagCreatorResultValueTest {
+
+    @Test
+    void testWithValidValues() {
+        TagCreatorResultValue creator = TagCreatorResultValue.getInstance("Result", false, true);
+
+        assertEquals(PgnResult.WHITE_WINS, creator.createTag("1-0").getTagValue());
+        assertEquals(PgnResult.BLACK_WINS, creator.createTag("0-1").getTagValue());
+        assertEquals(PgnResult.DRAW, creator.createTag(new StringBuilder("1/2-1/2")).getTagValue());
+        assertEquals(PgnResult.UNDECIDED, creator.createTag("*").getTagValue());
+
+        PgnTag<PgnResult> tag = creator.createTag("1-0");
+        assertSame(tag, creator.createTag("1-0"));
+        assertEquals("Result", tag.getTagName());
+        assertTrue(tag.isRequiredTag());
+        assertEquals("[Result \"1/2-1/2\"]", creator.createTag("1/2-1/2").getFormattedTag());
+    }
+
+    @Test
+    void testWithInvalidValues() {
+        TagCreatorResultValue creator = TagCreatorResultValue.getInstance("Result", false, true);
+
+        for (String invalid : new String[]{null, "", "1-1", "0-0", "1:0", "1/2", "1/2-1/3", "½-½", "**", "1-0 "}) {
+            assertThrows(IllegalArgumentException.class, () -> creator.createTag(invalid), invalid);
+        }
+    }
+
+    @Test
+    void testWithMissingValuesAllowed() {
+        TagCreatorResultValue creator = TagCreatorResultValue.getInstance("Result", true, false);
+
+        assertNull(creator.createTag("").getTagValue());
+        assertNull(creator.createTag(null).getTagValue());
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("2-0"));
+    }
+
+    @Test
+    void testCodes() {
+        for (PgnResult result : PgnResult.values()) {
+            assertSame(result, PgnResult.ofCode(result.getCode()));
+            assertSame(result, PgnResult.parse(result.toString()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> PgnResult.ofCode((byte) 4));
+        assertThrows(IllegalArgumentException.class, () -> PgnResult.ofCode((byte) -1));
+    }
+}
@@ -0,0 +1,75 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagCreatorRoundValueTest {
+
+    @Test
+    void testWithValidValues() {
+        TagCreatorRoundValue creator = TagCreatorRoundValue.getInstance("Round", false, true);
+
+        PgnTag<PgnRound> tag = assertDoesNotThrow(() -> creator.createTag("29"));
+        assertEquals("Round", tag.getTagName());
+        assertTrue(tag.isRequiredTag());
+        assertEquals(1, tag.getTagValue().getLevelCount());
+        assertEquals(29, tag.getTagValue().getLevel(0));
+        assertSame(tag.getTagValue(), creator.createTag("29").getTagValue());
+
+        PgnRound round = creator.createTag("5.2.10").getTagValue();
+        assertEquals(3, round.getLevelCount());
+        assertEquals(5, round.getLevel(0));
+        assertEquals(2, round.getLevel(1));
+        assertEquals(10, round.getLevel(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> round.getLevel(3));
+        assertEquals("5.2.10", round.toString());
+        assertEquals(round, PgnRound.ofPacked(round.getPackedValue()));
+        assertEquals(round, PgnRound.of(5, 2, 10));
+
+        assertEquals("7", creator.createTag("007").getTagValue().toString());
+        assertEquals("65533.0.0.1", creator.createTag("65533.0.0.1").getTagValue().toString());
+        assertSame(PgnRound.UNKNOWN, creator.createTag("?").getTagValue());
+        assertSame(PgnRound.NOT_APPLICABLE, creator.createTag("-").getTagValue());
+        assertEquals("?", PgnRound.UNKNOWN.toString());
+        assertEquals("-", PgnRound.NOT_APPLICABLE.toString());
+        assertEquals(0, PgnRound.NOT_APPLICABLE.getLevelCount());
+    }
+
+    @Test
+    void testWithInvalidValues() {
+        TagCreatorRoundValue creator = TagCreatorRoundValue.getInstance("Round", false, true);
+
+        for (String invalid : new String[]{null, "", "  ", ".", "1.", ".1", "1..2", "1.2.3.4.5", "65534", "1a", "-1", "??", "1 "}) {
+            assertThrows(IllegalArgumentException.class, () -> creator.createTag(invalid), invalid);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PgnRound.of());
+        assertThrows(IllegalArgumentException.class, () -> PgnRound.ofPacked(1));
+    }
+
+    @Test
+    void testWithMissingValuesAllowed() {
+        TagCreatorRoundValue creator = TagCreatorRoundValue.getInstance("Round", true, false);
+
+        assertNull(creator.createTag(" ").getTagValue());
+        assertFalse(creator.createTag("1").isRequiredTag());
+    }
+
+    @Test
+    void testRoundsSortNaturally() {
+        TagCreatorRoundValue creator = TagCreatorRoundValue.getInstance("Round", false, true);
+        List<String> values = List.of("?", "0", "1", "1.1", "1.2", "1.10", "2", "10", "65533.65533.65533.65533", "-");
+
+        List<PgnRound> rounds = new ArrayList<>();
+        for (String value : values) {
+            rounds.add(creator.createTag(value).getTagValue());
+        }
+        for (int i = 1; i < rounds.size(); i++) {
+            assertTrue(rounds.get(i - 1).compareTo(rounds.get(i)) < 0, values.get(i));
+        }
+    }
+}
@@ -2,7 +2,12 @@ package eu.oberon.oss.chess.pgn.tags.creators;
 
 import eu.oberon.oss.chess.pgn.tags.PgnTag;
 import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagCreationMode;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
 import org.junit.jupiter.api.Test;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,4 +49,34 @@ class TagCreatorStringValueTest {
         tag = assertDoesNotThrow(() -> creator.createTag(null));
         assertNull(tag.getTagValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateTagFromBytes() {
+        byte[] bytes = "[Caf\u00e9 de la R\u00e9gence]".getBytes(StandardCharsets.UTF_8);
+        for (TagCreationMode mode : TagCreationMode.values()) {
+            Utf8TagCreator<String, String> creator = (Utf8TagCreator<String, String>) TagCreatorStringValue.getInstance("Site", false, true, mode);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+
+            PgnTag<String> tag = creator.createTag(buffer, 1, bytes.length - 2);
+            buffer.put(1, (byte) 'X');
+            assertEquals("Caf\u00e9 de la R\u00e9gence", tag.getTagValue());
+            assertEquals(creator.createTag("Caf\u00e9 de la R\u00e9gence"), tag);
+            assertTrue(tag.isRequiredTag());
+            assertEquals(bytes.length, buffer.position());
+        }
+    }
+
+    @Test
+    void testCreateTagFromBlankBytes() {
+        Utf8TagCreator<String, String> creator = (Utf8TagCreator<String, String>) TagCreatorStringValue.getInstance("Site", false, false);
+        byte[] blank = " \t\u2003".getBytes(StandardCharsets.UTF_8);
+        byte[] noBreak = "\u00a0".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(TagCreationError.MISSING_VALUE, creator.tryCreateTag(blank, 0, blank.length).getError());
+        assertEquals(TagCreationError.MISSING_VALUE, creator.tryCreateTag(blank, 0, 0).getError());
+        assertEquals("\u00a0", creator.tryCreateTag(noBreak, 0, noBreak.length).getTag().getTagValue());
+
+        Utf8TagCreator<String, String> allowing = (Utf8TagCreator<String, String>) TagCreatorStringValue.getInstance("Site", true, false);
+        assertNull(allowing.createTag(ByteBuffer.wrap(blank), 0, blank.length).getTagValue());
+    }
+}
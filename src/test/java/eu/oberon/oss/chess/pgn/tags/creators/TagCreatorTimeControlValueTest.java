@@ -0,0 +1,86 @@
+package eu.oberon.oss.chess.pgn.tags.creators;
+
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagCreatorTimeControlValueTest {
+
+    @Test
+    void testWithValidValues() {
+        TagCreatorTimeControlValue creator = TagCreatorTimeControlValue.getInstance("TimeControl", false, false);
+
+        PgnTag<TimeControl> tag = assertDoesNotThrow(() -> creator.createTag("40/7200:3600"));
+        assertEquals("TimeControl", tag.getTagName());
+        TimeControl classical = tag.getTagValue();
+        assertEquals(2, classical.getPeriodCount());
+        assertEquals(40, classical.getMoves(0));
+        assertEquals(7200, classical.getSeconds(0));
+        assertEquals(0, classical.getIncrement(0));
+        assertEquals(0, classical.getMoves(1));
+        assertEquals(3600, classical.getSeconds(1));
+        assertFalse(classical.isSandclock(1));
+        assertEquals("40/7200:3600", classical.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> classical.getSeconds(2));
+
+        TimeControl blitz = creator.createTag("300+2").getTagValue();
+        assertEquals(1, blitz.getPeriodCount());
+        assertEquals(300, blitz.getSeconds(0));
+        assertEquals(2, blitz.getIncrement(0));
+        assertEquals("300+2", blitz.toString());
+
+        TimeControl fide = creator.createTag("40/5400+30:1800+30").getTagValue();
+        assertEquals(30, fide.getIncrement(0));
+        assertEquals(1800, fide.getSeconds(1));
+        assertEquals("40/5400+30:1800+30", fide.toString());
+
+        TimeControl sandclock = creator.createTag("*180").getTagValue();
+        assertTrue(sandclock.isSandclock(0));
+        assertEquals(0, sandclock.getMoves(0));
+        assertEquals("*180", sandclock.toString());
+
+        assertSame(TimeControl.UNKNOWN, creator.createTag("?").getTagValue());
+        assertSame(TimeControl.NONE, creator.createTag("-").getTagValue());
+        assertTrue(TimeControl.UNKNOWN.isUnknown());
+        assertTrue(TimeControl.NONE.isNone());
+        assertNotEquals(TimeControl.UNKNOWN, TimeControl.NONE);
+        assertEquals("?", TimeControl.UNKNOWN.toString());
+        assertEquals("-", TimeControl.NONE.toString());
+    }
+
+    @Test
+    void testDecodedInstancesAreShared() {
+        TagCreatorTimeControlValue creator = TagCreatorTimeControlValue.getInstance("TimeControl", false, false);
+        TagCreatorTimeControlValue other = TagCreatorTimeControlValue.getInstance("TimeControl", true, false);
+
+        TimeControl timeControl = creator.createTag("180+2").getTagValue();
+        assertSame(timeControl, creator.createTag("180+2").getTagValue());
+        assertSame(timeControl, other.createTag(new StringBuilder("180+2")).getTagValue());
+        assertEquals(timeControl, TimeControl.parse("180+2"));
+        assertEquals(timeControl.hashCode(), TimeControl.parse("180+2").hashCode());
+        assertEquals(TimeControl.parse("180"), TimeControl.parse("180+0"));
+        assertNull(TimeControl.parse("180+"));
+        assertNull(TimeControl.parse("180+"));
+    }
+
+    @Test
+    void testWithInvalidValues() {
+        TagCreatorTimeControlValue creator = TagCreatorTimeControlValue.getInstance("TimeControl", false, false);
+
+        for (String invalid : new String[]{null, "", " ", "??", "--", "40/", "/7200", "0/7200", "300+", "+2", "300+2+1",
+                "40/7200:", ":3600", "*", "*180+2", "40*/7200", "3600 ", "1:2:3:4:5:6:7:8:9", "99999999999"}) {
+            assertThrows(IllegalArgumentException.class, () -> creator.createTag(invalid), invalid);
+        }
+        assertDoesNotThrow(() -> creator.createTag("1:2:3:4:5:6:7:8"));
+    }
+
+    @Test
+    void testWithMissingValuesAllowed() {
+        TagCreatorTimeControlValue creator = TagCreatorTimeControlValue.getInstance("TimeControl", true, false);
+
+        assertNull(creator.createTag("").getTagValue());
+        assertNull(creator.createTag(null).getTagValue());
+        assertThrows(IllegalArgumentException.class, () -> creator.createTag("x"));
+    }
+}
@@ -0,0 +1,78 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+    @Test
+    void testAddAndContains() {
+        testAddAndContains(false);
+        testAddAndContains(true);
+    }
+
+    private static void testAddAndContains(boolean offHeap) {
+        LongHashSet set = new LongHashSet(0, offHeap);
+        assertEquals(offHeap, set.isOffHeap());
+        assertTrue(set.isEmpty());
+
+        Set<Long> expected = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(22);
+        for (int i = 0; i < 200_000; i++) {
+            // a narrow range produces plenty of repeated values
+            long value = i % 3 == 0 ? random.nextLong() : random.nextLong(-50_000, 50_000);
+            assertEquals(expected.add(value), set.add(value));
+        }
+        assertEquals(expected.size(), set.size());
+        assertTrue(set.contains(0));
+        for (long value : expected) {
+            assertTrue(set.contains(value));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong();
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        assertTrue(set.size() <= set.getCapacity() / 4 * 3);
+        assertEquals(set.getCapacity() * 8, set.getMemoryBytes());
+    }
+
+    @Test
+    void testSizing() {
+        LongHashSet set = new LongHashSet(1000, false);
+        long capacity = set.getCapacity();
+        assertEquals(2048, capacity);
+        for (int i = 1; i <= 1000; i++) {
+            set.add(i * 31L);
+        }
+        assertEquals(capacity, set.getCapacity());
+        assertEquals(16, new LongHashSet().getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1, false));
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(Long.MAX_VALUE, true));
+    }
+
+    @Test
+    void testClear() {
+        testClear(false);
+        testClear(true);
+    }
+
+    private static void testClear(boolean offHeap) {
+        LongHashSet set = new LongHashSet(10, offHeap);
+        for (long i = -100; i < 100; i++) {
+            set.add(i);
+        }
+        assertEquals(200, set.size());
+        long capacity = set.getCapacity();
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(42));
+        assertEquals(capacity, set.getCapacity());
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+    }
+}
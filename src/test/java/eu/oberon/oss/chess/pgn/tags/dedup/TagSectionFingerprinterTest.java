@@ -0,0 +1,135 @@
+package eu.oberon.oss.chess.pgn.tags.dedup;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagSectionFingerprinterTest {
+    private static final String GAME = """
+            [Event "Tata Steel"]
+            [Site "Wijk aan Zee NED"]
+            [Date "2024.01.20"]
+            [Round "7.1"]
+            [White "%s"]
+            [Black "Giri, Anish"]
+            [Result "%s"]
+
+            1. e4 e5 %2$s
+
+            """;
+
+    private static List<TagSection> parse(CreatorRegistry registry, String pgn) throws IOException {
+        List<TagSection> sections = new ArrayList<>();
+        new TagSectionParser(registry).parse(Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8))),
+                new TagSectionBuilder(registry.getTagSectionLayout(), (section, offset) -> sections.add(section)));
+        return sections;
+    }
+
+    private static TagSection game(CreatorRegistry registry, String white, String result) throws IOException {
+        return parse(registry, GAME.formatted(white, result)).getFirst();
+    }
+
+    @Test
+    void testFingerprint() throws IOException {
+        CreatorRegistry registry = CreatorRegistry.getSevenTagRosterInstance(false);
+        TagSectionFingerprinter fingerprinter = new TagSectionFingerprinter();
+        long fingerprint = fingerprinter.fingerprint(game(registry, "Carlsen, Magnus", "1-0"));
+
+        assertEquals(fingerprint, fingerprinter.fingerprint(game(registry, "Carlsen, Magnus", "1-0")));
+        assertEquals(fingerprint, fingerprinter.fingerprint(game(registry, " CARLSEN,   Magnus ", "1-0")));
+        assertNotEquals(fingerprint, fingerprinter.fingerprint(game(registry, "Carlsen, M.", "1-0")));
+        assertNotEquals(fingerprint, fingerprinter.fingerprint(game(registry, "Carlsen, Magnus", "0-1")));
+
+        TagSectionFingerprinter exact = new TagSectionFingerprinter(TagNormalizer.none());
+        assertNotEquals(exact.fingerprint(game(registry, "Carlsen, Magnus", "1-0")),
+                exact.fingerprint(game(registry, "carlsen, magnus", "1-0")));
+
+        // a missing tag differs from a tag with an unknown value, and from other missing tags
+        List<TagSection> sections = parse(registry, """
+                [Event "E"]
+                [Date "2024.01.20"]
+
+                *
+
+                [Event "E"]
+                [Date "2024.01.20"]
+                [Site "?"]
+
+                *
+
+                [Event "E"]
+
+                *
+                """);
+        assertEquals(3, sections.size());
+        assertNotEquals(fingerprinter.fingerprint(sections.get(0)), fingerprinter.fingerprint(sections.get(1)));
+        assertNotEquals(fingerprinter.fingerprint(sections.get(0)), fingerprinter.fingerprint(sections.get(2)));
+    }
+
+    @Test
+    void testLayoutIndependence() throws IOException {
+        CreatorRegistry roster = CreatorRegistry.getSevenTagRosterInstance(false);
+        CreatorRegistry extended = CreatorRegistry.getSevenTagRosterInstance(false);
+        extended.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        TagSectionFingerprinter fingerprinter = new TagSectionFingerprinter();
+
+        String pgn = GAME.formatted("Carlsen, Magnus", "1/2-1/2").replace("[Result", "[WhiteElo \"2830\"]\n[Result");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(fingerprinter.fingerprint(parse(roster, pgn).getFirst()),
+                    fingerprinter.fingerprint(parse(extended, pgn).getFirst()));
+        }
+    }
+
+    @Test
+    void testNormalizer() {
+        TagNormalizer normalizer = TagNormalizer.builder()
+                .foldCase("event")
+                .collapseWhitespace("Event", "Site")
+                .build();
+        assertEquals("wijk aan zee", normalizer.normalize("EVENT", "  Wijk \t aan\n Zee "));
+        assertEquals("Wijk aan Zee", normalizer.normalize("Site", "  Wijk   aan Zee"));
+        String value = "Wijk  aan Zee";
+        assertSame(value, normalizer.normalize("White", value));
+        assertSame(value, TagNormalizer.none().normalize("Event", value));
+        assertEquals("carlsen, magnus", TagNormalizer.playerNames().normalize("Black", "Carlsen,  Magnus"));
+        assertThrows(IllegalArgumentException.class, () -> TagNormalizer.builder().foldCase("White", null));
+        assertThrows(IllegalArgumentException.class, () -> new TagSectionFingerprinter(null));
+    }
+
+    @Test
+    void testDuplicateFilter() throws IOException {
+        CreatorRegistry registry = CreatorRegistry.getSevenTagRosterInstance(false);
+        String first = GAME.formatted("Carlsen, Magnus", "1-0") + GAME.formatted("Caruana, Fabiano", "0-1");
+        String second = GAME.formatted("carlsen,  magnus", "1-0") + GAME.formatted("Ding, Liren", "1/2-1/2")
+                + GAME.formatted("Ding, Liren", "1/2-1/2");
+
+        LongHashSet seen = new LongHashSet(100, true);
+        TagSectionFingerprinter fingerprinter = new TagSectionFingerprinter();
+        List<Long> offsets = new ArrayList<>();
+        DuplicateFilter filter = new DuplicateFilter(fingerprinter, seen, (section, offset) -> offsets.add(offset));
+        parse(registry, first).forEach(section -> filter.accept(section, 0));
+        assertEquals(2, filter.getUniqueCount());
+
+        DuplicateFilter merge = new DuplicateFilter(fingerprinter, seen, (section, offset) -> offsets.add(offset));
+        List<TagSection> sections = parse(registry, second);
+        for (int i = 0; i < sections.size(); i++) {
+            merge.accept(sections.get(i), i + 1);
+        }
+        assertEquals(1, merge.getUniqueCount());
+        assertEquals(2, merge.getDuplicateCount());
+        assertEquals(List.of(0L, 0L, 2L), offsets);
+        assertEquals(3, seen.size());
+    }
+}
@@ -0,0 +1,128 @@
+package eu.oberon.oss.chess.pgn.tags.index;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagIndexTest {
+    private static final int GAME_COUNT = 300;
+
+    @TempDir
+    Path tempDir;
+
+    private CreatorRegistry registry;
+    private Path pgnFile;
+    private Path indexFile;
+    private long[] offsets;
+    private TagSection[] sections;
+
+    @BeforeEach
+    void init() throws IOException {
+        registry = CreatorRegistry.getDefaultInstance(new HashSet<>(CreatorRegistry.getSevenTagRosterNames()), true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < GAME_COUNT; i++) {
+            builder.append("[Event \"Event ").append(i % 5).append("\"]\n")
+                    .append("[White \"Player ").append(i % 11).append("\"]\n")
+                    .append("[Date \"").append(2015 + i % 7).append(".01.0").append(1 + i % 9).append("\"]\n");
+            if (i % 10 != 0) {
+                builder.append("[WhiteElo \"").append(1900 + i).append("\"]\n");
+            }
+            builder.append("\n1. e4 e5 *\n\n");
+        }
+        pgnFile = tempDir.resolve("games.pgn");
+        indexFile = tempDir.resolve("games.idx");
+        Files.writeString(pgnFile, builder);
+
+        offsets = new long[GAME_COUNT];
+        sections = new TagSection[GAME_COUNT];
+        int[] count = {0};
+        new TagSectionParser(registry).parse(pgnFile, new TagSectionBuilder(registry.getTagSectionLayout(), (section, offset) -> {
+            offsets[count[0]] = offset;
+            sections[count[0]++] = section;
+        }));
+    }
+
+    private long[] expected(Predicate<TagSection> predicate) {
+        return LongStream.range(0, GAME_COUNT).filter(i -> predicate.test(sections[(int) i])).map(i -> offsets[(int) i]).toArray();
+    }
+
+    @Test
+    void testFind() throws IOException {
+        TagIndexBuilder.build(registry, pgnFile, indexFile);
+        TagIndex index = TagIndex.open(indexFile);
+
+        assertEquals(GAME_COUNT, index.getGameCount());
+        assertEquals(11, index.getValueCount("White"));
+        assertArrayEquals(expected(s -> "Player 3".equals(s.getTagValue(s.getLayout().getOrdinal("White")))),
+                index.find("white", "Player 3"));
+        assertArrayEquals(new long[]{offsets[101]}, index.find("WhiteElo", 2001));
+        assertArrayEquals(new long[]{offsets[101]}, index.find("WhiteElo", "2001"));
+        assertEquals(0, index.find("WhiteElo", "unknown").length);
+        assertEquals(0, index.find("White", "Nobody").length);
+        assertEquals(0, index.find("Annotator", "Nobody").length);
+    }
+
+    @Test
+    void testFindRange() throws IOException {
+        TagIndexBuilder.build(registry, pgnFile, indexFile);
+        TagIndex index = TagIndex.open(indexFile);
+
+        assertArrayEquals(expected(s -> s.getIntValue(s.getLayout().getOrdinal("WhiteElo")) >= 1950
+                        && s.getIntValue(s.getLayout().getOrdinal("WhiteElo")) < 2100),
+                index.findRange("WhiteElo", 1950, 2100));
+        assertEquals(GAME_COUNT - GAME_COUNT / 10, index.findRange("WhiteElo", null, null).length);
+        assertArrayEquals(expected(s -> s.getTagValue(s.getLayout().getOrdinal("Date")).toString().startsWith("2019")),
+                index.findRange("Date", "2019", "2020"));
+        assertEquals(0, index.findRange("Date", "2020", "2019").length);
+        assertThrows(IllegalArgumentException.class, () -> index.findRange("WhiteElo", "x", null));
+    }
+
+    @Test
+    void testIntersect() throws IOException {
+        TagIndexBuilder.build(registry, pgnFile, indexFile);
+        TagIndex index = TagIndex.open(indexFile);
+
+        long[] games = TagIndex.intersect(index.find("Event", "Event 2"), index.findRange("Date", "2019", "2020"));
+        assertArrayEquals(expected(s -> "Event 2".equals(s.getTagValue(s.getLayout().getOrdinal("Event")))
+                && s.getTagValue(s.getLayout().getOrdinal("Date")).toString().startsWith("2019")), games);
+        assertTrue(games.length > 0);
+        assertArrayEquals(new long[]{1, 5}, TagIndex.intersect(new long[]{1, 3, 5, 7}, new long[]{0, 1, 5}, new long[]{1, 5, 9}));
+    }
+
+    @Test
+    void testSelectedTags() throws IOException {
+        TagIndexBuilder builder = new TagIndexBuilder(List.of("event"));
+        for (int i = 0; i < GAME_COUNT; i++) {
+            builder.accept(sections[i], offsets[i]);
+        }
+        builder.write(indexFile);
+        TagIndex index = TagIndex.open(indexFile);
+
+        assertEquals(List.of("Event"), index.getTagNames());
+        assertEquals(5, index.getValueCount("Event"));
+        assertEquals(0, index.getValueCount("White"));
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        Files.writeString(indexFile, "not an index file");
+        assertThrows(IOException.class, () -> TagIndex.open(indexFile));
+    }
+}
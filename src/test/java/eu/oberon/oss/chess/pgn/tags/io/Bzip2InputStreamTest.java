@@ -0,0 +1,101 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bzip2InputStreamTest {
+    private static final String GAMES_SHA256 = "94c7ccfe985f56ec193f455275e5043ef1fa08bc6f3fdfd69c0b4b2e73940dba";
+    private static final int GAMES_LENGTH = 607469;
+
+    static byte[] resource(String name) throws IOException {
+        try (InputStream in = Bzip2InputStreamTest.class.getResourceAsStream("/io/" + name)) {
+            assertNotNull(in, name);
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] decode(byte[] compressed) throws IOException {
+        try (Bzip2InputStream in = new Bzip2InputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] runs() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 2000; i++) {
+            byte[] run = new byte[i % 300];
+            Arrays.fill(run, (byte) (i * 7));
+            out.writeBytes(run);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void testMultipleBlocks() throws IOException {
+        byte[] decoded = decode(resource("games.pgn.bz2"));
+        assertEquals(GAMES_LENGTH, decoded.length);
+        assertEquals(GAMES_SHA256, sha256(decoded));
+    }
+
+    @Test
+    void testRuns() throws IOException {
+        byte[] decoded = decode(resource("runs.bin.bz2"));
+        assertArrayEquals(runs(), decoded);
+
+        try (Bzip2InputStream in = new Bzip2InputStream(new ByteArrayInputStream(resource("runs.bin.bz2")))) {
+            byte[] expected = runs();
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(expected[i] & 0xff, in.read());
+            }
+            assertEquals(expected.length - 1000, in.readAllBytes().length);
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void testConcatenatedStreams() throws IOException {
+        byte[] empty = HexFormat.of().parseHex("425a683917724538509000000000");
+        assertEquals(0, decode(empty).length);
+
+        byte[] runs = resource("runs.bin.bz2");
+        ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.writeBytes(runs);
+        concatenated.writeBytes(empty);
+        concatenated.writeBytes(runs);
+        byte[] decoded = decode(concatenated.toByteArray());
+        byte[] expected = runs();
+        assertEquals(expected.length * 2, decoded.length);
+        assertArrayEquals(expected, Arrays.copyOfRange(decoded, expected.length, decoded.length));
+    }
+
+    @Test
+    void testInvalidInput() throws IOException {
+        assertThrows(IOException.class, () -> decode(new byte[0]));
+        assertThrows(IOException.class, () -> decode("[Event \"Test\"]".getBytes()));
+
+        byte[] corrupt = resource("runs.bin.bz2");
+        corrupt[corrupt.length / 2] ^= 0x10;
+        assertThrows(IOException.class, () -> decode(corrupt));
+
+        byte[] truncated = Arrays.copyOf(resource("runs.bin.bz2"), 3000);
+        assertThrows(IOException.class, () -> decode(truncated));
+    }
+}
@@ -0,0 +1,169 @@
+package eu.oberon.oss.chess.pgn.tags.io;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedInputTest {
+    private static byte[] games;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void init() throws IOException {
+        try (InputStream in = new Bzip2InputStream(new ByteArrayInputStream(Bzip2InputStreamTest.resource("games.pgn.bz2")))) {
+            games = in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzipMembers(byte[] data, int memberSize, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int offset = 0; offset < data.length; offset += memberSize) {
+            out.writeBytes(gzip(Arrays.copyOfRange(data, offset, Math.min(data.length, offset + memberSize)), level));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(ReadableByteChannel channel) throws IOException {
+        try (InputStream in = Channels.newInputStream(channel)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path write(String name, byte[] data) throws IOException {
+        return Files.write(tempDir.resolve(name), data);
+    }
+
+    @Test
+    void testDetect() throws IOException {
+        assertEquals(Compression.NONE, Compression.detect(write("games.pgn", games)));
+        assertEquals(Compression.GZIP, Compression.detect(write("games.gz", gzip(games, 6))));
+        assertEquals(Compression.BZIP2, Compression.detect(write("games.bz2", Bzip2InputStreamTest.resource("games.pgn.bz2"))));
+        assertEquals(Compression.NONE, Compression.detect(write("short", new byte[]{0x1f})));
+        assertEquals(Compression.NONE, Compression.detect(write("empty", new byte[0])));
+    }
+
+    @Test
+    void testOpen() throws IOException {
+        Path plain = write("games.pgn", games);
+        Path gzip = write("games.pgn.gz", gzip(games, 6));
+        Path bzip2 = write("games.pgn.bz2", Bzip2InputStreamTest.resource("games.pgn.bz2"));
+
+        for (Path path : List.of(plain, gzip, bzip2)) {
+            assertArrayEquals(games, readAll(CompressedInput.open(path)), path.toString());
+            assertArrayEquals(games, readAll(CompressedInput.open(path, 1)), path.toString());
+        }
+        assertArrayEquals(games, readAll(CompressedInput.open(new ByteArrayInputStream(gzip(games, 1)), Compression.GZIP)));
+        assertThrows(IllegalArgumentException.class, () -> CompressedInput.open(plain, 0));
+    }
+
+    @Test
+    void testParallelGzip() throws IOException {
+        Path members = write("members.gz", gzipMembers(games, 10_000, 6));
+        assertArrayEquals(games, readAll(CompressedInput.open(members, 4, 4096)));
+
+        // stored members contain the data verbatim, including member headers that are not member boundaries
+        byte[] tricky = games.clone();
+        for (int i = 5000; i < tricky.length - 4; i += 7919) {
+            tricky[i] = 0x1f;
+            tricky[i + 1] = (byte) 0x8b;
+            tricky[i + 2] = 8;
+            tricky[i + 3] = 0;
+        }
+        Path stored = write("stored.gz", gzipMembers(tricky, 10_000, Deflater.NO_COMPRESSION));
+        assertArrayEquals(tricky, readAll(CompressedInput.open(stored, 3, 4096)));
+
+        Path single = write("single.gz", gzip(games, 9));
+        assertArrayEquals(games, readAll(CompressedInput.open(single, 4, 4096)));
+
+        ByteArrayOutputStream trailing = new ByteArrayOutputStream();
+        trailing.writeBytes(gzipMembers(games, 50_000, 6));
+        trailing.writeBytes(new byte[100]);
+        assertArrayEquals(games, readAll(CompressedInput.open(write("trailing.gz", trailing.toByteArray()), 4, 4096)));
+    }
+
+    @Test
+    void testCorruptGzip() throws IOException {
+        byte[] corrupt = gzipMembers(games, 10_000, 6);
+        corrupt[corrupt.length / 2] ^= 0x55;
+        Path path = write("corrupt.gz", corrupt);
+        for (int parallelism : new int[]{1, 4}) {
+            try (ReadableByteChannel channel = CompressedInput.open(path, parallelism, 4096)) {
+                assertThrows(IOException.class, () -> readAll(channel));
+            }
+        }
+
+        byte[] truncated = Arrays.copyOf(gzip(games, 6), 1000);
+        try (ReadableByteChannel channel = CompressedInput.open(write("truncated.gz", truncated), 4)) {
+            assertThrows(IOException.class, () -> readAll(channel));
+        }
+    }
+
+    @Test
+    void testClose() throws IOException {
+        Path members = write("members.gz", gzipMembers(games, 10_000, 6));
+        ReadableByteChannel channel = CompressedInput.open(members, 2, 4096);
+        assertEquals(1000, channel.read(ByteBuffer.allocate(1000)));
+        channel.close();
+        assertFalse(channel.isOpen());
+        assertThrows(IOException.class, () -> channel.read(ByteBuffer.allocate(10)));
+    }
+
+    @Test
+    void testParseCompressed() throws IOException {
+        CreatorRegistry registry = CreatorRegistry.getSevenTagRosterInstance(false);
+        TagSectionParser parser = new TagSectionParser(registry);
+        Path plain = write("games.pgn", games);
+        Path bzip2 = write("games.pgn.bz2", Bzip2InputStreamTest.resource("games.pgn.bz2"));
+        Path gzip = write("games.pgn.gz", gzipMembers(games, 100_000, 6));
+
+        List<List<TagSection>> results = new ArrayList<>();
+        for (Path path : List.of(plain, bzip2, gzip)) {
+            List<TagSection> sections = new ArrayList<>();
+            assertEquals(1500, parser.parse(path, new TagSectionBuilder(registry.getTagSectionLayout(),
+                    (section, offset) -> sections.add(section))));
+            results.add(sections);
+        }
+        for (List<TagSection> sections : results) {
+            assertEquals(1500, sections.size());
+            for (int i = 0; i < sections.size(); i += 97) {
+                assertEquals(results.get(0).get(i).getTagValue(0), sections.get(i).getTagValue(0));
+                assertEquals(results.get(0).get(i).getTagValue(6), sections.get(i).getTagValue(6));
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package eu.oberon.oss.chess.pgn.tags.metrics;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreator;
+import eu.oberon.oss.chess.pgn.tags.TagSectionLayout;
+import eu.oberon.oss.chess.pgn.tags.Utf8TagCreator;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorEcoValue;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagMetricsTest {
+    private CreatorRegistry registry;
+    private TagMetrics metrics;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getDefaultInstance(Set.of("Event", "Site"), false);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        metrics = new TagMetrics(true);
+        registry.setMetrics(metrics);
+    }
+
+    @Test
+    void testLookupsAndMisses() {
+        assertNotNull(registry.getInstance("Event"));
+        assertNotNull(registry.getInstance("EVENT"));
+        byte[] site = "[Site".getBytes(StandardCharsets.ISO_8859_1);
+        assertNotNull(registry.getInstance(site, 1, 4));
+        assertNotNull(registry.getInstance(ByteBuffer.wrap(site), 1, 4));
+        assertNull(registry.getInstance("Annotator"));
+        assertNull(registry.getInstance("Annotator".getBytes(StandardCharsets.ISO_8859_1), 0, 9));
+
+        TagMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getStatistics("Event").getLookups());
+        assertEquals(2, snapshot.getStatistics("Site").getLookups());
+        assertEquals(0, snapshot.getStatistics("WhiteElo").getLookups());
+        assertEquals(2, snapshot.getTotalMisses());
+        assertEquals(2, snapshot.getMisses().get("Annotator"));
+    }
+
+    @Test
+    void testCreationsAndFailures() {
+        TagCreator<CharSequence, Integer> elo = registry.getInstance("WhiteElo");
+        assertInstanceOf(InstrumentedTagCreator.class, elo);
+
+        PgnTag<Integer> tag = elo.createTag("2700");
+        assertEquals(2700, tag.getTagValue());
+        elo.createTag("");
+        assertFalse(elo.tryCreateTag("2147483648").isSuccess());
+        assertThrows(IllegalArgumentException.class, () -> elo.createTag("x"));
+        TagCreator<String, String> event = registry.getInstance("Event");
+        assertThrows(IllegalArgumentException.class, () -> event.createTag(" "));
+
+        TagStatistics statistics = metrics.snapshot().getStatistics("WhiteElo");
+        assertEquals(2, statistics.getCreations());
+        assertEquals(2, statistics.getValidationFailures());
+        assertEquals(1, statistics.getValidationFailures(TagCreationError.OUT_OF_RANGE));
+        assertEquals(1, statistics.getValidationFailures(TagCreationError.INVALID_VALUE));
+        assertEquals(1, statistics.getBlankValues());
+        assertTrue(statistics.hasLatencies());
+        assertEquals(4, statistics.getLatencyCount());
+        assertEquals(64, statistics.getLatencyHistogram().length);
+        assertTrue(statistics.getLatencyPercentileNanos(50) > 0);
+
+        TagStatistics eventStatistics = metrics.snapshot().getStatistics("Event");
+        assertEquals(1, eventStatistics.getValidationFailures(TagCreationError.MISSING_VALUE));
+        assertEquals(1, eventStatistics.getBlankValues());
+    }
+
+    @Test
+    void testCreateTagRecordsReason() {
+        TagCreator<CharSequence, Integer> elo = registry.getInstance("WhiteElo");
+        assertThrows(IllegalArgumentException.class, () -> elo.createTag("2147483648"));
+        assertThrows(IllegalArgumentException.class, () -> elo.createTag("x"));
+
+        TagStatistics statistics = metrics.snapshot().getStatistics("WhiteElo");
+        assertEquals(1, statistics.getValidationFailures(TagCreationError.OUT_OF_RANGE));
+        assertEquals(1, statistics.getValidationFailures(TagCreationError.INVALID_VALUE));
+    }
+
+    @Test
+    void testUtf8Creations() {
+        Utf8TagCreator<?, ?> elo = assertInstanceOf(Utf8TagCreator.class, registry.getInstance("WhiteElo"));
+        byte[] bytes = "[2700][x][ \u2003]".getBytes(StandardCharsets.UTF_8);
+        assertEquals(2700, elo.tryCreateTag(bytes, 1, 4).getTag().getTagValue());
+        assertEquals(TagCreationError.INVALID_VALUE, elo.tryCreateTag(ByteBuffer.wrap(bytes), 7, 1).getError());
+        assertTrue(elo.tryCreateTag(bytes, 10, 4).isSuccess());
+        assertInstanceOf(Utf8TagCreator.class, registry.getInstance("Event"));
+        assertFalse(metrics.instrument(TagCreatorEcoValue.getInstance("ECO", true, false)) instanceof Utf8TagCreator);
+
+        TagStatistics statistics = metrics.snapshot().getStatistics("WhiteElo");
+        assertEquals(2, statistics.getCreations());
+        assertEquals(1, statistics.getValidationFailures(TagCreationError.INVALID_VALUE));
+        assertEquals(1, statistics.getBlankValues());
+        assertEquals(3, statistics.getLatencyCount());
+    }
+
+    @Test
+    void testRemovingMetrics() {
+        registry.setMetrics(null);
+        assertNull(registry.getMetrics());
+        assertInstanceOf(TagCreatorIntValue.class, registry.getInstance("WhiteElo"));
+        assertEquals(0, metrics.snapshot().getStatistics("WhiteElo").getLookups());
+    }
+
+    @Test
+    void testLayoutUsesRegisteredCreators() {
+        TagSectionLayout layout = registry.getTagSectionLayout();
+        assertEquals(1, layout.getIntSlotCount());
+        assertEquals(0, metrics.snapshot().getTotalMisses());
+    }
+
+    @Test
+    void testInstrumentIsIdempotent() {
+        InstrumentedTagCreator<CharSequence, Integer> instrumented = metrics.instrument(TagCreatorIntValue.getInstance("BlackElo", true, false));
+        assertSame(instrumented, metrics.instrument(instrumented));
+
+        TagMetrics other = new TagMetrics();
+        InstrumentedTagCreator<CharSequence, Integer> reinstrumented = other.instrument(instrumented);
+        assertSame(instrumented.getDelegate(), reinstrumented.getDelegate());
+        assertFalse(other.snapshot().getStatistics("BlackElo").hasLatencies());
+    }
+
+    @Test
+    void testInvalidPercentile() {
+        TagStatistics statistics = metrics.snapshot().getStatistics("WhiteElo");
+        assertEquals(0, statistics.getLatencyPercentileNanos(99));
+        assertThrows(IllegalArgumentException.class, () -> statistics.getLatencyPercentileNanos(101));
+        assertThrows(IllegalArgumentException.class, () -> statistics.getLatencyPercentileNanos(Double.NaN));
+    }
+
+    @Test
+    void testConcurrentCreations() throws InterruptedException {
+        TagCreator<CharSequence, Integer> elo = registry.getInstance("WhiteElo");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    elo.tryCreateTag(i % 10 == 0 ? "?" : "2500");
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        TagStatistics statistics = metrics.snapshot().getStatistics("WhiteElo");
+        assertEquals(80_000, statistics.getCreations());
+        assertEquals(80_000, statistics.getLatencyCount());
+    }
+
+    @Test
+    void testFlightRecorderEvents(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("tags.jfr");
+        metrics.registerFlightRecorderEvents();
+        try (Recording recording = new Recording()) {
+            recording.enable(TagCreationEvent.NAME);
+            recording.enable(TagStatisticsEvent.NAME).withPeriod(Duration.ofMillis(10));
+            recording.start();
+            registry.<CharSequence, Integer>getInstance("WhiteElo").createTag("2600");
+            Thread.sleep(100);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            assertTrue(metrics.unregisterFlightRecorderEvents());
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(TagCreationEvent.NAME)
+                && e.getString("tagName").equals("WhiteElo") && e.getBoolean("success")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(TagStatisticsEvent.NAME)
+                && e.getString("tagName").equals("WhiteElo") && e.getLong("creations") == 1));
+    }
+}
@@ -0,0 +1,216 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalTagSectionParserTest {
+    private static final String[] RESULTS = {"1-0", "0-1", "1/2-1/2", "*"};
+
+    @TempDir
+    Path tempDir;
+
+    private static String game(int number) {
+        return "[Event \"Event " + number + "\"]\n"
+                + "[Round \"" + (number + 1) + "\"]\n"
+                + "[Result \"" + RESULTS[number % 4] + "\"]\n"
+                + "\n1. e4 {best by test} e5 2. Nf3 " + RESULTS[number % 4] + "\n\n";
+    }
+
+    private static String games(int from, int to) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            builder.append(game(i));
+        }
+        return builder.toString();
+    }
+
+    private static ParseCheckpoint parse(IncrementalTagSectionParser parser, Path file, ParseCheckpoint checkpoint,
+                                         List<String> events) throws IOException {
+        CreatorRegistry registry = parser.getRegistry();
+        return parser.parse(file, checkpoint, new TagSectionBuilder(registry.getTagSectionLayout(),
+                (section, offset) -> events.add(event(section))));
+    }
+
+    private static String event(TagSection section) {
+        return section.getTag("Event").getTagValue().toString();
+    }
+
+    private static List<String> events(int from, int to) {
+        List<String> events = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            events.add("Event " + i);
+        }
+        return events;
+    }
+
+    private void append(Path file, String pgn) throws IOException {
+        Files.writeString(file, pgn, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void testAppend() throws IOException {
+        IncrementalTagSectionParser parser = new IncrementalTagSectionParser(CreatorRegistry.getSevenTagRosterInstance(false));
+        Path file = tempDir.resolve("games.pgn");
+        append(file, games(0, 100));
+
+        List<String> events = new ArrayList<>();
+        ParseCheckpoint checkpoint = parse(parser, file, null, events);
+        assertEquals(events(0, 100), events);
+        assertEquals(100, checkpoint.getGameCount());
+        assertEquals(Files.size(file), checkpoint.getResumeOffset());
+        assertTrue(checkpoint.isFullScan());
+
+        // nothing new
+        events.clear();
+        checkpoint = parse(parser, file, checkpoint, events);
+        assertTrue(events.isEmpty());
+        assertEquals(100, checkpoint.getGameCount());
+        assertFalse(checkpoint.isFullScan());
+
+        long previousSize = Files.size(file);
+        append(file, games(100, 103));
+        events.clear();
+        checkpoint = parse(parser, file, checkpoint, events);
+        assertEquals(events(100, 103), events);
+        assertEquals(103, checkpoint.getGameCount());
+        assertEquals(previousSize, checkpoint.getStartOffset());
+        assertEquals(Files.size(file), checkpoint.getFileSize());
+    }
+
+    @Test
+    void testPartialGame() throws IOException {
+        IncrementalTagSectionParser parser = new IncrementalTagSectionParser(CreatorRegistry.getSevenTagRosterInstance(false));
+        Path file = tempDir.resolve("games.pgn");
+        String next = game(6);
+        append(file, games(0, 3));
+        long boundary = Files.size(file);
+
+        List<String> events = new ArrayList<>();
+        ParseCheckpoint checkpoint = null;
+        // write the next game in pieces: within the tag section, the move text, a comment and the result
+        for (int cut : new int[]{8, next.indexOf("[Round") + 3, next.indexOf("1. e4") + 3, next.indexOf("best"),
+                next.indexOf("Nf3") + 3, next.lastIndexOf("1/2-1/2") + 3}) {
+            Files.writeString(file, games(0, 3) + next.substring(0, cut));
+            checkpoint = parse(parser, file, checkpoint, events);
+            assertEquals(events(0, 3), events, next.substring(0, cut));
+            assertEquals(boundary, checkpoint.getResumeOffset());
+        }
+
+        Files.writeString(file, games(0, 3) + next.substring(0, next.lastIndexOf("1/2-1/2") + 7));
+        checkpoint = parse(parser, file, checkpoint, events);
+        List<String> expected = events(0, 3);
+        expected.add("Event 6");
+        assertEquals(expected, events);
+        assertEquals(Files.size(file), checkpoint.getResumeOffset());
+
+        // the remaining white space is not taken for a new game
+        append(file, "\n\n");
+        checkpoint = parse(parser, file, checkpoint, events);
+        append(file, games(7, 9));
+        checkpoint = parse(parser, file, checkpoint, events);
+        expected.addAll(events(7, 9));
+        assertEquals(expected, events);
+        assertEquals(6, checkpoint.getGameCount());
+        assertFalse(checkpoint.isFullScan());
+    }
+
+    @Test
+    void testRewrittenFile() throws IOException {
+        IncrementalTagSectionParser parser = new IncrementalTagSectionParser(CreatorRegistry.getSevenTagRosterInstance(false));
+        Path file = tempDir.resolve("games.pgn");
+        append(file, games(0, 200));
+        List<String> events = new ArrayList<>();
+        ParseCheckpoint checkpoint = parse(parser, file, null, events);
+
+        // truncated
+        Files.writeString(file, games(0, 10));
+        events.clear();
+        ParseCheckpoint truncated = parse(parser, file, checkpoint, events);
+        assertEquals(events(0, 10), events);
+        assertTrue(truncated.isFullScan());
+        assertEquals(10, truncated.getGameCount());
+
+        // rotated: a new file, larger than the old one
+        Files.writeString(file, games(300, 600));
+        events.clear();
+        ParseCheckpoint rotated = parse(parser, file, checkpoint, events);
+        assertEquals(events(300, 600), events);
+        assertTrue(rotated.isFullScan());
+
+        // rewritten near the resume offset, beyond the start of the file
+        String rewritten = games(0, 200).replace("Event 199", "Event 999");
+        Files.writeString(file, rewritten + games(200, 201));
+        events.clear();
+        ParseCheckpoint changed = parse(parser, file, checkpoint, events);
+        assertEquals(201, events.size());
+        assertEquals("Event 999", events.get(199));
+        assertTrue(changed.isFullScan());
+    }
+
+    @Test
+    void testRegistryChange() throws IOException {
+        Path file = tempDir.resolve("games.pgn");
+        append(file, games(0, 20));
+        CreatorRegistry registry = CreatorRegistry.getSevenTagRosterInstance(false);
+        List<String> events = new ArrayList<>();
+        ParseCheckpoint checkpoint = parse(new IncrementalTagSectionParser(registry), file, null, events);
+
+        CreatorRegistry same = CreatorRegistry.getSevenTagRosterInstance(false);
+        events.clear();
+        assertFalse(parse(new IncrementalTagSectionParser(same), file, checkpoint, events).isFullScan());
+        assertTrue(events.isEmpty());
+
+        CreatorRegistry extended = CreatorRegistry.getSevenTagRosterInstance(false);
+        extended.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        assertNotEquals(checkpoint.getRegistryFingerprint(),
+                IncrementalTagSectionParser.fingerprint(extended.getTagSectionLayout()));
+        ParseCheckpoint rescanned = parse(new IncrementalTagSectionParser(extended), file, checkpoint, events);
+        assertTrue(rescanned.isFullScan());
+        assertEquals(events(0, 20), events);
+    }
+
+    @Test
+    void testCheckpointRoundTrip() throws IOException {
+        IncrementalTagSectionParser parser = new IncrementalTagSectionParser(CreatorRegistry.getSevenTagRosterInstance(false));
+        Path file = tempDir.resolve("games.pgn");
+        append(file, games(0, 5) + "[Event \"Event 5\"]\n");
+        ParseCheckpoint checkpoint = parse(parser, file, null, new ArrayList<>());
+        assertEquals(5, checkpoint.getGameCount());
+        assertTrue(checkpoint.getResumeOffset() < checkpoint.getFileSize());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        checkpoint.writeTo(new DataOutputStream(bytes));
+        ParseCheckpoint restored = ParseCheckpoint.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(checkpoint, restored);
+        assertEquals(checkpoint.hashCode(), restored.hashCode());
+        assertEquals(checkpoint.toString(), restored.toString());
+
+        List<String> events = new ArrayList<>();
+        append(file, "[Round \"6\"]\n\n1. d4 *\n");
+        assertFalse(parse(parser, file, restored, events).isFullScan());
+        assertEquals(List.of("Event 5"), events);
+
+        byte[] corrupt = bytes.toByteArray();
+        corrupt[3] = 99;
+        assertThrows(InvalidObjectException.class,
+                () -> ParseCheckpoint.readFrom(new DataInputStream(new ByteArrayInputStream(corrupt))));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalTagSectionParser(null));
+    }
+}
@@ -0,0 +1,218 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTagWriter;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestPipelineTest {
+    @TempDir
+    Path tempDir;
+
+    private CreatorRegistry registry;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getDefaultInstance(new HashSet<>(CreatorRegistry.getSevenTagRosterNames()), true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+    }
+
+    @Test
+    void testMatchesSequentialParse() throws IOException, InterruptedException {
+        List<IngestSource> sources = new ArrayList<>();
+        Map<String, Map<Long, String>> expected = new TreeMap<>();
+        for (int i = 0; i < 12; i++) {
+            String pgn = ParallelTagSectionParserTest.games(40 + i * 7, i % 2 == 0 ? "\n" : "\r\n");
+            Path file = tempDir.resolve("games-" + i + ".pgn");
+            Files.writeString(file, pgn);
+            sources.add(i % 3 == 0 ? IngestSource.of(file) : source("memory-" + i, pgn));
+
+            Map<Long, String> sections = new TreeMap<>();
+            new TagSectionParser(registry).parse(file, new TagSectionBuilder(registry.getTagSectionLayout(),
+                    (section, offset) -> sections.put(offset, format(section))));
+            expected.put(sources.get(i).getName(), sections);
+        }
+
+        Map<String, Map<Long, String>> actual = new ConcurrentHashMap<>();
+        IngestPipeline pipeline = IngestPipeline.builder(registry)
+                .readBufferSize(100)
+                .maxOpenSources(5)
+                .batchSize(8)
+                .rawQueueCapacity(2)
+                .createParallelism(3)
+                .sectionQueueCapacity(2)
+                .sinkParallelism(2)
+                .build();
+        IngestStatistics statistics = pipeline.run(sources, (source, section, offset) ->
+                actual.computeIfAbsent(source.getName(), name -> new ConcurrentHashMap<>()).put(offset, format(section)));
+
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((name, sections) -> assertEquals(sections, new TreeMap<>(actual.get(name)), name));
+
+        long total = expected.values().stream().mapToLong(Map::size).sum();
+        assertEquals(12, statistics.getSourceCount());
+        assertEquals(12, statistics.getCompletedSources());
+        for (StageStatistics stage : statistics.getStages()) {
+            assertEquals(total, stage.getSections(), stage.getName());
+        }
+        assertEquals(List.of("read", "create", "sink"), statistics.getStages().stream().map(StageStatistics::getName).toList());
+        assertTrue(statistics.getReadStage().getBytes() > 0);
+        assertEquals(0, statistics.getReadStage().getQueueCapacity());
+        assertEquals(3, statistics.getCreateStage().getParallelism());
+        assertEquals(2, statistics.getCreateStage().getQueueCapacity());
+        assertTrue(statistics.getCreateStage().getQueuePeak() <= 2);
+        assertEquals(0, statistics.getSinkStage().getQueueSize());
+        assertTrue(statistics.getCreateStage().getSectionsPerSecond() > 0);
+    }
+
+    @Test
+    void testInvalidAndMalformedTagsAreCounted() throws IOException, InterruptedException {
+        String pgn = ParallelTagSectionParserTest.games(30, "\n")
+                .replace("[WhiteElo \"2005\"]", "[WhiteElo \"x\"]")
+                .replace("[Round \"7\"]", "[Round \"7]");
+        List<TagSection> sections = new ArrayList<>();
+
+        IngestStatistics statistics = IngestPipeline.builder(registry).createParallelism(1).build()
+                .run(List.of(source("games", pgn)), (source, section, offset) -> sections.add(section));
+
+        assertEquals(30, sections.size());
+        assertEquals(1, statistics.getInvalidTags());
+        assertEquals(1, statistics.getMalformedTags());
+        assertFalse(sections.get(5).contains("WhiteElo"));
+        assertEquals(2004, sections.get(4).getTag("WhiteElo").getTagValue());
+    }
+
+    @Test
+    void testNoSources() throws IOException, InterruptedException {
+        IngestStatistics statistics = IngestPipeline.builder(registry).build().run(List.of(), (source, section, offset) -> fail());
+        assertEquals(0, statistics.getCompletedSources());
+        assertEquals(0, statistics.getSinkStage().getSections());
+    }
+
+    @Test
+    void testFailingSinkAbortsJob() {
+        IngestPipeline pipeline = IngestPipeline.builder(registry).batchSize(1).build();
+        List<IngestSource> sources = List.of(source("a", ParallelTagSectionParserTest.games(100, "\n")),
+                source("b", ParallelTagSectionParserTest.games(100, "\n")));
+
+        IOException e = assertThrows(IOException.class, () -> pipeline.run(sources, (source, section, offset) -> {
+            throw new IOException("disk full");
+        }));
+        assertEquals("disk full", e.getMessage());
+    }
+
+    @Test
+    void testFailingSourceAbortsJob() {
+        IngestSource broken = new IngestSource() {
+            @Override
+            public @Nonnull String getName() {
+                return "broken";
+            }
+
+            @Override
+            public @Nonnull ReadableByteChannel open() throws IOException {
+                throw new IOException("unreachable");
+            }
+        };
+        IngestPipeline pipeline = IngestPipeline.builder(registry).build();
+
+        assertThrows(IOException.class, () -> pipeline.run(List.of(broken), (source, section, offset) -> {
+        }));
+    }
+
+    @Test
+    void testBackpressureAndCancel() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        IngestPipeline pipeline = IngestPipeline.builder(registry)
+                .batchSize(1)
+                .rawQueueCapacity(2)
+                .createParallelism(1)
+                .sectionQueueCapacity(2)
+                .build();
+        IngestJob job = pipeline.start(List.of(source("games", ParallelTagSectionParserTest.games(500, "\n"))),
+                (source, section, offset) -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                });
+
+        // the blocked sink holds up all stages, so the source is not read to its end
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((job.getStatistics().getCreateStage().getQueueSize() < 2 || job.getStatistics().getSinkStage().getQueueSize() < 2)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        IngestStatistics statistics = job.getStatistics();
+        assertEquals(2, statistics.getCreateStage().getQueueSize());
+        assertEquals(2, statistics.getSinkStage().getQueueSize());
+        assertTrue(statistics.getReadStage().getSections() < 10);
+        assertFalse(job.isDone());
+
+        job.cancel();
+        assertThrows(CancellationException.class, job::await);
+        assertTrue(job.isDone());
+        release.countDown();
+    }
+
+    @Test
+    void testInvalidSettings() {
+        IngestPipelineBuilder builder = IngestPipeline.builder(registry);
+        assertThrows(IllegalArgumentException.class, () -> builder.batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.createParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.sinkParallelism(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.rawQueueCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.sectionQueueCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.readBufferSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxOpenSources(0));
+        assertThrows(IllegalArgumentException.class, () -> IngestPipeline.builder(null));
+    }
+
+    private static IngestSource source(String name, String pgn) {
+        return new IngestSource() {
+            @Override
+            public @Nonnull String getName() {
+                return name;
+            }
+
+            @Override
+            public @Nonnull ReadableByteChannel open() {
+                return Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8)));
+            }
+        };
+    }
+
+    private static String format(TagSection section) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            PgnTagWriter.appendTagSection(builder, section);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.AggregatingTagDiagnostics;
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTagWriter;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTagSectionParserTest {
+    @TempDir
+    Path tempDir;
+
+    private CreatorRegistry registry;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getDefaultInstance(new HashSet<>(CreatorRegistry.getSevenTagRosterNames()), true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    static String games(int count, String lineSeparator) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append("[Event \"Event ").append(i).append("\"]").append(lineSeparator)
+                    .append("[Site \"Site ").append(i % 7).append("\"]").append(lineSeparator)
+                    .append("[Round \"").append(i).append("\"]").append(lineSeparator)
+                    .append("[WhiteElo \"").append(2000 + i).append("\"]").append(lineSeparator)
+                    .append("[Annotator \"A").append(i).append("\"]").append(lineSeparator)
+                    .append(lineSeparator)
+                    .append("1. e4 {a comment with [brackets]} e5 ").append("2. Nf3 ".repeat(i % 13)).append("*")
+                    .append(lineSeparator).append(lineSeparator);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testMatchesSequentialParse() throws IOException {
+        assertMatchesSequentialParse(games(500, "\n"), 1000);
+    }
+
+    @Test
+    void testMatchesSequentialParseWithCrLf() throws IOException {
+        assertMatchesSequentialParse(games(200, "\r\n"), 777);
+    }
+
+    @Test
+    void testChunkLargerThanFile() throws IOException {
+        assertMatchesSequentialParse(games(20, "\n"), ParallelTagSectionParser.DEFAULT_CHUNK_SIZE);
+    }
+
+    @Test
+    void testWithoutEventTags() throws IOException {
+        String pgn = games(300, "\n").replaceAll("\\[Event [^\n]*\n", "");
+        assertMatchesSequentialParse(pgn, 500);
+
+        ParallelTagSectionParser parser = new ParallelTagSectionParser(registry, pool, 500);
+        try (FileChannel channel = FileChannel.open(tempDir.resolve("games.pgn"), StandardOpenOption.READ)) {
+            long[] boundaries = parser.findChunkBoundaries(channel);
+            assertTrue(boundaries.length > 10);
+            for (int i = 1; i < boundaries.length - 1; i++) {
+                assertTrue(pgn.startsWith("[Site", (int) boundaries[i]), "boundary " + boundaries[i]);
+            }
+        }
+    }
+
+    @Test
+    void testNoBoundaries() throws IOException {
+        Path file = tempDir.resolve("games.pgn");
+        Files.writeString(file, games(50, "\n").replace("\n\n[", "\n["));
+
+        ParallelTagSectionParser parser = new ParallelTagSectionParser(registry, pool, 100);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertArrayEquals(new long[]{0, channel.size()}, parser.findChunkBoundaries(channel));
+        }
+        assertEquals(50, parser.parse(file, (section, offset) -> {
+        }));
+    }
+
+    @Test
+    void testInvalidTagAbortsParse() throws IOException {
+        Path file = tempDir.resolve("games.pgn");
+        Files.writeString(file, games(100, "\n").replace("[WhiteElo \"2050\"]", "[WhiteElo \"x\"]"));
+
+        ParallelTagSectionParser parser = new ParallelTagSectionParser(registry, pool, 500);
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(file, (section, offset) -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(file, (section, offset) -> {
+        }, null));
+    }
+
+    @Test
+    void testInvalidTagsSkipped() throws IOException {
+        Path file = tempDir.resolve("games.pgn");
+        Files.writeString(file, games(100, "\n").replace("[WhiteElo \"2050\"]", "[WhiteElo \"x\"]")
+                .replace("[WhiteElo \"2075\"]", "[WhiteElo \"99999999999\"]"));
+
+        AggregatingTagDiagnostics invalidTags = new AggregatingTagDiagnostics(0, Duration.ofHours(1));
+        List<TagSection> sections = new ArrayList<>();
+        ParallelTagSectionParser parser = new ParallelTagSectionParser(registry, pool, 500);
+        assertEquals(100, parser.parse(file, (section, offset) -> sections.add(section), invalidTags));
+
+        assertEquals(100, sections.size());
+        assertNull(sections.get(50).getTag("WhiteElo"));
+        assertNull(sections.get(75).getTag("WhiteElo"));
+        assertEquals("Event 50", sections.get(50).getTag("Event").getTagValue());
+        assertEquals(2051, sections.get(51).getTag("WhiteElo").getTagValue());
+        assertEquals(1, invalidTags.getCount("WhiteElo", TagCreationError.INVALID_VALUE));
+        assertEquals(1, invalidTags.getCount("WhiteElo", TagCreationError.OUT_OF_RANGE));
+    }
+
+    @Test
+    void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTagSectionParser(registry, pool, 0));
+    }
+
+    private void assertMatchesSequentialParse(String pgn, long chunkSize) throws IOException {
+        Path file = tempDir.resolve("games.pgn");
+        Files.writeString(file, pgn);
+
+        List<String> expected = new ArrayList<>();
+        long expectedCount = new TagSectionParser(registry).parse(file,
+                new TagSectionBuilder(registry.getTagSectionLayout(), (section, offset) -> expected.add(format(section, offset))));
+
+        List<String> actual = new ArrayList<>();
+        ParallelTagSectionParser parser = new ParallelTagSectionParser(registry, pool, chunkSize);
+        long count = parser.parse(file, (section, offset) -> actual.add(format(section, offset)));
+
+        assertEquals(expectedCount, count);
+        assertEquals(expected, actual);
+    }
+
+    private static String format(TagSection section, long offset) {
+        StringBuilder builder = new StringBuilder().append(offset).append(':');
+        try {
+            PgnTagWriter.appendTagSection(builder, section);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,240 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnResult;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.metrics.TagMetrics;
+import eu.oberon.oss.chess.pgn.tags.metrics.TagMetricsSnapshot;
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagScanTest {
+    private static final String[] RESULTS = {"1-0", "0-1", "1/2-1/2", "*"};
+
+    @TempDir
+    Path tempDir;
+
+    private static String games(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append("[Event \"Event ").append(i).append("\"]\n")
+                    .append("[Site \"Site ").append(i % 7).append("\"]\n")
+                    .append("[White \"Player ").append(i % 50).append("\"]\n");
+            if (i % 10 != 0) {
+                builder.append("[WhiteElo \"").append(2000 + i % 800).append("\"]\n");
+            }
+            builder.append("[Result \"").append(RESULTS[i % 4]).append("\"]\n")
+                    .append("[Annotator \"A").append(i % 3).append("\"]\n")
+                    .append("\n1. e4 e5 ").append(RESULTS[i % 4]).append("\n\n");
+        }
+        return builder.toString();
+    }
+
+    private static CreatorRegistry registry() {
+        CreatorRegistry registry = CreatorRegistry.getSevenTagRosterInstance(false);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+        return registry;
+    }
+
+    private static ReadableByteChannel channel(String pgn) {
+        return Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<TagSection> build(CreatorRegistry registry, String pgn) throws IOException {
+        List<TagSection> sections = new ArrayList<>();
+        new TagSectionParser(registry).parse(channel(pgn), new TagSectionBuilder(registry.getTagSectionLayout(),
+                (section, offset) -> sections.add(section)));
+        return sections;
+    }
+
+    private static boolean selected(TagSection section) {
+        int elo = section.getIntValue(section.getLayout().getOrdinal("WhiteElo"));
+        PgnTag<?> result = section.getTag("Result");
+        return elo != Integer.MIN_VALUE && elo >= 2600 && result != null && result.getTagValue() == PgnResult.WHITE_WINS;
+    }
+
+    @Test
+    void testMatchesFilteredBuild() throws IOException {
+        CreatorRegistry registry = registry();
+        String pgn = games(2000);
+        TagScan scan = TagScan.builder()
+                .project("White", "event")
+                .whereInt("WhiteElo", elo -> elo >= 2600)
+                .whereEquals("Result", PgnResult.WHITE_WINS)
+                .build();
+
+        List<TagSection> expected = build(registry, pgn).stream().filter(TagScanTest::selected).toList();
+        List<TagSection> sections = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        Path file = Files.writeString(tempDir.resolve("games.pgn"), pgn);
+        long count = new TagSectionParser(registry).parse(file, scan, new TagSectionBuilder(registry.getTagSectionLayout(),
+                (section, offset) -> {
+                    sections.add(section);
+                    offsets.add(offset);
+                }));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            TagSection section = sections.get(i);
+            assertEquals(4, section.size());
+            for (String tagName : List.of("Event", "White", "WhiteElo", "Result")) {
+                assertTrue(PgnTag.isEqual(expected.get(i).getTag(tagName), section.getTag(tagName)), tagName);
+            }
+            assertFalse(section.contains("Site"));
+            assertTrue(pgn.startsWith("[Event \"" + section.getTagValue(0) + "\"]", offsets.get(i).intValue()));
+        }
+        assertEquals(List.of("White", "event"), List.copyOf(scan.getProjection()));
+        assertEquals(List.of("WhiteElo", "Result"), List.copyOf(scan.getConditionTagNames()));
+    }
+
+    @Test
+    void testConversionsSkipped() throws IOException {
+        CreatorRegistry roster = registry();
+        CreatorRegistry registry = new CreatorRegistry();
+        TagMetrics metrics = new TagMetrics();
+        for (String tagName : List.of("Event", "Site", "Date", "Round", "White", "Black", "Result", "WhiteElo")) {
+            registry.registerTagCreator(metrics.instrument(roster.getInstance(tagName)));
+        }
+        TagScan scan = TagScan.builder()
+                .project("Event")
+                .whereInt("WhiteElo", elo -> elo >= 2790)
+                .build();
+
+        long count = new TagSectionParser(registry).parse(channel(games(2000)), scan, new TagSectionBuilder(
+                registry.getTagSectionLayout(), (section, offset) -> {
+        }));
+
+        // ratings 2790..2799 occur in games 790..799 and 1590..1599; games 790 and 1590 have no rating
+        assertEquals(18, count);
+        TagMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2000 - 200, snapshot.getStatistics("WhiteElo").getCreations());
+        assertEquals(count, snapshot.getStatistics("Event").getCreations());
+        for (String tagName : List.of("Site", "White", "Result")) {
+            assertTrue(snapshot.getStatistics(tagName) == null || snapshot.getStatistics(tagName).getCreations() == 0, tagName);
+        }
+    }
+
+    @Test
+    void testUnknownAndInvalidTags() throws IOException {
+        CreatorRegistry registry = registry();
+        String pgn = """
+                [Event "E1"]
+                [WhiteElo "abc"]
+                [Annotator "A1"]
+
+                *
+
+                [Event "E2"]
+                [WhiteElo "2700"]
+                [Annotator "A1"]
+                [Date "2024.13.45"]
+
+                *
+
+                [Event "E3"]
+                [Annotator "A2"]
+
+                *
+                """;
+        List<String> events = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        TagSectionHandler handler = new TagSectionHandler() {
+            @Override
+            public void tag(@Nonnull PgnTag<?> tag) {
+                if (tag.getTagName().equals("Event")) {
+                    events.add(tag.getTagValue().toString());
+                }
+            }
+
+            @Override
+            public void unknownTag(@Nonnull String tagName, @Nonnull String tagValue) {
+                assertEquals("Annotator", tagName);
+                assertEquals("A1", tagValue);
+            }
+
+            @Override
+            public void invalidTag(@Nonnull String tagName, @Nonnull String tagValue, @Nonnull TagCreationResult<?> failure) {
+                invalid.add(tagName + "=" + tagValue);
+            }
+        };
+
+        TagSectionParser parser = new TagSectionParser(registry);
+        TagScan scan = TagScan.builder()
+                .project("Event", "Date")
+                .where("annotator", String.class, "A1"::equals)
+                .build();
+        assertEquals(2, parser.parse(channel(pgn), scan, handler));
+        assertEquals(List.of("E1", "E2"), events);
+        assertEquals(List.of("Date=2024.13.45"), invalid);
+
+        // an invalid value fails the condition instead of aborting the parse
+        events.clear();
+        TagScan rated = TagScan.builder()
+                .project("Event")
+                .whereInt("WhiteElo", elo -> true)
+                .where("Annotator", String.class, "A1"::equals)
+                .build();
+        assertEquals(1, parser.parse(channel(pgn), rated, handler));
+        assertEquals(List.of("E2"), events);
+    }
+
+    @Test
+    void testBuilder() {
+        TagScan scan = TagScan.builder()
+                .project("White", "WHITE", "Black")
+                .whereInt("whiteelo", elo -> elo > 2000)
+                .whereInt("WhiteElo", elo -> elo < 2100)
+                .where("White", String.class, name -> name.startsWith("C"))
+                .build();
+        assertEquals(List.of("White", "Black"), List.copyOf(scan.getProjection()));
+        assertEquals(List.of("whiteelo", "White"), List.copyOf(scan.getConditionTagNames()));
+        assertTrue(scan.toString().contains("whiteelo"));
+
+        TagScan empty = TagScan.builder().build();
+        assertTrue(empty.getProjection().isEmpty());
+        assertTrue(empty.getConditionTagNames().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> TagScan.builder().project(" "));
+        assertThrows(IllegalArgumentException.class, () -> TagScan.builder().whereInt(null, elo -> true));
+        assertThrows(IllegalArgumentException.class, () -> TagScan.builder().whereInt("WhiteElo", null));
+        assertThrows(IllegalArgumentException.class, () -> TagScan.builder().where("White", null, value -> true));
+        assertThrows(IllegalArgumentException.class, () -> TagScan.builder().whereEquals("Result", null));
+    }
+
+    @Test
+    void testCombinedConditions() throws IOException {
+        CreatorRegistry registry = registry();
+        TagScan scan = TagScan.builder()
+                .whereInt("whiteelo", elo -> elo > 2000)
+                .whereInt("WhiteElo", elo -> elo < 2010)
+                .build();
+        List<TagSection> sections = new ArrayList<>();
+        long count = new TagSectionParser(registry).parse(channel(games(1600)), scan,
+                new TagSectionBuilder(registry.getTagSectionLayout(), (section, offset) -> sections.add(section)));
+        // 2001..2009 in every 800 games; elo 2000 itself is never selected
+        assertEquals(2 * 9, count);
+        for (TagSection section : sections) {
+            assertEquals(1, section.size());
+            int elo = section.getIntValue(section.getLayout().getOrdinal("WhiteElo"));
+            assertTrue(elo > 2000 && elo < 2010);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package eu.oberon.oss.chess.pgn.tags.parser;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagCreationError;
+import eu.oberon.oss.chess.pgn.tags.TagCreationResult;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagSectionParserTest {
+    static final String PGN = """
+            [Event "F/S Return Match"]
+            [Site "Belgrade, Serbia JUG"]
+            [Date "1992.11.04"]
+            [Round "29"]
+            [White "Fischer, Robert J."]
+            [Black "Spassky, Boris V."]
+            [Result "1/2-1/2"]
+            [Annotator "Some \\"quoted\\" name"]
+
+            1.e4 e5 2.Nf3 Nc6 3.Bb5 {This opening [is] called the Ruy Lopez.} 3...a6
+            ; a [comment] line
+            4.Ba4 1/2-1/2
+
+            [Event "Titled Arena"]
+            [Site "https://lichess.org"]
+            ; a comment inside the tag section
+            [Date "2024.01.01"]
+            [Round "-"]
+            [White "Früh, Jürgen"]
+            [Black "B"]
+            [Result "1-0"]
+            [WhiteElo "2650"]
+
+            1. d4 { [%clk 0:03:00] } 1-0
+            """;
+
+    private CreatorRegistry registry;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getDefaultInstance(new HashSet<>(CreatorRegistry.getSevenTagRosterNames()), true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+    }
+
+    @Test
+    void testParseChannel() throws IOException {
+        RecordingHandler handler = new RecordingHandler();
+        long count = new TagSectionParser(registry).parse(channel(PGN), handler);
+        assertExpectedGames(count, handler);
+    }
+
+    @Test
+    void testParseChannelWithTinyBuffers() throws IOException {
+        RecordingHandler handler = new RecordingHandler();
+        long count = new TagSectionParser(registry, 3).parse(channel(PGN), handler);
+        assertExpectedGames(count, handler);
+    }
+
+    @Test
+    void testParseMappedFile(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("games.pgn");
+        Files.writeString(file, PGN);
+
+        RecordingHandler handler = new RecordingHandler();
+        long count = new TagSectionParser(registry).parse(file, handler);
+        assertExpectedGames(count, handler);
+    }
+
+    @Test
+    void testGameOffsets() throws IOException {
+        RecordingHandler handler = new RecordingHandler();
+        new TagSectionParser(registry).parse(channel(PGN), handler);
+
+        byte[] bytes = PGN.getBytes(StandardCharsets.UTF_8);
+        assertEquals(List.of(0L, (long) indexOf(bytes, "[Event \"Titled")), handler.starts);
+        assertEquals('1', bytes[(int) (long) handler.ends.get(0)]);
+    }
+
+    @Test
+    void testMalformedAndInvalidTags() throws IOException {
+        String pgn = """
+                [Event "E"]
+                [Site "no closing bracket"
+                [Round ]
+                [WhiteElo "not-a-number"]
+                [Date "D"]
+                *
+                """;
+        RecordingHandler handler = new RecordingHandler();
+        long count = new TagSectionParser(registry).parse(channel(pgn), handler);
+
+        assertEquals(1, count);
+        assertEquals(2, handler.malformed);
+        assertEquals(List.of("WhiteElo"), handler.invalid);
+        assertEquals(List.of("Event=E", "Date=D"), handler.games.get(0));
+    }
+
+    @Test
+    void testInvalidTagAbortsByDefault() {
+        TagSectionHandler handler = tag -> {
+        };
+        TagSectionParser parser = new TagSectionParser(registry);
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(channel("[WhiteElo \"x\"] *"), handler));
+    }
+
+    @Test
+    void testInvalidTagResult() throws IOException {
+        List<TagCreationResult<?>> failures = new ArrayList<>();
+        TagSectionHandler handler = new TagSectionHandler() {
+            @Override
+            public void tag(@Nonnull PgnTag<?> tag) {
+            }
+
+            @Override
+            public void invalidTag(@Nonnull String tagName, @Nonnull String tagValue, @Nonnull TagCreationResult<?> failure) {
+                failures.add(failure);
+            }
+        };
+        new TagSectionParser(registry).parse(channel("[WhiteElo \"x\"]\n[Event \"\"]\n\n*"), handler);
+
+        assertEquals(2, failures.size());
+        assertEquals(TagCreationError.INVALID_VALUE, failures.get(0).getError());
+        assertEquals("x", failures.get(0).getInputValue());
+        assertEquals(TagCreationError.MISSING_VALUE, failures.get(1).getError());
+    }
+
+    @Test
+    void testTagSectionWithoutMoveText() throws IOException {
+        RecordingHandler handler = new RecordingHandler();
+        long count = new TagSectionParser(registry).parse(channel("[Event \"E\"]\n[Site \"S\"]"), handler);
+        assertEquals(1, count);
+        assertEquals(List.of("Event=E", "Site=S"), handler.games.get(0));
+        assertEquals(1, handler.ends.size());
+    }
+
+    @Test
+    void testBuildTagSections() throws IOException {
+        List<TagSection> sections = new ArrayList<>();
+        new TagSectionParser(registry).parse(channel(PGN), new TagSectionBuilder(registry.getTagSectionLayout(), (section, offset) -> sections.add(section)));
+
+        assertEquals(2, sections.size());
+        assertEquals(8, sections.get(0).size());
+        assertEquals("Some \"quoted\" name", sections.get(0).getTag("Annotator").getTagValue());
+        assertEquals(2650, sections.get(1).getIntValue(registry.getTagSectionLayout().getOrdinal("WhiteElo")));
+    }
+
+    @Test
+    void testInvalidBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TagSectionParser(registry, 0));
+    }
+
+    private static void assertExpectedGames(long count, RecordingHandler handler) {
+        assertEquals(2, count);
+        assertEquals(2, handler.games.size());
+        assertEquals(List.of(
+                "Event=F/S Return Match", "Site=Belgrade, Serbia JUG", "Date=1992.11.04", "Round=29",
+                "White=Fischer, Robert J.", "Black=Spassky, Boris V.", "Result=1/2-1/2"
+        ), handler.games.get(0));
+        assertEquals(List.of(
+                "Event=Titled Arena", "Site=https://lichess.org", "Date=2024.01.01", "Round=-",
+                "White=Früh, Jürgen", "Black=B", "Result=1-0", "WhiteElo=2650"
+        ), handler.games.get(1));
+        assertEquals(List.of("Annotator=Some \"quoted\" name"), handler.unknown);
+        assertEquals(0, handler.malformed);
+    }
+
+    private static ReadableByteChannel channel(String pgn) {
+        return Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static int indexOf(byte[] bytes, String text) {
+        return new String(bytes, StandardCharsets.ISO_8859_1).indexOf(text);
+    }
+
+    static class RecordingHandler implements TagSectionHandler {
+        final List<List<String>> games = new ArrayList<>();
+        final List<Long> starts = new ArrayList<>();
+        final List<Long> ends = new ArrayList<>();
+        final List<String> unknown = new ArrayList<>();
+        final List<String> invalid = new ArrayList<>();
+        int malformed;
+
+        @Override
+        public void startTagSection(long offset) {
+            starts.add(offset);
+            games.add(new ArrayList<>());
+        }
+
+        @Override
+        public void tag(@Nonnull PgnTag<?> tag) {
+            games.get(games.size() - 1).add(tag.getTagName() + "=" + tag.getTagValue());
+        }
+
+        @Override
+        public void unknownTag(@Nonnull String tagName, @Nonnull String tagValue) {
+            unknown.add(tagName + "=" + tagValue);
+        }
+
+        @Override
+        public void invalidTag(@Nonnull String tagName, @Nonnull String tagValue, @Nonnull IllegalArgumentException exception) {
+            invalid.add(tagName);
+        }
+
+        @Override
+        public void malformedTag(long offset) {
+            malformed++;
+        }
+
+        @Override
+        public void endTagSection(long offset) {
+            ends.add(offset);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package eu.oberon.oss.chess.pgn.tags.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapDictionaryTest {
+    @Test
+    void testAddAndFind() {
+        OffHeapDictionary dictionary = new OffHeapDictionary();
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, dictionary.add("Value " + i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, dictionary.add("Value " + i));
+            assertEquals(i, dictionary.find("Value " + i));
+            assertEquals("Value " + i, dictionary.get(i));
+        }
+        assertEquals(10000, dictionary.size());
+        assertEquals(-1, dictionary.find("Value 10000"));
+        assertTrue(dictionary.getHeapIndexBytes() >= 2 * 10000 * Integer.BYTES);
+    }
+
+    @Test
+    void testUnicodeAndEmptyValues() {
+        OffHeapDictionary dictionary = new OffHeapDictionary();
+        int empty = dictionary.add("");
+        int unicode = dictionary.add("Café Tréport – Ø");
+        assertEquals("", dictionary.get(empty));
+        assertEquals("Café Tréport – Ø", dictionary.get(unicode));
+        assertEquals(unicode, dictionary.find("Café Tréport – Ø"));
+    }
+
+    @Test
+    void testLargeValuesAndBlockBoundaries() {
+        OffHeapDictionary dictionary = new OffHeapDictionary();
+        String small = "x".repeat(OffHeapDictionary.DATA_BLOCK_SIZE / 4 - 1);
+        String large = "y".repeat(OffHeapDictionary.DATA_BLOCK_SIZE * 2);
+        int first = dictionary.add(small + "1");
+        int second = dictionary.add(large);
+        int[] more = new int[8];
+        for (int i = 0; i < more.length; i++) {
+            more[i] = dictionary.add(small + i);
+        }
+        assertEquals(large, dictionary.get(second));
+        assertEquals(small + "1", dictionary.get(first));
+        assertEquals(first, more[1]);
+        for (int i = 0; i < more.length; i++) {
+            assertEquals(small + i, dictionary.get(more[i]));
+        }
+    }
+}
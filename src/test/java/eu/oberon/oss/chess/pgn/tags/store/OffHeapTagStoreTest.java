@@ -0,0 +1,177 @@
+package eu.oberon.oss.chess.pgn.tags.store;
+
+import eu.oberon.oss.chess.pgn.tags.CreatorRegistry;
+import eu.oberon.oss.chess.pgn.tags.IntPgnTag;
+import eu.oberon.oss.chess.pgn.tags.PgnTag;
+import eu.oberon.oss.chess.pgn.tags.TagSection;
+import eu.oberon.oss.chess.pgn.tags.columnar.ColumnType;
+import eu.oberon.oss.chess.pgn.tags.creators.PgnDate;
+import eu.oberon.oss.chess.pgn.tags.creators.TagCreatorIntValue;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionBuilder;
+import eu.oberon.oss.chess.pgn.tags.parser.TagSectionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTagStoreTest {
+    private CreatorRegistry registry;
+
+    @BeforeEach
+    void init() {
+        registry = CreatorRegistry.getSevenTagRosterInstance(true);
+        registry.registerTagCreator(TagCreatorIntValue.getInstance("WhiteElo", true, false));
+    }
+
+    private List<TagSection> parse(int count) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append("[Event \"Event ").append(i % 50).append("\"]\n")
+                    .append("[Date \"20").append(10 + i % 10).append(".0").append(1 + i % 9).append(".1").append(i % 10).append("\"]\n")
+                    .append("[Round \"").append(1 + i % 9).append("\"]\n")
+                    .append("[White \"Player ").append(i % 500).append("\"]\n")
+                    .append("[Result \"1-0\"]\n");
+            if (i % 5 == 1) {
+                builder.append("[WhiteElo \"\"]\n");
+            } else if (i % 5 != 0) {
+                builder.append("[WhiteElo \"").append(2000 + i % 400).append("\"]\n");
+            }
+            builder.append("[Annotator \"A\"]\n\n*\n\n");
+        }
+        List<TagSection> sections = new ArrayList<>();
+        new TagSectionParser(registry).parse(Channels.newChannel(new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8))),
+                new TagSectionBuilder(registry.getTagSectionLayout(), (section, offset) -> sections.add(section)));
+        return sections;
+    }
+
+    @Test
+    void testAppendAndRead() throws IOException {
+        List<TagSection> sections = parse(1000);
+        OffHeapTagStore store = new OffHeapTagStore(registry.getTagSectionLayout(), 64);
+        for (int i = 0; i < sections.size(); i++) {
+            assertEquals(i, store.append(sections.get(i)));
+        }
+        assertEquals(1000, store.size());
+
+        for (int row = 0; row < sections.size(); row++) {
+            TagSection section = sections.get(row);
+            for (int ordinal = 0; ordinal < store.getLayout().size(); ordinal++) {
+                assertEquals(section.contains(ordinal), store.contains(row, ordinal));
+                PgnTag<?> tag = store.getTag(row, ordinal);
+                PgnTag<?> expected = section.getTag(ordinal);
+                if (expected == null) {
+                    assertNull(tag);
+                } else if (store.getLayout().getTagName(ordinal).equals("Round")
+                        || store.getLayout().getTagName(ordinal).equals("Result")) {
+                    // typed values of string columns are stored as their string representation
+                    assertEquals(expected.getTagValue().toString(), tag.getTagValue());
+                } else {
+                    assertTrue(PgnTag.isEqual(tag, expected), store.getLayout().getTagName(ordinal) + " in row " + row);
+                    assertEquals(PgnTag.hashCodeOf(expected), tag.hashCode());
+                }
+            }
+        }
+        assertEquals("Player 7", store.getTag(7, "white").getTagValue());
+        assertTrue(store.getTag(7, "White").isRequiredTag());
+        assertFalse(store.getTag(7, "WhiteElo").isRequiredTag());
+        assertNull(store.getTag(7, "Annotator"));
+        assertEquals(PgnDate.of(2017, 8, 17), store.getTag(7, "Date").getTagValue());
+        assertInstanceOf(IntPgnTag.class, store.getTag(7, "WhiteElo"));
+        assertEquals(2007, store.getIntValue(7, store.getLayout().getOrdinal("WhiteElo")));
+
+        // a tag present without a value
+        assertTrue(store.contains(6, store.getLayout().getOrdinal("WhiteElo")));
+        assertNull(store.getTag(6, "WhiteElo").getTagValue());
+        assertEquals(IntPgnTag.MISSING_VALUE, store.getIntValue(6, store.getLayout().getOrdinal("WhiteElo")));
+        assertNull(store.getTag(5, "WhiteElo"));
+    }
+
+    @Test
+    void testGetTagSection() throws IOException {
+        List<TagSection> sections = parse(10);
+        OffHeapTagStore store = new OffHeapTagStore(registry.getTagSectionLayout());
+        sections.forEach(store::append);
+
+        TagSection copy = store.getTagSection(3);
+        assertEquals(sections.get(3).getIntValue(store.getLayout().getOrdinal("WhiteElo")),
+                copy.getIntValue(store.getLayout().getOrdinal("WhiteElo")));
+        assertTrue(PgnTag.isEqual(sections.get(3).getTag("Event"), copy.getTag("Event")));
+        assertTrue(PgnTag.isEqual(sections.get(3).getTag("Date"), copy.getTag("Date")));
+        assertEquals(0, copy.getOverflowCount());
+    }
+
+    @Test
+    void testBulkScans() throws IOException {
+        List<TagSection> sections = parse(3000);
+        OffHeapTagStore store = new OffHeapTagStore(registry.getTagSectionLayout(), 256);
+        sections.forEach(store::append);
+
+        long expectedSum = 0;
+        int expectedCount = 0;
+        for (int i = 0; i < 3000; i++) {
+            if (i % 5 > 1) {
+                expectedSum += 2000 + i % 400;
+                expectedCount++;
+            }
+        }
+        long[] sumAndCount = new long[2];
+        store.forEachInt("WhiteElo", elo -> {
+            sumAndCount[0] += elo;
+            sumAndCount[1]++;
+        });
+        assertEquals(expectedSum, sumAndCount[0]);
+        assertEquals(expectedCount, sumAndCount[1]);
+
+        List<Long> rows = new ArrayList<>();
+        assertEquals(6, store.forEachMatch("White", "Player 17", rows::add));
+        assertEquals(List.of(17L, 517L, 1017L, 1517L, 2017L, 2517L), rows);
+        assertEquals(0, store.forEachMatch("White", "Nobody", row -> fail()));
+        assertEquals(3000 / 90 + 1, store.forEachMatch("Date", PgnDate.of(2010, 1, 10), row -> {
+        }));
+        assertEquals(8, store.forEachMatch("WhiteElo", 2003, row -> {
+        }));
+
+        assertThrows(IllegalArgumentException.class, () -> store.forEachInt("Event", value -> fail()));
+        assertThrows(IllegalArgumentException.class, () -> store.forEachInt("Annotator", value -> fail()));
+        assertThrows(IllegalArgumentException.class, () -> store.forEachMatch("WhiteElo", "2003", row -> fail()));
+    }
+
+    @Test
+    void testMemoryAccounting() throws IOException {
+        OffHeapTagStore store = new OffHeapTagStore(registry.getTagSectionLayout(), 1024);
+        assertEquals(0, store.getOffHeapBytes());
+        parse(2000).forEach(store::append);
+
+        // 50 events, 500 players and the results and rounds share a single dictionary
+        assertEquals(50 + 500 + 1 + 9, store.getDictionarySize());
+        long columns = (long) store.getLayout().size() * 2 * (1024 * Integer.BYTES + 2 * 1024 / 8);
+        assertEquals(columns + OffHeapDictionary.DATA_BLOCK_SIZE + 16 * 4096, store.getOffHeapBytes());
+        assertTrue(store.getHeapIndexBytes() < store.getOffHeapBytes() / 100);
+        assertEquals(ColumnType.DATE, store.getColumnType("date"));
+        assertEquals(ColumnType.INT, store.getColumnType("WhiteElo"));
+        assertEquals(ColumnType.STRING, store.getColumnType("Round"));
+        assertNull(store.getColumnType("Annotator"));
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException {
+        OffHeapTagStore store = new OffHeapTagStore(registry.getTagSectionLayout());
+        TagSection other = new TagSection(CreatorRegistry.getSevenTagRosterInstance(false).getTagSectionLayout());
+        assertThrows(IllegalArgumentException.class, () -> store.append(other));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapTagStore(registry.getTagSectionLayout(), 100));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapTagStore(registry.getTagSectionLayout(), 32));
+
+        store.append(parse(1).get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getTag(1, "Event"));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getTag(1, "Annotator"));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.contains(0, store.getLayout().size()));
+        assertThrows(IllegalArgumentException.class, () -> store.getIntValue(0, store.getLayout().getOrdinal("Event")));
+    }
+}